@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter that can be incremented from any number of threads without contention
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class Counter
+{
+	private final LongAdder count = new LongAdder();
+
+	Counter()
+	{
+	}
+
+	/**
+	 * Increments the counter by one
+	 */
+	public void increment()
+	{
+		count.increment();
+	}
+
+	/**
+	 * Increments the counter by the given amount
+	 * 
+	 * @param amount Amount to add
+	 */
+	public void increment( long amount )
+	{
+		count.add( amount );
+	}
+
+	/**
+	 * @return Current count
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+}
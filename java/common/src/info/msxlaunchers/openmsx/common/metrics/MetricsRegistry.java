@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.common.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the application's counters, timers and histograms, looked up by name. Metrics are created on first use and
+ * live for the lifetime of the application. Names are dot-separated with the subsystem first, e.g. <code>scan.hash</code>
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class MetricsRegistry
+{
+	private static final MetricsRegistry instance = new MetricsRegistry();
+
+	private static final double NANOS_PER_MILLI = 1000000.0;
+	private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+	private final ConcurrentMap<String,Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String,Timer> timers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String,Histogram> histograms = new ConcurrentHashMap<>();
+
+	MetricsRegistry()
+	{
+	}
+
+	/**
+	 * Returns the application wide registry
+	 * 
+	 * @return Metrics registry
+	 */
+	public static MetricsRegistry getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Returns the counter with the given name, creating it if necessary
+	 * 
+	 * @param name Counter name
+	 * @return Counter
+	 */
+	public Counter counter( String name )
+	{
+		return get( counters, name, n -> new Counter() );
+	}
+
+	/**
+	 * Returns the timer with the given name, creating it if necessary
+	 * 
+	 * @param name Timer name
+	 * @return Timer
+	 */
+	public Timer timer( String name )
+	{
+		return get( timers, name, n -> new Timer() );
+	}
+
+	/**
+	 * Returns the histogram with the given name, creating it if necessary
+	 * 
+	 * @param name Histogram name
+	 * @return Histogram
+	 */
+	public Histogram histogram( String name )
+	{
+		return get( histograms, name, n -> new Histogram() );
+	}
+
+	/**
+	 * Returns a summary row for each metric, ordered by name: name, type, count, p50, p95, p99 and max. Timer values are in
+	 * milliseconds. Counters only have a count
+	 * 
+	 * @return List of summary rows
+	 */
+	public List<String[]> getSummaries()
+	{
+		SortedMap<String,String[]> summaries = new TreeMap<>();
+
+		for( Map.Entry<String,Timer> entry: timers.entrySet() )
+		{
+			Histogram histogram = entry.getValue().getHistogram();
+			summaries.put( entry.getKey(), new String[] { entry.getKey(), "timer", Long.toString( histogram.getCount() ),
+					formatMillis( histogram.getPercentile( PERCENTILES[0] ) ), formatMillis( histogram.getPercentile( PERCENTILES[1] ) ),
+					formatMillis( histogram.getPercentile( PERCENTILES[2] ) ), formatMillis( histogram.getMax() ) } );
+		}
+		for( Map.Entry<String,Histogram> entry: histograms.entrySet() )
+		{
+			Histogram histogram = entry.getValue();
+			summaries.put( entry.getKey(), new String[] { entry.getKey(), "histogram", Long.toString( histogram.getCount() ),
+					Long.toString( histogram.getPercentile( PERCENTILES[0] ) ), Long.toString( histogram.getPercentile( PERCENTILES[1] ) ),
+					Long.toString( histogram.getPercentile( PERCENTILES[2] ) ), Long.toString( histogram.getMax() ) } );
+		}
+		for( Map.Entry<String,Counter> entry: counters.entrySet() )
+		{
+			summaries.put( entry.getKey(), new String[] { entry.getKey(), "counter", Long.toString( entry.getValue().getCount() ),
+					"", "", "", "" } );
+		}
+
+		return new ArrayList<>( summaries.values() );
+	}
+
+	/**
+	 * Returns all metrics as a JSON object with <code>timers</code>, <code>histograms</code> and <code>counters</code> members,
+	 * each mapping metric names to their values. Timer values are in milliseconds
+	 * 
+	 * @return JSON text
+	 */
+	public String toJson()
+	{
+		StringBuilder json = new StringBuilder( "{\n  \"timers\": {" );
+
+		String separator = "\n";
+		for( Map.Entry<String,Timer> entry: new TreeMap<>( timers ).entrySet() )
+		{
+			Histogram histogram = entry.getValue().getHistogram();
+			json.append( separator ).append( "    " ).append( quote( entry.getKey() ) ).append( ": {" )
+				.append( "\"count\": " ).append( histogram.getCount() )
+				.append( ", \"totalMillis\": " ).append( formatMillis( histogram.getSum() ) )
+				.append( ", \"p50Millis\": " ).append( formatMillis( histogram.getPercentile( PERCENTILES[0] ) ) )
+				.append( ", \"p95Millis\": " ).append( formatMillis( histogram.getPercentile( PERCENTILES[1] ) ) )
+				.append( ", \"p99Millis\": " ).append( formatMillis( histogram.getPercentile( PERCENTILES[2] ) ) )
+				.append( ", \"maxMillis\": " ).append( formatMillis( histogram.getMax() ) ).append( "}" );
+			separator = ",\n";
+		}
+
+		json.append( "\n  },\n  \"histograms\": {" );
+		separator = "\n";
+		for( Map.Entry<String,Histogram> entry: new TreeMap<>( histograms ).entrySet() )
+		{
+			Histogram histogram = entry.getValue();
+			json.append( separator ).append( "    " ).append( quote( entry.getKey() ) ).append( ": {" )
+				.append( "\"count\": " ).append( histogram.getCount() )
+				.append( ", \"sum\": " ).append( histogram.getSum() )
+				.append( ", \"p50\": " ).append( histogram.getPercentile( PERCENTILES[0] ) )
+				.append( ", \"p95\": " ).append( histogram.getPercentile( PERCENTILES[1] ) )
+				.append( ", \"p99\": " ).append( histogram.getPercentile( PERCENTILES[2] ) )
+				.append( ", \"max\": " ).append( histogram.getMax() ).append( "}" );
+			separator = ",\n";
+		}
+
+		json.append( "\n  },\n  \"counters\": {" );
+		separator = "\n";
+		for( Map.Entry<String,Counter> entry: new TreeMap<>( counters ).entrySet() )
+		{
+			json.append( separator ).append( "    " ).append( quote( entry.getKey() ) ).append( ": " ).append( entry.getValue().getCount() );
+			separator = ",\n";
+		}
+
+		return json.append( "\n  }\n}\n" ).toString();
+	}
+
+	/**
+	 * Writes the JSON returned by <code>toJson()</code> to a file, replacing it if it exists
+	 * 
+	 * @param file File to write to
+	 * @throws IOException If the file could not be written
+	 */
+	public void writeJson( Path file ) throws IOException
+	{
+		Files.write( file, toJson().getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	private static <M> M get( ConcurrentMap<String,M> metrics, String name, Function<String,M> factory )
+	{
+		//a plain get first - computeIfAbsent locks even when the metric exists
+		M metric = metrics.get( name );
+
+		return metric != null ? metric : metrics.computeIfAbsent( name, factory );
+	}
+
+	private static String formatMillis( long nanos )
+	{
+		return String.format( Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI );
+	}
+
+	private static String quote( String text )
+	{
+		StringBuilder quoted = new StringBuilder( "\"" );
+
+		for( char c: text.toCharArray() )
+		{
+			if( c == '"' || c == '\\' )
+			{
+				quoted.append( '\\' ).append( c );
+			}
+			else if( c < ' ' )
+			{
+				quoted.append( String.format( "\\u%04x", (int)c ) );
+			}
+			else
+			{
+				quoted.append( c );
+			}
+		}
+
+		return quoted.append( '"' ).toString();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer that records durations in nanoseconds in a <code>Histogram</code>
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class Timer
+{
+	private final Histogram histogram = new Histogram();
+
+	Timer()
+	{
+	}
+
+	/**
+	 * Starts timing. The duration is recorded when the returned context is closed, which allows using it in
+	 * try-with-resources
+	 * 
+	 * @return Running timer context
+	 */
+	public Context time()
+	{
+		return new Context();
+	}
+
+	/**
+	 * Records a duration
+	 * 
+	 * @param duration Duration
+	 * @param unit Unit of the duration
+	 */
+	public void record( long duration, TimeUnit unit )
+	{
+		histogram.record( unit.toNanos( duration ) );
+	}
+
+	/**
+	 * @return Histogram of the recorded durations in nanoseconds
+	 */
+	public Histogram getHistogram()
+	{
+		return histogram;
+	}
+
+	/**
+	 * A running timing
+	 */
+	public final class Context implements AutoCloseable
+	{
+		private final long startTime = System.nanoTime();
+
+		private Context()
+		{
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void close()
+		{
+			histogram.record( System.nanoTime() - startTime );
+		}
+	}
+}
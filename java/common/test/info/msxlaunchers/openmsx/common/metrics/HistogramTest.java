@@ -0,0 +1,78 @@
+package info.msxlaunchers.openmsx.common.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest
+{
+	@Test
+	public void givenSmallValues_whenGetBucket_thenEachValueHasItsOwnBucket()
+	{
+		for( int value = 0; value < 8; value++ )
+		{
+			assertEquals( value, Histogram.getBucket( value ) );
+			assertEquals( value, Histogram.getBucketUpperBound( value ) );
+		}
+	}
+
+	@Test
+	public void givenAnyValue_whenGetBucket_thenValueIsWithinBucketBounds()
+	{
+		long[] values = { 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE };
+
+		for( long value: values )
+		{
+			int bucket = Histogram.getBucket( value );
+			long upperBound = Histogram.getBucketUpperBound( bucket );
+
+			assertTrue( value <= upperBound );
+			assertTrue( bucket == 0 || value > Histogram.getBucketUpperBound( bucket - 1 ) );
+			assertTrue( upperBound - value <= value / 8 );
+		}
+	}
+
+	@Test
+	public void givenUniformValues_whenGetPercentile_thenValueIsWithinBucketError()
+	{
+		Histogram histogram = new Histogram();
+
+		for( int value = 1; value <= 1000; value++ )
+		{
+			histogram.record( value );
+		}
+
+		assertEquals( 1000, histogram.getCount() );
+		assertEquals( 500500, histogram.getSum() );
+		assertEquals( 1000, histogram.getMax() );
+		assertPercentile( 500, histogram.getPercentile( 0.5 ) );
+		assertPercentile( 950, histogram.getPercentile( 0.95 ) );
+		assertPercentile( 990, histogram.getPercentile( 0.99 ) );
+		assertEquals( 1000, histogram.getPercentile( 1 ) );
+	}
+
+	@Test
+	public void givenNoValues_whenGetPercentile_thenReturnZero()
+	{
+		assertEquals( 0, new Histogram().getPercentile( 0.5 ) );
+	}
+
+	@Test
+	public void givenNegativeValue_whenRecord_thenRecordedAsZero()
+	{
+		Histogram histogram = new Histogram();
+
+		histogram.record( -5 );
+
+		assertEquals( 1, histogram.getCount() );
+		assertEquals( 0, histogram.getSum() );
+		assertEquals( 0, histogram.getPercentile( 0.99 ) );
+	}
+
+	private static void assertPercentile( long expected, long actual )
+	{
+		assertTrue( actual >= expected );
+		assertTrue( actual <= expected + expected / 8 );
+	}
+}
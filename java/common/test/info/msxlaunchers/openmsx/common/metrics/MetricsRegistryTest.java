@@ -0,0 +1,95 @@
+package info.msxlaunchers.openmsx.common.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetricsRegistryTest
+{
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenSameName_whenGetMetric_thenSameInstanceIsReturned()
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+
+		assertSame( registry.counter( "a" ), registry.counter( "a" ) );
+		assertSame( registry.timer( "a" ), registry.timer( "a" ) );
+		assertSame( registry.histogram( "a" ), registry.histogram( "a" ) );
+	}
+
+	@Test
+	public void whenGetInstance_thenSameRegistryIsReturned()
+	{
+		assertSame( MetricsRegistry.getInstance(), MetricsRegistry.getInstance() );
+	}
+
+	@Test
+	public void givenMetrics_whenGetSummaries_thenRowsAreSortedByName()
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+
+		registry.counter( "c.counter" ).increment( 3 );
+		registry.timer( "a.timer" ).record( 2, TimeUnit.MILLISECONDS );
+		registry.histogram( "b.histogram" ).record( 5 );
+
+		List<String[]> summaries = registry.getSummaries();
+
+		assertEquals( 3, summaries.size() );
+		assertArrayEquals( new String[] { "a.timer", "timer", "1", "2.000", "2.000", "2.000", "2.000" }, summaries.get( 0 ) );
+		assertArrayEquals( new String[] { "b.histogram", "histogram", "1", "5", "5", "5", "5" }, summaries.get( 1 ) );
+		assertArrayEquals( new String[] { "c.counter", "counter", "3", "", "", "", "" }, summaries.get( 2 ) );
+	}
+
+	@Test
+	public void givenTimer_whenTimeContextIsClosed_thenDurationIsRecorded()
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+
+		try( Timer.Context context = registry.timer( "t" ).time() )
+		{
+			//nothing to time
+		}
+
+		assertEquals( 1, registry.timer( "t" ).getHistogram().getCount() );
+	}
+
+	@Test
+	public void givenMetrics_whenWriteJson_thenFileContainsAllMetrics() throws IOException
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+
+		registry.counter( "scan.files" ).increment();
+		registry.timer( "scan.\"hash\"" ).record( 1500, TimeUnit.MICROSECONDS );
+		registry.histogram( "scan.gamesFound" ).record( 7 );
+
+		File file = new File( tmpFolder.getRoot(), "metrics.json" );
+		registry.writeJson( file.toPath() );
+
+		String json = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+
+		assertEquals( registry.toJson(), json );
+		assertTrue( json.contains( "\"scan.files\": 1" ) );
+		assertTrue( json.contains( "\"scan.\\\"hash\\\"\": {\"count\": 1, \"totalMillis\": 1.500" ) );
+		assertTrue( json.contains( "\"scan.gamesFound\": {\"count\": 1, \"sum\": 7, \"p50\": 7" ) );
+	}
+
+	@Test
+	public void givenNoMetrics_whenToJson_thenEmptySectionsAreWritten()
+	{
+		assertEquals( "{\n  \"timers\": {\n  },\n  \"histograms\": {\n  },\n  \"counters\": {\n  }\n}\n", new MetricsRegistry().toJson() );
+	}
+}
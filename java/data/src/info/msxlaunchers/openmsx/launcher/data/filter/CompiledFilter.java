@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.data.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * A set of filters compiled once for repeated evaluation over many games. Filters are grouped by <code>FilterType</code>:
+ * a game passes a group if it passes at least one filter of that type, and it is filtered if it fails any group
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+public final class CompiledFilter
+{
+	private static final CompiledFilter NO_FILTER = new CompiledFilter( new Filter[0][], false );
+
+	//only these types use the repository game - others don't need the lookup
+	private static final Set<FilterType> REPOSITORY_FILTER_TYPES = Collections.unmodifiableSet( EnumSet.of( FilterType.COMPANY, FilterType.YEAR, FilterType.COUNTRY ) );
+
+	private final Filter[][] filterGroups;
+	private final boolean needsRepositoryGame;
+
+	private CompiledFilter( Filter[][] filterGroups, boolean needsRepositoryGame )
+	{
+		this.filterGroups = filterGroups;
+		this.needsRepositoryGame = needsRepositoryGame;
+	}
+
+	/**
+	 * Compiles the given set of filters
+	 * 
+	 * @param filters Set of filters. Can be null or empty, in which case no game is filtered
+	 * @return Compiled filter
+	 */
+	public static CompiledFilter compile( Set<Filter> filters )
+	{
+		if( filters == null || filters.isEmpty() )
+		{
+			return NO_FILTER;
+		}
+
+		Map<FilterType,List<Filter>> filtersByType = new EnumMap<>( FilterType.class );
+		for( Filter filter: filters )
+		{
+			filtersByType.computeIfAbsent( FilterFactory.getFilterType( filter ), type -> new ArrayList<>() ).add( filter );
+		}
+
+		//groups that only look at the game itself come first, as they are cheaper and can short-circuit the rest
+		List<Filter[]> filterGroups = new ArrayList<>( filtersByType.size() );
+		filtersByType.forEach( (type, group) -> {
+			if( !REPOSITORY_FILTER_TYPES.contains( type ) )
+			{
+				filterGroups.add( group.toArray( new Filter[group.size()] ) );
+			}
+		} );
+		filtersByType.forEach( (type, group) -> {
+			if( REPOSITORY_FILTER_TYPES.contains( type ) )
+			{
+				filterGroups.add( group.toArray( new Filter[group.size()] ) );
+			}
+		} );
+
+		boolean needsRepositoryGame = filtersByType.keySet().stream().anyMatch( REPOSITORY_FILTER_TYPES::contains );
+
+		return new CompiledFilter( filterGroups.toArray( new Filter[filterGroups.size()][] ), needsRepositoryGame );
+	}
+
+	/**
+	 * Returns whether the given game needs to be filtered. The repository info is looked up at most once per game
+	 * 
+	 * @param game Game object - cannot be null
+	 * @param repositoryInfoMap Map of SHA1 codes to repository games - can be null
+	 * @return true if the given game is to be filtered
+	 */
+	public boolean isFiltered( Game game, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		Objects.requireNonNull( game );
+
+		RepositoryGame repositoryGame = null;
+		if( needsRepositoryGame && repositoryInfoMap != null )
+		{
+			repositoryGame = repositoryInfoMap.get( game.getSha1Code() );
+		}
+
+		return isFiltered( game, repositoryGame );
+	}
+
+	/**
+	 * Returns whether the given game needs to be filtered
+	 * 
+	 * @param game Game object - cannot be null
+	 * @param repositoryGame Repository Game object - can be null
+	 * @return true if the given game is to be filtered
+	 */
+	public boolean isFiltered( Game game, RepositoryGame repositoryGame )
+	{
+		for( Filter[] filterGroup: filterGroups )
+		{
+			if( isFilteredByGroup( filterGroup, game, repositoryGame ) )
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if no game is ever filtered
+	 */
+	public boolean isEmpty()
+	{
+		return filterGroups.length == 0;
+	}
+
+	private static boolean isFilteredByGroup( Filter[] filterGroup, Game game, RepositoryGame repositoryGame )
+	{
+		for( Filter filter: filterGroup )
+		{
+			if( !filter.isFiltered( game, repositoryGame ) )
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
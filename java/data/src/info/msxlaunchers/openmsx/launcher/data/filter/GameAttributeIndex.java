@@ -0,0 +1,365 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.data.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.MSXGeneration;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Sound;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.VideoSource;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Immutable columnar index over the games of a database. Each game gets a position, and every filter value that can be
+ * selected (e.g. a sound chip, a genre or a company) maps to a bitset of the positions of the games that pass it. Sizes and years
+ * are kept in sorted arrays so that ranges can be looked up with binary search. Evaluating a set of filters is then a
+ * matter of OR-ing bitsets within a <code>FilterType</code> and AND-ing them across types
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+public final class GameAttributeIndex
+{
+	private final Game[] games;
+	private final RepositoryGame[] repositoryGames;
+
+	//keyed by filter instances - filters of the same type and value are equal, so any such filter finds its column
+	private final Map<Filter,BitSet> columns;
+
+	private final long[] sortedSizes;
+	private final int[] positionsBySize;
+	private final long[] sortedYears;
+	private final int[] positionsByYear;
+
+	private GameAttributeIndex( Game[] games, RepositoryGame[] repositoryGames, Map<Filter,BitSet> columns,
+			long[] sortedSizes, int[] positionsBySize, long[] sortedYears, int[] positionsByYear )
+	{
+		this.games = games;
+		this.repositoryGames = repositoryGames;
+		this.columns = columns;
+		this.sortedSizes = sortedSizes;
+		this.positionsBySize = positionsBySize;
+		this.sortedYears = sortedYears;
+		this.positionsByYear = positionsByYear;
+	}
+
+	/**
+	 * Builds the index of the given games
+	 * 
+	 * @param games Games of a database - cannot be null
+	 * @param repositoryInfoMap Map of SHA1 codes to repository games - can be null
+	 * @return Index of the given games
+	 */
+	public static GameAttributeIndex build( Collection<Game> games, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		Objects.requireNonNull( games );
+
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "filter.buildIndex" ).time() )
+		{
+			return buildIndex( games, repositoryInfoMap );
+		}
+	}
+
+	private static GameAttributeIndex buildIndex( Collection<Game> games, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		int size = games.size();
+		Game[] gameArray = games.toArray( new Game[size] );
+		RepositoryGame[] repositoryGames = new RepositoryGame[size];
+		Map<Filter,BitSet> columns = new HashMap<>();
+
+		//filters of enum values that only look at the game itself are evaluated once per game here, so the index always agrees with them
+		List<Filter> flagFilters = new ArrayList<>();
+		Arrays.stream( MSXGeneration.values() ).forEach( generation -> flagFilters.add( new GenerationFilter( generation ) ) );
+		Arrays.stream( Sound.values() ).forEach( sound -> flagFilters.add( new SoundFilter( sound ) ) );
+		Arrays.stream( Medium.values() ).forEach( medium -> flagFilters.add( new MediumFilter( medium ) ) );
+		Arrays.stream( VideoSource.values() ).forEach( videoSource -> flagFilters.add( new VideoSourceFilter( videoSource ) ) );
+		BitSet[] flagColumns = new BitSet[flagFilters.size()];
+		for( int index = 0; index < flagColumns.length; index++ )
+		{
+			flagColumns[index] = new BitSet( size );
+			columns.put( flagFilters.get( index ), flagColumns[index] );
+		}
+
+		Map<Genre,BitSet> genreColumns = new EnumMap<>( Genre.class );
+		long[] sizes = new long[size];
+		long[] years = new long[size];
+		int totalWithYear = 0;
+
+		for( int position = 0; position < size; position++ )
+		{
+			Game game = gameArray[position];
+			RepositoryGame repositoryGame = repositoryInfoMap == null ? null : repositoryInfoMap.get( game.getSha1Code() );
+			repositoryGames[position] = repositoryGame;
+
+			for( int index = 0; index < flagColumns.length; index++ )
+			{
+				if( !flagFilters.get( index ).isFiltered( game, repositoryGame ) )
+				{
+					flagColumns[index].set( position );
+				}
+			}
+
+			if( game.getGenre1() != null )
+			{
+				genreColumns.computeIfAbsent( game.getGenre1(), genre -> new BitSet( size ) ).set( position );
+			}
+			if( game.getGenre2() != null )
+			{
+				genreColumns.computeIfAbsent( game.getGenre2(), genre -> new BitSet( size ) ).set( position );
+			}
+
+			sizes[position] = game.getSize();
+
+			if( repositoryGame != null )
+			{
+				if( repositoryGame.getCompany() != null )
+				{
+					setBit( columns, new CompanyFilter( repositoryGame.getCompany() ), position, size );
+				}
+				if( repositoryGame.getCountry() != null )
+				{
+					setBit( columns, new CountryFilter( repositoryGame.getCountry() ), position, size );
+				}
+				years[position] = Utils.getNumber( repositoryGame.getYear() );
+				totalWithYear++;
+			}
+		}
+
+		genreColumns.forEach( (genre, column) -> columns.put( new GenreFilter( genre ), column ) );
+
+		int[] positionsBySize = sortPositions( IntStream.range( 0, size ), sizes );
+		int[] positionsByYear = sortPositions( IntStream.range( 0, size ).filter( position -> repositoryGames[position] != null ), years );
+
+		return new GameAttributeIndex( gameArray, repositoryGames, columns, getSortedValues( positionsBySize, sizes ), positionsBySize,
+				getSortedValues( positionsByYear, years ), positionsByYear );
+	}
+
+	/**
+	 * @return Number of indexed games
+	 */
+	public int size()
+	{
+		return games.length;
+	}
+
+	/**
+	 * Returns the positions of the games that pass the given filters. Filters of the same <code>FilterType</code> are OR-ed
+	 * and different types are AND-ed, in the same way as <code>CompiledFilter</code>
+	 * 
+	 * @param filters Set of filters. If null or empty, all games match
+	 * @return BitSet of the positions of the matching games
+	 */
+	public BitSet getMatches( Set<Filter> filters )
+	{
+		BitSet matches = new BitSet( games.length );
+		matches.set( 0, games.length );
+
+		if( filters != null && !filters.isEmpty() )
+		{
+			try( Timer.Context timer = MetricsRegistry.getInstance().timer( "filter.match" ).time() )
+			{
+				Map<FilterType,BitSet> matchesByType = new EnumMap<>( FilterType.class );
+
+				for( Filter filter: filters )
+				{
+					BitSet typeMatches = matchesByType.computeIfAbsent( FilterFactory.getFilterType( filter ), type -> new BitSet( games.length ) );
+					addMatches( typeMatches, filter );
+				}
+
+				matchesByType.values().forEach( matches::and );
+			}
+		}
+
+		return matches;
+	}
+
+	/**
+	 * @param filter Filter - cannot be null
+	 * @return Number of games that pass the given filter on its own
+	 */
+	public int getFacetCount( Filter filter )
+	{
+		Objects.requireNonNull( filter );
+
+		BitSet column = columns.get( filter );
+		if( column != null )
+		{
+			return column.cardinality();
+		}
+		else
+		{
+			BitSet matches = new BitSet( games.length );
+			addMatches( matches, filter );
+
+			return matches.cardinality();
+		}
+	}
+
+	/**
+	 * @param matches Positions of games, as returned by <code>getMatches</code>
+	 * @return Unmodifiable list of the games at the given positions
+	 */
+	public List<Game> getGames( BitSet matches )
+	{
+		List<Game> matchingGames = new ArrayList<>( matches.cardinality() );
+
+		for( int position = matches.nextSetBit( 0 ); position >= 0 && position < games.length; position = matches.nextSetBit( position + 1 ) )
+		{
+			matchingGames.add( games[position] );
+		}
+
+		return Collections.unmodifiableList( matchingGames );
+	}
+
+	private void addMatches( BitSet matches, Filter filter )
+	{
+		BitSet column = columns.get( filter );
+
+		if( column != null )
+		{
+			matches.or( column );
+		}
+		else if( filter instanceof SizeFilter )
+		{
+			SizeFilter sizeFilter = (SizeFilter)filter;
+			addRangeMatches( matches, sortedSizes, positionsBySize, sizeFilter.getFilterParameter(), sizeFilter.getValue1(), sizeFilter.getValue2() );
+		}
+		else if( filter instanceof YearFilter )
+		{
+			YearFilter yearFilter = (YearFilter)filter;
+			addRangeMatches( matches, sortedYears, positionsByYear, yearFilter.getFilterParameter(), yearFilter.getValue1(), yearFilter.getValue2() );
+		}
+		else if( !isIndexedValueFilter( filter ) )
+		{
+			//a filter the index doesn't know - evaluate it on each game
+			for( int position = 0; position < games.length; position++ )
+			{
+				if( !filter.isFiltered( games[position], repositoryGames[position] ) )
+				{
+					matches.set( position );
+				}
+			}
+		}
+
+		//otherwise it's a value that no game in the index has (e.g. a company none of the games are from)
+	}
+
+	private static boolean isIndexedValueFilter( Filter filter )
+	{
+		return filter instanceof CompanyFilter || filter instanceof CountryFilter || filter instanceof GenreFilter || filter instanceof GenerationFilter ||
+				filter instanceof SoundFilter || filter instanceof MediumFilter || filter instanceof VideoSourceFilter;
+	}
+
+	private static void addRangeMatches( BitSet matches, long[] sortedValues, int[] positions, FilterParameter filterParameter, long value1, long value2 )
+	{
+		long lowest;
+		long highest;
+
+		switch( filterParameter )
+		{
+			case EQUAL:
+				lowest = value1;
+				highest = value1;
+				break;
+			case EQUAL_OR_LESS:
+				lowest = Long.MIN_VALUE;
+				highest = value1;
+				break;
+			case EQUAL_OR_GREATER:
+				lowest = value1;
+				highest = Long.MAX_VALUE;
+				break;
+			case LESS:
+				lowest = Long.MIN_VALUE;
+				highest = value1 - 1;
+				break;
+			case GREATER:
+				lowest = value1 + 1;
+				highest = Long.MAX_VALUE;
+				break;
+			case BETWEEN_INCLUSIVE:
+				lowest = value1;
+				highest = value2;
+				break;
+			default:
+				throw new RuntimeException( "Update index if FilterParameter contains an extra parameter" );
+		}
+
+		int start = lowest == Long.MIN_VALUE ? 0 : getFirstIndexAbove( sortedValues, lowest - 1 );
+		int end = getFirstIndexAbove( sortedValues, highest );
+		for( int index = start; index < end; index++ )
+		{
+			matches.set( positions[index] );
+		}
+	}
+
+	private static int getFirstIndexAbove( long[] sortedValues, long value )
+	{
+		if( value == Long.MAX_VALUE )
+		{
+			return sortedValues.length;
+		}
+
+		int low = 0;
+		int high = sortedValues.length;
+		while( low < high )
+		{
+			int middle = (low + high) >>> 1;
+			if( sortedValues[middle] <= value )
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private static int[] sortPositions( IntStream positions, long[] values )
+	{
+		return positions.boxed().sorted( (position1, position2) -> Long.compare( values[position1], values[position2] ) ).mapToInt( Integer::intValue ).toArray();
+	}
+
+	private static long[] getSortedValues( int[] sortedPositions, long[] values )
+	{
+		return Arrays.stream( sortedPositions ).mapToLong( position -> values[position] ).toArray();
+	}
+
+	private static void setBit( Map<Filter,BitSet> columns, Filter filter, int position, int size )
+	{
+		columns.computeIfAbsent( filter, f -> new BitSet( size ) ).set( position );
+	}
+}
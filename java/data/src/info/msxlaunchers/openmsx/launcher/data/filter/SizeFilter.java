@@ -46,6 +46,21 @@ final class SizeFilter implements Filter
 		this.filterParameter = Objects.requireNonNull( filterParameter );
 	}
 
+	long getValue1()
+	{
+		return size1;
+	}
+
+	long getValue2()
+	{
+		return size2;
+	}
+
+	FilterParameter getFilterParameter()
+	{
+		return filterParameter;
+	}
+
 	@Override
 	public int hashCode()
 	{
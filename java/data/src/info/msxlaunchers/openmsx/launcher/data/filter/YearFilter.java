@@ -47,6 +47,21 @@ final class YearFilter implements Filter
 		this.filterParameter = Objects.requireNonNull( filterParameter );
 	}
 
+	int getValue1()
+	{
+		return year1;
+	}
+
+	int getValue2()
+	{
+		return year2;
+	}
+
+	FilterParameter getFilterParameter()
+	{
+		return filterParameter;
+	}
+
 	@Override
 	public int hashCode()
 	{
@@ -0,0 +1,74 @@
+package info.msxlaunchers.openmsx.launcher.data.filter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+public class CompiledFilterTest
+{
+	@Test
+	public void givenNullOrEmptyFilters_whenIsFiltered_thenNothingIsFiltered()
+	{
+		Game game = Game.name( "name" ).build();
+
+		assertTrue( CompiledFilter.compile( null ).isEmpty() );
+		assertFalse( CompiledFilter.compile( null ).isFiltered( game, (RepositoryGame)null ) );
+		assertFalse( CompiledFilter.compile( Collections.emptySet() ).isFiltered( game, (Map<String,RepositoryGame>)null ) );
+	}
+
+	@Test
+	public void givenFiltersOfSameType_whenIsFiltered_thenGamePassesIfAnyOfThemMatches()
+	{
+		CompiledFilter compiledFilter = CompiledFilter.compile( toSet( new GenreFilter( Genre.ACTION ), new GenreFilter( Genre.PUZZLE ) ) );
+
+		assertFalse( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.ACTION ).build(), (RepositoryGame)null ) );
+		assertFalse( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.RPG ).genre2( Genre.PUZZLE ).build(), (RepositoryGame)null ) );
+		assertTrue( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.RPG ).build(), (RepositoryGame)null ) );
+	}
+
+	@Test
+	public void givenFiltersOfDifferentTypes_whenIsFiltered_thenGameMustPassAllTypes()
+	{
+		CompiledFilter compiledFilter = CompiledFilter.compile( toSet( new GenreFilter( Genre.ACTION ), new GenreFilter( Genre.PUZZLE ),
+				new MediumFilter( Medium.ROM ) ) );
+
+		assertFalse( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.ACTION ).romA( "rom" ).build(), (RepositoryGame)null ) );
+		assertTrue( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.ACTION ).diskA( "disk" ).build(), (RepositoryGame)null ) );
+		assertTrue( compiledFilter.isFiltered( Game.name( "name" ).genre1( Genre.RPG ).romA( "rom" ).build(), (RepositoryGame)null ) );
+	}
+
+	@Test
+	public void givenRepositoryFilter_whenIsFilteredWithMap_thenRepositoryGameIsLookedUp()
+	{
+		CompiledFilter compiledFilter = CompiledFilter.compile( toSet( new CompanyFilter( "Konami" ), new MediumFilter( Medium.ROM ) ) );
+		Map<String,RepositoryGame> repositoryInfoMap = Collections.singletonMap( "sha1",
+				RepositoryGame.title( "title" ).company( "Konami" ).system( "MSX" ).year( "1986" ).country( "JP" ).build() );
+
+		assertFalse( compiledFilter.isFiltered( Game.name( "name" ).sha1Code( "sha1" ).romA( "rom" ).build(), repositoryInfoMap ) );
+		assertTrue( compiledFilter.isFiltered( Game.name( "name" ).sha1Code( "other" ).romA( "rom" ).build(), repositoryInfoMap ) );
+		assertTrue( compiledFilter.isFiltered( Game.name( "name" ).sha1Code( "sha1" ).romA( "rom" ).build(), (Map<String,RepositoryGame>)null ) );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void givenNullGame_whenIsFilteredWithMap_thenThrowException()
+	{
+		CompiledFilter.compile( toSet( new GenreFilter( Genre.ACTION ) ) ).isFiltered( null, Collections.emptyMap() );
+	}
+
+	private static Set<Filter> toSet( Filter... filters )
+	{
+		return new HashSet<>( Arrays.asList( filters ) );
+	}
+}
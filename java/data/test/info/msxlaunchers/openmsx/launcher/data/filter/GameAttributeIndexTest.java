@@ -0,0 +1,175 @@
+package info.msxlaunchers.openmsx.launcher.data.filter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.MSXGeneration;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Sound;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.VideoSource;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+public class GameAttributeIndexTest
+{
+	private static final String[] COMPANIES = { "Konami", "Compile", "Namcot", "Taito" };
+	private static final String[] COUNTRIES = { "JP", "NL", "ES" };
+
+	@Test
+	public void givenNoFilters_whenGetMatches_thenAllGamesMatch()
+	{
+		List<Game> games = Arrays.asList( Game.name( "game1" ).build(), Game.name( "game2" ).build() );
+		GameAttributeIndex index = GameAttributeIndex.build( games, null );
+
+		assertEquals( 2, index.size() );
+		assertEquals( games, index.getGames( index.getMatches( null ) ) );
+		assertEquals( games, index.getGames( index.getMatches( Collections.emptySet() ) ) );
+	}
+
+	@Test
+	public void givenEmptyIndex_whenGetMatches_thenNothingMatches()
+	{
+		GameAttributeIndex index = GameAttributeIndex.build( Collections.emptyList(), null );
+
+		assertEquals( 0, index.getMatches( Collections.singleton( new SizeFilter( 10, 0, FilterParameter.GREATER ) ) ).cardinality() );
+		assertEquals( 0, index.getFacetCount( new CompanyFilter( "Konami" ) ) );
+	}
+
+	@Test
+	public void givenRandomGamesAndFilters_whenGetMatches_thenResultIsSameAsCompiledFilter()
+	{
+		Random random = new Random( 42 );
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		List<Game> games = createGames( random, 2000, repositoryInfoMap );
+		GameAttributeIndex index = GameAttributeIndex.build( games, repositoryInfoMap );
+
+		for( int round = 0; round < 500; round++ )
+		{
+			Set<Filter> filters = new HashSet<>();
+			int total = 1 + random.nextInt( 4 );
+			for( int ix = 0; ix < total; ix++ )
+			{
+				filters.add( createFilter( random ) );
+			}
+
+			CompiledFilter compiledFilter = CompiledFilter.compile( filters );
+			List<Game> expected = games.stream().filter( game -> !compiledFilter.isFiltered( game, repositoryInfoMap ) ).collect( Collectors.toList() );
+
+			assertEquals( filters.toString(), expected, index.getGames( index.getMatches( filters ) ) );
+		}
+	}
+
+	@Test
+	public void givenGames_whenGetFacetCount_thenReturnNumberOfGamesPassingFilter()
+	{
+		Random random = new Random( 7 );
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		List<Game> games = createGames( random, 500, repositoryInfoMap );
+		GameAttributeIndex index = GameAttributeIndex.build( games, repositoryInfoMap );
+
+		for( int round = 0; round < 200; round++ )
+		{
+			Filter filter = createFilter( random );
+			long expected = games.stream().filter( game -> !filter.isFiltered( game, repositoryInfoMap.get( game.getSha1Code() ) ) ).count();
+
+			assertEquals( filter.toString(), expected, index.getFacetCount( filter ) );
+		}
+
+		assertEquals( 0, index.getFacetCount( new CompanyFilter( "Unknown company" ) ) );
+	}
+
+	@Test
+	public void givenMatches_whenGetGames_thenReturnGamesInIndexOrder()
+	{
+		List<Game> games = Arrays.asList( Game.name( "game1" ).build(), Game.name( "game2" ).build(), Game.name( "game3" ).build() );
+		GameAttributeIndex index = GameAttributeIndex.build( games, null );
+
+		BitSet matches = new BitSet();
+		matches.set( 2 );
+		matches.set( 0 );
+
+		assertEquals( Arrays.asList( games.get( 0 ), games.get( 2 ) ), index.getGames( matches ) );
+	}
+
+	private static List<Game> createGames( Random random, int total, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		List<Game> games = new ArrayList<>( total );
+		Genre[] genres = Genre.values();
+
+		for( int ix = 0; ix < total; ix++ )
+		{
+			String sha1 = "sha1-" + ix;
+			Game.GameParam gameParam = Game.name( "game" + ix ).sha1Code( sha1 ).size( random.nextInt( 8 ) * 16384 )
+					.genre1( genres[random.nextInt( genres.length )] ).genre2( genres[random.nextInt( genres.length )] )
+					.isMSX( random.nextBoolean() ).isMSX2( random.nextBoolean() ).isMSX2Plus( random.nextBoolean() ).isTurboR( random.nextBoolean() )
+					.isPSG( random.nextBoolean() ).isSCC( random.nextBoolean() ).isSCCI( random.nextBoolean() ).isPCM( random.nextBoolean() )
+					.isMSXMUSIC( random.nextBoolean() ).isMSXAUDIO( random.nextBoolean() ).isMoonsound( random.nextBoolean() ).isMIDI( random.nextBoolean() )
+					.connectGFX9000( random.nextBoolean() );
+
+			switch( random.nextInt( 3 ) )
+			{
+				case 0:
+					gameParam.romA( "rom" );
+					break;
+				case 1:
+					gameParam.diskA( "disk" );
+					break;
+				default:
+					gameParam.tape( "tape" );
+					break;
+			}
+			games.add( gameParam.build() );
+
+			if( random.nextInt( 4 ) > 0 )
+			{
+				repositoryInfoMap.put( sha1, RepositoryGame.title( "title" + ix ).company( COMPANIES[random.nextInt( COMPANIES.length )] )
+						.system( "MSX" ).year( String.valueOf( 1983 + random.nextInt( 10 ) ) ).country( COUNTRIES[random.nextInt( COUNTRIES.length )] ).build() );
+			}
+		}
+
+		return games;
+	}
+
+	private static Filter createFilter( Random random )
+	{
+		FilterParameter[] parameters = FilterParameter.values();
+
+		switch( random.nextInt( 9 ) )
+		{
+			case 0:
+				return new CompanyFilter( COMPANIES[random.nextInt( COMPANIES.length )] );
+			case 1:
+				return new CountryFilter( COUNTRIES[random.nextInt( COUNTRIES.length )] );
+			case 2:
+				return new GenerationFilter( MSXGeneration.values()[random.nextInt( MSXGeneration.values().length )] );
+			case 3:
+				return new GenreFilter( Genre.values()[random.nextInt( Genre.values().length )] );
+			case 4:
+				return new MediumFilter( Medium.values()[random.nextInt( Medium.values().length )] );
+			case 5:
+				int size = random.nextInt( 8 ) * 16384;
+				return new SizeFilter( size, size + random.nextInt( 4 ) * 16384, parameters[random.nextInt( parameters.length )] );
+			case 6:
+				return new SoundFilter( Sound.values()[random.nextInt( Sound.values().length )] );
+			case 7:
+				int year = 1983 + random.nextInt( 10 );
+				return new YearFilter( year, year + random.nextInt( 4 ), parameters[random.nextInt( parameters.length )] );
+			default:
+				return new VideoSourceFilter( VideoSource.values()[random.nextInt( VideoSource.values().length )] );
+		}
+	}
+}
@@ -15,6 +15,8 @@
  */
 package info.msxlaunchers.openmsx.game.repository;
 
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.game.repository.processor.XMLProcessor;
 import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
 
@@ -55,17 +57,20 @@ final class XMLRepositoryData implements RepositoryData
 	{
 		Map<String, RepositoryGame> repositoryInfo = null;
 
-		for( XMLFileGetter xmlFileGetter: xmlFileGetters )
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "repository.getRepositoryInfo" ).time() )
 		{
-			File xmlFile = xmlFileGetter.get();
-
-			if( xmlFile != null && xmlFile.exists() )
+			for( XMLFileGetter xmlFileGetter: xmlFileGetters )
 			{
-				if( repositoryInfo == null )
+				File xmlFile = xmlFileGetter.get();
+
+				if( xmlFile != null && xmlFile.exists() )
 				{
-					repositoryInfo = new HashMap<>();
+					if( repositoryInfo == null )
+					{
+						repositoryInfo = new HashMap<>();
+					}
+					repositoryInfo.putAll( xmlProcessor.getRepositoryInfo( xmlFile ) );
 				}
-				repositoryInfo.putAll( xmlProcessor.getRepositoryInfo( xmlFile ) );
 			}
 		}
 
@@ -80,14 +85,17 @@ final class XMLRepositoryData implements RepositoryData
 	{
 		Objects.requireNonNull( code );
 
-		for( XMLFileGetter xmlFileGetter: xmlFileGetters )
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "repository.getDumpCodes" ).time() )
 		{
-			Set<String> dumpCodes = xmlProcessor.getDumpCodes( xmlFileGetter.get(), code );
-
-			if( !dumpCodes.isEmpty() )
+			for( XMLFileGetter xmlFileGetter: xmlFileGetters )
 			{
-				//dumps should only be in one of the XML files. If we found some in any of them, just return the set
-				return dumpCodes;
+				Set<String> dumpCodes = xmlProcessor.getDumpCodes( xmlFileGetter.get(), code );
+
+				if( !dumpCodes.isEmpty() )
+				{
+					//dumps should only be in one of the XML files. If we found some in any of them, just return the set
+					return dumpCodes;
+				}
 			}
 		}
 
@@ -103,13 +111,16 @@ final class XMLRepositoryData implements RepositoryData
 	{
 		Objects.requireNonNull( code );
 
-		for( XMLFileGetter xmlFileGetter: xmlFileGetters )
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "repository.getGameInfo" ).time() )
 		{
-			RepositoryGame repositoryGame = xmlProcessor.getGameInfo( xmlFileGetter.get(), code );
-
-			if( repositoryGame != null )
+			for( XMLFileGetter xmlFileGetter: xmlFileGetters )
 			{
-				return repositoryGame;
+				RepositoryGame repositoryGame = xmlProcessor.getGameInfo( xmlFileGetter.get(), code );
+
+				if( repositoryGame != null )
+				{
+					return repositoryGame;
+				}
 			}
 		}
 
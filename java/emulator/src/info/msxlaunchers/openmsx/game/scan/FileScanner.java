@@ -19,6 +19,8 @@ import info.msxlaunchers.openmsx.common.FileTypeUtils;
 import info.msxlaunchers.openmsx.common.FileUtils;
 import info.msxlaunchers.openmsx.common.HashUtils;
 import info.msxlaunchers.openmsx.common.Nullable;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.game.repository.RepositoryData;
 import info.msxlaunchers.openmsx.launcher.builder.GameBuilder;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
@@ -158,15 +160,19 @@ final class FileScanner implements Scanner
 
 		//start the scanning
 		int totalFound = 0;
-		for( String path: paths )
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "scan.traverse" ).time() )
 		{
-			if( interrupted )
+			for( String path: paths )
 			{
-				break;
-			}
+				if( interrupted )
+				{
+					break;
+				}
 
-			totalFound += traverse( new File( path ), getAbsolutePath( path, baseDirectory ), true );
+				totalFound += traverse( new File( path ), getAbsolutePath( path, baseDirectory ), true );
+			}
 		}
+		MetricsRegistry.getInstance().histogram( "scan.gamesFound" ).record( totalFound );
 
 		try
 		{
@@ -233,13 +239,19 @@ final class FileScanner implements Scanner
 	{
 		int added = 0;
 
+		MetricsRegistry.getInstance().counter( "scan.files" ).increment();
+
 		if( FileTypeUtils.isROM( file ) ||
 				FileTypeUtils.isDisk( file ) ||
 				FileTypeUtils.isTape( file ) ||
 				FileTypeUtils.isHarddisk( file ) ||
 				FileTypeUtils.isLaserdisc( file ) )
 		{
-			String sha1Code = HashUtils.getSHA1Code( file );
+			String sha1Code;
+			try( Timer.Context timer = MetricsRegistry.getInstance().timer( "scan.hash" ).time() )
+			{
+				sha1Code = HashUtils.getSHA1Code( file );
+			}
 			added = processPotentialGame( file, getRealFullFilePath( file, relativePath ), file.length(), sha1Code );
 		}
 		else if( FileTypeUtils.isZIP( file ) )
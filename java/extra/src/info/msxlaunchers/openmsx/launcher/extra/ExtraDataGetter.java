@@ -47,4 +47,9 @@ public interface ExtraDataGetter
 	 * @throws IOException
 	 */
 	String getExtraDataFileVersion() throws FileNotFoundException, IOException;
+
+	/**
+	 * Stops watching the extra data file for changes and ends the thread that watches it. To be called when the application exits
+	 */
+	void shutdown();
 }
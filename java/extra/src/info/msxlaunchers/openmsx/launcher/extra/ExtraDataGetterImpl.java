@@ -17,6 +17,8 @@ package info.msxlaunchers.openmsx.launcher.extra;
 
 import info.msxlaunchers.openmsx.common.HashUtils;
 import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
 import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
 
@@ -53,13 +55,24 @@ final class ExtraDataGetterImpl implements ExtraDataGetter
 	private static final char PIPE = '|';
 	private static final String VERSION_COMMENT = "-- Version ";
 
-	private static String cachedExtraDataFileHash = null;
-	private static Map<String,ExtraData> cachedExtraDataMap = null;
+	private final boolean watchForChanges;
+	private final Object reloadLock = new Object();
+
+	private volatile CachedExtraData cachedExtraData = null;
+	private volatile boolean changeNotified = false;
+	private FileChangeWatcher fileChangeWatcher = null;
+	private boolean shutDown = false;
 
 	@Inject
 	ExtraDataGetterImpl( @Named("LauncherDataDirectory") String extraDataDirectory )
+	{
+		this( extraDataDirectory, true );
+	}
+
+	ExtraDataGetterImpl( String extraDataDirectory, boolean watchForChanges )
 	{
 		this.extraDataDirectory = extraDataDirectory;
+		this.watchForChanges = watchForChanges;
 	}
 
 	/* (non-Javadoc)
@@ -69,21 +82,86 @@ final class ExtraDataGetterImpl implements ExtraDataGetter
 	public Map<String,ExtraData> getExtraData() throws IOException
 	{
 		File extraDataFile = new File( extraDataDirectory, EXTRA_DATA_FILENAME );
-		String extraDataFileHash = HashUtils.getSHA1Code( extraDataFile );
 
-		if( extraDataFileHash == null )
+		//cheap check first: the file's size and last modified time - the hash is only calculated if these change
+		CachedExtraData cached = cachedExtraData;
+		if( cached != null && !changeNotified && cached.isSameFile( extraDataFile ) )
 		{
-			IOException ioe = new FileNotFoundException();
-			LauncherLogger.logException( this, ioe );
-			throw ioe;
+			MetricsRegistry.getInstance().counter( "extraData.cacheHit" ).increment();
+			return cached.extraDataMap;
 		}
-		else if( !extraDataFileHash.equals( cachedExtraDataFileHash ) )
+
+		synchronized( reloadLock )
 		{
-			cachedExtraDataFileHash = extraDataFileHash;
-			cachedExtraDataMap = readExtraDataFileAndGetMap( extraDataFile );
+			cached = cachedExtraData;
+			if( cached != null && !changeNotified && cached.isSameFile( extraDataFile ) )
+			{
+				MetricsRegistry.getInstance().counter( "extraData.cacheHit" ).increment();
+				return cached.extraDataMap;
+			}
+
+			//reset the notification before reading so that a change that happens while reading is not lost
+			changeNotified = false;
+
+			long size = extraDataFile.length();
+			long lastModified = extraDataFile.lastModified();
+			String extraDataFileHash = HashUtils.getSHA1Code( extraDataFile );
+
+			if( extraDataFileHash == null )
+			{
+				IOException ioe = new FileNotFoundException();
+				LauncherLogger.logException( this, ioe );
+				throw ioe;
+			}
+
+			Map<String,ExtraData> extraDataMap;
+			if( cached != null && extraDataFileHash.equals( cached.hash ) )
+			{
+				//only the metadata changed (e.g. the file was touched or copied over with the same content)
+				extraDataMap = cached.extraDataMap;
+			}
+			else
+			{
+				MetricsRegistry.getInstance().counter( "extraData.reload" ).increment();
+				try( Timer.Context timer = MetricsRegistry.getInstance().timer( "extraData.read" ).time() )
+				{
+					extraDataMap = readExtraDataFileAndGetMap( extraDataFile );
+				}
+			}
+
+			cachedExtraData = new CachedExtraData( size, lastModified, extraDataFileHash, extraDataMap );
+
+			startWatchingIfNeeded();
+
+			return extraDataMap;
 		}
+	}
 
-		return cachedExtraDataMap;
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter#shutdown()
+	 */
+	@Override
+	public void shutdown()
+	{
+		synchronized( reloadLock )
+		{
+			//the file's metadata is still checked on every call, so the extra data keeps being reloaded when it changes
+			shutDown = true;
+
+			if( fileChangeWatcher != null )
+			{
+				fileChangeWatcher.stop();
+				fileChangeWatcher = null;
+			}
+		}
+	}
+
+	private void startWatchingIfNeeded()
+	{
+		if( watchForChanges && !shutDown && fileChangeWatcher == null )
+		{
+			fileChangeWatcher = FileChangeWatcher.start( extraDataDirectory, EXTRA_DATA_FILENAME, () -> changeNotified = true );
+		}
 	}
 
 	private Map<String,ExtraData> readExtraDataFileAndGetMap( File extraDataFile ) throws IOException
@@ -280,4 +358,26 @@ final class ExtraDataGetterImpl implements ExtraDataGetter
 			}
 		}
 	}
+
+	private static final class CachedExtraData
+	{
+		private final long size;
+		private final long lastModified;
+		private final String hash;
+		private final Map<String,ExtraData> extraDataMap;
+
+		private CachedExtraData( long size, long lastModified, String hash, Map<String,ExtraData> extraDataMap )
+		{
+			this.size = size;
+			this.lastModified = lastModified;
+			this.hash = hash;
+			this.extraDataMap = extraDataMap;
+		}
+
+		private boolean isSameFile( File file )
+		{
+			//lastModified() returns 0 if the file is gone, which will not match a file that was read successfully
+			return file.lastModified() == lastModified && file.length() == size;
+		}
+	}
 }
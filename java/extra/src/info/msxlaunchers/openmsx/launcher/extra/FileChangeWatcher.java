@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.extra;
+
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches a single file in a directory and runs a callback whenever it is created, modified or deleted.
+ * This complements the size and last-modified checks of the extra data cache for file systems with a
+ * coarse timestamp resolution, where a file can be replaced with one of the same size within the same tick
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class FileChangeWatcher implements Runnable
+{
+	private final WatchService watchService;
+	private final Path fileName;
+	private final Runnable onChange;
+
+	private FileChangeWatcher( WatchService watchService, Path fileName, Runnable onChange )
+	{
+		this.watchService = watchService;
+		this.fileName = fileName;
+		this.onChange = onChange;
+	}
+
+	/**
+	 * Starts watching the given file on a daemon thread
+	 * 
+	 * @param directory Directory that contains the file
+	 * @param fileName Name of the file to watch
+	 * @param onChange Callback to run when the file changes. It is called on the watcher thread
+	 * @return The started watcher, or null if the directory cannot be watched
+	 */
+	static FileChangeWatcher start( String directory, String fileName, Runnable onChange )
+	{
+		try
+		{
+			WatchService watchService = FileSystems.getDefault().newWatchService();
+			Paths.get( directory ).register( watchService,
+					StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE );
+
+			FileChangeWatcher watcher = new FileChangeWatcher( watchService, Paths.get( fileName ), onChange );
+			Thread thread = new Thread( watcher, "FileChangeWatcher-" + fileName );
+			thread.setDaemon( true );
+			thread.start();
+
+			return watcher;
+		}
+		catch( IOException | UnsupportedOperationException | SecurityException ex )
+		{
+			//watching is only an optimisation - callers fall back to checking the file's metadata
+			return null;
+		}
+	}
+
+	/**
+	 * Stops watching and ends the watcher thread
+	 */
+	void stop()
+	{
+		try
+		{
+			watchService.close();
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+	}
+
+	@Override
+	public void run()
+	{
+		try
+		{
+			boolean valid = true;
+			while( valid )
+			{
+				WatchKey key = watchService.take();
+
+				for( WatchEvent<?> event: key.pollEvents() )
+				{
+					if( event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals( event.context() ) )
+					{
+						onChange.run();
+					}
+				}
+
+				valid = key.reset();
+			}
+		}
+		catch( InterruptedException | ClosedWatchServiceException ex )
+		{
+			//watcher was stopped - nothing to do here
+		}
+	}
+}
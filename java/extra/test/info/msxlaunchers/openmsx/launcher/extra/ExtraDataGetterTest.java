@@ -6,17 +6,30 @@ import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetterImpl;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ExtraDataGetterTest
 {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private String extraDataWorkingDirectory = new File( System.getProperty( "user.dir" ), "sampleWorkingExtraDataFile" ).getAbsolutePath();
 
 	@Test
@@ -153,4 +166,79 @@ public class ExtraDataGetterTest
 
 		extraDataGetter.getExtraDataFileVersion();
 	}
+
+	@Test
+	public void givenUnchangedFile_whenGetExtraDataTwice_thenCachedMapIsReturned() throws IOException
+	{
+		ExtraDataGetterImpl extraDataGetter = new ExtraDataGetterImpl( extraDataWorkingDirectory, false );
+
+		assertSame( extraDataGetter.getExtraData(), extraDataGetter.getExtraData() );
+	}
+
+	@Test
+	public void givenFileTouchedWithSameContent_whenGetExtraData_thenCachedMapIsReturned() throws IOException
+	{
+		Path extraDataFile = writeExtraDataFile( "#1\n1,1,1\nsha1a\n" );
+		ExtraDataGetterImpl extraDataGetter = new ExtraDataGetterImpl( temporaryFolder.getRoot().toString(), false );
+
+		Map<String,ExtraData> extraDataMap = extraDataGetter.getExtraData();
+		extraDataFile.toFile().setLastModified( extraDataFile.toFile().lastModified() - 10000 );
+
+		assertSame( extraDataMap, extraDataGetter.getExtraData() );
+	}
+
+	@Test
+	public void givenFileChanged_whenGetExtraData_thenFileIsReadAgain() throws IOException
+	{
+		Path extraDataFile = writeExtraDataFile( "#1\n1,1,1\nsha1a\n" );
+		ExtraDataGetterImpl extraDataGetter = new ExtraDataGetterImpl( temporaryFolder.getRoot().toString(), false );
+
+		Map<String,ExtraData> extraDataMap = extraDataGetter.getExtraData();
+		assertEquals( 1, extraDataMap.get( "sha1a" ).getMSXGenerationsID() );
+
+		long lastModified = extraDataFile.toFile().lastModified();
+		writeExtraDataFile( "#2\n1,1,1\nsha1b\n" );
+		extraDataFile.toFile().setLastModified( lastModified + 10000 );
+
+		Map<String,ExtraData> newExtraDataMap = extraDataGetter.getExtraData();
+		assertNotSame( extraDataMap, newExtraDataMap );
+		assertNull( newExtraDataMap.get( "sha1a" ) );
+		assertEquals( 2, newExtraDataMap.get( "sha1b" ).getMSXGenerationsID() );
+	}
+
+	@Test
+	public void givenWatchedFile_whenShutdown_thenWatcherThreadEnds() throws IOException, InterruptedException
+	{
+		writeExtraDataFile( "#1\n1,1,1\nsha1a\n" );
+		ExtraDataGetterImpl extraDataGetter = new ExtraDataGetterImpl( temporaryFolder.getRoot().toString(), true );
+
+		Set<Thread> watcherThreads = getWatcherThreads();
+		extraDataGetter.getExtraData();
+		Set<Thread> newWatcherThreads = getWatcherThreads();
+		newWatcherThreads.removeAll( watcherThreads );
+		assertEquals( 1, newWatcherThreads.size() );
+
+		extraDataGetter.shutdown();
+
+		Thread watcherThread = newWatcherThreads.iterator().next();
+		watcherThread.join( 5000 );
+		assertFalse( watcherThread.isAlive() );
+
+		//no new watcher is started after shutdown
+		extraDataGetter.getExtraData();
+		newWatcherThreads = getWatcherThreads();
+		newWatcherThreads.removeAll( watcherThreads );
+		assertEquals( Collections.emptySet(), newWatcherThreads );
+	}
+
+	private static Set<Thread> getWatcherThreads()
+	{
+		return Thread.getAllStackTraces().keySet().stream().filter( thread -> thread.getName().startsWith( "FileChangeWatcher-" ) && thread.isAlive() )
+				.collect( Collectors.toSet() );
+	}
+
+	private Path writeExtraDataFile( String content ) throws IOException
+	{
+		return Files.write( temporaryFolder.getRoot().toPath().resolve( "extra-data.dat" ), content.getBytes( StandardCharsets.UTF_8 ) );
+	}
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Hands log records to their handlers on a single writer thread so that callers never wait for file I/O.
+ * <p>
+ * Records are queued in a bounded ring buffer. When it is full the new record is dropped rather than blocking the caller,
+ * and the writer reports how many records were dropped to the overflow handler once it catches up
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class AsyncLogWriter
+{
+	private static final int BATCH_SIZE = 256;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos( 50 );
+
+	private final LogRingBuffer<Entry> buffer;
+	private final Handler overflowHandler;
+	private final AtomicLong droppedRecords = new AtomicLong();
+	private final Set<Handler> handlersToFlush = Collections.newSetFromMap( new IdentityHashMap<>() );
+	private final Thread writerThread;
+	private volatile boolean idle = false;
+
+	/**
+	 * @param capacity Maximum number of records waiting to be written
+	 * @param overflowHandler Handler that gets the number of dropped records
+	 * @param threadName Name of the writer thread
+	 */
+	AsyncLogWriter( int capacity, Handler overflowHandler, String threadName )
+	{
+		this.buffer = new LogRingBuffer<>( capacity );
+		this.overflowHandler = overflowHandler;
+
+		writerThread = new Thread( this::writeRecords, threadName );
+		writerThread.setDaemon( true );
+		writerThread.start();
+	}
+
+	/**
+	 * Queues the record to be published to the handler. Never blocks
+	 * 
+	 * @param handler Handler to publish the record to
+	 * @param record Log record
+	 * @return true if the record was queued, false if it was dropped because the buffer is full
+	 */
+	boolean write( Handler handler, LogRecord record )
+	{
+		if( buffer.offer( new Entry( handler, record, null ) ) )
+		{
+			wakeUpWriter();
+
+			return true;
+		}
+		else
+		{
+			droppedRecords.incrementAndGet();
+
+			return false;
+		}
+	}
+
+	/**
+	 * Waits until all records queued before this call are published and their handlers flushed
+	 * 
+	 * @param timeout Maximum time to wait
+	 * @param unit Unit of the timeout
+	 * @return true if everything was written within the timeout
+	 */
+	boolean flush( long timeout, TimeUnit unit )
+	{
+		long deadline = System.nanoTime() + unit.toNanos( timeout );
+		CountDownLatch flushed = new CountDownLatch( 1 );
+
+		//the marker has to wait for a free slot like any other record
+		while( !buffer.offer( new Entry( null, null, flushed ) ) )
+		{
+			if( System.nanoTime() - deadline >= 0 )
+			{
+				return false;
+			}
+			LockSupport.unpark( writerThread );
+			Thread.yield();
+		}
+		wakeUpWriter();
+
+		try
+		{
+			return flushed.await( deadline - System.nanoTime(), TimeUnit.NANOSECONDS );
+		}
+		catch( InterruptedException ie )
+		{
+			Thread.currentThread().interrupt();
+
+			return false;
+		}
+	}
+
+	/**
+	 * @return Number of records dropped and not reported yet
+	 */
+	long getDroppedRecords()
+	{
+		return droppedRecords.get();
+	}
+
+	private void wakeUpWriter()
+	{
+		if( idle )
+		{
+			LockSupport.unpark( writerThread );
+		}
+	}
+
+	private void writeRecords()
+	{
+		while( true )
+		{
+			int written = buffer.drain( this::publish, BATCH_SIZE );
+
+			if( written < BATCH_SIZE )
+			{
+				reportDroppedRecords();
+				flushHandlers();
+			}
+
+			if( written == 0 )
+			{
+				idle = true;
+				//check again after announcing the idle state - a record offered in between would not wake the writer up
+				if( buffer.isEmpty() )
+				{
+					LockSupport.parkNanos( this, IDLE_PARK_NANOS );
+				}
+				idle = false;
+			}
+		}
+	}
+
+	private void publish( Entry entry )
+	{
+		if( entry.flushed != null )
+		{
+			reportDroppedRecords();
+			flushHandlers();
+			entry.flushed.countDown();
+		}
+		else
+		{
+			try
+			{
+				entry.handler.publish( entry.record );
+				handlersToFlush.add( entry.handler );
+			}
+			catch( RuntimeException re )
+			{
+				//a failing handler must not stop the writer thread. Handlers report their own errors to their ErrorManager
+			}
+		}
+	}
+
+	private void reportDroppedRecords()
+	{
+		long dropped = droppedRecords.getAndSet( 0 );
+
+		if( dropped > 0 && overflowHandler != null )
+		{
+			LogRecord record = new LogRecord( Level.WARNING, dropped + " log records were dropped because the log buffer was full" );
+			record.setLoggerName( getClass().getName() );
+			record.setSourceClassName( getClass().getName() );
+
+			overflowHandler.publish( record );
+			handlersToFlush.add( overflowHandler );
+		}
+	}
+
+	private void flushHandlers()
+	{
+		for( Handler handler: handlersToFlush )
+		{
+			handler.flush();
+		}
+		handlersToFlush.clear();
+	}
+
+	private static final class Entry
+	{
+		private final Handler handler;
+		private final LogRecord record;
+		private final CountDownLatch flushed;
+
+		Entry( Handler handler, LogRecord record, CountDownLatch flushed )
+		{
+			this.handler = handler;
+			this.record = record;
+			this.flushed = flushed;
+		}
+	}
+}
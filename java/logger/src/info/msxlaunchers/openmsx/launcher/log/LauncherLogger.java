@@ -18,18 +18,19 @@ package info.msxlaunchers.openmsx.launcher.log;
 import java.io.File;
 import java.io.IOException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
-import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
 
 import info.msxlaunchers.openmsx.common.OSUtils;
 
 /**
- * Logger class 
+ * Logger class. Messages and exceptions are queued and written to the log files by a background thread so that callers
+ * never wait for the disk - see <code>AsyncLogWriter</code> for what happens when the queue is full
  * 
  * @since v1.8
  * @author Sam Elsharif
@@ -45,15 +46,15 @@ public final class LauncherLogger
 	private static final int MAX_LOG_SIZE = 1024 * 50;
 	private static final int MAX_LOGS_NUMBER = 2;
 	private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+	private static final int BUFFER_CAPACITY = 1024;
+	private static final long FLUSH_TIMEOUT_SECONDS = 2;
 
-	private static final Logger messageLogger = Logger.getLogger( MESSAGE_LOGGER_NAME );
-	private static final Logger exceptionLogger = Logger.getLogger( EXCEPTION_LOGGER_NAME );
+	private static final Handler messageHandler;
+	private static final Handler exceptionHandler;
+	private static final AsyncLogWriter writer;
 
 	static
 	{
-		Handler messageHandler = null;
-		Handler exceptionHandler = null;
-
 		try
 		{
 			messageHandler = new FileHandler( new File( LOG_DIRECTORY, MESSAGE_LOG_FILENAME ).toString(), MAX_LOG_SIZE, MAX_LOGS_NUMBER, true );
@@ -67,12 +68,12 @@ public final class LauncherLogger
 		}
 
 		messageHandler.setFormatter( new MessageFormatter() );
-		messageLogger.addHandler( messageHandler );
-		messageLogger.setUseParentHandlers( false );
-
 		exceptionHandler.setFormatter( new SimpleFormatter() );
-		exceptionLogger.addHandler( exceptionHandler );
-		exceptionLogger.setUseParentHandlers( false );
+
+		writer = new AsyncLogWriter( BUFFER_CAPACITY, exceptionHandler, "LauncherLogWriter" );
+
+		//covers exits that do not go through flush()
+		Runtime.getRuntime().addShutdownHook( new Thread( LauncherLogger::flush ) );
 	}
 
 	/**
@@ -93,7 +94,10 @@ public final class LauncherLogger
 	 */
 	public static void logMessage( String message )
 	{
-		messageLogger.info( message );
+		LogRecord record = new LogRecord( Level.INFO, message );
+		record.setLoggerName( MESSAGE_LOGGER_NAME );
+
+		writer.write( messageHandler, record );
 	}
 
 	/**
@@ -104,7 +108,21 @@ public final class LauncherLogger
 	 */
 	public static void logException( Object object, Exception ex )
 	{
-		exceptionLogger.log( Level.SEVERE, object.getClass().getName() + " - " + ex.getMessage(), ex ); 
+		LogRecord record = new LogRecord( Level.SEVERE, object.getClass().getName() + " - " + ex.getMessage() );
+		record.setLoggerName( EXCEPTION_LOGGER_NAME );
+		//the writer thread cannot infer the caller, so set it here
+		record.setSourceClassName( object.getClass().getName() );
+		record.setThrown( ex );
+
+		writer.write( exceptionHandler, record );
+	}
+
+	/**
+	 * Waits for the queued messages and exceptions to be written to the log files. Called before the application exits
+	 */
+	public static void flush()
+	{
+		writer.flush( FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS );
 	}
 
 	private static class MessageFormatter extends Formatter
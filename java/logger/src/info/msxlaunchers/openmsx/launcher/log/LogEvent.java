@@ -25,4 +25,5 @@ package info.msxlaunchers.openmsx.launcher.log;
 public enum LogEvent
 {
 	LAUNCH,
+	STARTUP,
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer that any number of threads can add to and a single thread takes from. Each slot has a
+ * sequence number that tells producers when it is free and the consumer when it is filled, so neither side ever locks
+ * or waits for the other
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ * @param <E> Type of buffered elements
+ */
+final class LogRingBuffer<E>
+{
+	private final int mask;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * @param capacity Number of slots - rounded up to the next power of 2
+	 */
+	LogRingBuffer( int capacity )
+	{
+		if( capacity < 1 || capacity > (1 << 30) )
+		{
+			throw new IllegalArgumentException( "Invalid capacity: " + capacity );
+		}
+
+		int size = Integer.highestOneBit( capacity );
+		if( size < capacity )
+		{
+			size <<= 1;
+		}
+
+		this.mask = size - 1;
+		this.elements = new AtomicReferenceArray<>( size );
+		this.sequences = new AtomicLongArray( size );
+
+		for( int index = 0; index < size; index++ )
+		{
+			sequences.set( index, index );
+		}
+	}
+
+	/**
+	 * Adds the element if there is a free slot. Can be called from any thread
+	 * 
+	 * @param element Element to add
+	 * @return true if the element was added, false if the buffer is full
+	 */
+	boolean offer( E element )
+	{
+		while( true )
+		{
+			long position = tail.get();
+			int index = (int)position & mask;
+			long sequence = sequences.get( index );
+
+			if( sequence == position )
+			{
+				if( tail.compareAndSet( position, position + 1 ) )
+				{
+					elements.set( index, element );
+					sequences.set( index, position + 1 );
+
+					return true;
+				}
+			}
+			else if( sequence < position )
+			{
+				//the slot still holds the element from the previous lap
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Passes up to the given number of elements to the consumer in the order they were added. Must only be called from
+	 * one thread at a time
+	 * 
+	 * @param consumer Consumer of the elements
+	 * @param maxElements Maximum number of elements to take
+	 * @return Number of elements taken
+	 */
+	int drain( Consumer<? super E> consumer, int maxElements )
+	{
+		int count = 0;
+		long position = head.get();
+
+		while( count < maxElements )
+		{
+			int index = (int)position & mask;
+
+			if( sequences.get( index ) != position + 1 )
+			{
+				//empty, or a producer has claimed the slot but not filled it yet
+				break;
+			}
+
+			E element = elements.get( index );
+			elements.set( index, null );
+			sequences.set( index, position + mask + 1 );
+			position++;
+			head.set( position );
+
+			consumer.accept( element );
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return true if there are no elements left to take
+	 */
+	boolean isEmpty()
+	{
+		return head.get() == tail.get();
+	}
+
+	/**
+	 * @return Number of slots
+	 */
+	int capacity()
+	{
+		return mask + 1;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Records how long each phase of the application startup takes and writes a single budget report to the message log
+ * once the main window is displayed. Phases can run on any thread and can be nested - phases that did not run on the
+ * startup thread are reported with the name of their thread so that parallel work can be told apart
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class StartupProfiler
+{
+	/**
+	 * Time allowed from the JVM start until the main window is displayed
+	 */
+	public static final long STARTUP_BUDGET_MILLIS = 1000;
+
+	//the presenter can be constructed more than once (e.g. in tests) - this keeps the recorded phases bounded
+	private static final int MAX_PHASES = 64;
+
+	private static final StartupProfiler instance = new StartupProfiler( STARTUP_BUDGET_MILLIS,
+			() -> ManagementFactory.getRuntimeMXBean().getUptime() );
+
+	private final long budgetMillis;
+	private final LongSupplier uptimeSupplier;
+	private final Thread startupThread;
+	private final List<PhaseTime> phases = new ArrayList<>();
+	private final AtomicBoolean finished = new AtomicBoolean();
+
+	StartupProfiler( long budgetMillis, LongSupplier uptimeSupplier )
+	{
+		this.budgetMillis = budgetMillis;
+		this.uptimeSupplier = uptimeSupplier;
+		this.startupThread = Thread.currentThread();
+
+		//time spent by the JVM before the first startup code got to run
+		record( "jvm", uptimeSupplier.getAsLong(), null );
+	}
+
+	/**
+	 * Returns the application wide startup profiler
+	 * 
+	 * @return Startup profiler
+	 */
+	public static StartupProfiler getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Starts timing a phase. The phase ends when the returned object is closed, which allows using it in try-with-resources
+	 * 
+	 * @param name Name of the phase as it appears in the report
+	 * @return Phase that records its duration when closed
+	 */
+	public Phase startPhase( String name )
+	{
+		return new Phase( name );
+	}
+
+	/**
+	 * Writes the startup report to the message log. Only the first call writes the report - phases that end after it are ignored
+	 */
+	public void finish()
+	{
+		if( finished.compareAndSet( false, true ) )
+		{
+			LauncherLogger.logMessage( LogEvent.STARTUP, getReport() );
+		}
+	}
+
+	String getReport()
+	{
+		long totalMillis = uptimeSupplier.getAsLong();
+		StringBuilder report = new StringBuilder();
+
+		report.append( totalMillis ).append( " ms since JVM start, budget " ).append( budgetMillis ).append( " ms" );
+		if( totalMillis > budgetMillis )
+		{
+			report.append( ", OVER by " ).append( totalMillis - budgetMillis ).append( " ms" );
+		}
+
+		String separator = " - ";
+		synchronized( phases )
+		{
+			for( PhaseTime phase: phases )
+			{
+				report.append( separator ).append( phase.name ).append( ' ' ).append( phase.millis ).append( " ms" );
+				if( phase.threadName != null )
+				{
+					report.append( " [" ).append( phase.threadName ).append( ']' );
+				}
+				separator = ", ";
+			}
+		}
+
+		return report.toString();
+	}
+
+	void record( String name, long millis, String threadName )
+	{
+		if( !finished.get() )
+		{
+			synchronized( phases )
+			{
+				if( phases.size() < MAX_PHASES )
+				{
+					phases.add( new PhaseTime( name, millis, threadName ) );
+				}
+			}
+		}
+	}
+
+	/**
+	 * A running startup phase
+	 */
+	public final class Phase implements AutoCloseable
+	{
+		private final String name;
+		private final long startTime = System.nanoTime();
+
+		private Phase( String name )
+		{
+			this.name = name;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void close()
+		{
+			Thread currentThread = Thread.currentThread();
+
+			record( name, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime ),
+					currentThread == startupThread ? null : currentThread.getName() );
+		}
+	}
+
+	private static final class PhaseTime
+	{
+		private final String name;
+		private final long millis;
+		private final String threadName;
+
+		PhaseTime( String name, long millis, String threadName )
+		{
+			this.name = name;
+			this.millis = millis;
+			this.threadName = threadName;
+		}
+	}
+}
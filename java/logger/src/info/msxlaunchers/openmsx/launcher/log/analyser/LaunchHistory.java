@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Permanent record of game launches and play sessions. Unlike the message log it is never rotated, and its aggregates (play
+ * history, most played games, play time and recent sessions) are kept up to date with every launch and session so they do
+ * not have to be recalculated when they are displayed
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+public interface LaunchHistory
+{
+	/**
+	 * Records the launch of a game at the current time
+	 * 
+	 * @param gameName Name of the launched game
+	 * @param database Database of the launched game
+	 * @throws IOException If the launch could not be written to the history file
+	 */
+	void recordLaunch( String gameName, String database ) throws IOException;
+
+	/**
+	 * Records a finished play session
+	 * 
+	 * @param gameName Name of the played game
+	 * @param database Database of the played game
+	 * @param startTime Start time of the session in milliseconds since the epoch
+	 * @param endTime End time of the session in milliseconds since the epoch
+	 * @throws IOException If the session could not be written to the sessions file
+	 */
+	void recordSession( String gameName, String database, long startTime, long endTime ) throws IOException;
+
+	/**
+	 * Return the launch aggregates in the same form as <code>LogProcessor.getProcessedData()</code>
+	 * 
+	 * @return Unmodifiable map of the aggregate key to its items. The returned lists do not change with later launches
+	 */
+	Map<String,List<String[]>> getProcessedData();
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+import info.msxlaunchers.openmsx.launcher.log.LogEvent;
+
+/**
+ * Implementation of <code>LaunchHistory</code> that appends each launch to a text file as a line with the date and the game
+ * and database names, and each play session to another file as a line with its start and end times and the game and database
+ * names. The file is only read once, in the background when the store is created. After that every launch is passed to
+ * the launch event processors as it happens, and they hold the aggregates. Sessions are aggregated by <code>PlaySessionAggregates</code>.
+ * <p>
+ * When the history file does not exist yet, the launches still in the message log are copied to it so that the existing
+ * history is kept. This happens before any game can be launched, otherwise a launch would be both imported from the message
+ * log and recorded
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class LaunchHistoryStore implements LaunchHistory
+{
+	static final String HISTORY_FILENAME = "launch-history.log";
+	static final String SESSIONS_FILENAME = "play-sessions.log";
+
+	private static final char SEPARATOR = '\t';
+
+	private final Path historyFile;
+	private final Path sessionsFile;
+	private final LogReader logReader;
+	private final LaunchLogProcessor launchLogProcessor;
+	private final PlaySessionAggregates playSessions = new PlaySessionAggregates();
+
+	private boolean loaded = false;
+
+	@Inject
+	LaunchHistoryStore( @Named("UserDataDirectory") String historyDirectory, LogReader logReader, LaunchLogProcessor launchLogProcessor,
+			@Named("BackgroundExecutor") Executor loadExecutor )
+	{
+		this.historyFile = Paths.get( Objects.requireNonNull( historyDirectory ), HISTORY_FILENAME );
+		this.sessionsFile = Paths.get( historyDirectory, SESSIONS_FILENAME );
+		this.logReader = Objects.requireNonNull( logReader );
+		this.launchLogProcessor = Objects.requireNonNull( launchLogProcessor );
+
+		loadExecutor.execute( this::load );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.LaunchHistory#recordLaunch(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public synchronized void recordLaunch( String gameName, String database ) throws IOException
+	{
+		load();
+
+		//same date format as the message log
+		String date = new Date().toString();
+		String message = Objects.requireNonNull( gameName ) + "[" + Objects.requireNonNull( database ) + "]";
+
+		append( historyFile, date + SEPARATOR + message );
+
+		launchLogProcessor.processMessage( date, message );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.LaunchHistory#recordSession(java.lang.String, java.lang.String, long, long)
+	 */
+	@Override
+	public synchronized void recordSession( String gameName, String database, long startTime, long endTime ) throws IOException
+	{
+		load();
+
+		DatabaseItem databaseItem = new DatabaseItem( gameName, database );
+
+		append( sessionsFile, Long.toString( startTime ) + SEPARATOR + endTime + SEPARATOR + gameName + "[" + database + "]" );
+
+		playSessions.add( databaseItem, startTime, endTime );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.LaunchHistory#getProcessedData()
+	 */
+	@Override
+	public synchronized Map<String,List<String[]>> getProcessedData()
+	{
+		load();
+
+		Map<String,List<String[]>> processedData = new HashMap<>( launchLogProcessor.getProcessedData() );
+		processedData.putAll( playSessions.getProcessedData() );
+
+		return Collections.unmodifiableMap( processedData );
+	}
+
+	private static void append( Path file, String line ) throws IOException
+	{
+		try( BufferedWriter writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND ) )
+		{
+			writer.write( line );
+			writer.newLine();
+		}
+	}
+
+	private synchronized void load()
+	{
+		if( loaded )
+		{
+			return;
+		}
+		loaded = true;
+
+		try( BufferedReader reader = Files.newBufferedReader( historyFile, StandardCharsets.UTF_8 ) )
+		{
+			String line;
+			while( (line = reader.readLine()) != null )
+			{
+				int separatorIndex = line.indexOf( SEPARATOR );
+
+				if( separatorIndex > 0 )
+				{
+					launchLogProcessor.processMessage( line.substring( 0, separatorIndex ), line.substring( separatorIndex + 1 ) );
+				}
+			}
+		}
+		catch( NoSuchFileException nsfe )
+		{
+			importMessageLog();
+		}
+		catch( IOException ioe )
+		{
+			//the history will only have the launches from this session
+			LauncherLogger.logException( this, ioe );
+		}
+
+		loadSessions();
+	}
+
+	private void loadSessions()
+	{
+		try( BufferedReader reader = Files.newBufferedReader( sessionsFile, StandardCharsets.UTF_8 ) )
+		{
+			String line;
+			while( (line = reader.readLine()) != null )
+			{
+				String[] fields = line.split( String.valueOf( SEPARATOR ), 3 );
+
+				if( fields.length == 3 )
+				{
+					try
+					{
+						playSessions.add( DatabaseItem.getDatabaseItem( fields[2] ), Long.parseLong( fields[0] ), Long.parseLong( fields[1] ) );
+					}
+					catch( NumberFormatException nfe )
+					{
+						//skip the damaged line
+					}
+				}
+			}
+		}
+		catch( NoSuchFileException nsfe )
+		{
+			//no sessions were recorded yet
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+	}
+
+	private void importMessageLog()
+	{
+		List<String> lines = new ArrayList<>();
+
+		for( String line: logReader.read() )
+		{
+			if( LogAnalyserImpl.getLogEvent( line ) == LogEvent.LAUNCH )
+			{
+				String[] dateAndMessage = LogAnalyserImpl.getLineDateAndMessage( line, LogEvent.LAUNCH );
+
+				launchLogProcessor.processMessage( dateAndMessage[0], dateAndMessage[1] );
+				lines.add( dateAndMessage[0] + SEPARATOR + dateAndMessage[1] );
+			}
+		}
+
+		try
+		{
+			//the file is created even if there was nothing to import, so the import only happens once
+			Files.write( historyFile, lines, StandardCharsets.UTF_8 );
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package info.msxlaunchers.openmsx.launcher.log.analyser;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,7 +27,8 @@ import info.msxlaunchers.openmsx.launcher.log.LogEvent;
 
 /**
  * Implementation of the interface <code>LogAnalyser</code> that reads a log file and calls corresponding processor
- * on each line based on the log event in the line
+ * on each line based on the log event in the line. Launch data comes from <code>LaunchHistory</code> instead, which
+ * keeps it up to date without reading the log
  * 
  * @since v1.8
  * @author Sam Elsharif
@@ -35,12 +37,14 @@ final class LogAnalyserImpl implements LogAnalyser
 {
 	private final LogReader logReader;
 	private final Map<LogEvent,LogProcessor> logProcessors;
+	private final LaunchHistory launchHistory;
 
 	@Inject
-	LogAnalyserImpl( LogReader logReader, Map<LogEvent,LogProcessor> logProcessors )
+	LogAnalyserImpl( LogReader logReader, Map<LogEvent,LogProcessor> logProcessors, LaunchHistory launchHistory )
 	{
 		this.logReader = logReader;
 		this.logProcessors = logProcessors;
+		this.launchHistory = launchHistory;
 	}
 
 	/* (non-Javadoc)
@@ -49,9 +53,10 @@ final class LogAnalyserImpl implements LogAnalyser
 	@Override
 	public Map<String,List<String[]>> getProcessedData()
 	{
-		List<String> logLines = logReader.read();
+		Map<String,List<String[]>> processedData = new HashMap<>( launchHistory.getProcessedData() );
 
-		Map<String,List<String[]>> processedData = new HashMap<>();
+		//no need to read the log if no event needs it
+		List<String> logLines = logProcessors.isEmpty() ? Collections.emptyList() : logReader.read();
 
 		for( String line: logLines )
 		{
@@ -76,7 +81,7 @@ final class LogAnalyserImpl implements LogAnalyser
 		return processedData;
 	}
 
-	private LogEvent getLogEvent( String line )
+	static LogEvent getLogEvent( String line )
 	{
 		LogEvent event = null;
 
@@ -106,7 +111,7 @@ final class LogAnalyserImpl implements LogAnalyser
 	/**
 	 * This method will only be called if the line contains a valid event (i.e. only after getLogEvent() returns an existing event
 	 */
-	private String[] getLineDateAndMessage( String line, LogEvent logEvent )
+	static String[] getLineDateAndMessage( String line, LogEvent logEvent )
 	{
 		String splitString = ": " + logEvent + " ";
 		int firstIndex = line.indexOf( splitString );
@@ -33,9 +33,11 @@ public class LoggerModule extends AbstractModule
 	{
 		bind( LogAnalyser.class ).to( LogAnalyserImpl.class );
 		bind( LogReader.class ).to( LogFileReader.class );
+		bind( LaunchHistory.class ).to( LaunchHistoryStore.class );
+		bind( PlaySessionTracker.class ).to( ProcessPlaySessionTracker.class );
 
-		MapBinder<LogEvent,LogProcessor> mapBinder = MapBinder.newMapBinder( binder(), LogEvent.class, LogProcessor.class );
-		mapBinder.addBinding( LogEvent.LAUNCH ).to( LaunchLogProcessor.class );
+		//launch events are not processed from the message log - they come from the launch history
+		MapBinder.newMapBinder( binder(), LogEvent.class, LogProcessor.class );
 
 		install( new LaunchEventProcessorModule() );
 	}
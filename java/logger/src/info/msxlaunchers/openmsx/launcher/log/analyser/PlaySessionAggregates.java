@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+
+/**
+ * Play time aggregates of the recorded play sessions: the number of sessions and total play time of each game, and the
+ * most recent sessions. Not thread-safe
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class PlaySessionAggregates
+{
+	static final String PLAY_TIME_KEY = "PLAY_TIME";
+	static final String RECENT_SESSIONS_KEY = "RECENT_SESSIONS";
+	static final int MAX_RECENT_SESSIONS = 20;
+
+	private final Map<DatabaseItem,GamePlayTime> playTimes = new HashMap<>();
+	private final ArrayDeque<String[]> recentSessions = new ArrayDeque<>( MAX_RECENT_SESSIONS );
+
+	/**
+	 * Adds a finished session
+	 * 
+	 * @param databaseItem Game and database of the session
+	 * @param startTime Start time in milliseconds since the epoch
+	 * @param endTime End time in milliseconds since the epoch
+	 */
+	void add( DatabaseItem databaseItem, long startTime, long endTime )
+	{
+		long duration = Math.max( 0, endTime - startTime );
+
+		GamePlayTime playTime = playTimes.computeIfAbsent( databaseItem, GamePlayTime::new );
+		playTime.sessions++;
+		playTime.totalTime += duration;
+
+		if( recentSessions.size() == MAX_RECENT_SESSIONS )
+		{
+			recentSessions.removeLast();
+		}
+		recentSessions.addFirst( new String[] { new Date( startTime ).toString(), databaseItem.getGameName(), databaseItem.getDatabase(),
+				formatDuration( duration ) } );
+	}
+
+	/**
+	 * @return Map with the play time of every game, longest first, as game, database, number of sessions and total time,
+	 * and the most recent sessions, most recent first, as start date, game, database and duration
+	 */
+	Map<String,List<String[]>> getProcessedData()
+	{
+		List<String[]> playTimeItems = playTimes.values().stream()
+				.sorted( Comparator.<GamePlayTime>comparingLong( p -> p.totalTime ).reversed()
+						.thenComparing( p -> p.databaseItem.getGameName(), String::compareToIgnoreCase )
+						.thenComparing( p -> p.databaseItem.getDatabase(), String::compareToIgnoreCase ) )
+				.map( p -> new String[] { p.databaseItem.getGameName(), p.databaseItem.getDatabase(), Integer.toString( p.sessions ),
+						formatDuration( p.totalTime ) } )
+				.collect( Collectors.toList() );
+
+		List<String[]> recentSessionItems = new ArrayList<>( recentSessions );
+
+		Map<String,List<String[]>> processedData = new HashMap<>();
+		processedData.put( PLAY_TIME_KEY, Collections.unmodifiableList( playTimeItems ) );
+		processedData.put( RECENT_SESSIONS_KEY, Collections.unmodifiableList( recentSessionItems ) );
+
+		return processedData;
+	}
+
+	/**
+	 * @param millis Duration in milliseconds
+	 * @return Duration as hours:minutes:seconds
+	 */
+	static String formatDuration( long millis )
+	{
+		long seconds = TimeUnit.MILLISECONDS.toSeconds( millis );
+
+		return String.format( "%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60 );
+	}
+
+	private static final class GamePlayTime
+	{
+		private final DatabaseItem databaseItem;
+		private int sessions = 0;
+		private long totalTime = 0;
+
+		GamePlayTime( DatabaseItem databaseItem )
+		{
+			this.databaseItem = databaseItem;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+/**
+ * Interface to track how long launched games are played
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+public interface PlaySessionTracker
+{
+	/**
+	 * Starts a play session that ends when the given process exits or when another game is tracked for the same process,
+	 * as happens when a running emulator is switched to another game. Returns immediately - the session is recorded in the
+	 * launch history when it ends
+	 * 
+	 * @param process Emulator process running the game
+	 * @param gameName Name of the game
+	 * @param database Database of the game
+	 */
+	void track( Process process, String gameName, String database );
+
+	/**
+	 * @return Number of sessions that have not ended yet
+	 */
+	int getActiveSessions();
+}
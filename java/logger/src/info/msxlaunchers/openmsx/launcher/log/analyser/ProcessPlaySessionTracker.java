@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+/**
+ * Implementation of <code>PlaySessionTracker</code> that waits for each emulator process to exit on a thread of a cached pool
+ * and then records the session. The waiting threads block in <code>Process.waitFor()</code> instead of polling the processes,
+ * and the pool grows with the number of games running at the same time. Each process has at most one session: tracking another
+ * game on a process that is still running ends the session of the previous game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class ProcessPlaySessionTracker implements PlaySessionTracker
+{
+	private final LaunchHistory launchHistory;
+	private final Executor watcherExecutor;
+	private final LongSupplier clock;
+	//guarded by itself
+	private final Map<Process,Session> sessions = new IdentityHashMap<>();
+
+	@Inject
+	ProcessPlaySessionTracker( LaunchHistory launchHistory )
+	{
+		this( launchHistory, Executors.newCachedThreadPool( runnable -> {
+			Thread thread = new Thread( runnable, "PlaySessionWatcher" );
+			thread.setDaemon( true );
+			return thread;
+		} ), System::currentTimeMillis );
+	}
+
+	ProcessPlaySessionTracker( LaunchHistory launchHistory, Executor watcherExecutor, LongSupplier clock )
+	{
+		this.launchHistory = Objects.requireNonNull( launchHistory );
+		this.watcherExecutor = Objects.requireNonNull( watcherExecutor );
+		this.clock = Objects.requireNonNull( clock );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.PlaySessionTracker#track(java.lang.Process, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void track( Process process, String gameName, String database )
+	{
+		Objects.requireNonNull( process );
+		Objects.requireNonNull( gameName );
+		Objects.requireNonNull( database );
+
+		Session session = new Session( gameName, database, clock.getAsLong() );
+		Session previousSession;
+
+		synchronized( sessions )
+		{
+			previousSession = sessions.put( process, session );
+		}
+
+		if( previousSession != null )
+		{
+			//the emulator was switched to this game, which ends the previous game's session
+			watcherExecutor.execute( () -> record( previousSession, session.startTime ) );
+		}
+		else
+		{
+			watcherExecutor.execute( () -> waitForExit( process ) );
+		}
+	}
+
+	private void waitForExit( Process process )
+	{
+		try
+		{
+			process.waitFor();
+
+			Session session;
+			synchronized( sessions )
+			{
+				session = sessions.remove( process );
+			}
+			record( session, clock.getAsLong() );
+		}
+		catch( InterruptedException ie )
+		{
+			//only happens if the application is exiting - the session is not recorded
+			Thread.currentThread().interrupt();
+
+			synchronized( sessions )
+			{
+				sessions.remove( process );
+			}
+		}
+	}
+
+	private void record( Session session, long endTime )
+	{
+		try
+		{
+			launchHistory.recordSession( session.gameName, session.database, session.startTime, endTime );
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.PlaySessionTracker#getActiveSessions()
+	 */
+	@Override
+	public int getActiveSessions()
+	{
+		synchronized( sessions )
+		{
+			return sessions.size();
+		}
+	}
+
+	private static final class Session
+	{
+		private final String gameName;
+		private final String database;
+		private final long startTime;
+
+		Session( String gameName, String database, long startTime )
+		{
+			this.gameName = gameName;
+			this.database = database;
+			this.startTime = startTime;
+		}
+	}
+}
@@ -15,23 +15,25 @@
  */
 package info.msxlaunchers.openmsx.launcher.log.analyser.processor;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
 
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.log.analyser.LogProcessItem;
 
 /**
  * Implementation of the interface <code>LaunchEventProcessor</code> that returned a list of all launched
- * games ordered by date (i.e. the same order they appear in the log file)
+ * games ordered by date, most recent first (i.e. the reverse of the order they appear in the log file)
  * 
  * @since v1.8
  * @author Sam Elsharif
  */
 final class AllPlayHistoryLaunchEventProcessor implements LaunchEventProcessor
 {
-	private final List<String[]> allPlayHistory = new ArrayList<>( 1200 );
+	//entries are only ever appended, so a returned history can share the array - it only reads the entries that existed then
+	private String[][] allPlayHistory = new String[1200][];
+	private int size = 0;
 
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.processor.LaunchEventProcessor#processMessage(java.lang.String, info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem)
@@ -39,7 +41,11 @@ final class AllPlayHistoryLaunchEventProcessor implements LaunchEventProcessor
 	@Override
 	public void processMessage( String date, DatabaseItem databaseItem )
 	{
-		allPlayHistory.add( new String[] { date, databaseItem.getGameName(), databaseItem.getDatabase() } );
+		if( size == allPlayHistory.length )
+		{
+			allPlayHistory = Arrays.copyOf( allPlayHistory, size * 2 );
+		}
+		allPlayHistory[size++] = new String[] { date, databaseItem.getGameName(), databaseItem.getDatabase() };
 	}
 
 	/* (non-Javadoc)
@@ -48,8 +54,35 @@ final class AllPlayHistoryLaunchEventProcessor implements LaunchEventProcessor
 	@Override
 	public LogProcessItem getProcessedData()
 	{
-		Collections.reverse( allPlayHistory );
+		return new LogProcessItem( "ALL_PLAY_HISTORY", new ReversedHistory( allPlayHistory, size ) );
+	}
+
+	private static final class ReversedHistory extends AbstractList<String[]> implements RandomAccess
+	{
+		private final String[][] history;
+		private final int size;
+
+		ReversedHistory( String[][] history, int size )
+		{
+			this.history = history;
+			this.size = size;
+		}
+
+		@Override
+		public String[] get( int index )
+		{
+			if( index < 0 || index >= size )
+			{
+				throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+			}
+
+			return history[size - index - 1];
+		}
 
-		return new LogProcessItem( "ALL_PLAY_HISTORY", allPlayHistory );
+		@Override
+		public int size()
+		{
+			return size;
+		}
 	}
 }
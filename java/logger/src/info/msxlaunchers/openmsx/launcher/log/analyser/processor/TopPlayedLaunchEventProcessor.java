@@ -15,6 +15,8 @@
  */
 package info.msxlaunchers.openmsx.launcher.log.analyser.processor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -34,24 +36,37 @@ import info.msxlaunchers.openmsx.launcher.log.analyser.LogProcessItem;
  */
 final class TopPlayedLaunchEventProcessor implements LaunchEventProcessor
 {
-	private final Map<DatabaseItem,Integer> topPlayedGames = new HashMap<>();
-
 	private final int MAX_TOP_GAMES = 10;
 
+	private final Map<DatabaseItem,Integer> playCounts = new HashMap<>();
+	//kept sorted as games are launched - a launch only increases one count, so only that game can move up or enter the list
+	private final List<DatabaseItem> topPlayedGames = new ArrayList<>( MAX_TOP_GAMES + 1 );
+
+	private final Comparator<DatabaseItem> topPlayedComparator = Comparator.<DatabaseItem,Integer>comparing( playCounts::get ).reversed()
+			.thenComparing( DatabaseItem::getGameName, String::compareToIgnoreCase )
+			.thenComparing( DatabaseItem::getDatabase, String::compareToIgnoreCase );
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.log.analyser.processor.LaunchEventProcessor#processMessage(java.lang.String, info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem)
 	 */
 	@Override
 	public void processMessage( String date, DatabaseItem databaseItem )
 	{
-		if( topPlayedGames.containsKey( databaseItem ) )
-		{
-			int count = topPlayedGames.get( databaseItem ) + 1;
-			topPlayedGames.put( databaseItem, count );
-		}
-		else
+		playCounts.merge( databaseItem, 1, Integer::sum );
+
+		topPlayedGames.remove( databaseItem );
+
+		int index = Collections.binarySearch( topPlayedGames, databaseItem, topPlayedComparator );
+		int insertionIndex = index < 0 ? -index - 1 : index;
+
+		if( insertionIndex < MAX_TOP_GAMES )
 		{
-			topPlayedGames.put( databaseItem, 1 );
+			topPlayedGames.add( insertionIndex, databaseItem );
+
+			if( topPlayedGames.size() > MAX_TOP_GAMES )
+			{
+				topPlayedGames.remove( MAX_TOP_GAMES );
+			}
 		}
 	}
 
@@ -61,13 +76,8 @@ final class TopPlayedLaunchEventProcessor implements LaunchEventProcessor
 	@Override
 	public LogProcessItem getProcessedData()
 	{
-		Comparator<Map.Entry<DatabaseItem,Integer>> gameNameComparator = (g1, g2) -> g1.getKey().getGameName().compareToIgnoreCase( g2.getKey().getGameName() );
-		Comparator<Map.Entry<DatabaseItem,Integer>> databaseComparator = (d1, d2) -> d1.getKey().getDatabase().compareToIgnoreCase( d2.getKey().getDatabase() );
-
-		List<String[]> list = topPlayedGames.entrySet().stream()
-				.sorted( Map.Entry.<DatabaseItem,Integer>comparingByValue().reversed().thenComparing( gameNameComparator ).thenComparing( databaseComparator ) )
-				.limit( MAX_TOP_GAMES )
-				.map( e -> new String[] {e.getKey().getGameName(), e.getKey().getDatabase(), e.getValue().toString()} )
+		List<String[]> list = topPlayedGames.stream()
+				.map( g -> new String[] {g.getGameName(), g.getDatabase(), playCounts.get( g ).toString()} )
 				.collect( Collectors.toList() );
 
 		return new LogProcessItem( "MOST_PLAYED", list );
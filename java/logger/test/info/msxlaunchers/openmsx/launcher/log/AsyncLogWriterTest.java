@@ -0,0 +1,107 @@
+package info.msxlaunchers.openmsx.launcher.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+public class AsyncLogWriterTest
+{
+	@Test
+	public void givenQueuedRecords_whenFlush_thenAllArePublishedInOrder()
+	{
+		RecordingHandler handler = new RecordingHandler( null );
+		AsyncLogWriter writer = new AsyncLogWriter( 16, handler, "test-writer" );
+
+		for( int i = 0; i < 10; i++ )
+		{
+			assertTrue( writer.write( handler, new LogRecord( Level.INFO, "message" + i ) ) );
+		}
+
+		assertTrue( writer.flush( 5, TimeUnit.SECONDS ) );
+		assertEquals( 10, handler.records.size() );
+		assertEquals( "message0", handler.records.get( 0 ).getMessage() );
+		assertEquals( "message9", handler.records.get( 9 ).getMessage() );
+		assertTrue( handler.flushes > 0 );
+	}
+
+	@Test
+	public void givenBlockedWriter_whenBufferIsFull_thenDropsRecordsAndReportsThem() throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch( 1 );
+		RecordingHandler blockingHandler = new RecordingHandler( release );
+		RecordingHandler overflowHandler = new RecordingHandler( null );
+		AsyncLogWriter writer = new AsyncLogWriter( 2, overflowHandler, "test-writer" );
+
+		//the writer takes the first record and blocks on it, leaving 2 free slots
+		writer.write( blockingHandler, new LogRecord( Level.INFO, "first" ) );
+		while( blockingHandler.publishing == 0 )
+		{
+			Thread.yield();
+		}
+		assertTrue( writer.write( blockingHandler, new LogRecord( Level.INFO, "second" ) ) );
+		assertTrue( writer.write( blockingHandler, new LogRecord( Level.INFO, "third" ) ) );
+		assertFalse( writer.write( blockingHandler, new LogRecord( Level.INFO, "dropped" ) ) );
+		assertEquals( 1, writer.getDroppedRecords() );
+
+		release.countDown();
+
+		assertTrue( writer.flush( 5, TimeUnit.SECONDS ) );
+		assertEquals( 3, blockingHandler.records.size() );
+		assertEquals( 1, overflowHandler.records.size() );
+		assertEquals( Level.WARNING, overflowHandler.records.get( 0 ).getLevel() );
+		assertTrue( overflowHandler.records.get( 0 ).getMessage().startsWith( "1 log records were dropped" ) );
+		assertEquals( 0, writer.getDroppedRecords() );
+	}
+
+	private static class RecordingHandler extends Handler
+	{
+		private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+		private final CountDownLatch release;
+		private volatile int publishing = 0;
+		private volatile int flushes = 0;
+
+		RecordingHandler( CountDownLatch release )
+		{
+			this.release = release;
+		}
+
+		@Override
+		public void publish( LogRecord record )
+		{
+			publishing++;
+			if( release != null )
+			{
+				try
+				{
+					release.await();
+				}
+				catch( InterruptedException ie )
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			records.add( record );
+		}
+
+		@Override
+		public void flush()
+		{
+			flushes++;
+		}
+
+		@Override
+		public void close()
+		{
+		}
+	}
+}
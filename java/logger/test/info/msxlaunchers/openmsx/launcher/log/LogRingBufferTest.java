@@ -0,0 +1,86 @@
+package info.msxlaunchers.openmsx.launcher.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LogRingBufferTest
+{
+	@Test
+	public void givenCapacity_whenCreate_thenRoundsUpToPowerOf2()
+	{
+		assertEquals( 8, new LogRingBuffer<String>( 5 ).capacity() );
+		assertEquals( 8, new LogRingBuffer<String>( 8 ).capacity() );
+	}
+
+	@Test( expected = IllegalArgumentException.class )
+	public void givenZeroCapacity_whenCreate_thenThrowsException()
+	{
+		new LogRingBuffer<String>( 0 );
+	}
+
+	@Test
+	public void givenFullBuffer_whenOffer_thenRejectsUntilDrained()
+	{
+		LogRingBuffer<String> buffer = new LogRingBuffer<>( 2 );
+
+		assertTrue( buffer.offer( "a" ) );
+		assertTrue( buffer.offer( "b" ) );
+		assertFalse( buffer.offer( "c" ) );
+
+		List<String> drained = new ArrayList<>();
+		assertEquals( 1, buffer.drain( drained::add, 1 ) );
+		assertTrue( buffer.offer( "d" ) );
+		assertEquals( 2, buffer.drain( drained::add, 10 ) );
+
+		assertEquals( Arrays.asList( "a", "b", "d" ), drained );
+		assertTrue( buffer.isEmpty() );
+	}
+
+	@Test
+	public void givenConcurrentProducers_whenDrain_thenEveryElementIsTakenOnce() throws InterruptedException
+	{
+		LogRingBuffer<Integer> buffer = new LogRingBuffer<>( 64 );
+		int producers = 4;
+		int perProducer = 10000;
+		Thread[] threads = new Thread[producers];
+
+		for( int p = 0; p < producers; p++ )
+		{
+			int base = p * perProducer;
+			threads[p] = new Thread( () -> {
+				for( int i = 0; i < perProducer; i++ )
+				{
+					while( !buffer.offer( base + i ) )
+					{
+						Thread.yield();
+					}
+				}
+			} );
+			threads[p].start();
+		}
+
+		boolean[] seen = new boolean[producers * perProducer];
+		int[] count = { 0 };
+		while( count[0] < seen.length )
+		{
+			buffer.drain( element -> {
+				assertFalse( seen[element] );
+				seen[element] = true;
+				count[0]++;
+			}, 100 );
+		}
+
+		for( Thread thread: threads )
+		{
+			thread.join();
+		}
+		assertTrue( buffer.isEmpty() );
+	}
+}
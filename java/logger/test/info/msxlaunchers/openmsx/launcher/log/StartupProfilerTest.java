@@ -0,0 +1,59 @@
+package info.msxlaunchers.openmsx.launcher.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StartupProfilerTest
+{
+	@Test
+	public void givenStartupWithinBudget_whenGetReport_thenListsPhasesInOrder()
+	{
+		long[] uptime = { 150 };
+		StartupProfiler profiler = new StartupProfiler( 1000, () -> uptime[0] );
+
+		profiler.record( "derby", 300, null );
+		profiler.record( "repository", 200, "background" );
+		uptime[0] = 800;
+
+		assertEquals( "800 ms since JVM start, budget 1000 ms - jvm 150 ms, derby 300 ms, repository 200 ms [background]",
+				profiler.getReport() );
+	}
+
+	@Test
+	public void givenStartupOverBudget_whenGetReport_thenReportsOverrun()
+	{
+		long[] uptime = { 100 };
+		StartupProfiler profiler = new StartupProfiler( 1000, () -> uptime[0] );
+		uptime[0] = 1250;
+
+		assertEquals( "1250 ms since JVM start, budget 1000 ms, OVER by 250 ms - jvm 100 ms", profiler.getReport() );
+	}
+
+	@Test
+	public void givenPhase_whenClosedOnStartupThread_thenRecordedWithoutThreadName()
+	{
+		StartupProfiler profiler = new StartupProfiler( 1000, () -> 0 );
+
+		try( StartupProfiler.Phase phase = profiler.startPhase( "settings" ) )
+		{
+			//nothing to do
+		}
+
+		assertTrue( profiler.getReport().matches( ".* - jvm 0 ms, settings \\d+ ms" ) );
+	}
+
+	@Test
+	public void givenPhase_whenClosedOnOtherThread_thenRecordedWithThreadName() throws InterruptedException
+	{
+		StartupProfiler profiler = new StartupProfiler( 1000, () -> 0 );
+		StartupProfiler.Phase phase = profiler.startPhase( "extra-data" );
+
+		Thread thread = new Thread( phase::close, "worker" );
+		thread.start();
+		thread.join();
+
+		assertTrue( profiler.getReport().matches( ".*, extra-data \\d+ ms \\[worker\\]" ) );
+	}
+}
@@ -0,0 +1,140 @@
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+import info.msxlaunchers.openmsx.launcher.log.analyser.processor.LaunchEventProcessor;
+
+@RunWith( MockitoJUnitRunner.class )
+public class LaunchHistoryStoreTest
+{
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Mock LogReader logReader;
+	@Mock LaunchEventProcessor eventProcessor;
+
+	private Path historyFile;
+
+	@Before
+	public void setup()
+	{
+		historyFile = tmpFolder.getRoot().toPath().resolve( LaunchHistoryStore.HISTORY_FILENAME );
+	}
+
+	@Test
+	public void givenNoHistoryFile_whenGetProcessedData_thenLaunchesInMessageLogAreImported() throws IOException
+	{
+		when( logReader.read() ).thenReturn( Arrays.asList( "date1: LAUNCH game1[db1]", "date2: STARTUP 800 ms", "date3: LAUNCH game2[db2]" ) );
+		when( eventProcessor.getProcessedData() ).thenReturn( new LogProcessItem( "KEY", Collections.emptyList() ) );
+
+		getStore().getProcessedData();
+
+		verify( eventProcessor, times( 1 ) ).processMessage( "date1", new DatabaseItem( "game1", "db1" ) );
+		verify( eventProcessor, times( 1 ) ).processMessage( "date3", new DatabaseItem( "game2", "db2" ) );
+		verify( eventProcessor, times( 2 ) ).processMessage( anyString(), any() );
+		assertEquals( Arrays.asList( "date1\tgame1[db1]", "date3\tgame2[db2]" ), Files.readAllLines( historyFile, StandardCharsets.UTF_8 ) );
+	}
+
+	@Test
+	public void givenNoHistoryFile_whenLaunchIsLoggedAfterStoreIsCreated_thenLaunchIsOnlyRecordedOnce() throws IOException
+	{
+		when( logReader.read() ).thenReturn( Arrays.asList( "date1: LAUNCH game1[db1]" ), Arrays.asList( "date1: LAUNCH game1[db1]", "date2: LAUNCH game2[db2]" ) );
+		LaunchHistoryStore store = getStore();
+
+		//the message log already has the launch by the time it's recorded
+		store.recordLaunch( "game2", "db2" );
+
+		verify( logReader, times( 1 ) ).read();
+		verify( eventProcessor, times( 1 ) ).processMessage( anyString(), eq( new DatabaseItem( "game2", "db2" ) ) );
+		List<String> lines = Files.readAllLines( historyFile, StandardCharsets.UTF_8 );
+		assertEquals( 2, lines.size() );
+		assertEquals( "date1\tgame1[db1]", lines.get( 0 ) );
+	}
+
+	@Test
+	public void givenHistoryFile_whenGetProcessedData_thenHistoryIsReadOnceAndMessageLogIsIgnored() throws IOException
+	{
+		Files.write( historyFile, Arrays.asList( "date1\tgame1[db1]", "invalid line", "date2\tgame2[db2]" ), StandardCharsets.UTF_8 );
+		when( eventProcessor.getProcessedData() ).thenReturn( new LogProcessItem( "KEY", Collections.emptyList() ) );
+		LaunchHistoryStore store = getStore();
+
+		store.getProcessedData();
+		store.getProcessedData();
+
+		verify( logReader, never() ).read();
+		verify( eventProcessor, times( 1 ) ).processMessage( "date1", new DatabaseItem( "game1", "db1" ) );
+		verify( eventProcessor, times( 1 ) ).processMessage( "date2", new DatabaseItem( "game2", "db2" ) );
+		verify( eventProcessor, times( 2 ) ).processMessage( anyString(), any() );
+	}
+
+	@Test
+	public void whenRecordLaunch_thenLaunchIsAppendedAndProcessed() throws IOException
+	{
+		Files.write( historyFile, Arrays.asList( "date1\tgame1[db1]" ), StandardCharsets.UTF_8 );
+
+		getStore().recordLaunch( "game2", "db2" );
+
+		verify( eventProcessor, times( 1 ) ).processMessage( anyString(), eq( new DatabaseItem( "game2", "db2" ) ) );
+		List<String> lines = Files.readAllLines( historyFile, StandardCharsets.UTF_8 );
+		assertEquals( 2, lines.size() );
+		assertTrue( lines.get( 1 ).endsWith( "\tgame2[db2]" ) );
+	}
+
+	@Test
+	public void whenRecordSession_thenSessionIsAppendedAndAggregated() throws IOException
+	{
+		Files.write( historyFile, Collections.emptyList(), StandardCharsets.UTF_8 );
+		Files.write( tmpFolder.getRoot().toPath().resolve( LaunchHistoryStore.SESSIONS_FILENAME ), Arrays.asList( "0\t60000\tgame[db]" ),
+				StandardCharsets.UTF_8 );
+		when( eventProcessor.getProcessedData() ).thenReturn( new LogProcessItem( "KEY", Collections.emptyList() ) );
+		LaunchHistoryStore store = getStore();
+
+		store.recordSession( "game", "db", 100000, 160000 );
+
+		List<String[]> playTime = store.getProcessedData().get( PlaySessionAggregates.PLAY_TIME_KEY );
+		assertEquals( 1, playTime.size() );
+		assertEquals( "2", playTime.get( 0 )[2] );
+		assertEquals( "0:02:00", playTime.get( 0 )[3] );
+		assertEquals( Arrays.asList( "0\t60000\tgame[db]", "100000\t160000\tgame[db]" ),
+				Files.readAllLines( tmpFolder.getRoot().toPath().resolve( LaunchHistoryStore.SESSIONS_FILENAME ), StandardCharsets.UTF_8 ) );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void givenNullGameName_whenRecordLaunch_thenThrowException() throws IOException
+	{
+		Files.write( historyFile, Collections.emptyList(), StandardCharsets.UTF_8 );
+
+		getStore().recordLaunch( null, "db" );
+	}
+
+	private LaunchHistoryStore getStore()
+	{
+		return new LaunchHistoryStore( tmpFolder.getRoot().toString(), logReader,
+				new LaunchLogProcessor( Collections.singleton( eventProcessor ) ), Runnable::run );
+	}
+}
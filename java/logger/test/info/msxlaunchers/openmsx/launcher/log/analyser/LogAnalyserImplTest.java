@@ -2,6 +2,7 @@ package info.msxlaunchers.openmsx.launcher.log.analyser;
 
 import static org.mockito.ArgumentMatchers.anyString;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,6 +12,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,7 @@ public class LogAnalyserImplTest
 {
 	@Mock LogReader logReader;
 	@Mock LogProcessor logProcessor;
+	@Mock LaunchHistory launchHistory;
 
 	Map<LogEvent,LogProcessor> logProcessors;
 
@@ -44,17 +47,40 @@ public class LogAnalyserImplTest
 	@Test
 	public void whenGetProcessedData_thenLogFileIsRead()
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		analyser.getProcessedData();
 
 		verify( logReader, times( 1 ) ).read();
 	}
 
+	@Test
+	public void givenNoLogProcessors_whenGetProcessedData_thenLogFileIsNotRead()
+	{
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, new HashMap<>(), launchHistory );
+
+		analyser.getProcessedData();
+
+		verify( logReader, never() ).read();
+	}
+
+	@Test
+	public void givenLaunchHistory_whenGetProcessedData_thenLaunchAggregatesAreReturned()
+	{
+		List<String[]> mostPlayed = Collections.singletonList( new String[] { "game", "database", "3" } );
+		when( launchHistory.getProcessedData() ).thenReturn( Collections.singletonMap( "MOST_PLAYED", mostPlayed ) );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, new HashMap<>(), launchHistory );
+
+		Map<String,List<String[]>> result = analyser.getProcessedData();
+
+		assertEquals( 1, result.size() );
+		assertEquals( mostPlayed, result.get( "MOST_PLAYED" ) );
+	}
+
 	@Test
 	public void givenDataInLog_whenGetProcessedData_thenLogLinesAreProcessed()
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		String logLine1 = "line1: LAUNCH game";
 		String logLine2 = "line2 date: some event";
@@ -76,7 +102,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenLogFileWithoutEvents_whenGetProcessedData_thenReturnEmptyMap()
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		String logLine1 = "line1: no event";
 		String logLine2 = "line2: untracked event";
@@ -96,7 +122,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenValidLogLine_whenGetLogEvent_thenReturnLogEvent() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLogEvent", String.class );
 		method.setAccessible( true );
@@ -109,7 +135,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenEmptyLogLine_whenGetLogEvent_thenReturnNull() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLogEvent", String.class );
 		method.setAccessible( true );
@@ -122,7 +148,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenNull_whenGetLogEvent_thenReturnNull() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLogEvent", String.class );
 		method.setAccessible( true );
@@ -136,7 +162,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenUnknownEvent_whenGetLogEvent_thenReturnNull() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLogEvent", String.class );
 		method.setAccessible( true );
@@ -149,7 +175,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void givenRandomLogLine_whenGetLogEvent_thenReturnNull() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLogEvent", String.class );
 		method.setAccessible( true );
@@ -162,7 +188,7 @@ public class LogAnalyserImplTest
 	@Test
 	public void whenGetLineDateAndMessage_thenReturnValidData() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException
 	{
-		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors );
+		LogAnalyserImpl analyser = new LogAnalyserImpl( logReader, logProcessors, launchHistory );
 
 		Method method = LogAnalyserImpl.class.getDeclaredMethod( "getLineDateAndMessage", String.class, LogEvent.class );
 		method.setAccessible( true );
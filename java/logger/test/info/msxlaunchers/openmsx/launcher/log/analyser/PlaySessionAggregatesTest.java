@@ -0,0 +1,58 @@
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+
+public class PlaySessionAggregatesTest
+{
+	@Test
+	public void whenFormatDuration_thenReturnHoursMinutesSeconds()
+	{
+		assertEquals( "0:00:00", PlaySessionAggregates.formatDuration( 999 ) );
+		assertEquals( "0:01:05", PlaySessionAggregates.formatDuration( 65000 ) );
+		assertEquals( "27:46:40", PlaySessionAggregates.formatDuration( 100000000 ) );
+	}
+
+	@Test
+	public void givenSessions_whenGetProcessedData_thenPlayTimeIsSortedByTotalTime()
+	{
+		PlaySessionAggregates aggregates = new PlaySessionAggregates();
+
+		aggregates.add( new DatabaseItem( "a", "db" ), 0, 60000 );
+		aggregates.add( new DatabaseItem( "b", "db" ), 0, 50000 );
+		aggregates.add( new DatabaseItem( "b", "db" ), 100000, 150000 );
+		aggregates.add( new DatabaseItem( "c", "db" ), 0, 60000 );
+
+		List<String[]> playTime = aggregates.getProcessedData().get( PlaySessionAggregates.PLAY_TIME_KEY );
+
+		assertEquals( 3, playTime.size() );
+		assertArrayEquals( new String[] { "b", "db", "2", "0:01:40" }, playTime.get( 0 ) );
+		assertArrayEquals( new String[] { "a", "db", "1", "0:01:00" }, playTime.get( 1 ) );
+		assertArrayEquals( new String[] { "c", "db", "1", "0:01:00" }, playTime.get( 2 ) );
+	}
+
+	@Test
+	public void givenMoreSessionsThanLimit_whenGetProcessedData_thenOnlyMostRecentSessionsAreReturned()
+	{
+		PlaySessionAggregates aggregates = new PlaySessionAggregates();
+
+		for( int index = 0; index < PlaySessionAggregates.MAX_RECENT_SESSIONS + 5; index++ )
+		{
+			aggregates.add( new DatabaseItem( "game" + index, "db" ), index * 1000L, index * 1000L + 30000 );
+		}
+
+		List<String[]> recentSessions = aggregates.getProcessedData().get( PlaySessionAggregates.RECENT_SESSIONS_KEY );
+
+		int lastIndex = PlaySessionAggregates.MAX_RECENT_SESSIONS + 4;
+		assertEquals( PlaySessionAggregates.MAX_RECENT_SESSIONS, recentSessions.size() );
+		assertArrayEquals( new String[] { new Date( lastIndex * 1000L ).toString(), "game" + lastIndex, "db", "0:00:30" }, recentSessions.get( 0 ) );
+		assertEquals( "game5", recentSessions.get( PlaySessionAggregates.MAX_RECENT_SESSIONS - 1 )[1] );
+	}
+}
@@ -0,0 +1,172 @@
+package info.msxlaunchers.openmsx.launcher.log.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith( MockitoJUnitRunner.class )
+public class ProcessPlaySessionTrackerTest
+{
+	@Mock LaunchHistory launchHistory;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private volatile long time = 1000;
+
+	@After
+	public void tearDown()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void givenNullProcess_whenTrack_thenThrowException()
+	{
+		new ProcessPlaySessionTracker( launchHistory, executor, () -> time ).track( null, "game", "database" );
+	}
+
+	@Test
+	public void givenRunningProcess_whenProcessExits_thenSessionIsRecorded() throws Exception
+	{
+		ProcessPlaySessionTracker tracker = new ProcessPlaySessionTracker( launchHistory, executor, () -> time );
+		StubProcess process = new StubProcess();
+
+		tracker.track( process, "game", "database" );
+		assertEquals( 1, tracker.getActiveSessions() );
+		verify( launchHistory, never() ).recordSession( anyString(), anyString(), anyLong(), anyLong() );
+
+		time = 61000;
+		process.exit();
+		awaitNoActiveSessions( tracker );
+
+		verify( launchHistory, timeout( 5000 ) ).recordSession( "game", "database", 1000, 61000 );
+	}
+
+	@Test
+	public void givenManyConcurrentSessions_whenProcessesExit_thenEachSessionIsRecorded() throws Exception
+	{
+		ProcessPlaySessionTracker tracker = new ProcessPlaySessionTracker( launchHistory, executor, () -> time );
+		StubProcess[] processes = new StubProcess[20];
+
+		for( int index = 0; index < processes.length; index++ )
+		{
+			processes[index] = new StubProcess();
+			tracker.track( processes[index], "game" + index, "database" );
+		}
+		assertEquals( processes.length, tracker.getActiveSessions() );
+
+		for( StubProcess process: processes )
+		{
+			process.exit();
+		}
+		awaitNoActiveSessions( tracker );
+
+		for( int index = 0; index < processes.length; index++ )
+		{
+			verify( launchHistory, timeout( 5000 ) ).recordSession( "game" + index, "database", 1000, 1000 );
+		}
+	}
+
+	@Test
+	public void givenGameSwitchedTwiceOnSameProcess_whenProcessExits_thenEachGameHasItsOwnSession() throws Exception
+	{
+		ProcessPlaySessionTracker tracker = new ProcessPlaySessionTracker( launchHistory, executor, () -> time );
+		StubProcess process = new StubProcess();
+
+		tracker.track( process, "game1", "database" );
+		time = 2000;
+		tracker.track( process, "game2", "database" );
+		time = 5000;
+		tracker.track( process, "game3", "database" );
+		assertEquals( 1, tracker.getActiveSessions() );
+
+		verify( launchHistory, timeout( 5000 ) ).recordSession( "game1", "database", 1000, 2000 );
+		verify( launchHistory, timeout( 5000 ) ).recordSession( "game2", "database", 2000, 5000 );
+		verify( launchHistory, never() ).recordSession( eq( "game3" ), anyString(), anyLong(), anyLong() );
+
+		time = 9000;
+		process.exit();
+		awaitNoActiveSessions( tracker );
+
+		verify( launchHistory, timeout( 5000 ) ).recordSession( "game3", "database", 5000, 9000 );
+		verify( launchHistory, times( 3 ) ).recordSession( anyString(), anyString(), anyLong(), anyLong() );
+	}
+
+	private void awaitNoActiveSessions( PlaySessionTracker tracker ) throws InterruptedException
+	{
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 5 );
+		while( tracker.getActiveSessions() > 0 && System.nanoTime() < deadline )
+		{
+			Thread.sleep( 5 );
+		}
+		assertEquals( 0, tracker.getActiveSessions() );
+	}
+
+	private static class StubProcess extends Process
+	{
+		private final CountDownLatch exited = new CountDownLatch( 1 );
+
+		void exit()
+		{
+			exited.countDown();
+		}
+
+		@Override
+		public int waitFor() throws InterruptedException
+		{
+			exited.await();
+			return 0;
+		}
+
+		@Override
+		public int exitValue()
+		{
+			if( exited.getCount() > 0 )
+			{
+				throw new IllegalThreadStateException();
+			}
+			return 0;
+		}
+
+		@Override
+		public OutputStream getOutputStream()
+		{
+			return null;
+		}
+
+		@Override
+		public InputStream getInputStream()
+		{
+			return null;
+		}
+
+		@Override
+		public InputStream getErrorStream()
+		{
+			return null;
+		}
+
+		@Override
+		public void destroy()
+		{
+			exit();
+		}
+	}
+}
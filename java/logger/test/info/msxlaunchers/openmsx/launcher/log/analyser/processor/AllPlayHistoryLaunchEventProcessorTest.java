@@ -36,4 +36,22 @@ public class AllPlayHistoryLaunchEventProcessorTest
 			assertEquals( "database" + index, items.get( count )[2] );
 		}
 	}
+
+	@Test
+	public void givenReturnedHistory_whenMoreGamesAreLaunched_thenReturnedHistoryDoesNotChange()
+	{
+		AllPlayHistoryLaunchEventProcessor allPlayHistoryLaunchEventProcessor = new AllPlayHistoryLaunchEventProcessor();
+		allPlayHistoryLaunchEventProcessor.processMessage( "date1", new DatabaseItem( "game1", "database1" ) );
+
+		List<String[]> items = allPlayHistoryLaunchEventProcessor.getProcessedData().getItems();
+
+		for( int count = 2; count < 2000; count++ )
+		{
+			allPlayHistoryLaunchEventProcessor.processMessage( "date" + count, new DatabaseItem( "game" + count, "database" + count ) );
+		}
+
+		assertEquals( 1, items.size() );
+		assertEquals( "game1", items.get( 0 )[1] );
+		assertEquals( "game1999", allPlayHistoryLaunchEventProcessor.getProcessedData().getItems().get( 0 )[1] );
+	}
 }
@@ -110,4 +110,25 @@ public class TopPlayedLaunchEventProcessorTest
 			topPlayedLaunchEventProcessor.processMessage( "date", new DatabaseItem( game, database ) );
 		}
 	}
+
+	@Test
+	public void givenGameOutsideTop10_whenLaunchedEnoughTimes_thenEntersTop10()
+	{
+		TopPlayedLaunchEventProcessor topPlayedLaunchEventProcessor = new TopPlayedLaunchEventProcessor();
+
+		for( int ix = 0; ix < 10; ix++ )
+		{
+			callProcessMessage( topPlayedLaunchEventProcessor, "game" + ix, "database", 2 );
+		}
+		callProcessMessage( topPlayedLaunchEventProcessor, "z", "database", 2 );
+		assertEquals( "game9", topPlayedLaunchEventProcessor.getProcessedData().getItems().get( 9 )[0] );
+
+		callProcessMessage( topPlayedLaunchEventProcessor, "z", "database", 1 );
+
+		List<String[]> items = topPlayedLaunchEventProcessor.getProcessedData().getItems();
+		assertEquals( 10, items.size() );
+		assertEquals( "z", items.get( 0 )[0] );
+		assertEquals( "3", items.get( 0 )[2] );
+		assertEquals( "game8", items.get( 9 )[0] );
+	}
 }
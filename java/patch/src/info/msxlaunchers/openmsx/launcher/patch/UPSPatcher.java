@@ -15,14 +15,7 @@
  */
 package info.msxlaunchers.openmsx.launcher.patch;
 
-import java.io.BufferedInputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
@@ -30,15 +23,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.zip.CRC32;
 
 import info.msxlaunchers.openmsx.common.HashUtils;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
 
 /**
  * UPS Patcher implementation of <code>Patcher</code> interface.
+ * <p>
+ * The patch is mapped into memory and decoded in place, while the target is written block by block to a temporary file next
+ * to the final file. Each block is filled from the source, the hunks that fall in it are XORed in 8 bytes at a time and the block
+ * is written out. The source and target CRCs are updated as the blocks pass, so source, patch and target are each read only once.
  * 
  * @author Sam Elsharif
  * @since v1.9
@@ -49,47 +46,29 @@ final class UPSPatcher extends AbstractPatcher
 	private final String tempOutputFile = "tempOutputFile.tmp";
 	private final int CRC_LENGTH = 4;
 	private final int CRC_CHECKS_LENGTH = CRC_LENGTH * 3;
-	private final int RANDOM_ACCESS_FILE_BUFFER_SIZE= 4096;
+	//header followed by at least one byte for each of the source and target sizes
+	private final int MINIMUM_PATCH_SIZE = PATCH_HEADER.length + 2 + CRC_CHECKS_LENGTH;
 
+	private final int blockSize;
+
+	UPSPatcher()
+	{
+		this( HashUtils.READ_WRITE_BUFFER_SIZE );
+	}
+
+	UPSPatcher( int blockSize )
+	{
+		this.blockSize = blockSize;
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.patch.AbstractPatcher#performValidation(java.nio.file.Path, java.nio.file.Path, boolean, java.lang.String)
+	 */
 	@Override
 	protected void performValidation( Path fileToPatch, Path patchFile, boolean skipChecksumValidation, String checksum ) throws PatchException
 	{
 		//no limit on file sizes and also ignore the checksum
-		//but we need to read the patch file and file-to-patch CRCs from the patch itself and validate
-		if( !skipChecksumValidation )
-		{
-			String sourceChecksumFromPatch;
-			String patchChecksumFromPatch;
-			try( BufferedRandomAccessFile patchStream = new BufferedRandomAccessFile( patchFile.toFile(), "r" ) )
-			{
-				long patchDataSize = getPatchDataSize( patchFile );
-	
-				patchStream.seek( patchDataSize );
-				sourceChecksumFromPatch = getCRCFromPatch( patchStream );
-	
-				patchStream.seek( patchDataSize + CRC_LENGTH * 2 );
-				patchChecksumFromPatch = getCRCFromPatch( patchStream );
-			}
-			catch( IOException ioe )
-			{
-				LauncherLogger.logException( this, ioe );
-
-				throw new PatchException( PatchExceptionIssue.IO );
-			}
-
-			String sourceChecksum = HashUtils.getCRC32Code( fileToPatch.toFile() );
-			if( !sourceChecksum.equalsIgnoreCase( sourceChecksumFromPatch ) )
-			{
-				throw new PatchException( PatchExceptionIssue.SOURCE_FILE_CHECKSUM_NOT_MATCH );
-			}
-	
-			//check the CRC of the patch file (minus the last 4 bytes of patch file CRC)
-			String patchChecksum = getPatchFileCRC( patchFile );
-			if( !patchChecksum.equalsIgnoreCase( patchChecksumFromPatch ) )
-			{
-				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
-			}
-		}
+		//the CRCs stored in the patch are validated while patching, so that the source and the patch are not read twice
 	}
 
 	/* (non-Javadoc)
@@ -98,24 +77,18 @@ final class UPSPatcher extends AbstractPatcher
 	@Override
 	protected void patchFileData( Path fileToPatch, Path patchFile, Path targetFile, boolean skipChecksumValidation ) throws PatchException
 	{
-		Path temporaryOutputFile = createTempOutputfile( fileToPatch );
+		Path finalPatchedFile = targetFile == null ? fileToPatch : targetFile;
+		Path temporaryOutputFile = createTempOutputfile( finalPatchedFile );
 
-		try( PositionedBufferedInputStream patchStream =  new PositionedBufferedInputStream( new FileInputStream( patchFile.toFile() ) );
-				BufferedRandomAccessFile resultStream = new BufferedRandomAccessFile( temporaryOutputFile.toFile(), "rw" ) )
+		try
 		{
-			validatePatchHeader( patchStream );
-			long sourceFileSize = getValueFromPatch( patchStream );
-			long targetFileSize = getValueFromPatch( patchStream );
-
-			enlargeTempOutputfileIfNecessary( temporaryOutputFile, sourceFileSize, targetFileSize );
-
-			patch( patchFile, patchStream, resultStream );
-
-			shrinkTempOutputfileIfNecessary( temporaryOutputFile, sourceFileSize, targetFileSize );
-
-			validateTargetFileChecksum( patchStream, temporaryOutputFile, skipChecksumValidation );
+			try( Timer.Context timer = MetricsRegistry.getInstance().timer( "patch.ups" ).time() )
+			{
+				applyPatch( fileToPatch, patchFile, temporaryOutputFile, skipChecksumValidation );
+			}
 
-			moveToAppropriateTarget( temporaryOutputFile, fileToPatch, targetFile );
+			//the channels are closed by now, which is needed on Windows when the source is replaced
+			Files.move( temporaryOutputFile, finalPatchedFile, StandardCopyOption.REPLACE_EXISTING );
 		}
 		catch( IOException ioe )
 		{
@@ -127,177 +100,137 @@ final class UPSPatcher extends AbstractPatcher
 		{
 			cleanupTemporaryOutputFile( temporaryOutputFile );
 		}
-
 	}
 
-	private String getCRCFromPatch( InputStream in ) throws PatchException
+	private void applyPatch( Path fileToPatch, Path patchFile, Path outputFile, boolean skipChecksumValidation ) throws IOException, PatchException
 	{
-		byte[] crcBytes = new byte[CRC_LENGTH];
-		try
+		try( FileChannel patchChannel = FileChannel.open( patchFile, StandardOpenOption.READ );
+				FileChannel sourceChannel = FileChannel.open( fileToPatch, StandardOpenOption.READ );
+				FileChannel outputChannel = FileChannel.open( outputFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING ) )
 		{
-			in.read( crcBytes );
-			return Integer.toHexString( ByteBuffer.wrap( crcBytes ).order( ByteOrder.LITTLE_ENDIAN ).getInt() );
-		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
+			long patchSize = patchChannel.size();
 
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
-	}
-
-	private String getCRCFromPatch( RandomAccessFile in ) throws PatchException
-	{
-		byte[] crcBytes = new byte[CRC_LENGTH];
-		try
-		{
-			in.read( crcBytes );
-			return Integer.toHexString( ByteBuffer.wrap( crcBytes ).order( ByteOrder.LITTLE_ENDIAN ).getInt() );
-		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
-
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
-	}
+			//the patch is mapped in one piece, which limits it to 2GB - far more than any real UPS patch
+			if( patchSize < MINIMUM_PATCH_SIZE || patchSize > Integer.MAX_VALUE )
+			{
+				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
+			}
 
-	private void patch( Path patchFile, PositionedBufferedInputStream patchStream, RandomAccessFile resultStream ) throws PatchException
-	{
-		long patchDataSize = getPatchDataSize( patchFile );
+			ByteBuffer patch = patchChannel.map( FileChannel.MapMode.READ_ONLY, 0, patchSize ).order( ByteOrder.LITTLE_ENDIAN );
+			int patchDataSize = (int)patchSize - CRC_CHECKS_LENGTH;
 
-		long offset = 0;
-		while( patchStream.getPosition() != patchDataSize )
-		{
-			offset += getValueFromPatch( patchStream );
-			List<Integer> xoredData = new ArrayList<>( RANDOM_ACCESS_FILE_BUFFER_SIZE );
-			try
+			if( !skipChecksumValidation )
 			{
-				long writeOffset = offset;
-				resultStream.seek( offset );
-				for( int b = patchStream.read(); b != 0; b = patchStream.read() )
+				//check the CRC of the patch file (minus the last 4 bytes of patch file CRC) before anything is written
+				ByteBuffer patchData = patch.duplicate();
+				patchData.limit( patchDataSize + CRC_LENGTH * 2 );
+				CRC32 patchCRC = new CRC32();
+				patchCRC.update( patchData );
+
+				if( patchCRC.getValue() != getCRCFromPatch( patch, patchDataSize + CRC_LENGTH * 2 ) )
 				{
-					xoredData.add( resultStream.read() ^ b );
-					offset++;
+					throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
 				}
-				resultStream.seek( writeOffset );
-				resultStream.write( getDataByteArray( xoredData ) );
-				offset++;
 			}
-			catch( IOException ioe )
-			{
-				LauncherLogger.logException( this, ioe );
 
-				throw new PatchException( PatchExceptionIssue.IO );
-			}
-		}
-	}
+			validatePatchHeader( patch );
+			patch.position( PATCH_HEADER.length );
+			long sourceFileSize = getValueFromPatch( patch, patchDataSize );
+			long targetFileSize = getValueFromPatch( patch, patchDataSize );
 
-	private long getPatchDataSize( Path patchFile ) throws PatchException
-	{
-		try
-		{
-			long size = Files.size( patchFile ) - CRC_CHECKS_LENGTH;
-
-			if( size <= 0 )
+			if( !skipChecksumValidation && sourceFileSize != sourceChannel.size() )
 			{
-				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
+				throw new PatchException( PatchExceptionIssue.SOURCE_FILE_CHECKSUM_NOT_MATCH );
 			}
 
-			return size;
-		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
-
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
-	}
-
-	private byte[] getDataByteArray( List<Integer> data )
-	{
-		int length = data.size();
-		byte[] byteArray = new byte[length];
-		for( int index = 0; index < length; index++ )
-		{
-			byteArray[index] = data.get( index ).byteValue();
-		}
-		return byteArray;
-	}
+			CRC32 sourceCRC = skipChecksumValidation ? null : new CRC32();
+			CRC32 targetCRC = skipChecksumValidation ? null : new CRC32();
+			HunkDecoder hunks = new HunkDecoder( patch, patchDataSize );
+			ByteBuffer block = ByteBuffer.allocateDirect( blockSize ).order( ByteOrder.LITTLE_ENDIAN );
+			byte[] zeros = null;
 
-	private Path createTempOutputfile( Path source ) throws PatchException
-	{
-		try
-		{
-			Path tempFile = Files.createTempFile( tempOutputFile, null );
-			Files.copy( source, tempFile, StandardCopyOption.REPLACE_EXISTING );
+			for( long blockStart = 0; blockStart < targetFileSize; blockStart += blockSize )
+			{
+				int length = (int)Math.min( blockSize, targetFileSize - blockStart );
+				int sourceLength = readBlock( sourceChannel, block, length, sourceCRC );
 
-			return tempFile;
-		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
+				//the target is larger than the source - the rest of it is XORed with zeros
+				if( sourceLength < length )
+				{
+					if( zeros == null )
+					{
+						zeros = new byte[blockSize];
+					}
+					block.position( sourceLength );
+					block.put( zeros, 0, length - sourceLength );
+				}
 
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
-	}
+				hunks.apply( block, blockStart );
 
-	private void enlargeTempOutputfileIfNecessary( Path temporaryOutputFile, long sourceFileSize, long targetFileSize ) throws PatchException
-	{
-		if( targetFileSize > sourceFileSize  )
-		{
-			long totalToAdd = targetFileSize - sourceFileSize;
-			long numberOfChunks = totalToAdd / HashUtils.READ_WRITE_BUFFER_SIZE;
-			byte[] bytesToWrite = new byte[HashUtils.READ_WRITE_BUFFER_SIZE];
-			int index;
+				block.position( 0 );
+				if( targetCRC != null )
+				{
+					targetCRC.update( block.duplicate() );
+				}
+				while( block.hasRemaining() )
+				{
+					outputChannel.write( block );
+				}
+			}
 
-			try
+			if( !skipChecksumValidation )
 			{
-				for( index = 0; index < numberOfChunks; index++ )
+				//the target is smaller than the source - the rest of the source still counts for its CRC
+				while( readBlock( sourceChannel, block, blockSize, sourceCRC ) > 0 );
+
+				if( sourceCRC.getValue() != getCRCFromPatch( patch, patchDataSize ) )
 				{
-					Files.write( temporaryOutputFile, bytesToWrite, StandardOpenOption.APPEND );
+					throw new PatchException( PatchExceptionIssue.SOURCE_FILE_CHECKSUM_NOT_MATCH );
 				}
-				int modulo = (int)(totalToAdd % HashUtils.READ_WRITE_BUFFER_SIZE);
-				Files.write( temporaryOutputFile, new byte[modulo], StandardOpenOption.APPEND );
 			}
-			catch( IOException ioe )
-			{
-				LauncherLogger.logException( this, ioe );
 
-				throw new PatchException( PatchExceptionIssue.IO );
+			hunks.finish();
+
+			if( targetCRC != null && targetCRC.getValue() != getCRCFromPatch( patch, patchDataSize + CRC_LENGTH ) )
+			{
+				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
 			}
 		}
 	}
 
-	private void shrinkTempOutputfileIfNecessary( Path temporaryOutputFile, long sourceFileSize, long targetFileSize ) throws PatchException
+	/**
+	 * Reads the next bytes of the source into the start of the block and sets the block limit to the given length
+	 * 
+	 * @return Number of bytes read, which is less than the length only at the end of the source
+	 */
+	private int readBlock( FileChannel sourceChannel, ByteBuffer block, int length, CRC32 sourceCRC ) throws IOException
 	{
-		if( targetFileSize < sourceFileSize  )
-		{
-			try( FileOutputStream os = new FileOutputStream( temporaryOutputFile.toFile(), true ); FileChannel outChan = os.getChannel() )
-			{
-				outChan.truncate( targetFileSize );
-			}
-			catch( IOException ioe )
-			{
-				LauncherLogger.logException( this, ioe );
+		block.clear();
+		block.limit( length );
+		while( block.hasRemaining() && sourceChannel.read( block ) != -1 );
 
-				throw new PatchException( PatchExceptionIssue.IO );
-			}
+		int read = block.position();
+		if( sourceCRC != null )
+		{
+			block.flip();
+			sourceCRC.update( block );
+			block.limit( length );
 		}
+
+		return read;
 	}
 
-	private void validatePatchHeader( InputStream inputStream ) throws PatchException
+	private long getCRCFromPatch( ByteBuffer patch, int offset )
 	{
-		byte[] header = new byte[PATCH_HEADER.length];
+		return patch.getInt( offset ) & 0xFFFFFFFFL;
+	}
 
+	private Path createTempOutputfile( Path finalPatchedFile ) throws PatchException
+	{
 		try
 		{
-			inputStream.read( header, 0, PATCH_HEADER.length );
-
-			if( !isByteSequenceEqualToString( header, 0, PATCH_HEADER ) )
-			{
-				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
-			}
+			//create it next to the final file, so that it can be moved there without copying
+			return Files.createTempFile( finalPatchedFile.toAbsolutePath().getParent(), tempOutputFile, null );
 		}
 		catch( IOException ioe )
 		{
@@ -307,90 +240,42 @@ final class UPSPatcher extends AbstractPatcher
 		}
 	}
 
-	private long getValueFromPatch( InputStream in ) throws PatchException
+	private void validatePatchHeader( ByteBuffer patch ) throws PatchException
 	{
-		try
-		{
-			int b = in.read();
-			long value = b & 0x7F;
-
-			for( int index = 1; (b & 0x80) == 0; index++ )
-			{
-				b = in.read();
-				value += ((b & 0x7F) + 1) << (7 * index);
-			}
+		byte[] header = new byte[PATCH_HEADER.length];
+		patch.get( header );
 
-			return value;
-		}
-		catch( IOException ioe )
+		if( !isByteSequenceEqualToString( header, 0, PATCH_HEADER ) )
 		{
 			throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
 		}
 	}
 
-	private void validateTargetFileChecksum( InputStream patchStream, Path outputFile, boolean skipChecksumValidation ) throws PatchException
+	private static long getValueFromPatch( ByteBuffer patch, int patchDataSize ) throws PatchException
 	{
-		if( !skipChecksumValidation )
-		{
-			//skip the next four bytes as we got them already earlier
-			getCRCFromPatch( patchStream );
-	
-			//now get the target file CRC
-			String targetChecksumFromPatch = getCRCFromPatch( patchStream );
-	
-			String targetChecksum = HashUtils.getCRC32Code( outputFile.toFile() );
-			if( !targetChecksum.equalsIgnoreCase( targetChecksumFromPatch ) )
-			{
-				throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
-			}
-		}
-	}
-
+		long value = 0;
+		long shift = 1;
 
-	private String getPatchFileCRC( Path patchFile ) throws PatchException
-	{
-		try( InputStream inputStream = new BufferedInputStream( new FileInputStream( patchFile.toFile() ),  HashUtils.READ_WRITE_BUFFER_SIZE ) )
+		while( patch.position() < patchDataSize )
 		{
-			long patchDataSizeForCRCChecksum = Files.size( patchFile ) - CRC_LENGTH;
-			CRC32 crc = new CRC32();
+			int b = patch.get() & 0xFF;
+			value += (b & 0x7F) * shift;
 
-			for( long index = 0; index < patchDataSizeForCRCChecksum; index++ )
+			if( (b & 0x80) != 0 )
 			{
-				crc.update( inputStream.read() );
+				return value;
 			}
 
-			return Long.toHexString( crc.getValue() );
-		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
-
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
-	}
-
-	private void moveToAppropriateTarget( Path temporaryFile, Path fileToPatch, Path targetFile ) throws PatchException
-	{
-		Path finalPatchedFile;
-		if( targetFile == null )
-		{
-			finalPatchedFile = fileToPatch;
-		}
-		else
-		{
-			finalPatchedFile = targetFile;
-		}
-
-		try
-		{
-			Files.copy( temporaryFile, finalPatchedFile, StandardCopyOption.REPLACE_EXISTING );
+			//a longer value cannot be a file offset
+			if( shift > Long.MAX_VALUE >> 14 )
+			{
+				break;
+			}
+			shift <<= 7;
+			value += shift;
 		}
-		catch( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
 
-			throw new PatchException( PatchExceptionIssue.IO );
-		}
+		throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
 	}
 
 	private void cleanupTemporaryOutputFile( Path temporaryOutputFile )
@@ -405,78 +290,141 @@ final class UPSPatcher extends AbstractPatcher
 		}
 	}
 
-	private class PositionedBufferedInputStream extends BufferedInputStream
+	/**
+	 * Decodes the hunks of the patch as the target blocks pass. A hunk is the distance from the end of the previous hunk,
+	 * followed by the bytes to XOR with the target up to a terminating zero, which itself stands for one unchanged byte.
+	 * Hunks may span blocks.
+	 */
+	private static final class HunkDecoder
 	{
-		long position;
+		private static final long ONES = 0x0101010101010101L;
+		private static final long HIGH_BITS = 0x8080808080808080L;
 
-		PositionedBufferedInputStream( InputStream in )
+		private final ByteBuffer patch;
+		private final int patchDataSize;
+
+		//offset in the target of the next byte the patch refers to
+		private long targetOffset;
+		private boolean inHunk;
+
+		HunkDecoder( ByteBuffer patch, int patchDataSize )
 		{
-			super( in, HashUtils.READ_WRITE_BUFFER_SIZE );
-			position = 0L;
+			this.patch = patch;
+			this.patchDataSize = patchDataSize;
 		}
 
-		@Override
-		public int read() throws IOException
+		/**
+		 * XORs the parts of the hunks that fall in the given block of the target
+		 * 
+		 * @param block Block of the target, from position 0 to its limit
+		 * @param blockStart Offset of the block in the target
+		 * @throws PatchException If the patch data ends in the middle of a hunk
+		 */
+		void apply( ByteBuffer block, long blockStart ) throws PatchException
 		{
-			int b = super.read();
-			if( b > -1 )
+			long blockEnd = blockStart + block.limit();
+
+			while( true )
 			{
-				position++;
-			}
-			return b;
-		}
+				if( !inHunk )
+				{
+					if( patch.position() == patchDataSize )
+					{
+						return;
+					}
+					targetOffset += getValueFromPatch( patch, patchDataSize );
+					inHunk = true;
+				}
 
-		@Override
-		public int read( byte[] data, int off, int len ) throws IOException
-		{
-			position = off + len;
-			return super.read( data, off, len );
-		}
+				if( targetOffset >= blockEnd )
+				{
+					return;
+				}
 
-		long getPosition()
-		{
-			return position;
-		}
-	}
+				int index = (int)(targetOffset - blockStart);
+				int limit = block.limit();
+				int position = patch.position();
 
-	private class BufferedRandomAccessFile extends RandomAccessFile
-	{
-		private final int bufferSize;
+				//XOR whole words until one contains the terminating zero
+				while( index + Long.BYTES <= limit && position + Long.BYTES <= patchDataSize )
+				{
+					long word = patch.getLong( position );
+					if( ((word - ONES) & ~word & HIGH_BITS) != 0 )
+					{
+						break;
+					}
+					block.putLong( index, block.getLong( index ) ^ word );
+					index += Long.BYTES;
+					position += Long.BYTES;
+				}
 
-		private byte[] buffer;
-		private int bufferIndex;
+				boolean terminated = false;
+				while( position < patchDataSize )
+				{
+					byte b = patch.get( position );
+					if( b == 0 )
+					{
+						terminated = true;
+						position++;
+						index++;
+						break;
+					}
+					if( index == limit )
+					{
+						break;
+					}
+					block.put( index, (byte)(block.get( index ) ^ b) );
+					index++;
+					position++;
+				}
 
-		BufferedRandomAccessFile(File file, String mode ) throws FileNotFoundException
-		{
-			super( file, mode );
-			this.bufferSize = RANDOM_ACCESS_FILE_BUFFER_SIZE;
-			bufferIndex = 0;
+				if( !terminated && index < limit )
+				{
+					throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
+				}
+
+				patch.position( position );
+				targetOffset = blockStart + index;
+
+				if( !terminated )
+				{
+					//the hunk continues in the next block
+					return;
+				}
+				inHunk = false;
+			}
 		}
 
-		@Override
-		public int read() throws IOException
+		/**
+		 * Consumes what is left of the patch data once the whole target has been written. Hunks beyond the end of the target
+		 * change nothing, as in other UPS implementations, but they must still be complete
+		 * 
+		 * @throws PatchException If the patch data ends in the middle of a hunk
+		 */
+		void finish() throws PatchException
 		{
-			if( bufferIndex == 0 )
+			while( inHunk || patch.position() < patchDataSize )
 			{
-				buffer = new byte[bufferSize];
-				read( buffer );
-			}
-
-			int data = buffer[bufferIndex++];
+				if( !inHunk )
+				{
+					getValueFromPatch( patch, patchDataSize );
+					inHunk = true;
+				}
 
-			if( bufferIndex == bufferSize )
-			{
-				bufferIndex = 0;
-			}
+				int position = patch.position();
+				while( position < patchDataSize && patch.get( position ) != 0 )
+				{
+					position++;
+				}
 
-			return data;
-		}
+				if( position == patchDataSize )
+				{
+					throw new PatchException( PatchExceptionIssue.INVALID_PATCH_FILE );
+				}
 
-		@Override
-		public void seek( long position ) throws IOException
-		{
-			super.seek( position );
-			bufferIndex = 0;
+				patch.position( position + 1 );
+				inHunk = false;
+			}
 		}
 	}
 }
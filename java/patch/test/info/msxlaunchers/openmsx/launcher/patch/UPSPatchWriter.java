@@ -0,0 +1,117 @@
+package info.msxlaunchers.openmsx.launcher.patch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Streaming UPS patch encoder for tests and benchmarks. Source and target are given in consecutive chunks of equal length, with
+ * zeros where one of them is shorter than the patched region.
+ */
+final class UPSPatchWriter implements Closeable
+{
+	private final OutputStream out;
+	private final CheckedOutputStream patchStream;
+	private final CRC32 sourceCRC = new CRC32();
+	private final CRC32 targetCRC = new CRC32();
+	private final long sourceSize;
+	private final long targetSize;
+
+	private long offset;
+	private long hunkEnd;
+	private boolean inHunk;
+
+	UPSPatchWriter( OutputStream out, long sourceSize, long targetSize ) throws IOException
+	{
+		this.out = out;
+		this.patchStream = new CheckedOutputStream( out, new CRC32() );
+		this.sourceSize = sourceSize;
+		this.targetSize = targetSize;
+
+		patchStream.write( "UPS1".getBytes() );
+		writeValue( sourceSize );
+		writeValue( targetSize );
+	}
+
+	void write( byte[] source, byte[] target, int length ) throws IOException
+	{
+		sourceCRC.update( source, 0, (int)Math.max( 0, Math.min( length, sourceSize - offset ) ) );
+		targetCRC.update( target, 0, (int)Math.max( 0, Math.min( length, targetSize - offset ) ) );
+
+		for( int index = 0; index < length; index++ )
+		{
+			int xor = (source[index] ^ target[index]) & 0xFF;
+
+			if( xor != 0 )
+			{
+				if( !inHunk )
+				{
+					writeValue( offset + index - hunkEnd );
+					inHunk = true;
+				}
+				patchStream.write( xor );
+			}
+			else if( inHunk )
+			{
+				patchStream.write( 0 );
+				inHunk = false;
+				hunkEnd = offset + index + 1;
+			}
+		}
+
+		offset += length;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		if( inHunk )
+		{
+			patchStream.write( 0 );
+		}
+
+		ByteBuffer crcs = ByteBuffer.allocate( 8 ).order( ByteOrder.LITTLE_ENDIAN );
+		crcs.putInt( (int)sourceCRC.getValue() ).putInt( (int)targetCRC.getValue() );
+		patchStream.write( crcs.array() );
+
+		out.write( ByteBuffer.allocate( 4 ).order( ByteOrder.LITTLE_ENDIAN ).putInt( (int)patchStream.getChecksum().getValue() ).array() );
+		out.close();
+	}
+
+	static byte[] createPatch( byte[] source, byte[] target ) throws IOException
+	{
+		int length = Math.max( source.length, target.length );
+		ByteArrayOutputStream patch = new ByteArrayOutputStream();
+
+		try( UPSPatchWriter writer = new UPSPatchWriter( patch, source.length, target.length ) )
+		{
+			writer.write( Arrays.copyOf( source, length ), Arrays.copyOf( target, length ), length );
+		}
+
+		return patch.toByteArray();
+	}
+
+	private void writeValue( long value ) throws IOException
+	{
+		while( true )
+		{
+			int bits = (int)(value & 0x7F);
+			value >>= 7;
+
+			if( value == 0 )
+			{
+				patchStream.write( 0x80 | bits );
+				return;
+			}
+
+			patchStream.write( bits );
+			value--;
+		}
+	}
+}
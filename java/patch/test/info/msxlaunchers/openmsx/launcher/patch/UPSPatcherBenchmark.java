@@ -0,0 +1,114 @@
+package info.msxlaunchers.openmsx.launcher.patch;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Throughput benchmark of UPS patching. It is not run as part of the build - run its main method from the test classpath.
+ * <p>
+ * For each size a synthetic source image is generated along with a patch that changes a short run of bytes every few KB and
+ * grows the image by 1/64 of its size, similar to translation patches of disk and laserdisc images. The patch is then applied
+ * with checksum validation and the throughput over the target size is reported.
+ * <p>
+ * Arguments: [comma separated image sizes in MB (default 32,128,512,1024)] [rounds per size (default 3)] [working directory]
+ */
+public final class UPSPatcherBenchmark
+{
+	private static final int CHUNK_SIZE = 1 << 20;
+	private static final int MAXIMUM_RUN_DISTANCE = 8192;
+	private static final int MAXIMUM_RUN_LENGTH = 64;
+
+	public static void main( String[] args ) throws IOException, PatchException
+	{
+		int[] sizes = Arrays.stream( (args.length > 0 ? args[0] : "32,128,512,1024").split( "," ) ).mapToInt( Integer::parseInt ).toArray();
+		int rounds = args.length > 1 ? Integer.parseInt( args[1] ) : 3;
+		Path directory = args.length > 2 ? Paths.get( args[2] ) : Files.createTempDirectory( "ups-benchmark" );
+
+		Path sourceFile = directory.resolve( "source.dsk" );
+		Path patchFile = directory.resolve( "patch.ups" );
+		Path targetFile = directory.resolve( "target.dsk" );
+		UPSPatcher patcher = new UPSPatcher();
+
+		try
+		{
+			for( int size: sizes )
+			{
+				long sourceSize = (long)size << 20;
+				long targetSize = sourceSize + sourceSize / 64;
+
+				long start = System.nanoTime();
+				createFiles( sourceFile, patchFile, sourceSize, targetSize );
+				System.out.println( String.format( "%d MB image and %.1f MB patch generated in %.1f s", size, Files.size( patchFile ) / 1048576.0,
+						(System.nanoTime() - start) / 1e9 ) );
+
+				for( int round = 1; round <= rounds; round++ )
+				{
+					start = System.nanoTime();
+					patcher.patch( sourceFile, patchFile, targetFile, false, null );
+					double seconds = (System.nanoTime() - start) / 1e9;
+
+					System.out.println( String.format( "Round %d: %d MB patched in %.0f ms, %.0f MB/s", round, size, seconds * 1000,
+							targetSize / 1048576.0 / seconds ) );
+				}
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists( sourceFile );
+			Files.deleteIfExists( patchFile );
+			Files.deleteIfExists( targetFile );
+		}
+	}
+
+	private static void createFiles( Path sourceFile, Path patchFile, long sourceSize, long targetSize ) throws IOException
+	{
+		Random random = new Random( sourceSize );
+		byte[] source = new byte[CHUNK_SIZE];
+		byte[] target = new byte[CHUNK_SIZE];
+		long nextRun = random.nextInt( MAXIMUM_RUN_DISTANCE );
+
+		try( OutputStream sourceStream = new BufferedOutputStream( Files.newOutputStream( sourceFile ), CHUNK_SIZE );
+				UPSPatchWriter patchWriter = new UPSPatchWriter( new BufferedOutputStream( Files.newOutputStream( patchFile ), CHUNK_SIZE ),
+						sourceSize, targetSize ) )
+		{
+			for( long offset = 0; offset < targetSize; offset += CHUNK_SIZE )
+			{
+				int length = (int)Math.min( CHUNK_SIZE, targetSize - offset );
+				int sourceLength = (int)Math.max( 0, Math.min( length, sourceSize - offset ) );
+
+				random.nextBytes( source );
+				Arrays.fill( source, sourceLength, length, (byte)0 );
+				System.arraycopy( source, 0, target, 0, length );
+
+				//the appended part is new data, the rest changes in short runs
+				if( sourceLength < length )
+				{
+					random.nextBytes( target );
+					System.arraycopy( source, 0, target, 0, sourceLength );
+					for( int index = sourceLength; index < length; index++ )
+					{
+						target[index] |= 1;
+					}
+				}
+				for( ; nextRun < Math.min( offset + length, sourceSize ); nextRun += 1 + random.nextInt( MAXIMUM_RUN_DISTANCE ) )
+				{
+					int runStart = (int)(nextRun - offset);
+					int runEnd = Math.min( sourceLength, runStart + 1 + random.nextInt( MAXIMUM_RUN_LENGTH ) );
+					for( int index = runStart; index < runEnd; index++ )
+					{
+						target[index] ^= 1 + random.nextInt( 255 );
+					}
+				}
+
+				sourceStream.write( source, 0, sourceLength );
+				patchWriter.write( source, target, length );
+			}
+		}
+	}
+}
@@ -1,7 +1,11 @@
 package info.msxlaunchers.openmsx.launcher.patch;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -62,4 +66,191 @@ public class UPSPatcherTest
 			throw pe;
 		}
 	}
+	@Test
+	public void givenTargetOfSameSize_whenPatch_thenTargetIsWritten() throws IOException, PatchException
+	{
+		assertPatchProducesTarget( new UPSPatcher(), 100000, 100000, 1 );
+	}
+
+	@Test
+	public void givenLargerTarget_whenPatch_thenTargetIsWritten() throws IOException, PatchException
+	{
+		assertPatchProducesTarget( new UPSPatcher(), 70000, 100000, 2 );
+	}
+
+	@Test
+	public void givenSmallerTargetAndHunksBeyondIt_whenPatch_thenTargetIsWritten() throws IOException, PatchException
+	{
+		assertPatchProducesTarget( new UPSPatcher(), 100000, 70001, 3 );
+	}
+
+	@Test
+	public void givenHunksSpanningBlocks_whenPatch_thenTargetIsWritten() throws IOException, PatchException
+	{
+		for( int seed = 0; seed < 20; seed++ )
+		{
+			assertPatchProducesTarget( new UPSPatcher( 16 ), 1000 + seed * 7, 900 + seed * 13, seed );
+		}
+	}
+
+	@Test
+	public void givenNoTargetFile_whenPatch_thenSourceIsPatchedInPlace() throws IOException, PatchException
+	{
+		byte[] source = createData( 5000, 4 );
+		byte[] target = modify( source, 5000, 5 );
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), source );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), UPSPatchWriter.createPatch( source, target ) );
+
+		new UPSPatcher().patch( sourceFile, patchFile, null, false, null );
+
+		Assert.assertArrayEquals( target, Files.readAllBytes( sourceFile ) );
+	}
+
+	@Test
+	public void givenWrongSourceOfSameSize_whenPatch_thenThrowExceptionAndKeepTarget() throws IOException, PatchException
+	{
+		byte[] source = createData( 5000, 6 );
+		byte[] target = modify( source, 5000, 7 );
+		byte[] wrongSource = source.clone();
+		wrongSource[4999]++;
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), wrongSource );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), UPSPatchWriter.createPatch( source, target ) );
+		Path targetFile = Files.write( tmpFolder.newFile( "target.rom" ).toPath(), new byte[] { 1, 2, 3 } );
+
+		try
+		{
+			new UPSPatcher().patch( sourceFile, patchFile, targetFile, false, null );
+			Assert.fail();
+		}
+		catch( PatchException pe )
+		{
+			Assert.assertEquals( PatchExceptionIssue.SOURCE_FILE_CHECKSUM_NOT_MATCH, pe.getIssue() );
+		}
+
+		Assert.assertArrayEquals( new byte[] { 1, 2, 3 }, Files.readAllBytes( targetFile ) );
+		Assert.assertEquals( 3, tmpFolder.getRoot().list().length );
+	}
+
+	@Test
+	public void givenWrongSourceSize_whenPatch_thenThrowException() throws IOException, PatchException
+	{
+		byte[] source = createData( 5000, 8 );
+		byte[] target = modify( source, 5000, 9 );
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), Arrays.copyOf( source, 4000 ) );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), UPSPatchWriter.createPatch( source, target ) );
+
+		try
+		{
+			new UPSPatcher().patch( sourceFile, patchFile, tmpFolder.getRoot().toPath().resolve( "target.rom" ), false, null );
+			Assert.fail();
+		}
+		catch( PatchException pe )
+		{
+			Assert.assertEquals( PatchExceptionIssue.SOURCE_FILE_CHECKSUM_NOT_MATCH, pe.getIssue() );
+		}
+	}
+
+	@Test
+	public void givenCorruptPatch_whenPatch_thenThrowException() throws IOException, PatchException
+	{
+		byte[] source = createData( 5000, 10 );
+		byte[] patch = UPSPatchWriter.createPatch( source, modify( source, 5000, 11 ) );
+		patch[patch.length / 2] ^= 0x40;
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), source );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), patch );
+
+		try
+		{
+			new UPSPatcher().patch( sourceFile, patchFile, tmpFolder.getRoot().toPath().resolve( "target.rom" ), false, null );
+			Assert.fail();
+		}
+		catch( PatchException pe )
+		{
+			Assert.assertEquals( PatchExceptionIssue.INVALID_PATCH_FILE, pe.getIssue() );
+		}
+	}
+
+	@Test
+	public void givenCorruptPatchAndSkipChecksumValidation_whenPatch_thenPatchIsApplied() throws IOException, PatchException
+	{
+		byte[] source = new byte[] { 1, 2, 3, 4 };
+		byte[] patch = UPSPatchWriter.createPatch( source, new byte[] { 1, 7, 3, 4 } );
+		//change the XOR byte and leave the CRCs as they are
+		patch[7] = 0x07;
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), source );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), patch );
+		Path targetFile = tmpFolder.getRoot().toPath().resolve( "target.rom" );
+
+		new UPSPatcher().patch( sourceFile, patchFile, targetFile, true, null );
+
+		Assert.assertArrayEquals( new byte[] { 1, 5, 3, 4 }, Files.readAllBytes( targetFile ) );
+	}
+
+	@Test( expected = PatchException.class )
+	public void givenUnterminatedHunk_whenPatch_thenThrowException() throws IOException, PatchException
+	{
+		byte[] source = new byte[] { 1, 2, 3, 4 };
+		byte[] patch = UPSPatchWriter.createPatch( source, new byte[] { 1, 7, 3, 4 } );
+		//drop the terminating zero of the only hunk
+		byte[] truncatedPatch = new byte[patch.length - 1];
+		System.arraycopy( patch, 0, truncatedPatch, 0, 8 );
+		System.arraycopy( patch, 9, truncatedPatch, 8, patch.length - 9 );
+		Path sourceFile = Files.write( tmpFolder.newFile( "source.rom" ).toPath(), source );
+		Path patchFile = Files.write( tmpFolder.newFile( "patch.ups" ).toPath(), truncatedPatch );
+
+		try
+		{
+			new UPSPatcher().patch( sourceFile, patchFile, tmpFolder.getRoot().toPath().resolve( "target.rom" ), true, null );
+		}
+		catch( PatchException pe )
+		{
+			Assert.assertEquals( PatchExceptionIssue.INVALID_PATCH_FILE, pe.getIssue() );
+			throw pe;
+		}
+	}
+
+	private void assertPatchProducesTarget( UPSPatcher patcher, int sourceSize, int targetSize, int seed ) throws IOException, PatchException
+	{
+		byte[] source = createData( sourceSize, seed );
+		byte[] target = modify( Arrays.copyOf( source, targetSize ), Math.max( sourceSize, targetSize ), seed );
+		Path directory = tmpFolder.newFolder().toPath();
+		Path sourceFile = Files.write( directory.resolve( "source.rom" ), source );
+		Path patchFile = Files.write( directory.resolve( "patch.ups" ), UPSPatchWriter.createPatch( source, target ) );
+		Path targetFile = directory.resolve( "target.rom" );
+
+		patcher.patch( sourceFile, patchFile, targetFile, false, null );
+
+		Assert.assertArrayEquals( "seed " + seed, target, Files.readAllBytes( targetFile ) );
+		Assert.assertArrayEquals( source, Files.readAllBytes( sourceFile ) );
+		Assert.assertEquals( 3, directory.toFile().list().length );
+	}
+
+	private static byte[] createData( int size, int seed )
+	{
+		byte[] data = new byte[size];
+		new Random( seed ).nextBytes( data );
+
+		return data;
+	}
+
+	/**
+	 * Changes runs of random length at random distances, so that hunks of all lengths and alignments occur
+	 */
+	private static byte[] modify( byte[] data, int maximumRunStart, int seed )
+	{
+		byte[] modified = data.clone();
+		Random random = new Random( seed + 1000 );
+
+		for( int offset = random.nextInt( 20 ); offset < Math.min( maximumRunStart, modified.length ); offset += 1 + random.nextInt( 40 ) )
+		{
+			int runLength = 1 + random.nextInt( 30 );
+			for( int index = offset; index < Math.min( offset + runLength, modified.length ); index++ )
+			{
+				modified[index] ^= 1 + random.nextInt( 255 );
+			}
+			offset += runLength;
+		}
+
+		return modified;
+	}
 }
@@ -21,6 +21,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
+
 /**
  * Abstract implementation of <code>DatabaseAction<code> that contains default implementation of the interface
  * and common methods
@@ -43,7 +46,9 @@ abstract class AbstractDatabaseOperation<E> implements DatabaseAction<E>
 
 		String dbURL = "jdbc:derby:" + databaseFullPath;
 
-		try( Connection connection = DriverManager.getConnection( dbURL ) )
+		//timed per action class, including the time to get the connection
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "persistence." + getClass().getSimpleName() ).time();
+				Connection connection = DriverManager.getConnection( dbURL ) )
 		{
 			try
 			{
@@ -20,6 +20,8 @@ import info.msxlaunchers.openmsx.common.Utils;
 import info.msxlaunchers.openmsx.launcher.builder.GameBuilder;
 import info.msxlaunchers.openmsx.launcher.data.backup.DatabaseBackup;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -254,6 +257,40 @@ final class EmbeddedDatabaseGamePersister implements GamePersister
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister#getGames(java.lang.String, java.util.Set)
+	 */
+	@Override
+	public Set<Game> getGames( String database, Set<Filter> filters ) throws GamePersistenceException
+	{
+		try
+		{
+			return new GetGamesAction( database, filters ).execute( databaseFullPath ).getResult();
+		}
+		catch( LauncherPersistenceException lpe )
+		{
+			throw (GamePersistenceException)lpe.getException();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister#findGames(java.util.Set, java.util.function.BiConsumer)
+	 */
+	@Override
+	public int findGames( Set<Filter> filters, BiConsumer<DatabaseItem,Game> consumer ) throws GamePersistenceException
+	{
+		Objects.requireNonNull( consumer );
+
+		try
+		{
+			return new FindGamesAction( filters, consumer ).execute( databaseFullPath ).getResult();
+		}
+		catch( LauncherPersistenceException lpe )
+		{
+			throw (GamePersistenceException)lpe.getException();
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister#saveGame(info.msxlaunchers.openmsx.launcher.data.game.Game, java.lang.String)
 	 */
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.persistence.game;
+
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+import info.msxlaunchers.openmsx.launcher.persistence.DatabaseResponse;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
+import info.msxlaunchers.openmsx.launcher.persistence.NonTransactionalDatabaseOperation;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Class to find games that pass a set of filters in all databases. This is done with a single query over the game table,
+ * and the matches are passed on to a consumer as they are read instead of being collected first
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class FindGamesAction extends NonTransactionalDatabaseOperation<Integer>
+{
+	private static final String FIND_GAMES_STATEMENT = "SELECT database.name AS database_name, game.* FROM database JOIN game" +
+			" ON database.id=game.IDDB";
+	private static final String CONDITION_PREFIX = " AND ";
+
+	private final GameFilterSQL filterSQL;
+	private final BiConsumer<DatabaseItem,Game> consumer;
+
+	FindGamesAction( Set<Filter> filters, BiConsumer<DatabaseItem,Game> consumer )
+	{
+		this.filterSQL = GameFilterSQL.translate( filters );
+		this.consumer = consumer;
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.persistence.NonTransactionalDatabaseOperation#executeNonTransactionalOperation(java.sql.Connection)
+	 */
+	@Override
+	public DatabaseResponse<Integer> executeNonTransactionalOperation( Connection connection ) throws LauncherPersistenceException
+	{
+		int matchesNumber = 0;
+
+		try( PreparedStatement statement = connection.prepareStatement( getStatement() ) )
+		{
+			filterSQL.setParameters( statement, 1 );
+
+			try( ResultSet result = statement.executeQuery() )
+			{
+				while( result.next() )
+				{
+					Game game = GetGamesAction.getGameFromResultSet( result );
+
+					consumer.accept( new DatabaseItem( game.getName(), result.getString( "database_name" ) ), game );
+					matchesNumber++;
+				}
+			}
+		}
+		catch( SQLException se )
+		{
+			LauncherLogger.logException( this, se );
+
+			throwEncapsulatingException( new GamePersistenceException( GamePersistenceExceptionIssue.IO ) );
+		}
+
+		return new FindGamesResponse( matchesNumber );
+	}
+
+	private String getStatement()
+	{
+		String condition = filterSQL.getCondition();
+
+		//the condition only restricts the games, so it goes in the WHERE clause rather than in the join
+		if( condition.isEmpty() )
+		{
+			return FIND_GAMES_STATEMENT;
+		}
+		else
+		{
+			return FIND_GAMES_STATEMENT + " WHERE " + condition.substring( CONDITION_PREFIX.length() );
+		}
+	}
+}
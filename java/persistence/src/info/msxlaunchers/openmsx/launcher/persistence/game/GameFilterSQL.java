@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.persistence.game;
+
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterFactory;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterParameter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterType;
+import info.msxlaunchers.openmsx.launcher.data.filter.ParameterField;
+import info.msxlaunchers.openmsx.launcher.data.filter.Value1Field;
+import info.msxlaunchers.openmsx.launcher.data.filter.Value2Field;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.MSXGeneration;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Sound;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.VideoSource;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translation of a set of filters into a SQL condition on the game table. Only filters that look at the game's own columns
+ * are translated - those that need the repository info (company, country and year) are left out, so the games read with the
+ * condition still have to be passed through the filters in memory.
+ * Like in <code>CompiledFilter</code>, filters of the same type are OR'ed and the groups of different types are AND'ed
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class GameFilterSQL
+{
+	private static final GameFilterSQL NO_CONDITION = new GameFilterSQL( "", Collections.emptyList() );
+
+	private final String condition;
+	private final List<Object> parameters;
+
+	private GameFilterSQL( String condition, List<Object> parameters )
+	{
+		this.condition = condition;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Translates the given filters
+	 * 
+	 * @param filters Set of filters. Can be null or empty, in which case the condition is empty
+	 * @return Translated filters
+	 */
+	static GameFilterSQL translate( Set<Filter> filters )
+	{
+		if( filters == null || filters.isEmpty() )
+		{
+			return NO_CONDITION;
+		}
+
+		Map<FilterType,List<String>> predicatesByType = new EnumMap<>( FilterType.class );
+		Map<FilterType,List<Object>> parametersByType = new EnumMap<>( FilterType.class );
+
+		for( Filter filter: filters )
+		{
+			FilterType type = FilterFactory.getFilterType( filter );
+			List<Object> filterParameters = new ArrayList<>( 2 );
+			String predicate = getPredicate( type, filter, filterParameters );
+
+			//filters without a predicate are only applied in memory
+			if( predicate != null )
+			{
+				predicatesByType.computeIfAbsent( type, t -> new ArrayList<>() ).add( predicate );
+				parametersByType.computeIfAbsent( type, t -> new ArrayList<>() ).addAll( filterParameters );
+			}
+		}
+
+		StringBuilder condition = new StringBuilder();
+		List<Object> parameters = new ArrayList<>();
+
+		//EnumMap iteration order is fixed, so predicates and their parameters stay aligned
+		predicatesByType.forEach( (type, predicates) -> {
+			condition.append( " AND (" ).append( String.join( " OR ", predicates ) ).append( ')' );
+			parameters.addAll( parametersByType.get( type ) );
+		} );
+
+		return new GameFilterSQL( condition.toString(), Collections.unmodifiableList( parameters ) );
+	}
+
+	/**
+	 * @return Condition to append to a WHERE clause, starting with " AND ". Empty if no filter could be translated
+	 */
+	String getCondition()
+	{
+		return condition;
+	}
+
+	/**
+	 * Sets the parameters of the condition in the given statement
+	 * 
+	 * @param statement Prepared statement containing the condition
+	 * @param firstIndex Index of the first parameter of the condition in the statement
+	 * @throws SQLException
+	 */
+	void setParameters( PreparedStatement statement, int firstIndex ) throws SQLException
+	{
+		int index = firstIndex;
+
+		for( Object parameter: parameters )
+		{
+			if( parameter instanceof Integer )
+			{
+				statement.setInt( index++, (Integer)parameter );
+			}
+			else
+			{
+				statement.setLong( index++, (Long)parameter );
+			}
+		}
+	}
+
+	private static String getPredicate( FilterType type, Filter filter, List<Object> parameters )
+	{
+		String value1 = FilterFactory.getAnnotatedFieldValue( filter, Value1Field.class );
+
+		switch( type )
+		{
+			case GENERATION:
+				return getGenerationPredicate( MSXGeneration.valueOf( value1 ) );
+			case SOUND:
+				return getSoundPredicate( Sound.valueOf( value1 ) );
+			case MEDIUM:
+				return getMediumPredicate( Medium.valueOf( value1 ) );
+			case VIDEO_SOURCE:
+				return VideoSource.valueOf( value1 ) == VideoSource.GFX9000 ? "connect_gfx9000 = TRUE" :
+					"(connect_gfx9000 IS NULL OR connect_gfx9000 = FALSE)";
+			case GENRE:
+				return getGenrePredicate( Genre.valueOf( value1 ), parameters );
+			case SIZE:
+				return getSizePredicate( Long.parseLong( value1 ), FilterFactory.getAnnotatedFieldValue( filter, Value2Field.class ),
+						FilterParameter.valueOf( FilterFactory.getAnnotatedFieldValue( filter, ParameterField.class ) ), parameters );
+			default:
+				//company, country and year come from the repository info, which is not in the database
+				return null;
+		}
+	}
+
+	private static String getGenerationPredicate( MSXGeneration generation )
+	{
+		switch( generation )
+		{
+			case MSX:
+				return "msx = TRUE";
+			case MSX2:
+				return "msx2 = TRUE";
+			case MSX2Plus:
+				return "msx2plus = TRUE";
+			case TURBO_R:
+				return "turbo_r = TRUE";
+			default:
+				throw new RuntimeException( "Update filter SQL if MSXGeneration contains an extra generation" );
+		}
+	}
+
+	private static String getSoundPredicate( Sound sound )
+	{
+		switch( sound )
+		{
+			case PSG:
+				return "psg = TRUE";
+			case SCC:
+				return "scc = TRUE";
+			case SCC_I:
+				return "scc_i = TRUE";
+			case PCM:
+				return "pcm = TRUE";
+			case MSX_MUSIC:
+				return "msx_music = TRUE";
+			case MSX_AUDIO:
+				return "msx_audio = TRUE";
+			case MOONSOUND:
+				return "moonsound = TRUE";
+			case MIDI:
+				return "midi = TRUE";
+			default:
+				throw new RuntimeException( "Update filter SQL if Sound contains an extra sound chip" );
+		}
+	}
+
+	//mirrors the chain of Game.isROM(), isDisk(), isTape(), etc. where each medium excludes the one before it
+	private static String getMediumPredicate( Medium medium )
+	{
+		switch( medium )
+		{
+			case ROM:
+				return "romA IS NOT NULL";
+			case DISK:
+				return "(romA IS NULL AND diskA IS NOT NULL)";
+			case TAPE:
+				return "(NOT " + getMediumPredicate( Medium.DISK ) + " AND tape IS NOT NULL)";
+			case HARDDISK:
+				return "(NOT " + getMediumPredicate( Medium.TAPE ) + " AND harddisk IS NOT NULL)";
+			case LASERDISC:
+				return "(NOT " + getMediumPredicate( Medium.HARDDISK ) + " AND laserdisc IS NOT NULL)";
+			case SCRIPT:
+				return "(NOT " + getMediumPredicate( Medium.LASERDISC ) + " AND tcl_script IS NOT NULL)";
+			default:
+				throw new RuntimeException( "Update filter SQL if Medium contains an extra medium" );
+		}
+	}
+
+	private static String getGenrePredicate( Genre genre, List<Object> parameters )
+	{
+		parameters.add( genre.getValue() );
+		parameters.add( genre.getValue() );
+
+		if( genre == Genre.UNKNOWN )
+		{
+			//a missing genre is read back as UNKNOWN
+			return "(genre1 = ? OR genre2 = ? OR genre1 IS NULL OR genre2 IS NULL)";
+		}
+		else
+		{
+			return "(genre1 = ? OR genre2 = ?)";
+		}
+	}
+
+	private static String getSizePredicate( long size1, String value2, FilterParameter filterParameter, List<Object> parameters )
+	{
+		parameters.add( size1 );
+
+		//a missing size is read back as 0
+		String size = "COALESCE(size, 0)";
+
+		switch( filterParameter )
+		{
+			case EQUAL:
+				return size + " = ?";
+			case EQUAL_OR_LESS:
+				return size + " <= ?";
+			case EQUAL_OR_GREATER:
+				return size + " >= ?";
+			case LESS:
+				return size + " < ?";
+			case GREATER:
+				return size + " > ?";
+			case BETWEEN_INCLUSIVE:
+				parameters.add( Long.parseLong( value2 ) );
+				return size + " BETWEEN ? AND ?";
+			default:
+				throw new RuntimeException( "Update filter SQL if FilterParameter contains an extra parameter" );
+		}
+	}
+}
@@ -18,12 +18,15 @@ package info.msxlaunchers.openmsx.launcher.persistence.game;
 import info.msxlaunchers.openmsx.common.ActionDecider;
 import info.msxlaunchers.openmsx.launcher.data.backup.DatabaseBackup;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Interface to provide operation on databases and game persistence
@@ -126,6 +129,30 @@ public interface GamePersister
 	 */
 	Set<Game> getGames( String database ) throws GamePersistenceException;
 
+	/**
+	 * Returns games in a given database that pass the given filters. The filters that only look at the game's own data are
+	 * evaluated by the database, while those that need the repository info (company, country and year) are not applied,
+	 * so the caller still has to apply the full set of filters on the returned games
+	 * 
+	 * @param database Name of database
+	 * @param filters Set of filters. If null or empty then all games are returned
+	 * @return Unmodifiable Set containing Game objects found in the given database. If no games were found, then an empty Set is returned
+	 * @throws GamePersistenceException
+	 */
+	Set<Game> getGames( String database, Set<Filter> filters ) throws GamePersistenceException;
+
+	/**
+	 * Finds games in all databases that pass the given filters, passing each match to the given consumer as it is read.
+	 * As with <code>getGames( String, Set )</code>, filters that need the repository info (company, country and year) are
+	 * not applied, so the consumer has to apply them
+	 * 
+	 * @param filters Set of filters. If null or empty then all games in all databases are matched
+	 * @param consumer Receives the database item and the game of each match
+	 * @return Number of matches passed to the consumer
+	 * @throws GamePersistenceException
+	 */
+	int findGames( Set<Filter> filters, BiConsumer<DatabaseItem,Game> consumer ) throws GamePersistenceException;
+
 	/**
 	 * Saves a game in a given database
 	 * 
@@ -15,6 +15,7 @@
  */
 package info.msxlaunchers.openmsx.launcher.persistence.game;
 
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.FDDMode;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
@@ -33,7 +34,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Class to get all games in a given database
+ * Class to get all games in a given database, optionally restricted by filters that can be evaluated on the game table
  * 
  * @since v1.4
  * @author Sam Elsharif
@@ -44,10 +45,17 @@ final class GetGamesAction extends NonTransactionalDatabaseOperation<Set<Game>>
 	private static final String GET_ALL_GAMES_STATEMENT = "SELECT * FROM game WHERE IDDB=?";
 
 	private final String database;
+	private final GameFilterSQL filterSQL;
 
 	GetGamesAction( String database )
+	{
+		this( database, null );
+	}
+
+	GetGamesAction( String database, Set<Filter> filters )
 	{
 		this.database = database;
+		this.filterSQL = GameFilterSQL.translate( filters );
 	}
 
 	/* (non-Javadoc)
@@ -60,9 +68,10 @@ final class GetGamesAction extends NonTransactionalDatabaseOperation<Set<Game>>
 
 		long databaseId = getDatabaseId( connection, database );
 
-		try( PreparedStatement statement = connection.prepareStatement( GET_ALL_GAMES_STATEMENT ) )
+		try( PreparedStatement statement = connection.prepareStatement( GET_ALL_GAMES_STATEMENT + filterSQL.getCondition() ) )
 		{
 			statement.setLong( 1, databaseId );
+			filterSQL.setParameters( statement, 2 );
 
 			try( ResultSet result = statement.executeQuery() )
 			{
@@ -81,7 +90,7 @@ final class GetGamesAction extends NonTransactionalDatabaseOperation<Set<Game>>
 		return new GetGamesResponse( Collections.unmodifiableSet( games ) );
 	}
 
-	private Game getGameFromResultSet( ResultSet result ) throws SQLException
+	static Game getGameFromResultSet( ResultSet result ) throws SQLException
 	{
 		return Game.name( result.getString( "name" ) )
 				.info( result.getString( "info" ) )
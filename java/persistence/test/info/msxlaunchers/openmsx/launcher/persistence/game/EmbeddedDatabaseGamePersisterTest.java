@@ -4,12 +4,19 @@ import info.msxlaunchers.openmsx.common.ActionDecider;
 import info.msxlaunchers.openmsx.launcher.builder.GameBuilder;
 import info.msxlaunchers.openmsx.launcher.data.backup.DatabaseBackup;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.filter.CompiledFilter;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterFactory;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterParameter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterType;
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.FDDMode;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.InputDevice;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
 import info.msxlaunchers.openmsx.launcher.persistence.DatabaseTest;
 
 import java.sql.Connection;
@@ -1757,6 +1764,133 @@ public class EmbeddedDatabaseGamePersisterTest extends DatabaseTest
 		updatedRelatedGames.add( new RelatedGame( "gameName", "company", "1985", 1 ) );
 	}
 
+	@Test
+	public void givenFilters_whenGetGames_thenReturnSameGamesAsInMemoryFiltering() throws GamePersistenceException
+	{
+		EmbeddedDatabaseGamePersister persister = new EmbeddedDatabaseGamePersister( dbLocation, gameBuilder );
+
+		persister.createDatabase( database1 );
+
+		Set<Game> games = new HashSet<>();
+		games.add( Game.name( "rom1" ).machine( "machine" ).romA( "romA" ).isMSX( true ).isPSG( true ).genre1( Genre.ACTION ).size( 16384 ).build() );
+		games.add( Game.name( "rom2" ).machine( "machine" ).romA( "romA" ).diskA( "diskA" ).isMSX2( true ).isSCC( true ).genre2( Genre.ACTION ).size( 131072 ).build() );
+		games.add( Game.name( "disk1" ).machine( "machine" ).diskA( "diskA" ).isMSX2( true ).isMSXMUSIC( true ).genre1( Genre.PUZZLE ).size( 737280 ).build() );
+		games.add( Game.name( "disk2" ).machine( "machine" ).diskA( "diskA" ).tape( "tape" ).isTurboR( true ).isPCM( true ).connectGFX9000( true ).build() );
+		games.add( Game.name( "tape1" ).machine( "machine" ).tape( "tape" ).isMSX( true ).isPSG( true ).genre1( Genre.PUZZLE ).genre2( Genre.ACTION ).size( 32768 ).build() );
+		games.add( Game.name( "harddisk1" ).machine( "machine" ).harddisk( "harddisk" ).isMSX2Plus( true ).isMoonsound( true ).size( 16384 ).build() );
+		games.add( Game.name( "laserdisc1" ).machine( "machine" ).laserdisc( "laserdisc" ).isMSX( true ).isMIDI( true ).build() );
+		games.add( Game.name( "script1" ).machine( "machine" ).tclScript( "tclScript" ).isMSX2( true ).isMSXAUDIO( true ).isSCCI( true ).build() );
+		persister.saveGames( games, database1 );
+
+		//compare against the games as read back, since missing values like genres come back as defaults
+		Set<Game> savedGames = persister.getGames( database1 );
+
+		List<Set<Filter>> filterSets = Arrays.asList(
+				Collections.singleton( FilterFactory.createFilter( FilterType.GENERATION, "MSX2", null, null ) ),
+				toSet( FilterFactory.createFilter( FilterType.GENERATION, "MSX", null, null ), FilterFactory.createFilter( FilterType.SOUND, "PSG", null, null ) ),
+				toSet( FilterFactory.createFilter( FilterType.SOUND, "SCC", null, null ), FilterFactory.createFilter( FilterType.SOUND, "SCC_I", null, null ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.GENRE, "ACTION", null, null ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.GENRE, "UNKNOWN", null, null ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.SIZE, "16384", null, FilterParameter.EQUAL ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.SIZE, "32768", "737280", FilterParameter.BETWEEN_INCLUSIVE ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.SIZE, "32768", null, FilterParameter.LESS ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.VIDEO_SOURCE, "MSX", null, null ) ),
+				Collections.singleton( FilterFactory.createFilter( FilterType.VIDEO_SOURCE, "GFX9000", null, null ) ),
+				toSet( FilterFactory.createFilter( FilterType.GENRE, "PUZZLE", null, null ), FilterFactory.createFilter( FilterType.SIZE, "20000", null, FilterParameter.GREATER ) ) );
+
+		for( Medium medium: Medium.values() )
+		{
+			Set<Filter> filters = Collections.singleton( FilterFactory.createFilter( FilterType.MEDIUM, medium.toString(), null, null ) );
+
+			assertEquals( medium.toString(), getGameNames( savedGames, filters ), getNames( persister.getGames( database1, filters ) ) );
+		}
+
+		for( Set<Filter> filters: filterSets )
+		{
+			assertEquals( filters.toString(), getGameNames( savedGames, filters ), getNames( persister.getGames( database1, filters ) ) );
+		}
+	}
+
+	@Test
+	public void givenRepositoryFilters_whenGetGames_thenTheyAreNotApplied() throws GamePersistenceException
+	{
+		EmbeddedDatabaseGamePersister persister = new EmbeddedDatabaseGamePersister( dbLocation, gameBuilder );
+
+		persister.createDatabase( database1 );
+
+		persister.saveGame( Game.name( "name1" ).machine( "machine" ).romA( "romA" ).isMSX( true ).build(), database1 );
+		persister.saveGame( Game.name( "name2" ).machine( "machine" ).romA( "romA" ).isMSX2( true ).build(), database1 );
+
+		Set<Filter> filters = toSet( FilterFactory.createFilter( FilterType.COMPANY, "Konami", null, null ),
+				FilterFactory.createFilter( FilterType.YEAR, "1985", null, FilterParameter.EQUAL ),
+				FilterFactory.createFilter( FilterType.GENERATION, "MSX", null, null ) );
+
+		assertEquals( Collections.singleton( "name1" ), getNames( persister.getGames( database1, filters ) ) );
+		assertEquals( 2, persister.getGames( database1, null ).size() );
+	}
+
+	@Test
+	public void givenFilters_whenFindGames_thenStreamMatchesFromAllDatabases() throws GamePersistenceException
+	{
+		EmbeddedDatabaseGamePersister persister = new EmbeddedDatabaseGamePersister( dbLocation, gameBuilder );
+
+		persister.createDatabase( database1 );
+		persister.createDatabase( database2 );
+
+		persister.saveGame( Game.name( "name1" ).machine( "machine" ).romA( "romA" ).isMSX2( true ).isSCC( true ).build(), database1 );
+		persister.saveGame( Game.name( "name2" ).machine( "machine" ).romA( "romA" ).isMSX2( true ).build(), database1 );
+		persister.saveGame( Game.name( "name1" ).machine( "machine" ).diskA( "diskA" ).isMSX2( true ).isSCC( true ).build(), database2 );
+		persister.saveGame( Game.name( "name3" ).machine( "machine" ).romA( "romA" ).isMSX( true ).isSCC( true ).build(), database2 );
+
+		Set<Filter> filters = toSet( FilterFactory.createFilter( FilterType.GENERATION, "MSX2", null, null ),
+				FilterFactory.createFilter( FilterType.SOUND, "SCC", null, null ) );
+
+		Set<DatabaseItem> matches = new HashSet<>();
+		int total = persister.findGames( filters, (databaseItem, game) -> {
+			assertEquals( databaseItem.getGameName(), game.getName() );
+			matches.add( databaseItem );
+		} );
+
+		assertEquals( 2, total );
+		assertEquals( toSet( new DatabaseItem( "name1", database1 ), new DatabaseItem( "name1", database2 ) ), matches );
+	}
+
+	@Test
+	public void givenNoFilters_whenFindGames_thenStreamAllGamesFromAllDatabases() throws GamePersistenceException
+	{
+		EmbeddedDatabaseGamePersister persister = new EmbeddedDatabaseGamePersister( dbLocation, gameBuilder );
+
+		persister.createDatabase( database1 );
+		persister.createDatabase( database2 );
+
+		persister.saveGame( Game.name( "name1" ).machine( "machine" ).romA( "romA" ).build(), database1 );
+		persister.saveGame( Game.name( "name2" ).machine( "machine" ).diskA( "diskA" ).build(), database2 );
+
+		Set<DatabaseItem> matches = new HashSet<>();
+		int total = persister.findGames( null, (databaseItem, game) -> matches.add( databaseItem ) );
+
+		assertEquals( 2, total );
+		assertEquals( toSet( new DatabaseItem( "name1", database1 ), new DatabaseItem( "name2", database2 ) ), matches );
+	}
+
+	@SafeVarargs
+	private static <T> Set<T> toSet( T... items )
+	{
+		return new HashSet<>( Arrays.asList( items ) );
+	}
+
+	private static Set<String> getGameNames( Set<Game> games, Set<Filter> filters )
+	{
+		CompiledFilter compiledFilter = CompiledFilter.compile( filters );
+
+		return games.stream().filter( game -> !compiledFilter.isFiltered( game, (RepositoryGame)null ) ).map( Game::getName ).collect( Collectors.toSet() );
+	}
+
+	private static Set<String> getNames( Set<Game> games )
+	{
+		return games.stream().map( Game::getName ).collect( Collectors.toSet() );
+	}
+
 	private void initializeDatabasesForMachineUpdateTests() throws GamePersistenceException
 	{
 		Game game1 = Game.name( "name1" ).machine( "machine" ).romA( "romA" ).build();
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.BitSet;
+
+import com.google.inject.Inject;
+
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
+
+/**
+ * Scores candidates made by the same company as the given game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class CompanyScorer implements RelatedGameScorer
+{
+	static final String MATCH_WEIGHT = "company.match";
+
+	private final int matchScore;
+
+	@Inject
+	CompanyScorer( RelatedGamesWeights weights )
+	{
+		this.matchScore = weights.get( MATCH_WEIGHT );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#addCandidates(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex, java.util.BitSet)
+	 */
+	@Override
+	public void addCandidates( RelatedGamesQuery query, RelatedGamesIndex index, BitSet candidates )
+	{
+		if( matchScore != 0 )
+		{
+			index.addCandidatesWithCompany( query.company, candidates );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#score(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate)
+	 */
+	@Override
+	public int score( RelatedGamesQuery query, Candidate candidate )
+	{
+		if( !candidate.company.isEmpty() && candidate.company.equals( query.company ) )
+		{
+			return matchScore;
+		}
+		else
+		{
+			return 0;
+		}
+	}
+}
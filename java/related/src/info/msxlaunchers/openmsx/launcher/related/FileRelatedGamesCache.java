@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import info.msxlaunchers.openmsx.common.HashUtils;
+import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+/**
+ * Implementation of <code>RelatedGamesCache</code> that keeps the cache in memory and persists it in a binary file
+ * in the user data directory. The file header records the extra data version and a fingerprint of the scorer weights, the series
+ * and the repository data, and the cache is dropped when any of them no longer matches
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class FileRelatedGamesCache implements RelatedGamesCache
+{
+	private static final String CACHE_FILENAME = "related-games.cache";
+	private static final int FORMAT_VERSION = 2;
+
+	private final ExtraDataGetter extraDataGetter;
+	private final Path cacheFile;
+
+	//weights and series are only read at startup, so their part of the fingerprint never changes
+	private final byte[] scoringData;
+
+	//immutable snapshot that is replaced as a whole, so readers never need to lock
+	private volatile CacheContent content = null;
+
+	//fingerprint of the last repository info map instance, which only changes when the repository data is reloaded
+	private volatile Fingerprint lastFingerprint = null;
+
+	@Inject
+	FileRelatedGamesCache( ExtraDataGetter extraDataGetter, RelatedGamesWeights weights, RelatedGamesSeries series,
+			@Named("UserDataDirectory") String userDataDirectory )
+	{
+		this.extraDataGetter = extraDataGetter;
+		this.cacheFile = Paths.get( userDataDirectory, CACHE_FILENAME );
+		this.scoringData = getScoringData( weights, series );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGamesCache#get(int, java.util.Map)
+	 */
+	@Override
+	public Optional<List<RelatedGame>> get( int msxGenId, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		String extraDataVersion = getExtraDataVersion();
+		CacheContent cacheContent = getContent();
+
+		if( extraDataVersion == null || !cacheContent.isValidFor( extraDataVersion, getFingerprint( repositoryInfoMap ) ) )
+		{
+			return Optional.empty();
+		}
+
+		return Optional.ofNullable( cacheContent.relatedGames.get( msxGenId ) );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGamesCache#putAll(java.util.Map, java.util.Map)
+	 */
+	@Override
+	public synchronized void putAll( Map<Integer,List<RelatedGame>> relatedGames, Map<String,RepositoryGame> repositoryInfoMap ) throws IOException
+	{
+		String extraDataVersion = getExtraDataVersion();
+		String fingerprint = getFingerprint( repositoryInfoMap );
+		CacheContent cacheContent = getContent();
+
+		Map<Integer,List<RelatedGame>> newRelatedGames = new HashMap<>();
+		if( extraDataVersion != null && cacheContent.isValidFor( extraDataVersion, fingerprint ) )
+		{
+			newRelatedGames.putAll( cacheContent.relatedGames );
+		}
+		newRelatedGames.putAll( relatedGames );
+
+		CacheContent newContent = new CacheContent( extraDataVersion == null ? "" : extraDataVersion, fingerprint,
+				Collections.unmodifiableMap( newRelatedGames ) );
+		try
+		{
+			write( newContent );
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+			throw ioe;
+		}
+
+		content = newContent;
+	}
+
+	private String getExtraDataVersion()
+	{
+		try
+		{
+			return extraDataGetter.getExtraDataFileVersion();
+		}
+		catch( IOException ioe )
+		{
+			//without extra data there's no version to validate the cache against
+			return null;
+		}
+	}
+
+	private String getFingerprint( Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		Fingerprint fingerprint = lastFingerprint;
+
+		if( fingerprint == null || fingerprint.repositoryInfoMap != repositoryInfoMap )
+		{
+			fingerprint = new Fingerprint( repositoryInfoMap, computeFingerprint( repositoryInfoMap ) );
+			lastFingerprint = fingerprint;
+		}
+
+		return fingerprint.value;
+	}
+
+	private String computeFingerprint( Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( scoringData.length + 64 * (repositoryInfoMap == null ? 0 : repositoryInfoMap.size()) );
+
+		try( DataOutputStream output = new DataOutputStream( bytes ) )
+		{
+			output.write( scoringData );
+			output.writeBoolean( repositoryInfoMap != null );
+
+			if( repositoryInfoMap != null )
+			{
+				//only the fields that the scorers and the results use, in a stable order
+				for( Map.Entry<String,RepositoryGame> entry: new TreeMap<>( repositoryInfoMap ).entrySet() )
+				{
+					RepositoryGame repositoryGame = entry.getValue();
+
+					output.writeUTF( entry.getKey() );
+					output.writeUTF( repositoryGame.getTitle() );
+					output.writeUTF( repositoryGame.getSystem() );
+					output.writeUTF( repositoryGame.getCompany() );
+					output.writeUTF( repositoryGame.getYear() );
+				}
+			}
+		}
+		catch( IOException ioe )
+		{
+			//writing to memory doesn't throw
+			throw new IllegalStateException( ioe );
+		}
+
+		return HashUtils.getSHA1Code( new ByteArrayInputStream( bytes.toByteArray() ) );
+	}
+
+	private static byte[] getScoringData( RelatedGamesWeights weights, RelatedGamesSeries series )
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try( DataOutputStream output = new DataOutputStream( bytes ) )
+		{
+			Map<String,Integer> sortedWeights = new TreeMap<>( weights.getAll() );
+			output.writeInt( sortedWeights.size() );
+			for( Map.Entry<String,Integer> entry: sortedWeights.entrySet() )
+			{
+				output.writeUTF( entry.getKey() );
+				output.writeInt( entry.getValue() );
+			}
+
+			Map<Integer,Set<Integer>> sortedSeries = new TreeMap<>( series.getAll() );
+			output.writeInt( sortedSeries.size() );
+			for( Map.Entry<Integer,Set<Integer>> entry: sortedSeries.entrySet() )
+			{
+				output.writeInt( entry.getKey() );
+				output.writeInt( entry.getValue().size() );
+				for( int relatedId: new TreeSet<>( entry.getValue() ) )
+				{
+					output.writeInt( relatedId );
+				}
+			}
+		}
+		catch( IOException ioe )
+		{
+			//writing to memory doesn't throw
+			throw new IllegalStateException( ioe );
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private CacheContent getContent()
+	{
+		CacheContent cacheContent = content;
+
+		if( cacheContent == null )
+		{
+			synchronized( this )
+			{
+				cacheContent = content;
+				if( cacheContent == null )
+				{
+					cacheContent = read();
+					content = cacheContent;
+				}
+			}
+		}
+
+		return cacheContent;
+	}
+
+	private CacheContent read()
+	{
+		try( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( cacheFile ) ) ) )
+		{
+			if( input.readInt() != FORMAT_VERSION )
+			{
+				return CacheContent.EMPTY;
+			}
+
+			String extraDataVersion = input.readUTF();
+			String fingerprint = input.readUTF();
+			int size = input.readInt();
+			Map<Integer,List<RelatedGame>> relatedGames = new HashMap<>( size * 4 / 3 + 1 );
+
+			for( int index = 0; index < size; index++ )
+			{
+				int msxGenId = input.readInt();
+				int total = input.readInt();
+				List<RelatedGame> relatedGamesList = new ArrayList<>( total );
+
+				for( int gameIndex = 0; gameIndex < total; gameIndex++ )
+				{
+					String gameName = input.readUTF();
+					String company = readNullableString( input );
+					String year = readNullableString( input );
+					relatedGamesList.add( new RelatedGame( gameName, company, year, input.readInt() ) );
+				}
+
+				relatedGames.put( msxGenId, Collections.unmodifiableList( relatedGamesList ) );
+			}
+
+			return new CacheContent( extraDataVersion, fingerprint, Collections.unmodifiableMap( relatedGames ) );
+		}
+		catch( NoSuchFileException nsfe )
+		{
+			return CacheContent.EMPTY;
+		}
+		catch( IOException ioe )
+		{
+			//a corrupt cache is not an error - it will be rewritten on the next precomputation
+			LauncherLogger.logException( this, ioe );
+			return CacheContent.EMPTY;
+		}
+	}
+
+	private void write( CacheContent cacheContent ) throws IOException
+	{
+		Path temporaryFile = cacheFile.resolveSibling( CACHE_FILENAME + ".tmp" );
+
+		try( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temporaryFile ) ) ) )
+		{
+			output.writeInt( FORMAT_VERSION );
+			output.writeUTF( cacheContent.extraDataVersion );
+			output.writeUTF( cacheContent.fingerprint );
+			output.writeInt( cacheContent.relatedGames.size() );
+
+			for( Map.Entry<Integer,List<RelatedGame>> entry: cacheContent.relatedGames.entrySet() )
+			{
+				output.writeInt( entry.getKey() );
+				output.writeInt( entry.getValue().size() );
+
+				for( RelatedGame relatedGame: entry.getValue() )
+				{
+					output.writeUTF( relatedGame.getGameName() );
+					writeNullableString( output, relatedGame.getCompany() );
+					writeNullableString( output, relatedGame.getYear() );
+					output.writeInt( relatedGame.getMSXGenId() );
+				}
+			}
+		}
+
+		Files.move( temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING );
+	}
+
+	private static String readNullableString( DataInputStream input ) throws IOException
+	{
+		return input.readBoolean() ? input.readUTF() : null;
+	}
+
+	private static void writeNullableString( DataOutputStream output, String string ) throws IOException
+	{
+		output.writeBoolean( string != null );
+		if( string != null )
+		{
+			output.writeUTF( string );
+		}
+	}
+
+	private static final class CacheContent
+	{
+		private static final CacheContent EMPTY = new CacheContent( "", "", Collections.emptyMap() );
+
+		private final String extraDataVersion;
+		private final String fingerprint;
+		private final Map<Integer,List<RelatedGame>> relatedGames;
+
+		private CacheContent( String extraDataVersion, String fingerprint, Map<Integer,List<RelatedGame>> relatedGames )
+		{
+			this.extraDataVersion = extraDataVersion;
+			this.fingerprint = fingerprint;
+			this.relatedGames = relatedGames;
+		}
+
+		private boolean isValidFor( String extraDataVersion, String fingerprint )
+		{
+			return this.extraDataVersion.equals( extraDataVersion ) && this.fingerprint.equals( fingerprint );
+		}
+	}
+
+	private static final class Fingerprint
+	{
+		private final Map<String,RepositoryGame> repositoryInfoMap;
+		private final String value;
+
+		private Fingerprint( Map<String,RepositoryGame> repositoryInfoMap, String value )
+		{
+			this.repositoryInfoMap = repositoryInfoMap;
+			this.value = value;
+		}
+	}
+}
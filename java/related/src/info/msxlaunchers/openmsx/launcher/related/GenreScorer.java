@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.BitSet;
+
+import com.google.inject.Inject;
+
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
+
+/**
+ * Scores candidates that share at least one known genre with the given game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class GenreScorer implements RelatedGameScorer
+{
+	static final String MATCH_WEIGHT = "genre.match";
+
+	private final int matchScore;
+
+	@Inject
+	GenreScorer( RelatedGamesWeights weights )
+	{
+		this.matchScore = weights.get( MATCH_WEIGHT );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#addCandidates(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex, java.util.BitSet)
+	 */
+	@Override
+	public void addCandidates( RelatedGamesQuery query, RelatedGamesIndex index, BitSet candidates )
+	{
+		if( matchScore != 0 )
+		{
+			index.addCandidatesWithGenre( query.genre1, candidates );
+			index.addCandidatesWithGenre( query.genre2, candidates );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#score(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate)
+	 */
+	@Override
+	public int score( RelatedGamesQuery query, Candidate candidate )
+	{
+		if( matches( query.genre1, candidate ) || matches( query.genre2, candidate ) )
+		{
+			return matchScore;
+		}
+		else
+		{
+			return 0;
+		}
+	}
+
+	private static boolean matches( Genre genre, Candidate candidate )
+	{
+		return !genre.equals( Genre.UNKNOWN ) && (genre.equals( candidate.genre1 ) || genre.equals( candidate.genre2 ));
+	}
+}
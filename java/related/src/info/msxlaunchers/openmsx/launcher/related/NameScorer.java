@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.BitSet;
+import java.util.Set;
+
+import com.google.inject.Inject;
+
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
+
+/**
+ * Scores candidates by the words they share with the title of the given game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class NameScorer implements RelatedGameScorer
+{
+	static final String SINGLE_WORD_MATCH_WEIGHT = "name.singleWordMatch";
+	static final String FIRST_MULTI_WORD_MATCH_WEIGHT = "name.firstMultiWordMatch";
+	static final String NEXT_MULTI_WORD_MATCH_WEIGHT = "name.nextMultiWordMatch";
+
+	private final int singleWordMatchScore;
+	private final int firstMultiWordMatchScore;
+	private final int nextMultiWordMatchScore;
+
+	@Inject
+	NameScorer( RelatedGamesWeights weights )
+	{
+		this.singleWordMatchScore = weights.get( SINGLE_WORD_MATCH_WEIGHT );
+		this.firstMultiWordMatchScore = weights.get( FIRST_MULTI_WORD_MATCH_WEIGHT );
+		this.nextMultiWordMatchScore = weights.get( NEXT_MULTI_WORD_MATCH_WEIGHT );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#addCandidates(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex, java.util.BitSet)
+	 */
+	@Override
+	public void addCandidates( RelatedGamesQuery query, RelatedGamesIndex index, BitSet candidates )
+	{
+		if( singleWordMatchScore != 0 || firstMultiWordMatchScore != 0 || nextMultiWordMatchScore != 0 )
+		{
+			query.titleTokens.forEach( token -> index.addCandidatesWithTitleToken( token, candidates ) );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#score(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate)
+	 */
+	@Override
+	public int score( RelatedGamesQuery query, Candidate candidate )
+	{
+		Set<String> repositoryTitleParts = candidate.titleTokens;
+		Set<String> gameNameParts = query.titleTokens;
+		int score = 0;
+
+		int matches = 0;
+		for( String part: gameNameParts )
+		{
+			if( repositoryTitleParts.contains( part ) )
+			{
+				if( repositoryTitleParts.size() == 1 || gameNameParts.size() == 1 )
+				{
+					score += singleWordMatchScore;
+				}
+				else
+				{
+					matches++;
+					score += (matches == 1) ? firstMultiWordMatchScore : nextMultiWordMatchScore;
+				}
+			}
+		}
+
+		return score;
+	}
+}
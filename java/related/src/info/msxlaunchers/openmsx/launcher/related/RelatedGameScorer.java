@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.BitSet;
+
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
+
+/**
+ * Interface for one aspect of the related games scoring model (e.g. name, genre). The score of a candidate is the sum
+ * of the scores given by all bound scorers
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+interface RelatedGameScorer
+{
+	/**
+	 * Marks the candidates that this scorer can give a score above zero. Candidates that no scorer marks are not scored at all
+	 * 
+	 * @param query Game to find related games for
+	 * @param index Index of all candidates
+	 * @param candidates BitSet of candidate indexes to add to
+	 */
+	void addCandidates( RelatedGamesQuery query, RelatedGamesIndex index, BitSet candidates );
+
+	/**
+	 * @param query Game to find related games for
+	 * @param candidate Candidate game
+	 * @return Score of the candidate for this aspect. Zero if it does not match
+	 */
+	int score( RelatedGamesQuery query, Candidate candidate );
+}
@@ -16,7 +16,9 @@
 package info.msxlaunchers.openmsx.launcher.related;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
@@ -37,4 +39,14 @@ public interface RelatedGames
 	 * @return Unmodifiable list of related games to given one sorted by "proximity". List size is to be determined by implementation
 	 */
 	List<RelatedGame> findRelated( Game game ) throws IOException;
+
+	/**
+	 * Find related games to each of the given games in one batch. The games are processed in parallel.
+	 * Games without an MSX-Generations ID are skipped
+	 * 
+	 * @param games Games, e.g. all games in a database
+	 * @throws IOException
+	 * @return Unmodifiable Map of MSX-Generations IDs to unmodifiable lists of related games, each as returned by <code>findRelated</code>
+	 */
+	Map<Integer,List<RelatedGame>> findRelatedForAll( Collection<Game> games ) throws IOException;
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Interface for a persisted cache of precomputed related games. Entries are keyed by MSX-Generations ID and are only valid
+ * for the extra data version, the repository data and the scoring configuration (weights and series) they were computed with
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+public interface RelatedGamesCache
+{
+	/**
+	 * Returns the cached related games of the given MSX-Generations ID
+	 * 
+	 * @param msxGenId MSX-Generations ID
+	 * @param repositoryInfoMap Repository info map that the related games would be computed with. Can be null
+	 * @return Unmodifiable list of related games, or empty if they were not precomputed for the current extra data version,
+	 * the given repository info and the current scoring configuration
+	 */
+	Optional<List<RelatedGame>> get( int msxGenId, Map<String,RepositoryGame> repositoryInfoMap );
+
+	/**
+	 * Adds the given related games to the cache and persists it. Entries computed for an older extra data version, other
+	 * repository info or another scoring configuration are dropped
+	 * 
+	 * @param relatedGames Map of MSX-Generations IDs to their related games, as returned by <code>RelatedGames.findRelatedForAll</code>
+	 * @param repositoryInfoMap Repository info map that the related games were computed with. Can be null
+	 * @throws IOException
+	 */
+	void putAll( Map<Integer,List<RelatedGame>> relatedGames, Map<String,RepositoryGame> repositoryInfoMap ) throws IOException;
+}
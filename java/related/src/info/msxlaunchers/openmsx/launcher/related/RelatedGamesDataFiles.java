@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Opens the data files of the related games scoring model. Each file is shipped with the module and can be complemented
+ * by a file of the same name in the user data directory
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class RelatedGamesDataFiles
+{
+	private RelatedGamesDataFiles()
+	{
+	}
+
+	/**
+	 * @param fileName Data file name
+	 * @return Reader of the data file that is shipped with the module
+	 * @throws IOException
+	 */
+	static BufferedReader openBuiltIn( String fileName ) throws IOException
+	{
+		InputStream stream = RelatedGamesDataFiles.class.getResourceAsStream( fileName );
+
+		if( stream == null )
+		{
+			throw new IOException( "Missing related games data file: " + fileName );
+		}
+
+		return new BufferedReader( new InputStreamReader( stream, StandardCharsets.UTF_8 ) );
+	}
+
+	/**
+	 * @param userDataDirectory User data directory
+	 * @param fileName Data file name
+	 * @return Reader of the user's data file, or null if the user has not created one
+	 * @throws IOException
+	 */
+	static BufferedReader openUserFile( String userDataDirectory, String fileName ) throws IOException
+	{
+		Path file = Paths.get( userDataDirectory, fileName );
+
+		if( Files.isRegularFile( file ) )
+		{
+			return Files.newBufferedReader( file, StandardCharsets.UTF_8 );
+		}
+		else
+		{
+			return null;
+		}
+	}
+}
@@ -16,101 +16,59 @@
 package info.msxlaunchers.openmsx.launcher.related;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
-import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
-import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
 import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
 import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
 import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
 
 /**
  * 
  * Implementation of the interface <code>RelatedGames</code> that returns a maximum of 15 games related to the given name
- * based on name, company and genre.
+ * based on the sum of the scores of all bound <code>RelatedGameScorer</code>s (e.g. name, company, genre and series).
  * 
  * @since v1.13
  * @author Sam Elsharif
  */
 final class RelatedGamesImpl implements RelatedGames
 {
-	private static final int NAME_MATCH_ONE_WORD_GAME_SCORE = 5;
-	private static final int NAME_MATCH_ONE_IN_MANY_WORDS_SCORE = 3;
-	private static final int NAME_MATCH_TWO_OR_MORE_IN_MANY_WORDS_SCORE = 5;
-	private static final int GENRE_MATCH_SCORE = 4;
-	private static final int COMPANY_MATCH_SCORE = 2;
-	private static final int SAME_CLUSTER_MATCH_SCORE = 7;
 	private static final int MAX_SIZE_RESULTS = 15;
-	private static final Set<String> excludedStrings;
-	static
-	{
-		excludedStrings = new HashSet<>();
-
-		excludedStrings.add( "-" );
-		excludedStrings.add( "i" );
-		excludedStrings.add( "ii" );
-
-		excludedStrings.add( "the" );
-		excludedStrings.add( "of" );
-		excludedStrings.add( "and" );
-		excludedStrings.add( "in" );
-		excludedStrings.add( "on" );
-		excludedStrings.add( "at" );
-		excludedStrings.add( "to" );
-		excludedStrings.add( "version" );
-
-		excludedStrings.add( "de" );
-		excludedStrings.add( "el" );
-		excludedStrings.add( "los" );
-		excludedStrings.add( "en" );
-	}
-
-	private static final Map<Integer,Set<Integer>> idToCluster = new HashMap<>();
-	static
-	{
-		List<Set<Integer>> clusters = Arrays.asList(
-				//Gradius series
-				Stream.of( 742, 932, 1254, 941, 1188 ).collect( Collectors.toSet() ),
-
-				//Knightmare series
-				Stream.of( 855, 916, 946 ).collect( Collectors.toSet() ),
 
-				//Space Manbow and Manbow 2
-				Stream.of( 1238, 3607 ).collect( Collectors.toSet() ),
-
-				//Road fighter and Car Fighter
-				Stream.of( 684, 412 ).collect( Collectors.toSet() ),
-
-				//Knightlore and Knightlore Remake
-				Stream.of( 810, 4221 ).collect( Collectors.toSet() )
-				);
-
-		clusters.stream().forEach( cluster -> idToCluster.putAll( cluster.stream().collect( Collectors.toMap( Function.identity(), c -> cluster ) ) ) );
-	}
+	//lowest score first, and for equal scores the candidate that comes later in the index first, so that these are evicted first
+	private static final Comparator<SimilarGame> EVICTION_ORDER =
+			Comparator.comparingInt( SimilarGame::getScore ).thenComparing( Comparator.comparingInt( SimilarGame::getIndex ).reversed() );
 
 	private final ExtraDataGetter extraDataGetter;
+	private final RelatedGamesIndexCache indexCache;
+	private final Set<RelatedGameScorer> scorers;
 	private final Map<String,RepositoryGame> repositoryInfoMap;
 
 	@Inject
-	RelatedGamesImpl( ExtraDataGetter extraDataGetter, @Assisted Map<String,RepositoryGame> repositoryInfoMap )
+	RelatedGamesImpl( ExtraDataGetter extraDataGetter, RelatedGamesIndexCache indexCache, Set<RelatedGameScorer> scorers,
+			@Assisted Map<String,RepositoryGame> repositoryInfoMap )
 	{
 		this.extraDataGetter = extraDataGetter;
+		this.indexCache = indexCache;
+		this.scorers = scorers;
 		this.repositoryInfoMap = repositoryInfoMap;
 	}
 
@@ -132,177 +90,120 @@ final class RelatedGamesImpl implements RelatedGames
 			throw ioe;
 		}
 
-		Set<SimilarGame> similarGames = new HashSet<>();
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "related.findRelated" ).time() )
+		{
+			return findRelated( game, indexCache.get( repositoryInfoMap, extraDataMap ) );
+		}
+	}
 
-		RepositoryGame repositoryGame = repositoryInfoMap.get( game.getSha1Code() );
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGames#findRelatedForAll(java.util.Collection)
+	 */
+	@Override
+	public Map<Integer,List<RelatedGame>> findRelatedForAll( Collection<Game> games ) throws IOException
+	{
+		Map<String, ExtraData> extraDataMap = null;
 
-		String companyOfSelectedGame;
-		Set<String> gameNameParts;
-		if( repositoryGame == null )
+		try
 		{
-			companyOfSelectedGame = "";
-			gameNameParts = getNormalizedStrings( game.getName() );
+			extraDataMap = extraDataGetter.getExtraData();
 		}
-		else
+		catch( IOException ioe )
 		{
-			companyOfSelectedGame = repositoryGame.getCompany();
-			gameNameParts = getNormalizedStrings( repositoryGame.getTitle() );
+			LauncherLogger.logException( this, ioe );
+			throw ioe;
 		}
 
-		Set<Integer> clusterForGivenGame = idToCluster.get( game.getMsxGenID() );
-
-		for( Map.Entry<String,RepositoryGame> entry: repositoryInfoMap.entrySet() )
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "related.findRelatedForAll" ).time() )
 		{
-			//limit the results to MSX system only (i.e. exclude others such as ColecoVision)
-			if( "MSX".equals( entry.getValue().getSystem() ) )
-			{
-				String companyOfRepositoryGame = entry.getValue().getCompany();
-				String repositoryTitle = entry.getValue().getTitle();
-
-				int score = 0;
-				String sha1CodeOfRepositoryGame = entry.getKey();
-				ExtraData extraData = extraDataMap.get( sha1CodeOfRepositoryGame );
-
-				if( extraData != null && extraData.getMSXGenerationsID() != game.getMsxGenID() )
-				{
-					score += getNameScore( repositoryTitle, gameNameParts );
-					score += getGenreScore( extraData, game );
-					score += getCompanyScore( companyOfRepositoryGame, companyOfSelectedGame );
-					score += getClusterScore( clusterForGivenGame, extraData.getMSXGenerationsID() );
+			RelatedGamesIndex index = indexCache.get( repositoryInfoMap, extraDataMap );
 
-					if( score > 0 )
-					{
-						SimilarGame similarGame = new SimilarGame( new RelatedGame( repositoryTitle, entry.getValue().getCompany(), entry.getValue().getYear(),
-								extraData.getMSXGenerationsID()), score );
-						if( !similarGames.contains( similarGame ) )
-						{
-							similarGames.add( similarGame );
-						}
-					}
-				}
-			}
+			//the index is immutable, so the games can be processed in parallel on the common fork/join pool
+			return games.parallelStream()
+					.filter( game -> game.getMsxGenID() > 0 )
+					.collect( Collectors.collectingAndThen( Collectors.toConcurrentMap( Game::getMsxGenID, game -> findRelated( game, index ), (r1, r2) -> r1 ),
+							Collections::unmodifiableMap ) );
 		}
-
-		//order by score and get top 15
-		return similarGames.stream()
-				.sorted( Comparator.comparingInt( SimilarGame::getScore ).reversed() )
-				.map( g -> g.relatedGame )
-				.limit( MAX_SIZE_RESULTS )
-				.collect( Collectors.collectingAndThen( Collectors.toList(), Collections::unmodifiableList ) );
 	}
 
-	private int getNameScore( String repositoryTitle, Set<String> gameNameParts )
+	private List<RelatedGame> findRelated( Game game, RelatedGamesIndex index )
 	{
-		Set<String> repositoryTitleParts = getNormalizedStrings( repositoryTitle );
-		int score = 0;
+		RepositoryGame repositoryGame = repositoryInfoMap == null ? null : repositoryInfoMap.get( game.getSha1Code() );
+		RelatedGamesQuery query = new RelatedGamesQuery( game, repositoryGame );
+
+		//only games that at least one scorer can match can get a score above zero
+		BitSet candidateIndexes = new BitSet( index.getCandidates().size() );
+		scorers.forEach( scorer -> scorer.addCandidates( query, index, candidateIndexes ) );
 
-		int matches = 0;
-		for( String part: gameNameParts )
+		//a game can have more than one dump - keep the best scoring one per MSX-Generations ID
+		Map<Integer,SimilarGame> similarGames = new HashMap<>();
+		List<Candidate> candidates = index.getCandidates();
+		for( int candidateIndex = candidateIndexes.nextSetBit( 0 ); candidateIndex >= 0; candidateIndex = candidateIndexes.nextSetBit( candidateIndex + 1 ) )
 		{
-			if( repositoryTitleParts.contains( part ) )
+			Candidate candidate = candidates.get( candidateIndex );
+
+			if( candidate.msxGenId != game.getMsxGenID() )
 			{
-				if( repositoryTitleParts.size() == 1 || gameNameParts.size() == 1 )
+				int score = 0;
+				for( RelatedGameScorer scorer: scorers )
 				{
-					score += NAME_MATCH_ONE_WORD_GAME_SCORE;
+					score += scorer.score( query, candidate );
 				}
-				else
+
+				if( score > 0 )
 				{
-					matches++;
-					score += (matches == 1) ? NAME_MATCH_ONE_IN_MANY_WORDS_SCORE : NAME_MATCH_TWO_OR_MORE_IN_MANY_WORDS_SCORE;
+					SimilarGame similarGame = new SimilarGame( candidate, score );
+					similarGames.merge( candidate.msxGenId, similarGame, (g1, g2) -> EVICTION_ORDER.compare( g1, g2 ) >= 0 ? g1 : g2 );
 				}
 			}
 		}
 
-		return score;
+		return getTopRelatedGames( similarGames.values() );
 	}
 
-	private int getGenreScore( ExtraData extraData, Game game )
+	private List<RelatedGame> getTopRelatedGames( Iterable<SimilarGame> similarGames )
 	{
-		int score = 0;
+		PriorityQueue<SimilarGame> topGames = new PriorityQueue<>( MAX_SIZE_RESULTS + 1, EVICTION_ORDER );
 
-		if( extraData != null )
+		for( SimilarGame similarGame: similarGames )
 		{
-			Genre selectedGameGenre1 = game.getGenre1();
-			Genre selectedGameGenre2 = game.getGenre2();
-			Genre genre1OfRepositoryGame = Genre.fromValue( extraData.getGenre1() );
-			Genre genre2OfRepositoryGame = Genre.fromValue( extraData.getGenre2() );
-
-			if( (!selectedGameGenre1.equals( Genre.UNKNOWN ) && (selectedGameGenre1.equals( genre1OfRepositoryGame ) || selectedGameGenre1.equals( genre2OfRepositoryGame ))) ||
-					(!selectedGameGenre2.equals( Genre.UNKNOWN ) && (selectedGameGenre2.equals( genre1OfRepositoryGame ) || selectedGameGenre2.equals( genre2OfRepositoryGame ))) )
+			topGames.add( similarGame );
+			if( topGames.size() > MAX_SIZE_RESULTS )
 			{
-				score = GENRE_MATCH_SCORE;
+				topGames.poll();
 			}
 		}
 
-		return score;
-	}
-
-	private int getCompanyScore( String companyOfRepositoryGame, String companyOfSelectedGame )
-	{
-		if( !companyOfRepositoryGame.isEmpty() && companyOfRepositoryGame.equals( companyOfSelectedGame ) )
+		List<RelatedGame> relatedGames = new ArrayList<>( topGames.size() );
+		while( !topGames.isEmpty() )
 		{
-			return COMPANY_MATCH_SCORE;
+			relatedGames.add( topGames.poll().toRelatedGame() );
 		}
-		else
-		{
-			return 0;
-		}
-	}
+		Collections.reverse( relatedGames );
 
-	private int getClusterScore( Set<Integer> clusterForGivenGame, int extraDataGenMSXId )
-	{
-		if( clusterForGivenGame != null && clusterForGivenGame.contains( extraDataGenMSXId ) )
-		{
-			return SAME_CLUSTER_MATCH_SCORE;
-		}
-		else
-		{
-			return 0;
-		}
+		return Collections.unmodifiableList( relatedGames );
 	}
 
-	private class SimilarGame
+	private static class SimilarGame
 	{
-		private final RelatedGame relatedGame;
+		private final Candidate candidate;
 		private final int score;
 
-		SimilarGame( RelatedGame relatedGame, int score )
+		SimilarGame( Candidate candidate, int score )
 		{
-			this.relatedGame = relatedGame;
+			this.candidate = candidate;
 			this.score = score;
 		}
 
 		int getScore() { return score; }
 
-		@Override
-		public boolean equals( Object other )
-		{
-			if( other == null || !(other instanceof SimilarGame) )
-			{
-				return false;
-			}
-			else
-			{
-				return relatedGame.equals( ((SimilarGame)other).relatedGame );
-			}
-		}
+		int getIndex() { return candidate.index; }
 
-		@Override
-		public int hashCode()
+		RelatedGame toRelatedGame()
 		{
-			return relatedGame.hashCode();
-		}
-	}
+			RepositoryGame repositoryGame = candidate.repositoryGame;
 
-	private Set<String> getNormalizedStrings( String string )
-	{
-		String[] parts = string.split( " " );
-
-		return Stream.of( parts )
-				.map( String::toLowerCase )
-				.map( s -> s.replace( ",", "" ) )
-				.filter( s -> !excludedStrings.contains( s ) )
-				.filter( s -> !(Utils.isNumber( s ) && Utils.getNumber( s ) < 5) )
-				.collect( Collectors.toSet() );
+			return new RelatedGame( repositoryGame.getTitle(), repositoryGame.getCompany(), repositoryGame.getYear(), candidate.msxGenId );
+		}
 	}
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Immutable inverted index over the MSX games in the openMSX repository that have extra data. It maps
+ * title tokens, genres, companies and MSX-Generations IDs to candidate games, so that related games lookups
+ * only score games that share at least one of these keys with the given game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class RelatedGamesIndex
+{
+	private static final String MSX_SYSTEM = "MSX";
+	private static final Set<String> excludedStrings;
+	static
+	{
+		excludedStrings = new HashSet<>();
+
+		excludedStrings.add( "-" );
+		excludedStrings.add( "i" );
+		excludedStrings.add( "ii" );
+
+		excludedStrings.add( "the" );
+		excludedStrings.add( "of" );
+		excludedStrings.add( "and" );
+		excludedStrings.add( "in" );
+		excludedStrings.add( "on" );
+		excludedStrings.add( "at" );
+		excludedStrings.add( "to" );
+		excludedStrings.add( "version" );
+
+		excludedStrings.add( "de" );
+		excludedStrings.add( "el" );
+		excludedStrings.add( "los" );
+		excludedStrings.add( "en" );
+	}
+
+	private final Map<String,RepositoryGame> repositoryInfoMap;
+	private final Map<String,ExtraData> extraDataMap;
+
+	private final List<Candidate> candidates;
+	private final Map<String,int[]> titleTokenIndex;
+	private final Map<Genre,int[]> genreIndex;
+	private final Map<String,int[]> companyIndex;
+	private final Map<Integer,int[]> msxGenIdIndex;
+
+	private RelatedGamesIndex( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap, List<Candidate> candidates,
+			Map<String,int[]> titleTokenIndex, Map<Genre,int[]> genreIndex, Map<String,int[]> companyIndex, Map<Integer,int[]> msxGenIdIndex )
+	{
+		this.repositoryInfoMap = repositoryInfoMap;
+		this.extraDataMap = extraDataMap;
+		this.candidates = candidates;
+		this.titleTokenIndex = titleTokenIndex;
+		this.genreIndex = genreIndex;
+		this.companyIndex = companyIndex;
+		this.msxGenIdIndex = msxGenIdIndex;
+	}
+
+	/**
+	 * Builds the index from the given repository info and extra data
+	 * 
+	 * @param repositoryInfoMap Map of SHA1 codes to repository games. Can be null
+	 * @param extraDataMap Map of SHA1 codes to extra data
+	 * @return Index of all MSX repository games that have extra data
+	 */
+	static RelatedGamesIndex build( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap )
+	{
+		List<Candidate> candidates = new ArrayList<>();
+		Map<String,List<Integer>> titleTokens = new HashMap<>();
+		Map<Genre,List<Integer>> genres = new HashMap<>();
+		Map<String,List<Integer>> companies = new HashMap<>();
+		Map<Integer,List<Integer>> msxGenIds = new HashMap<>();
+
+		if( repositoryInfoMap != null )
+		{
+			for( Map.Entry<String,RepositoryGame> entry: repositoryInfoMap.entrySet() )
+			{
+				RepositoryGame repositoryGame = entry.getValue();
+				ExtraData extraData = extraDataMap.get( entry.getKey() );
+
+				//limit the results to MSX system only (i.e. exclude others such as ColecoVision)
+				if( extraData != null && MSX_SYSTEM.equals( repositoryGame.getSystem() ) )
+				{
+					int index = candidates.size();
+					Candidate candidate = new Candidate( index, repositoryGame, extraData, getNormalizedStrings( repositoryGame.getTitle() ) );
+					candidates.add( candidate );
+
+					candidate.titleTokens.forEach( token -> addPosting( titleTokens, token, index ) );
+					addPosting( genres, candidate.genre1, index );
+					if( candidate.genre2 != candidate.genre1 )
+					{
+						addPosting( genres, candidate.genre2, index );
+					}
+					if( !candidate.company.isEmpty() )
+					{
+						addPosting( companies, candidate.company, index );
+					}
+					addPosting( msxGenIds, candidate.msxGenId, index );
+				}
+			}
+		}
+
+		//UNKNOWN genre never counts as a match, so there's no need to keep its (typically huge) posting list
+		genres.remove( Genre.UNKNOWN );
+
+		return new RelatedGamesIndex( repositoryInfoMap, extraDataMap, Collections.unmodifiableList( candidates ),
+				toPostingArrays( titleTokens ), toPostingArrays( genres ), toPostingArrays( companies ), toPostingArrays( msxGenIds ) );
+	}
+
+	/**
+	 * @param repositoryInfoMap Repository info map
+	 * @param extraDataMap Extra data map
+	 * @return true if this index was built from exactly the given map instances
+	 */
+	boolean isBuiltFrom( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap )
+	{
+		return this.repositoryInfoMap == repositoryInfoMap && this.extraDataMap == extraDataMap;
+	}
+
+	/**
+	 * @return Unmodifiable list of all indexed games. The position of each candidate matches its index
+	 */
+	List<Candidate> getCandidates()
+	{
+		return candidates;
+	}
+
+	/**
+	 * Marks all candidates whose title contains the given normalized token
+	 * 
+	 * @param titleToken Normalized title token
+	 * @param candidates BitSet of candidate indexes to add to
+	 */
+	void addCandidatesWithTitleToken( String titleToken, BitSet candidates )
+	{
+		setAll( candidates, titleTokenIndex.get( titleToken ) );
+	}
+
+	/**
+	 * Marks all candidates that have the given genre as first or second genre. <code>Genre.UNKNOWN</code> never matches
+	 * 
+	 * @param genre Genre
+	 * @param candidates BitSet of candidate indexes to add to
+	 */
+	void addCandidatesWithGenre( Genre genre, BitSet candidates )
+	{
+		setAll( candidates, genreIndex.get( genre ) );
+	}
+
+	/**
+	 * Marks all candidates made by the given company. An empty company never matches
+	 * 
+	 * @param company Company
+	 * @param candidates BitSet of candidate indexes to add to
+	 */
+	void addCandidatesWithCompany( String company, BitSet candidates )
+	{
+		setAll( candidates, companyIndex.get( company ) );
+	}
+
+	/**
+	 * Marks all candidates (i.e. all dumps) of the given MSX-Generations ID
+	 * 
+	 * @param msxGenId MSX-Generations ID
+	 * @param candidates BitSet of candidate indexes to add to
+	 */
+	void addCandidatesWithMSXGenId( int msxGenId, BitSet candidates )
+	{
+		setAll( candidates, msxGenIdIndex.get( msxGenId ) );
+	}
+
+	/**
+	 * Splits the given string into lower case words, leaving out common words and small numbers that do not identify a game
+	 * 
+	 * @param string String to split
+	 * @return Set of normalized words
+	 */
+	static Set<String> getNormalizedStrings( String string )
+	{
+		Set<String> normalizedStrings = new HashSet<>();
+
+		int start = 0;
+		int length = string.length();
+		while( start <= length )
+		{
+			int end = string.indexOf( ' ', start );
+			if( end < 0 )
+			{
+				end = length;
+			}
+
+			if( end > start )
+			{
+				String part = string.substring( start, end ).toLowerCase().replace( ",", "" );
+				if( !excludedStrings.contains( part ) && !(Utils.isNumber( part ) && Utils.getNumber( part ) < 5) )
+				{
+					normalizedStrings.add( part );
+				}
+			}
+
+			start = end + 1;
+		}
+
+		return normalizedStrings;
+	}
+
+	private static <K> void addPosting( Map<K,List<Integer>> postings, K key, int index )
+	{
+		postings.computeIfAbsent( key, k -> new ArrayList<>() ).add( index );
+	}
+
+	private static <K> Map<K,int[]> toPostingArrays( Map<K,List<Integer>> postings )
+	{
+		Map<K,int[]> postingArrays = new HashMap<>( postings.size() * 4 / 3 + 1 );
+
+		postings.forEach( (key, indexes) -> postingArrays.put( key, indexes.stream().mapToInt( Integer::intValue ).toArray() ) );
+
+		return postingArrays;
+	}
+
+	private static void setAll( BitSet bitSet, int[] indexes )
+	{
+		if( indexes != null )
+		{
+			for( int index: indexes )
+			{
+				bitSet.set( index );
+			}
+		}
+	}
+
+	/**
+	 * A repository game that can be suggested as a related game, with its normalized data
+	 */
+	static final class Candidate
+	{
+		final int index;
+		final RepositoryGame repositoryGame;
+		final int msxGenId;
+		final Genre genre1;
+		final Genre genre2;
+		final String company;
+		final Set<String> titleTokens;
+
+		private Candidate( int index, RepositoryGame repositoryGame, ExtraData extraData, Set<String> titleTokens )
+		{
+			this.index = index;
+			this.repositoryGame = repositoryGame;
+			this.msxGenId = extraData.getMSXGenerationsID();
+			this.genre1 = Genre.fromValue( extraData.getGenre1() );
+			this.genre2 = Genre.fromValue( extraData.getGenre2() );
+			this.company = repositoryGame.getCompany();
+			this.titleTokens = titleTokens;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.Map;
+
+import com.google.inject.Singleton;
+
+import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Holds the <code>RelatedGamesIndex</code> for the latest repository info and extra data, so that it is built only once
+ * for as long as neither of them changes
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class RelatedGamesIndexCache
+{
+	private volatile RelatedGamesIndex index = null;
+
+	/**
+	 * Returns the index for the given maps, building it if it was built from different ones or not built yet
+	 * 
+	 * @param repositoryInfoMap Repository info map. Can be null
+	 * @param extraDataMap Extra data map
+	 * @return Index built from the given maps
+	 */
+	RelatedGamesIndex get( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap )
+	{
+		RelatedGamesIndex current = index;
+
+		if( current == null || !current.isBuiltFrom( repositoryInfoMap, extraDataMap ) )
+		{
+			synchronized( this )
+			{
+				current = index;
+				if( current == null || !current.isBuiltFrom( repositoryInfoMap, extraDataMap ) )
+				{
+					current = RelatedGamesIndex.build( repositoryInfoMap, extraDataMap );
+					index = current;
+				}
+			}
+		}
+
+		return current;
+	}
+}
@@ -17,6 +17,7 @@ package info.msxlaunchers.openmsx.launcher.related;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.multibindings.Multibinder;
 
 /**
  * 
@@ -29,5 +30,12 @@ public class RelatedGamesModule extends AbstractModule
 	protected void configure()
 	{
 		install( new FactoryModuleBuilder().implement( RelatedGames.class, RelatedGamesImpl.class ).build( RelatedGamesFactory.class ) );
+		bind( RelatedGamesCache.class ).to( FileRelatedGamesCache.class );
+
+		Multibinder<RelatedGameScorer> multibinder = Multibinder.newSetBinder( binder(), RelatedGameScorer.class );
+		multibinder.addBinding().to( NameScorer.class );
+		multibinder.addBinding().to( GenreScorer.class );
+		multibinder.addBinding().to( CompanyScorer.class );
+		multibinder.addBinding().to( SeriesScorer.class );
 	}
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.Set;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Normalized data of the game that related games are looked up for
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class RelatedGamesQuery
+{
+	final int msxGenId;
+	final Genre genre1;
+	final Genre genre2;
+	final String company;
+	final Set<String> titleTokens;
+
+	/**
+	 * @param game Game to find related games for
+	 * @param repositoryGame Repository entry of the game. Can be null, in which case the name of the game is used without a company
+	 */
+	RelatedGamesQuery( Game game, RepositoryGame repositoryGame )
+	{
+		this.msxGenId = game.getMsxGenID();
+		this.genre1 = game.getGenre1();
+		this.genre2 = game.getGenre2();
+
+		if( repositoryGame == null )
+		{
+			this.company = "";
+			this.titleTokens = RelatedGamesIndex.getNormalizedStrings( game.getName() );
+		}
+		else
+		{
+			this.company = repositoryGame.getCompany();
+			this.titleTokens = RelatedGamesIndex.getNormalizedStrings( repositoryGame.getTitle() );
+		}
+	}
+}
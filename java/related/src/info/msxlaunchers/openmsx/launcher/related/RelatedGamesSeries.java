@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+/**
+ * Series and clusters of closely related games, read from <code>related-games-series.txt</code> that is shipped with the module
+ * and from a file of the same name in the user data directory. Each non-comment line of these files lists the MSX-Generations IDs
+ * of one series, separated by commas
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class RelatedGamesSeries
+{
+	static final String FILENAME = "related-games-series.txt";
+
+	private static final String COMMENT_PREFIX = "#";
+
+	private final Map<Integer,Set<Integer>> idToRelatedIds;
+
+	@Inject
+	RelatedGamesSeries( @Named("UserDataDirectory") String userDataDirectory )
+	{
+		Map<Integer,Set<Integer>> idToRelatedIds = new HashMap<>();
+
+		try( BufferedReader reader = RelatedGamesDataFiles.openBuiltIn( FILENAME ) )
+		{
+			addSeries( idToRelatedIds, reader );
+		}
+		catch( IOException ioe )
+		{
+			//the file is part of the module, so this shouldn't happen
+			LauncherLogger.logException( this, ioe );
+		}
+
+		try( BufferedReader reader = RelatedGamesDataFiles.openUserFile( userDataDirectory, FILENAME ) )
+		{
+			if( reader != null )
+			{
+				addSeries( idToRelatedIds, reader );
+			}
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+
+		idToRelatedIds.replaceAll( (id, relatedIds) -> Collections.unmodifiableSet( relatedIds ) );
+		this.idToRelatedIds = Collections.unmodifiableMap( idToRelatedIds );
+	}
+
+	/**
+	 * @param msxGenId MSX-Generations ID
+	 * @return Unmodifiable set of the IDs of all games that share a series with the given one, including itself. Empty if it is not part of any series
+	 */
+	Set<Integer> getRelatedIds( int msxGenId )
+	{
+		return idToRelatedIds.getOrDefault( msxGenId, Collections.emptySet() );
+	}
+
+	/**
+	 * @return Unmodifiable map of MSX-Generations IDs to the IDs of all games that share a series with them
+	 */
+	Map<Integer,Set<Integer>> getAll()
+	{
+		return idToRelatedIds;
+	}
+
+	private static void addSeries( Map<Integer,Set<Integer>> idToRelatedIds, BufferedReader reader ) throws IOException
+	{
+		String line;
+		while( (line = reader.readLine()) != null )
+		{
+			line = line.trim();
+			if( !line.isEmpty() && !line.startsWith( COMMENT_PREFIX ) )
+			{
+				Set<Integer> series = new HashSet<>();
+				for( String id: line.split( "," ) )
+				{
+					id = id.trim();
+					if( Utils.isNumber( id ) )
+					{
+						series.add( Utils.getNumber( id ) );
+					}
+					else
+					{
+						LauncherLogger.logMessage( "Invalid MSX-Generations ID in related games series: " + id );
+					}
+				}
+
+				//a game can be part of more than one series, e.g. a remake of one game in a series
+				series.forEach( id -> idToRelatedIds.computeIfAbsent( id, k -> new HashSet<>() ).addAll( series ) );
+			}
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+/**
+ * Weights of the related games scorers. The defaults are read from <code>related-games-weights.properties</code> that is
+ * shipped with the module, and any of them can be overridden by a file of the same name in the user data directory
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+@Singleton
+final class RelatedGamesWeights
+{
+	static final String FILENAME = "related-games-weights.properties";
+
+	private final Map<String,Integer> weights;
+
+	@Inject
+	RelatedGamesWeights( @Named("UserDataDirectory") String userDataDirectory )
+	{
+		Map<String,Integer> weights = new HashMap<>();
+
+		try( BufferedReader reader = RelatedGamesDataFiles.openBuiltIn( FILENAME ) )
+		{
+			addWeights( weights, reader );
+		}
+		catch( IOException ioe )
+		{
+			//the file is part of the module, so this shouldn't happen
+			LauncherLogger.logException( this, ioe );
+		}
+
+		try( BufferedReader reader = RelatedGamesDataFiles.openUserFile( userDataDirectory, FILENAME ) )
+		{
+			if( reader != null )
+			{
+				addWeights( weights, reader );
+			}
+		}
+		catch( IOException ioe )
+		{
+			//ignore the user's file and keep the defaults
+			LauncherLogger.logException( this, ioe );
+		}
+
+		this.weights = Collections.unmodifiableMap( weights );
+	}
+
+	/**
+	 * @param name Weight name, e.g. <code>genre.match</code>
+	 * @return Weight, or zero if it is not defined
+	 */
+	int get( String name )
+	{
+		return weights.getOrDefault( name, 0 );
+	}
+
+	/**
+	 * @return Unmodifiable map of all weight names to their weights
+	 */
+	Map<String,Integer> getAll()
+	{
+		return weights;
+	}
+
+	private void addWeights( Map<String,Integer> weights, BufferedReader reader ) throws IOException
+	{
+		Properties properties = new Properties();
+		properties.load( reader );
+
+		for( String name: properties.stringPropertyNames() )
+		{
+			try
+			{
+				weights.put( name, Integer.valueOf( properties.getProperty( name ).trim() ) );
+			}
+			catch( NumberFormatException nfe )
+			{
+				LauncherLogger.logMessage( "Invalid related games weight: " + name );
+			}
+		}
+	}
+}
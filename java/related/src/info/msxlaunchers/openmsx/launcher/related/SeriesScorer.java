@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.util.BitSet;
+import java.util.Set;
+
+import com.google.inject.Inject;
+
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate;
+
+/**
+ * Scores candidates that belong to the same series (or cluster of closely related games) as the given game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ */
+final class SeriesScorer implements RelatedGameScorer
+{
+	static final String MATCH_WEIGHT = "series.match";
+
+	private final RelatedGamesSeries series;
+	private final int matchScore;
+
+	@Inject
+	SeriesScorer( RelatedGamesSeries series, RelatedGamesWeights weights )
+	{
+		this.series = series;
+		this.matchScore = weights.get( MATCH_WEIGHT );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#addCandidates(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex, java.util.BitSet)
+	 */
+	@Override
+	public void addCandidates( RelatedGamesQuery query, RelatedGamesIndex index, BitSet candidates )
+	{
+		if( matchScore != 0 )
+		{
+			series.getRelatedIds( query.msxGenId ).forEach( msxGenId -> index.addCandidatesWithMSXGenId( msxGenId, candidates ) );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.related.RelatedGameScorer#score(info.msxlaunchers.openmsx.launcher.related.RelatedGamesQuery, info.msxlaunchers.openmsx.launcher.related.RelatedGamesIndex.Candidate)
+	 */
+	@Override
+	public int score( RelatedGamesQuery query, Candidate candidate )
+	{
+		Set<Integer> relatedIds = series.getRelatedIds( query.msxGenId );
+
+		if( relatedIds.contains( candidate.msxGenId ) )
+		{
+			return matchScore;
+		}
+		else
+		{
+			return 0;
+		}
+	}
+}
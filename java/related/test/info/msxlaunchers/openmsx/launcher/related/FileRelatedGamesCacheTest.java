@@ -0,0 +1,150 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+
+@RunWith( MockitoJUnitRunner.class )
+public class FileRelatedGamesCacheTest
+{
+	@Mock ExtraDataGetter extraDataGetter;
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private final Map<String,RepositoryGame> repositoryInfoMap = Collections.singletonMap( "sha1",
+			RepositoryGame.title( "game" ).system( "MSX" ).company( "company" ).year( "1990" ).country( "JP" ).build() );
+
+	@Test
+	public void givenEmptyCache_whenGet_thenReturnEmpty() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		FileRelatedGamesCache cache = newCache();
+
+		Assert.assertFalse( cache.get( 100, repositoryInfoMap ).isPresent() );
+	}
+
+	@Test
+	public void givenPutAll_whenGetFromNewInstance_thenReturnPersistedRelatedGames() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		List<RelatedGame> relatedGames = Arrays.asList( new RelatedGame( "game1", "company", "1990", 200 ), new RelatedGame( "game2", null, null, 300 ) );
+		Map<Integer,List<RelatedGame>> relatedGamesMap = new HashMap<>();
+		relatedGamesMap.put( 100, relatedGames );
+		relatedGamesMap.put( 101, Collections.emptyList() );
+
+		newCache().putAll( relatedGamesMap, repositoryInfoMap );
+
+		FileRelatedGamesCache cache = newCache();
+		Optional<List<RelatedGame>> cached = cache.get( 100, repositoryInfoMap );
+
+		Assert.assertTrue( cached.isPresent() );
+		Assert.assertEquals( relatedGames, cached.get() );
+		Assert.assertEquals( "company", cached.get().get( 0 ).getCompany() );
+		Assert.assertNull( cached.get().get( 1 ).getCompany() );
+		Assert.assertEquals( Collections.emptyList(), cache.get( 101, repositoryInfoMap ).get() );
+		Assert.assertFalse( cache.get( 102, repositoryInfoMap ).isPresent() );
+	}
+
+	@Test
+	public void givenExtraDataVersionChanged_whenGet_thenReturnEmpty() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		FileRelatedGamesCache cache = newCache();
+		cache.putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "2.0" );
+
+		Assert.assertFalse( cache.get( 100, repositoryInfoMap ).isPresent() );
+	}
+
+	@Test
+	public void givenSameExtraDataVersion_whenPutAll_thenMergeWithExistingEntries() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		FileRelatedGamesCache cache = newCache();
+		cache.putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+		cache.putAll( Collections.singletonMap( 200, Collections.emptyList() ), repositoryInfoMap );
+
+		Assert.assertTrue( cache.get( 100, repositoryInfoMap ).isPresent() );
+		Assert.assertTrue( cache.get( 200, repositoryInfoMap ).isPresent() );
+	}
+
+	@Test
+	public void givenRepositoryDataChanged_whenGet_thenReturnEmpty() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		FileRelatedGamesCache cache = newCache();
+		cache.putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+
+		Map<String,RepositoryGame> updatedRepositoryInfoMap = Collections.singletonMap( "sha1",
+				RepositoryGame.title( "game" ).system( "MSX" ).company( "other company" ).year( "1990" ).country( "JP" ).build() );
+
+		Assert.assertFalse( cache.get( 100, updatedRepositoryInfoMap ).isPresent() );
+		Assert.assertFalse( cache.get( 100, null ).isPresent() );
+	}
+
+	@Test
+	public void givenEqualRepositoryData_whenGetFromNewInstance_thenReturnPersistedRelatedGames() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		newCache().putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+
+		Assert.assertTrue( newCache().get( 100, new HashMap<>( repositoryInfoMap ) ).isPresent() );
+	}
+
+	@Test
+	public void givenWeightsChanged_whenGetFromNewInstance_thenReturnEmpty() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		newCache().putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesWeights.FILENAME ), "genre.match=1000".getBytes( StandardCharsets.UTF_8 ) );
+
+		Assert.assertFalse( newCache().get( 100, repositoryInfoMap ).isPresent() );
+	}
+
+	@Test
+	public void givenSeriesChanged_whenGetFromNewInstance_thenReturnEmpty() throws IOException
+	{
+		Mockito.when( extraDataGetter.getExtraDataFileVersion() ).thenReturn( "1.0" );
+
+		newCache().putAll( Collections.singletonMap( 100, Collections.emptyList() ), repositoryInfoMap );
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesSeries.FILENAME ), "100,200".getBytes( StandardCharsets.UTF_8 ) );
+
+		Assert.assertFalse( newCache().get( 100, repositoryInfoMap ).isPresent() );
+	}
+
+	private FileRelatedGamesCache newCache()
+	{
+		String userDataDirectory = tmpFolder.getRoot().toString();
+
+		return new FileRelatedGamesCache( extraDataGetter, new RelatedGamesWeights( userDataDirectory ), new RelatedGamesSeries( userDataDirectory ),
+				userDataDirectory );
+	}
+}
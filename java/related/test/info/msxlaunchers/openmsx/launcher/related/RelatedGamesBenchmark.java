@@ -0,0 +1,177 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.mockito.Mockito;
+
+import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+
+/**
+ * Benchmark of the related games lookup. It is not run as part of the build - run its main method from the test classpath.
+ * <p>
+ * Quality is measured on the fixed fixture by comparing the rankings with <code>related-games-expected.txt</code>. Latency is measured
+ * on a repository that is synthesised by replicating the fixture the given number of times, which approximates the size of the real
+ * openMSX software database.
+ * <p>
+ * Arguments: [copies of the fixture (default 300)] [rounds of queries (default 5)] [user data directory with overriding weights or series]
+ * [file to write the fixture rankings to, to regenerate the expected rankings]
+ */
+public final class RelatedGamesBenchmark
+{
+	private static final int TOP_OVERLAP = 5;
+
+	public static void main( String[] args ) throws IOException
+	{
+		int copies = args.length > 0 ? Integer.parseInt( args[0] ) : 300;
+		int rounds = args.length > 1 ? Integer.parseInt( args[1] ) : 5;
+		String userDataDirectory = args.length > 2 ? args[2] : Files.createTempDirectory( "related-benchmark" ).toString();
+		Path rankingsFile = args.length > 3 ? Paths.get( args[3] ) : null;
+
+		Set<RelatedGameScorer> scorers = RelatedGamesFixture.getDefaultScorers( userDataDirectory );
+		RelatedGamesFixture fixture = RelatedGamesFixture.load();
+
+		measureQuality( fixture, scorers, rankingsFile );
+		measureLatency( fixture, scorers, copies, rounds );
+	}
+
+	private static void measureQuality( RelatedGamesFixture fixture, Set<RelatedGameScorer> scorers, Path rankingsFile ) throws IOException
+	{
+		Map<String,List<Integer>> expectedRankings = RelatedGamesFixture.loadExpectedRankings();
+		RelatedGamesImpl relatedGames = createRelatedGames( fixture.repositoryInfoMap, fixture.extraDataMap, scorers );
+
+		int identical = 0;
+		double topOverlap = 0;
+		List<String> rankingLines = new ArrayList<>();
+		for( Game game: fixture.games )
+		{
+			List<Integer> ranking = RelatedGamesFixture.toRanking( relatedGames.findRelated( game ) );
+			List<Integer> expected = expectedRankings.getOrDefault( game.getSha1Code(), Collections.emptyList() );
+
+			if( ranking.equals( expected ) )
+			{
+				identical++;
+			}
+			else
+			{
+				System.out.println( "Changed ranking for " + game.getName() + ": expected " + expected + " but was " + ranking );
+			}
+			topOverlap += getTopOverlap( expected, ranking );
+
+			rankingLines.add( game.getSha1Code() + ";" + ranking.stream().map( String::valueOf ).collect( Collectors.joining( "," ) ) );
+		}
+
+		System.out.println( String.format( "Quality: %d of %d rankings identical, mean top-%d overlap %.3f", identical, fixture.games.size(),
+				TOP_OVERLAP, topOverlap / fixture.games.size() ) );
+
+		if( rankingsFile != null )
+		{
+			Files.write( rankingsFile, rankingLines );
+			System.out.println( "Rankings written to " + rankingsFile );
+		}
+	}
+
+	private static void measureLatency( RelatedGamesFixture fixture, Set<RelatedGameScorer> scorers, int copies, int rounds ) throws IOException
+	{
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		Map<String,ExtraData> extraDataMap = new HashMap<>();
+		List<Game> games = new ArrayList<>();
+
+		for( int copy = 0; copy < copies; copy++ )
+		{
+			int idOffset = copy * 100000;
+			for( Game game: fixture.games )
+			{
+				String sha1 = game.getSha1Code() + "-" + copy;
+				RepositoryGame repositoryGame = fixture.repositoryInfoMap.get( game.getSha1Code() );
+				ExtraData extraData = fixture.extraDataMap.get( game.getSha1Code() );
+
+				repositoryInfoMap.put( sha1, RepositoryGame.title( repositoryGame.getTitle() + " " + copy ).company( repositoryGame.getCompany() + " " + (copy % 50) )
+						.system( repositoryGame.getSystem() ).year( repositoryGame.getYear() ).country( repositoryGame.getCountry() ).build() );
+				extraDataMap.put( sha1, new ExtraData( extraData.getMSXGenerationsID() + idOffset, 2, 0, extraData.getGenre1(), extraData.getGenre2(), null ) );
+				games.add( Game.name( game.getName() ).sha1Code( sha1 ).genre1( game.getGenre1() ).genre2( game.getGenre2() )
+						.msxGenID( game.getMsxGenID() + idOffset ).build() );
+			}
+		}
+
+		RelatedGamesIndexCache indexCache = new RelatedGamesIndexCache();
+		long start = System.nanoTime();
+		indexCache.get( repositoryInfoMap, extraDataMap );
+		System.out.println( String.format( "Index of %d games built in %.1f ms", repositoryInfoMap.size(), (System.nanoTime() - start) / 1e6 ) );
+
+		RelatedGamesImpl relatedGames = createRelatedGames( repositoryInfoMap, extraDataMap, scorers, indexCache );
+		long[] latencies = new long[games.size()];
+
+		//first round warms up the JIT and is not reported
+		for( int round = 0; round <= rounds; round++ )
+		{
+			for( int index = 0; index < games.size(); index++ )
+			{
+				long queryStart = System.nanoTime();
+				relatedGames.findRelated( games.get( index ) );
+				latencies[index] = System.nanoTime() - queryStart;
+			}
+
+			if( round > 0 )
+			{
+				Arrays.sort( latencies );
+				System.out.println( String.format( "Round %d: %d queries, p50 %.1f us, p95 %.1f us, p99 %.1f us, max %.1f us", round, latencies.length,
+						getPercentile( latencies, 0.50 ), getPercentile( latencies, 0.95 ), getPercentile( latencies, 0.99 ), latencies[latencies.length - 1] / 1e3 ) );
+			}
+		}
+
+		start = System.nanoTime();
+		relatedGames.findRelatedForAll( games );
+		System.out.println( String.format( "findRelatedForAll of %d games in %.1f ms", games.size(), (System.nanoTime() - start) / 1e6 ) );
+	}
+
+	private static double getTopOverlap( List<Integer> expected, List<Integer> ranking )
+	{
+		Set<Integer> expectedTop = new HashSet<>( expected.subList( 0, Math.min( TOP_OVERLAP, expected.size() ) ) );
+		Set<Integer> rankingTop = new HashSet<>( ranking.subList( 0, Math.min( TOP_OVERLAP, ranking.size() ) ) );
+
+		if( expectedTop.isEmpty() && rankingTop.isEmpty() )
+		{
+			return 1;
+		}
+
+		int size = Math.max( expectedTop.size(), rankingTop.size() );
+		expectedTop.retainAll( rankingTop );
+
+		return (double)expectedTop.size() / size;
+	}
+
+	private static double getPercentile( long[] sortedLatencies, double percentile )
+	{
+		return sortedLatencies[(int)Math.min( sortedLatencies.length - 1, Math.floor( percentile * sortedLatencies.length ) )] / 1e3;
+	}
+
+	private static RelatedGamesImpl createRelatedGames( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap,
+			Set<RelatedGameScorer> scorers ) throws IOException
+	{
+		return createRelatedGames( repositoryInfoMap, extraDataMap, scorers, new RelatedGamesIndexCache() );
+	}
+
+	private static RelatedGamesImpl createRelatedGames( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap,
+			Set<RelatedGameScorer> scorers, RelatedGamesIndexCache indexCache ) throws IOException
+	{
+		ExtraDataGetter extraDataGetter = Mockito.mock( ExtraDataGetter.class );
+		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( extraDataMap );
+
+		return new RelatedGamesImpl( extraDataGetter, indexCache, scorers, repositoryInfoMap );
+	}
+}
@@ -0,0 +1,126 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.RelatedGame;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Genre;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+
+/**
+ * Loads the fixed related games fixture and its expected rankings. Shared by the regression test and the benchmark
+ */
+final class RelatedGamesFixture
+{
+	private static final String FIXTURE_FILENAME = "related-games-fixture.txt";
+	private static final String EXPECTED_RANKINGS_FILENAME = "related-games-expected.txt";
+
+	final Map<String,RepositoryGame> repositoryInfoMap;
+	final Map<String,ExtraData> extraDataMap;
+	final List<Game> games;
+
+	private RelatedGamesFixture( Map<String,RepositoryGame> repositoryInfoMap, Map<String,ExtraData> extraDataMap, List<Game> games )
+	{
+		this.repositoryInfoMap = repositoryInfoMap;
+		this.extraDataMap = extraDataMap;
+		this.games = games;
+	}
+
+	static RelatedGamesFixture load() throws IOException
+	{
+		Map<String,RepositoryGame> repositoryInfoMap = new LinkedHashMap<>();
+		Map<String,ExtraData> extraDataMap = new LinkedHashMap<>();
+		List<Game> games = new ArrayList<>();
+
+		for( String line: readLines( FIXTURE_FILENAME ) )
+		{
+			String[] fields = line.split( ";" );
+			String sha1 = fields[0];
+			int msxGenId = Integer.parseInt( fields[1] );
+			Genre genre1 = Genre.valueOf( fields[6] );
+			Genre genre2 = Genre.valueOf( fields[7] );
+
+			repositoryInfoMap.put( sha1, RepositoryGame.title( fields[3] ).company( fields[4] ).system( fields[2] ).year( fields[5] ).country( "JP" ).build() );
+			extraDataMap.put( sha1, new ExtraData( msxGenId, 2, 0, genre1.getValue(), genre2.getValue(), null ) );
+			games.add( Game.name( fields[3] ).sha1Code( sha1 ).genre1( genre1 ).genre2( genre2 ).msxGenID( msxGenId ).build() );
+		}
+
+		return new RelatedGamesFixture( Collections.unmodifiableMap( repositoryInfoMap ), Collections.unmodifiableMap( extraDataMap ),
+				Collections.unmodifiableList( games ) );
+	}
+
+	/**
+	 * @return Map of fixture SHA1 codes to the expected MSX-Generations IDs of their related games, in ranking order
+	 */
+	static Map<String,List<Integer>> loadExpectedRankings() throws IOException
+	{
+		Map<String,List<Integer>> expectedRankings = new LinkedHashMap<>();
+
+		for( String line: readLines( EXPECTED_RANKINGS_FILENAME ) )
+		{
+			String[] fields = line.split( ";", -1 );
+			List<Integer> ranking = new ArrayList<>();
+			if( !fields[1].isEmpty() )
+			{
+				for( String id: fields[1].split( "," ) )
+				{
+					ranking.add( Integer.valueOf( id ) );
+				}
+			}
+			expectedRankings.put( fields[0], ranking );
+		}
+
+		return expectedRankings;
+	}
+
+	/**
+	 * @param userDataDirectory User data directory that may contain overriding weights and series
+	 * @return Scorers as bound by <code>RelatedGamesModule</code>
+	 */
+	static Set<RelatedGameScorer> getDefaultScorers( String userDataDirectory )
+	{
+		RelatedGamesWeights weights = new RelatedGamesWeights( userDataDirectory );
+
+		return new HashSet<>( Arrays.asList( new NameScorer( weights ), new GenreScorer( weights ), new CompanyScorer( weights ),
+				new SeriesScorer( new RelatedGamesSeries( userDataDirectory ), weights ) ) );
+	}
+
+	static List<Integer> toRanking( List<RelatedGame> relatedGames )
+	{
+		return relatedGames.stream().map( RelatedGame::getMSXGenId ).collect( Collectors.toList() );
+	}
+
+	private static List<String> readLines( String fileName ) throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+
+		try( InputStream stream = RelatedGamesFixture.class.getResourceAsStream( fileName );
+				BufferedReader reader = new BufferedReader( new InputStreamReader( stream, StandardCharsets.UTF_8 ) ) )
+		{
+			String line;
+			while( (line = reader.readLine()) != null )
+			{
+				if( !line.isEmpty() && !line.startsWith( "#" ) )
+				{
+					lines.add( line );
+				}
+			}
+		}
+
+		return lines;
+	}
+}
@@ -10,7 +10,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -28,6 +30,9 @@ public class RelatedGamesImplTest
 {
 	@Mock ExtraDataGetter extraDataGetter;
 
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
 	@Test
 	public void givenRepositoryInfoAndExtraData_whenFindRelated_thenReturnRelatedData() throws FileNotFoundException, IOException
 	{
@@ -51,7 +56,7 @@ public class RelatedGamesImplTest
 		repositoryInfoMap.put( "hash6", RepositoryGame.title( "Great Vampire" ).company( "some company" ).system( "MSX" ).year( "1988" ).country( "CC" ).build() );
 		repositoryInfoMap.put( "hash7", RepositoryGame.title( "Night Fun" ).company( "company name" ).system( "MSX" ).year( "2002" ).country( "VV" ).build() );
 
-		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, repositoryInfoMap );
+		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ), repositoryInfoMap );
 
 		List<RelatedGame> relatedGames;
 
@@ -70,13 +75,84 @@ public class RelatedGamesImplTest
 	{
 		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( Collections.emptyMap() );
 
-		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, Collections.emptyMap() );
+		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ), Collections.emptyMap() );
 
 		List<RelatedGame> relatedGames = relatedGamesImpl.findRelated( Game.name( "Name is irrelevant" ).sha1Code( "hash1" ).genre1( Genre.SHOOT_EM_UP_ALL ).genre2( Genre.UNKNOWN ).msxGenID( 11 ).build() );
 
 		relatedGames.add( new RelatedGame( "gameName", "company", "1990", 100 ) );
 	}
 
+	@Test
+	public void givenSameGameWithSeveralDumps_whenFindRelated_thenGameIsReturnedOnceWithBestScore() throws FileNotFoundException, IOException
+	{
+		Map<String,ExtraData> extraDataMap = new HashMap<>();
+		extraDataMap.put( "hash1", new ExtraData( 742, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash2", new ExtraData( 932, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash3", new ExtraData( 932, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash4", new ExtraData( 44, 2, 3, Genre.MAZE.getValue(), 0, null ) );
+
+		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( extraDataMap );
+
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		repositoryInfoMap.put( "hash1", RepositoryGame.title( "Nemesis" ).company( "kona" ).system( "MSX" ).year( "1986" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash2", RepositoryGame.title( "Nemesis 2" ).company( "kona" ).system( "MSX" ).year( "1987" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash3", RepositoryGame.title( "Gradius 2" ).company( "kona" ).system( "MSX" ).year( "1987" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash4", RepositoryGame.title( "Other" ).company( "other" ).system( "MSX" ).year( "1987" ).country( "JP" ).build() );
+
+		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ), repositoryInfoMap );
+
+		List<RelatedGame> relatedGames = relatedGamesImpl.findRelated( Game.name( "Nemesis" ).sha1Code( "hash1" ).genre1( Genre.SHOOT_EM_UP_ALL ).genre2( Genre.UNKNOWN ).msxGenID( 742 ).build() );
+
+		Assert.assertEquals( Arrays.asList( "Nemesis 2" ), getMatchedGameNames( relatedGames ) );
+	}
+
+	@Test
+	public void givenSeveralGames_whenFindRelatedForAll_thenReturnSameResultsAsFindRelated() throws FileNotFoundException, IOException
+	{
+		Map<String,ExtraData> extraDataMap = new HashMap<>();
+		extraDataMap.put( "hash1", new ExtraData( 11, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash2", new ExtraData( 22, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash3", new ExtraData( 33, 2, 3, Genre.MAZE.getValue(), 0, null ) );
+
+		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( extraDataMap );
+
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		repositoryInfoMap.put( "hash1", RepositoryGame.title( "Nemesis" ).company( "kona" ).system( "MSX" ).year( "1986" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash2", RepositoryGame.title( "Nemesis 2" ).company( "kona" ).system( "MSX" ).year( "1987" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash3", RepositoryGame.title( "Pac Man" ).company( "namco" ).system( "MSX" ).year( "1984" ).country( "JP" ).build() );
+
+		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ), repositoryInfoMap );
+
+		Game game1 = Game.name( "Nemesis" ).sha1Code( "hash1" ).genre1( Genre.SHOOT_EM_UP_ALL ).genre2( Genre.UNKNOWN ).msxGenID( 11 ).build();
+		Game game2 = Game.name( "Nemesis 2" ).sha1Code( "hash2" ).genre1( Genre.SHOOT_EM_UP_ALL ).genre2( Genre.UNKNOWN ).msxGenID( 22 ).build();
+		Game gameWithoutId = Game.name( "Unknown" ).sha1Code( "hash9" ).build();
+
+		Map<Integer,List<RelatedGame>> relatedGamesMap = relatedGamesImpl.findRelatedForAll( Arrays.asList( game1, game2, gameWithoutId ) );
+
+		Assert.assertEquals( 2, relatedGamesMap.size() );
+		Assert.assertEquals( relatedGamesImpl.findRelated( game1 ), relatedGamesMap.get( 11 ) );
+		Assert.assertEquals( relatedGamesImpl.findRelated( game2 ), relatedGamesMap.get( 22 ) );
+		Assert.assertEquals( Arrays.asList( "Nemesis 2" ), getMatchedGameNames( relatedGamesMap.get( 11 ) ) );
+	}
+
+	@Test
+	public void givenNonMSXRepositoryGame_whenFindRelated_thenItIsNotReturned() throws FileNotFoundException, IOException
+	{
+		Map<String,ExtraData> extraDataMap = new HashMap<>();
+		extraDataMap.put( "hash1", new ExtraData( 11, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+		extraDataMap.put( "hash2", new ExtraData( 22, 2, 3, Genre.SHOOT_EM_UP_ALL.getValue(), 0, null ) );
+
+		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( extraDataMap );
+
+		Map<String,RepositoryGame> repositoryInfoMap = new HashMap<>();
+		repositoryInfoMap.put( "hash1", RepositoryGame.title( "Zaxxon" ).company( "sega" ).system( "MSX" ).year( "1985" ).country( "JP" ).build() );
+		repositoryInfoMap.put( "hash2", RepositoryGame.title( "Zaxxon" ).company( "sega" ).system( "ColecoVision" ).year( "1982" ).country( "US" ).build() );
+
+		RelatedGamesImpl relatedGamesImpl = new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ), repositoryInfoMap );
+
+		Assert.assertTrue( relatedGamesImpl.findRelated( Game.name( "Zaxxon" ).sha1Code( "hash1" ).genre1( Genre.SHOOT_EM_UP_ALL ).genre2( Genre.UNKNOWN ).msxGenID( 11 ).build() ).isEmpty() );
+	}
+
 	private List<String> getMatchedGameNames( List<RelatedGame> relatedGames )
 	{
 		return relatedGames.stream().map( RelatedGame::getGameName ).collect( Collectors.toList() );
@@ -0,0 +1,112 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+
+/**
+ * Guards the rankings of the default scoring model on a fixed fixture, so that optimisations of the lookup cannot silently change its results.
+ * If the scoring model is changed on purpose, regenerate <code>related-games-expected.txt</code> with <code>RelatedGamesBenchmark</code>
+ */
+@RunWith( MockitoJUnitRunner.class )
+public class RelatedGamesRegressionTest
+{
+	@Mock ExtraDataGetter extraDataGetter;
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private RelatedGamesFixture fixture;
+
+	@Before
+	public void setup() throws IOException
+	{
+		fixture = RelatedGamesFixture.load();
+
+		Mockito.when( extraDataGetter.getExtraData() ).thenReturn( fixture.extraDataMap );
+	}
+
+	@Test
+	public void givenFixture_whenFindRelated_thenRankingsMatchExpected() throws IOException
+	{
+		Map<String,List<Integer>> expectedRankings = RelatedGamesFixture.loadExpectedRankings();
+		RelatedGamesImpl relatedGamesImpl = createRelatedGames();
+
+		Assert.assertEquals( fixture.games.size(), expectedRankings.size() );
+		for( Game game: fixture.games )
+		{
+			Assert.assertEquals( game.getName(), expectedRankings.get( game.getSha1Code() ),
+					RelatedGamesFixture.toRanking( relatedGamesImpl.findRelated( game ) ) );
+		}
+	}
+
+	@Test
+	public void givenFixture_whenFindRelatedForAll_thenRankingsMatchFindRelated() throws IOException
+	{
+		RelatedGamesImpl relatedGamesImpl = createRelatedGames();
+
+		Map<Integer,List<Integer>> rankings = new HashMap<>();
+		relatedGamesImpl.findRelatedForAll( fixture.games ).forEach( (id, relatedGames) -> rankings.put( id, RelatedGamesFixture.toRanking( relatedGames ) ) );
+
+		for( Game game: fixture.games )
+		{
+			Assert.assertEquals( RelatedGamesFixture.toRanking( relatedGamesImpl.findRelated( game ) ), rankings.get( game.getMsxGenID() ) );
+		}
+	}
+
+	@Test
+	public void givenUserWeightsOnlyForSeries_whenFindRelated_thenOnlyGamesOfTheSameSeriesAreReturned() throws IOException
+	{
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesWeights.FILENAME ), Arrays.asList(
+				NameScorer.SINGLE_WORD_MATCH_WEIGHT + "=0",
+				NameScorer.FIRST_MULTI_WORD_MATCH_WEIGHT + "=0",
+				NameScorer.NEXT_MULTI_WORD_MATCH_WEIGHT + "=0",
+				GenreScorer.MATCH_WEIGHT + "=0",
+				CompanyScorer.MATCH_WEIGHT + "=0" ) );
+
+		RelatedGamesImpl relatedGamesImpl = createRelatedGames();
+
+		Assert.assertEquals( Arrays.asList( 932, 1254, 941, 1188 ), RelatedGamesFixture.toRanking( relatedGamesImpl.findRelated( getFixtureGame( "f01" ) ) ) );
+		Assert.assertTrue( relatedGamesImpl.findRelated( getFixtureGame( "f48" ) ).isEmpty() );
+	}
+
+	@Test
+	public void givenUserSeries_whenFindRelated_thenGamesOfTheSameSeriesAreReturned() throws IOException
+	{
+		//Arkanoid and Zanac have nothing in common
+		Assert.assertFalse( RelatedGamesFixture.loadExpectedRankings().get( "f48" ).contains( 1008 ) );
+
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesSeries.FILENAME ), Arrays.asList( "# Arkanoid and Zanac", "1033, 1008" ) );
+
+		List<Integer> ranking = RelatedGamesFixture.toRanking( createRelatedGames().findRelated( getFixtureGame( "f48" ) ) );
+
+		Assert.assertEquals( Arrays.asList( 1034, 1008, 1032 ), ranking );
+	}
+
+	private RelatedGamesImpl createRelatedGames()
+	{
+		return new RelatedGamesImpl( extraDataGetter, new RelatedGamesIndexCache(), RelatedGamesFixture.getDefaultScorers( tmpFolder.getRoot().toString() ),
+				fixture.repositoryInfoMap );
+	}
+
+	private Game getFixtureGame( String sha1 )
+	{
+		return fixture.games.stream().filter( game -> game.getSha1Code().equals( sha1 ) ).findFirst().get();
+	}
+}
@@ -0,0 +1,41 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RelatedGamesSeriesTest
+{
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenNoUserFile_whenGetRelatedIds_thenReturnBuiltInSeries()
+	{
+		RelatedGamesSeries series = new RelatedGamesSeries( tmpFolder.getRoot().toString() );
+
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 742, 932, 1254, 941, 1188 ) ), series.getRelatedIds( 932 ) );
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 684, 412 ) ), series.getRelatedIds( 412 ) );
+		Assert.assertTrue( series.getRelatedIds( 1 ).isEmpty() );
+	}
+
+	@Test
+	public void givenUserFile_whenGetRelatedIds_thenUserSeriesAreAddedToBuiltInOnes() throws IOException
+	{
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesSeries.FILENAME ),
+				Arrays.asList( "# comment", "", "1, 2,3", "412, 5000", "6, x" ) );
+
+		RelatedGamesSeries series = new RelatedGamesSeries( tmpFolder.getRoot().toString() );
+
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 1, 2, 3 ) ), series.getRelatedIds( 2 ) );
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 684, 412, 5000 ) ), series.getRelatedIds( 412 ) );
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 412, 5000 ) ), series.getRelatedIds( 5000 ) );
+		Assert.assertEquals( new HashSet<>( Arrays.asList( 6 ) ), series.getRelatedIds( 6 ) );
+	}
+}
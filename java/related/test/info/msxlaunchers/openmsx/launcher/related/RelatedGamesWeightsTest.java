@@ -0,0 +1,44 @@
+package info.msxlaunchers.openmsx.launcher.related;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RelatedGamesWeightsTest
+{
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenNoUserFile_whenGet_thenReturnBuiltInWeights()
+	{
+		RelatedGamesWeights weights = new RelatedGamesWeights( tmpFolder.getRoot().toString() );
+
+		Assert.assertEquals( 5, weights.get( NameScorer.SINGLE_WORD_MATCH_WEIGHT ) );
+		Assert.assertEquals( 3, weights.get( NameScorer.FIRST_MULTI_WORD_MATCH_WEIGHT ) );
+		Assert.assertEquals( 5, weights.get( NameScorer.NEXT_MULTI_WORD_MATCH_WEIGHT ) );
+		Assert.assertEquals( 4, weights.get( GenreScorer.MATCH_WEIGHT ) );
+		Assert.assertEquals( 2, weights.get( CompanyScorer.MATCH_WEIGHT ) );
+		Assert.assertEquals( 7, weights.get( SeriesScorer.MATCH_WEIGHT ) );
+	}
+
+	@Test
+	public void givenUserFile_whenGet_thenUserWeightsOverrideBuiltInOnes() throws IOException
+	{
+		Files.write( tmpFolder.getRoot().toPath().resolve( RelatedGamesWeights.FILENAME ),
+				Arrays.asList( GenreScorer.MATCH_WEIGHT + "=10", CompanyScorer.MATCH_WEIGHT + "=invalid", "unknown.weight=3" ) );
+
+		RelatedGamesWeights weights = new RelatedGamesWeights( tmpFolder.getRoot().toString() );
+
+		Assert.assertEquals( 10, weights.get( GenreScorer.MATCH_WEIGHT ) );
+		Assert.assertEquals( 2, weights.get( CompanyScorer.MATCH_WEIGHT ) );
+		Assert.assertEquals( 7, weights.get( SeriesScorer.MATCH_WEIGHT ) );
+		Assert.assertEquals( 3, weights.get( "unknown.weight" ) );
+		Assert.assertEquals( 0, weights.get( "missing.weight" ) );
+	}
+}
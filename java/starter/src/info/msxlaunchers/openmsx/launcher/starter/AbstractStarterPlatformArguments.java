@@ -24,12 +24,12 @@ import info.msxlaunchers.platform.ArgumentsBuilder;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Abstract implementation of <code>StarterPlatformArguments</code> that contains common methods for all platforms
@@ -40,8 +40,8 @@ import java.util.Map;
  */
 abstract class AbstractStarterPlatformArguments implements StarterPlatformArguments
 {
-	private static final String TEMP_FILE_PREFIX = "openmsx-launcher-script";
-	private static final String TEMP_FILE_EXT = ".tmp";
+	private static final String DEFAULT_MACHINE = "[set default_machine]";
+	private static final String TCL_SPECIAL_CHARACTERS = " \t\\{}[]$\";";
 
 	private static final String ENABLE_GFX9000_LINE = "ext gfx9000" + System.lineSeparator() +
 			"ext slotexpander" + System.lineSeparator() +
@@ -60,6 +60,13 @@ abstract class AbstractStarterPlatformArguments implements StarterPlatformArgume
 		scriptLinesMap.put( FDDMode.DISABLE_BOTH, "after boot { keymatrixdown 6 1; after time 14 \"keymatrixup 6 1\" }" );
 	}
 
+	private final ScriptCache scriptCache;
+
+	AbstractStarterPlatformArguments( ScriptCache scriptCache )
+	{
+		this.scriptCache = Objects.requireNonNull( scriptCache );
+	}
+
 	void buildArguments( String openMSXPath, String openMSXBinary, ArgumentsBuilder argumentsBuilder, Game game ) throws IOException
 	{
 		File openMSXDirectory = new File( openMSXPath );
@@ -93,24 +100,84 @@ abstract class AbstractStarterPlatformArguments implements StarterPlatformArgume
 		}
 	}
 
+	void appendControlArguments( ArgumentsBuilder argumentsBuilder )
+	{
+		argumentsBuilder.append( "-control" );
+		argumentsBuilder.append( "stdio" );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.starter.StarterPlatformArguments#getCommands(info.msxlaunchers.openmsx.launcher.data.game.Game)
+	 */
+	@Override
+	public List<String> getCommands( Game game ) throws IOException
+	{
+		List<String> commands = new ArrayList<>();
+
+		//a new machine starts without any media or extensions, so nothing is left from the previous game
+		commands.add( "machine " + (Utils.isEmpty( game.getMachine() ) ? DEFAULT_MACHINE : quote( game.getMachine() )) );
+
+		String script = game.getTclScript();
+
+		if( !Utils.isEmpty( script ) && game.isTclScriptOverride() )
+		{
+			addCommandIfValueDefined( commands, "source", script );
+		}
+		else
+		{
+			addCommandIfValueDefined( commands, "carta", game.getRomA() );
+			addCommandIfValueDefined( commands, "cartb", game.getRomB() );
+			addCommandIfValueDefined( commands, "ext", game.getExtensionRom() );
+			addCommandIfValueDefined( commands, "diska", game.getDiskA() );
+			addCommandIfValueDefined( commands, "diskb", game.getDiskB() );
+			addCommandIfValueDefined( commands, "cassetteplayer insert", game.getTape() );
+			addCommandIfValueDefined( commands, "hda", game.getHarddisk() );
+			addCommandIfValueDefined( commands, "laserdiscplayer insert", game.getLaserdisc() );
+			addCommandIfValueDefined( commands, "source", script );
+			addCommandIfValueDefined( commands, "source", getScriptIfNeeded( game ) );
+		}
+
+		commands.add( "reset" );
+
+		return Collections.unmodifiableList( commands );
+	}
+
+	private void addCommandIfValueDefined( List<String> commands, String command, String value )
+	{
+		if( !Utils.isEmpty( value ) )
+		{
+			commands.add( command + " " + quote( value ) );
+		}
+	}
+
+	private static String quote( String value )
+	{
+		StringBuilder quoted = new StringBuilder( value.length() + 8 );
+
+		for( char c: value.toCharArray() )
+		{
+			if( TCL_SPECIAL_CHARACTERS.indexOf( c ) >= 0 )
+			{
+				quoted.append( '\\' );
+			}
+			quoted.append( c );
+		}
+
+		return quoted.toString();
+	}
+
 	private String getScriptIfNeeded( Game game ) throws IOException
 	{
 		String script = null;
 		if( game.getInputDevice() != InputDevice.NONE || game.getFDDMode() != FDDMode.ENABLE_BOTH || game.isConnectGFX9000() )
 		{
-			deleteOldTempFiles( Paths.get( System.getProperty( "java.io.tmpdir" ) ) );
-
-			Path tempFile = Files.createTempFile( TEMP_FILE_PREFIX, TEMP_FILE_EXT );
-
 			StringBuilder scriptLines = new StringBuilder();
 
 			addLineToScriptIfParamDefined( scriptLines, game.getInputDevice() );
 			addLineToScriptIfParamDefined( scriptLines, game.getFDDMode() );
 			addLineToScriptIfParamDefined( scriptLines, game.isConnectGFX9000() );
 
-			Files.write( tempFile, scriptLines.toString().getBytes() );
-
-			script = tempFile.toString();
+			script = scriptCache.getScript( scriptLines.toString() ).toString();
 		}
 		return script;
 	}
@@ -134,17 +201,4 @@ abstract class AbstractStarterPlatformArguments implements StarterPlatformArgume
 			lines.append( ENABLE_GFX9000_LINE ).append( System.lineSeparator() );
 		}
 	}
-
-	private void deleteOldTempFiles( Path directory ) throws IOException
-	{
-		String fileMatch = TEMP_FILE_PREFIX + "*" + TEMP_FILE_EXT;
-
-		try ( DirectoryStream<Path> newDirectoryStream = Files.newDirectoryStream( directory, fileMatch ) )
-		{
-			for( Path newDirectoryStreamItem : newDirectoryStream )
-			{
-				Files.delete( newDirectoryStreamItem );
-			}
-		}
-	}
 }
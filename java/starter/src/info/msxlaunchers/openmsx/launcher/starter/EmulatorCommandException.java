@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when the emulator answers a command with an error
+ * 
+ * @author Sam Elsharif
+ * @since v1.15
+ */
+public final class EmulatorCommandException extends IOException
+{
+	private static final long serialVersionUID = 4675316904817752133L;
+
+	private final String command;
+
+	public EmulatorCommandException( String command, String message )
+	{
+		super( message );
+		this.command = command;
+	}
+
+	public String getCommand()
+	{
+		return command;
+	}
+}
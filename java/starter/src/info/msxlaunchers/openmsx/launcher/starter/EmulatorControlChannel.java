@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface to send commands to a running emulator
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public interface EmulatorControlChannel extends Closeable
+{
+	/**
+	 * Sends a console command to the emulator and waits for its reply
+	 * 
+	 * @param command Console command - cannot be null
+	 * @return Result of the command as returned by the emulator
+	 * @throws EmulatorCommandException If the emulator answered with an error
+	 * @throws IOException If the channel is closed or the emulator did not answer in time. The channel is closed in that case
+	 */
+	String sendCommand( String command ) throws IOException;
+
+	/**
+	 * @return true if commands can still be sent
+	 */
+	boolean isOpen();
+
+	/**
+	 * Closes the channel without stopping the emulator
+	 */
+	@Override
+	void close();
+}
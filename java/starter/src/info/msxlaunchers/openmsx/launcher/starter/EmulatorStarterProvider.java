@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Provides the <code>EmulatorStarter</code> implementation. openMSX is started for every launch unless the system property
+ * <code>openmsx.launcher.persistentEmulator</code> is set to true, in which case one openMSX is kept running and switched
+ * from game to game
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class EmulatorStarterProvider implements Provider<EmulatorStarter>
+{
+	static final String PERSISTENT_EMULATOR_PROPERTY = "openmsx.launcher.persistentEmulator";
+
+	private final Provider<OpenMSXStarter> openMSXStarterProvider;
+	private final Provider<PersistentOpenMSXStarter> persistentOpenMSXStarterProvider;
+
+	@Inject
+	EmulatorStarterProvider( Provider<OpenMSXStarter> openMSXStarterProvider, Provider<PersistentOpenMSXStarter> persistentOpenMSXStarterProvider )
+	{
+		this.openMSXStarterProvider = openMSXStarterProvider;
+		this.persistentOpenMSXStarterProvider = persistentOpenMSXStarterProvider;
+	}
+
+	@Override
+	public EmulatorStarter get()
+	{
+		if( Boolean.getBoolean( PERSISTENT_EMULATOR_PROPERTY ) )
+		{
+			return persistentOpenMSXStarterProvider.get();
+		}
+		else
+		{
+			return openMSXStarterProvider.get();
+		}
+	}
+}
@@ -36,8 +36,9 @@ final class LinuxBSDStarterArguments extends AbstractStarterPlatformArguments
 	private final ArgumentsBuilder argumentsBuilder;
 
 	@Inject
-	LinuxBSDStarterArguments( ArgumentsBuilder argumentsBuilder )
+	LinuxBSDStarterArguments( ArgumentsBuilder argumentsBuilder, ScriptCache scriptCache )
 	{
+		super( scriptCache );
 		this.argumentsBuilder = argumentsBuilder;
 	}
 
@@ -51,4 +52,16 @@ final class LinuxBSDStarterArguments extends AbstractStarterPlatformArguments
 
 		return argumentsBuilder.getArgumentList();
 	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.starter.StarterPlatformArguments#getControlArguments(info.msxlaunchers.openmsx.launcher.data.settings.Settings, info.msxlaunchers.openmsx.launcher.data.game.Game)
+	 */
+	@Override
+	public List<String> getControlArguments( Settings settings, Game game ) throws IOException
+	{
+		buildArguments( settings.getOpenMSXFullPath(), "openmsx", argumentsBuilder, game );
+		appendControlArguments( argumentsBuilder );
+
+		return argumentsBuilder.getArgumentList();
+	}
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of <code>EmulatorControlChannel</code> for openMSX started with <code>-control stdio</code>. Commands are written
+ * as <code>&lt;command&gt;</code> elements to the process input and replies are read from its output by a daemon thread, which
+ * skips the <code>&lt;log&gt;</code> and <code>&lt;update&gt;</code> elements openMSX also sends
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class OpenMSXControlChannel implements EmulatorControlChannel
+{
+	private static final String CONTROL_START = "<openmsx-control>";
+	private static final String CONTROL_END = "</openmsx-control>";
+	private static final String REPLY_START = "<reply";
+	private static final String REPLY_END = "</reply>";
+	private static final String RESULT_OK = "result=\"ok\"";
+
+	private static final Reply CLOSED = new Reply( false, null );
+
+	private final Writer writer;
+	private final long timeoutMillis;
+	private final BlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+	private volatile boolean open = true;
+
+	/**
+	 * Opens the channel on the standard input and output of the given openMSX process
+	 * 
+	 * @param process openMSX process started with <code>-control stdio</code>
+	 * @param timeoutMillis Time to wait for each reply
+	 * @throws IOException If the control session could not be started
+	 */
+	OpenMSXControlChannel( Process process, long timeoutMillis ) throws IOException
+	{
+		this( process.getInputStream(), process.getOutputStream(), timeoutMillis );
+	}
+
+	OpenMSXControlChannel( InputStream fromEmulator, OutputStream toEmulator, long timeoutMillis ) throws IOException
+	{
+		Objects.requireNonNull( fromEmulator );
+		this.writer = new OutputStreamWriter( Objects.requireNonNull( toEmulator ), StandardCharsets.UTF_8 );
+		this.timeoutMillis = timeoutMillis;
+
+		Thread readerThread = new Thread( () -> readReplies( new InputStreamReader( fromEmulator, StandardCharsets.UTF_8 ) ), "OpenMSXControlReader" );
+		readerThread.setDaemon( true );
+		readerThread.start();
+
+		writer.write( CONTROL_START );
+		writer.write( '\n' );
+		writer.flush();
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.starter.EmulatorControlChannel#sendCommand(java.lang.String)
+	 */
+	@Override
+	public synchronized String sendCommand( String command ) throws IOException
+	{
+		Objects.requireNonNull( command );
+
+		if( !open )
+		{
+			throw new IOException( "Control channel is closed" );
+		}
+
+		Reply reply;
+		try
+		{
+			writer.write( "<command>" + escape( command ) + "</command>\n" );
+			writer.flush();
+
+			reply = replies.poll( timeoutMillis, TimeUnit.MILLISECONDS );
+		}
+		catch( InterruptedException ie )
+		{
+			Thread.currentThread().interrupt();
+			close();
+			throw new IOException( ie );
+		}
+		catch( IOException ioe )
+		{
+			close();
+			throw ioe;
+		}
+
+		if( reply == null || reply == CLOSED )
+		{
+			//a late reply would be taken as the reply of the next command, so the channel cannot be used anymore
+			close();
+			throw new IOException( reply == null ? "No reply from openMSX to: " + command : "openMSX closed the control channel" );
+		}
+		if( !reply.ok )
+		{
+			throw new EmulatorCommandException( command, reply.text );
+		}
+
+		return reply.text;
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.starter.EmulatorControlChannel#isOpen()
+	 */
+	@Override
+	public boolean isOpen()
+	{
+		return open;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close()
+	{
+		if( open )
+		{
+			open = false;
+			try
+			{
+				writer.write( CONTROL_END );
+				writer.close();
+			}
+			catch( IOException ioe )
+			{
+				//the process is probably gone already
+			}
+		}
+	}
+
+	private void readReplies( Reader reader )
+	{
+		char[] chars = new char[1024];
+		StringBuilder buffer = new StringBuilder();
+
+		try
+		{
+			int read;
+			while( (read = reader.read( chars )) != -1 )
+			{
+				buffer.append( chars, 0, read );
+				parseReplies( buffer );
+			}
+		}
+		catch( IOException ioe )
+		{
+			if( open )
+			{
+				LauncherLogger.logException( this, ioe );
+			}
+		}
+		finally
+		{
+			open = false;
+			replies.add( CLOSED );
+		}
+	}
+
+	private void parseReplies( StringBuilder buffer )
+	{
+		int start;
+		while( (start = buffer.indexOf( REPLY_START )) >= 0 )
+		{
+			int tagEnd = buffer.indexOf( ">", start );
+			if( tagEnd < 0 )
+			{
+				break;
+			}
+
+			boolean ok = buffer.substring( start, tagEnd ).contains( RESULT_OK );
+			String text;
+			int end;
+			if( buffer.charAt( tagEnd - 1 ) == '/' )
+			{
+				text = "";
+				end = tagEnd + 1;
+			}
+			else
+			{
+				int textEnd = buffer.indexOf( REPLY_END, tagEnd );
+				if( textEnd < 0 )
+				{
+					break;
+				}
+				text = unescape( buffer.substring( tagEnd + 1, textEnd ) );
+				end = textEnd + REPLY_END.length();
+			}
+
+			replies.add( new Reply( ok, text ) );
+			buffer.delete( 0, end );
+		}
+
+		//everything before a reply that is still incomplete is output that is not needed
+		int lastTag = start >= 0 ? start : buffer.lastIndexOf( "<" );
+		buffer.delete( 0, lastTag >= 0 ? lastTag : buffer.length() );
+	}
+
+	static String escape( String text )
+	{
+		return text.replace( "&", "&amp;" ).replace( "<", "&lt;" ).replace( ">", "&gt;" );
+	}
+
+	static String unescape( String text )
+	{
+		if( text.indexOf( '&' ) < 0 )
+		{
+			return text;
+		}
+
+		StringBuilder unescaped = new StringBuilder( text.length() );
+		int index = 0;
+		while( index < text.length() )
+		{
+			char c = text.charAt( index );
+			int entityEnd = c == '&' ? text.indexOf( ';', index ) : -1;
+			if( entityEnd < 0 )
+			{
+				unescaped.append( c );
+				index++;
+			}
+			else
+			{
+				String entity = text.substring( index + 1, entityEnd );
+				switch( entity )
+				{
+					case "lt": unescaped.append( '<' ); break;
+					case "gt": unescaped.append( '>' ); break;
+					case "amp": unescaped.append( '&' ); break;
+					case "quot": unescaped.append( '"' ); break;
+					case "apos": unescaped.append( '\'' ); break;
+					default:
+						int codePoint = getCodePoint( entity );
+						if( codePoint >= 0 )
+						{
+							unescaped.appendCodePoint( codePoint );
+						}
+						else
+						{
+							unescaped.append( '&' ).append( entity ).append( ';' );
+						}
+				}
+				index = entityEnd + 1;
+			}
+		}
+
+		return unescaped.toString();
+	}
+
+	/*
+	 * Returns the code point of a numeric entity, or -1 if the entity is not numeric or is malformed
+	 */
+	private static int getCodePoint( String entity )
+	{
+		try
+		{
+			int codePoint;
+			if( entity.startsWith( "#x" ) )
+			{
+				codePoint = Integer.parseInt( entity.substring( 2 ), 16 );
+			}
+			else if( entity.startsWith( "#" ) )
+			{
+				codePoint = Integer.parseInt( entity.substring( 1 ) );
+			}
+			else
+			{
+				return -1;
+			}
+
+			return Character.isValidCodePoint( codePoint ) ? codePoint : -1;
+		}
+		catch( NumberFormatException nfe )
+		{
+			return -1;
+		}
+	}
+
+	private static final class Reply
+	{
+		private final boolean ok;
+		private final String text;
+
+		Reply( boolean ok, String text )
+		{
+			this.ok = ok;
+			this.text = text;
+		}
+	}
+}
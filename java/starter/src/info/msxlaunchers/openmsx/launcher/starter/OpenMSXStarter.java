@@ -15,6 +15,8 @@
  */
 package info.msxlaunchers.openmsx.launcher.starter;
 
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
 import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
@@ -52,12 +54,15 @@ final class OpenMSXStarter implements EmulatorStarter
 		Objects.requireNonNull( settings );
 		Objects.requireNonNull( game );
 
-		List<String> arguments = platformArguments.getArguments( settings, game );
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "starter.start" ).time() )
+		{
+			List<String> arguments = platformArguments.getArguments( settings, game );
 
-		LauncherLogger.logMessage( arguments.stream().collect( Collectors.joining( " " ) ) );
+			LauncherLogger.logMessage( arguments.stream().collect( Collectors.joining( " " ) ) );
 
-		ProcessBuilder pb = new ProcessBuilder( arguments );
+			ProcessBuilder pb = new ProcessBuilder( arguments );
 
-		return pb.start();
+			return pb.start();
+		}
 	}
 }
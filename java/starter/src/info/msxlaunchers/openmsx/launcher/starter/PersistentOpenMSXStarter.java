@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.common.metrics.Timer;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Implementation of the <code>EmulatorStarter</code> interface that keeps one openMSX running. The first launch starts openMSX
+ * with its control channel open, and later launches switch the running openMSX to the new game with console commands instead
+ * of starting a new process. A new process is started if openMSX was closed or stopped answering
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+@Singleton
+final class PersistentOpenMSXStarter implements EmulatorStarter
+{
+	private static final long REPLY_TIMEOUT_MILLIS = 10000;
+
+	private final StarterPlatformArguments platformArguments;
+	private final ProcessStarter processStarter;
+	private final long replyTimeoutMillis;
+
+	private Process process;
+	private EmulatorControlChannel controlChannel;
+
+	/**
+	 * Interface to start the openMSX process
+	 */
+	interface ProcessStarter
+	{
+		Process start( List<String> arguments ) throws IOException;
+	}
+
+	@Inject
+	PersistentOpenMSXStarter( StarterPlatformArguments platformArguments )
+	{
+		this( platformArguments, arguments -> new ProcessBuilder( arguments ).start(), REPLY_TIMEOUT_MILLIS );
+	}
+
+	PersistentOpenMSXStarter( StarterPlatformArguments platformArguments, ProcessStarter processStarter, long replyTimeoutMillis )
+	{
+		this.platformArguments = Objects.requireNonNull( platformArguments );
+		this.processStarter = Objects.requireNonNull( processStarter );
+		this.replyTimeoutMillis = replyTimeoutMillis;
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.starter.EmulatorStarter#start(info.msxlaunchers.openmsx.launcher.data.settings.Settings, info.msxlaunchers.openmsx.launcher.data.game.Game)
+	 */
+	@Override
+	public synchronized Process start( Settings settings, Game game ) throws IOException
+	{
+		Objects.requireNonNull( settings );
+		Objects.requireNonNull( game );
+
+		if( process != null && process.isAlive() && controlChannel.isOpen() )
+		{
+			try( Timer.Context timer = MetricsRegistry.getInstance().timer( "starter.switch" ).time() )
+			{
+				for( String command: platformArguments.getCommands( game ) )
+				{
+					LauncherLogger.logMessage( command );
+					controlChannel.sendCommand( command );
+				}
+
+				return process;
+			}
+			catch( EmulatorCommandException ece )
+			{
+				//openMSX is fine but rejected the game, e.g. because of a missing file
+				throw ece;
+			}
+			catch( IOException ioe )
+			{
+				LauncherLogger.logException( this, ioe );
+				stopEmulator();
+			}
+		}
+
+		return startEmulator( settings, game );
+	}
+
+	private Process startEmulator( Settings settings, Game game ) throws IOException
+	{
+		try( Timer.Context timer = MetricsRegistry.getInstance().timer( "starter.start" ).time() )
+		{
+			List<String> arguments = platformArguments.getControlArguments( settings, game );
+
+			LauncherLogger.logMessage( arguments.stream().collect( Collectors.joining( " " ) ) );
+
+			process = processStarter.start( arguments );
+			controlChannel = new OpenMSXControlChannel( process, replyTimeoutMillis );
+
+			return process;
+		}
+	}
+
+	private void stopEmulator()
+	{
+		controlChannel.close();
+		process.destroy();
+		process = null;
+		controlChannel = null;
+	}
+}
@@ -29,11 +29,13 @@ import com.google.inject.Provider;
 final class PlatformArgumentsProvider implements Provider<StarterPlatformArguments>
 {
 	private final ArgumentsBuilderProvider argumentsBuilderProvider;
+	private final ScriptCache scriptCache;
 
 	@Inject
-	PlatformArgumentsProvider( ArgumentsBuilderProvider argumentsBuilderProvider )
+	PlatformArgumentsProvider( ArgumentsBuilderProvider argumentsBuilderProvider, ScriptCache scriptCache )
 	{
 		this.argumentsBuilderProvider = argumentsBuilderProvider;
+		this.scriptCache = scriptCache;
 	}
 
 	@Override
@@ -41,15 +43,15 @@ final class PlatformArgumentsProvider implements Provider<StarterPlatformArgumen
 	{
 		if( OSUtils.isWindows() )
 		{
-			return new WindowsStarterArguments( argumentsBuilderProvider.get() );
+			return new WindowsStarterArguments( argumentsBuilderProvider.get(), scriptCache );
 		}
 		else if( OSUtils.isMac() )
 		{
-			return new MacStarterArguments( argumentsBuilderProvider.get() );
+			return new MacStarterArguments( argumentsBuilderProvider.get(), scriptCache );
 		}
 		else if( OSUtils.isLinux() || OSUtils.isBSD() )
 		{
-			return new LinuxBSDStarterArguments( argumentsBuilderProvider.get() );
+			return new LinuxBSDStarterArguments( argumentsBuilderProvider.get(), scriptCache );
 		}
 		else
 		{
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import info.msxlaunchers.openmsx.common.HashUtils;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+/**
+ * Cache of the TCL scripts generated for launches, in a directory owned by the launcher. Scripts are named after the SHA1 code
+ * of their content, so games with the same input device, FDD mode and GFX9000 settings share one file that is written once.
+ * Scripts not used for a while are deleted in the background instead of on every launch
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+@Singleton
+final class ScriptCache
+{
+	private static final String CACHE_DIRECTORY = "scripts";
+	private static final String SCRIPT_PREFIX = "script-";
+	private static final String SCRIPT_EXT = ".tcl";
+	private static final String LEGACY_TEMP_FILES = "openmsx-launcher-script*.tmp";
+
+	private static final long MAX_UNUSED_DAYS = 30;
+	private static final long CLEAN_UP_INITIAL_DELAY_MINUTES = 1;
+	private static final long CLEAN_UP_PERIOD_HOURS = 24;
+
+	private final Path directory;
+
+	@Inject
+	ScriptCache( @Named("UserDataDirectory") String userDataDirectory )
+	{
+		this( Paths.get( userDataDirectory, CACHE_DIRECTORY ) );
+
+		ScheduledExecutorService cleanUpExecutor = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "ScriptCacheCleanUp" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		cleanUpExecutor.scheduleWithFixedDelay( this::cleanUp, CLEAN_UP_INITIAL_DELAY_MINUTES,
+				TimeUnit.HOURS.toMinutes( CLEAN_UP_PERIOD_HOURS ), TimeUnit.MINUTES );
+	}
+
+	ScriptCache( Path directory )
+	{
+		this.directory = Objects.requireNonNull( directory );
+	}
+
+	/**
+	 * Returns a script file with the given content, reusing the cached file if there is one
+	 * 
+	 * @param content Script content - cannot be null
+	 * @return Path of the script file
+	 * @throws IOException If the script could not be written
+	 */
+	Path getScript( String content ) throws IOException
+	{
+		byte[] bytes = content.getBytes( StandardCharsets.UTF_8 );
+		Path script = directory.resolve( SCRIPT_PREFIX + HashUtils.getSHA1Code( new ByteArrayInputStream( bytes ) ) + SCRIPT_EXT );
+
+		if( Files.exists( script ) )
+		{
+			//the modified time marks the last use, which is what the clean up looks at
+			Files.setLastModifiedTime( script, FileTime.fromMillis( System.currentTimeMillis() ) );
+		}
+		else
+		{
+			Files.createDirectories( directory );
+
+			//written under a temporary name and moved so that a partially written script is never used
+			Path tempFile = Files.createTempFile( directory, SCRIPT_PREFIX, null );
+			try
+			{
+				Files.write( tempFile, bytes );
+				Files.move( tempFile, script, StandardCopyOption.ATOMIC_MOVE );
+			}
+			catch( FileAlreadyExistsException faee )
+			{
+				//written by another launch at the same time - same name means same content
+			}
+			finally
+			{
+				Files.deleteIfExists( tempFile );
+			}
+		}
+
+		return script;
+	}
+
+	/**
+	 * Deletes the cached scripts not used in the last 30 days, and the temporary script files left by earlier versions
+	 */
+	void cleanUp()
+	{
+		long oldestUse = System.currentTimeMillis() - TimeUnit.DAYS.toMillis( MAX_UNUSED_DAYS );
+
+		try
+		{
+			if( Files.isDirectory( directory ) )
+			{
+				try( DirectoryStream<Path> scripts = Files.newDirectoryStream( directory, SCRIPT_PREFIX + "*" ) )
+				{
+					for( Path script: scripts )
+					{
+						if( Files.getLastModifiedTime( script ).toMillis() < oldestUse )
+						{
+							Files.deleteIfExists( script );
+						}
+					}
+				}
+			}
+
+			try( DirectoryStream<Path> tempFiles = Files.newDirectoryStream( Paths.get( System.getProperty( "java.io.tmpdir" ) ), LEGACY_TEMP_FILES ) )
+			{
+				for( Path tempFile: tempFiles )
+				{
+					Files.deleteIfExists( tempFile );
+				}
+			}
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+	}
+}
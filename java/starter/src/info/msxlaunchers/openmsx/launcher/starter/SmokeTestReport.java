@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Report of a smoke test, with one result per launched game in the order the games were given
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class SmokeTestReport
+{
+	private static final String SEPARATOR = "\t";
+
+	private final List<SmokeTestResult> results;
+
+	public SmokeTestReport( List<SmokeTestResult> results )
+	{
+		this.results = Collections.unmodifiableList( Objects.requireNonNull( results ) );
+	}
+
+	public List<SmokeTestResult> getResults()
+	{
+		return results;
+	}
+
+	/**
+	 * @return Number of games launched without the emulator failing
+	 */
+	public int getPassedCount()
+	{
+		return (int)results.stream().filter( SmokeTestResult::isPassed ).count();
+	}
+
+	/**
+	 * @return Number of games that failed to launch
+	 */
+	public int getFailedCount()
+	{
+		return results.size() - getPassedCount();
+	}
+
+	/**
+	 * Writes the report as tab-separated lines - one line per game, followed by a summary line
+	 * 
+	 * @param writer Writer to write the report to
+	 * @throws IOException If writing fails
+	 */
+	public void write( Writer writer ) throws IOException
+	{
+		writer.write( String.join( SEPARATOR, "Game", "Status", "Exit code", "Duration (ms)", "Error output" ) );
+		writer.write( System.lineSeparator() );
+
+		for( SmokeTestResult result: results )
+		{
+			writer.write( String.join( SEPARATOR,
+					toField( result.getGameName() ),
+					result.getStatus().toString(),
+					result.getExitCode() == null ? "" : result.getExitCode().toString(),
+					Long.toString( result.getDurationMillis() ),
+					toField( result.getErrorOutput() ) ) );
+			writer.write( System.lineSeparator() );
+		}
+
+		writer.write( results.size() + " games, " + getPassedCount() + " passed, " + getFailedCount() + " failed" );
+		writer.write( System.lineSeparator() );
+		writer.flush();
+	}
+
+	private static String toField( String value )
+	{
+		return value == null ? "" : value.trim().replaceAll( "\\s+", " " );
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+/**
+ * Result of launching one game in a smoke test
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class SmokeTestResult
+{
+	/**
+	 * Outcome of a launch
+	 */
+	public enum Status
+	{
+		/** The emulator was still running when the timeout expired */
+		RUNNING,
+		/** The emulator exited normally before the timeout */
+		EXITED,
+		/** The emulator exited with an error before the timeout */
+		FAILED,
+		/** The emulator could not be started */
+		NOT_STARTED
+	}
+
+	private final String gameName;
+	private final Status status;
+	private final Integer exitCode;
+	private final long durationMillis;
+	private final String errorOutput;
+
+	public SmokeTestResult( String gameName, Status status, Integer exitCode, long durationMillis, String errorOutput )
+	{
+		this.gameName = gameName;
+		this.status = status;
+		this.exitCode = exitCode;
+		this.durationMillis = durationMillis;
+		this.errorOutput = errorOutput;
+	}
+
+	/**
+	 * @return true if the game was launched without the emulator failing
+	 */
+	public boolean isPassed()
+	{
+		return status == Status.RUNNING || status == Status.EXITED;
+	}
+
+	public String getGameName()
+	{
+		return gameName;
+	}
+
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	/**
+	 * @return Exit code of the emulator, or null if it did not exit by itself
+	 */
+	public Integer getExitCode()
+	{
+		return exitCode;
+	}
+
+	public long getDurationMillis()
+	{
+		return durationMillis;
+	}
+
+	/**
+	 * @return Beginning of what the emulator wrote to its error output, or the reason it could not be started
+	 */
+	public String getErrorOutput()
+	{
+		return errorOutput;
+	}
+}
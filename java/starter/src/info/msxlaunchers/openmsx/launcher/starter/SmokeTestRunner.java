@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestResult.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.inject.Inject;
+
+/**
+ * Launches games without any user interface to check that the emulator can start them, e.g. to validate new dumps. A bounded
+ * number of emulators runs at the same time and each is given a fixed time: an emulator still running when its time is up
+ * passes and is stopped, one that exits with an error before that fails
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public final class SmokeTestRunner
+{
+	private static final int MAX_ERROR_OUTPUT_BYTES = 4096;
+	private static final long ERROR_OUTPUT_WAIT_MILLIS = 1000;
+
+	private final EmulatorStarter emulatorStarter;
+
+	//the platform arguments of a starter are built in a shared builder, so emulators are started one at a time
+	private final Object startLock = new Object();
+
+	//every game needs its own emulator, even when the launcher is set to keep one emulator running
+	@Inject
+	SmokeTestRunner( OpenMSXStarter openMSXStarter )
+	{
+		this.emulatorStarter = Objects.requireNonNull( openMSXStarter );
+	}
+
+	SmokeTestRunner( EmulatorStarter emulatorStarter )
+	{
+		this.emulatorStarter = Objects.requireNonNull( emulatorStarter );
+	}
+
+	/**
+	 * Launches the given games and waits for all of them to finish
+	 * 
+	 * @param settings Settings of the launcher, needed to get the path to openMSX
+	 * @param games Games to launch
+	 * @param concurrency Maximum number of emulators running at the same time - must be at least 1
+	 * @param timeout Time each emulator is given
+	 * @param unit Unit of the timeout
+	 * @return Report with the result of each game
+	 * @throws InterruptedException If interrupted while waiting. Running emulators are stopped
+	 */
+	public SmokeTestReport run( Settings settings, Collection<Game> games, int concurrency, long timeout, TimeUnit unit )
+			throws InterruptedException
+	{
+		Objects.requireNonNull( settings );
+		Objects.requireNonNull( games );
+		Objects.requireNonNull( unit );
+		if( concurrency < 1 )
+		{
+			throw new IllegalArgumentException( "Concurrency must be at least 1: " + concurrency );
+		}
+
+		ExecutorService launchExecutor = Executors.newFixedThreadPool( concurrency, getThreadFactory( "SmokeTestLaunch" ) );
+		ExecutorService outputExecutor = Executors.newCachedThreadPool( getThreadFactory( "SmokeTestOutput" ) );
+
+		try
+		{
+			List<Future<SmokeTestResult>> futures = new ArrayList<>( games.size() );
+			for( Game game: games )
+			{
+				futures.add( launchExecutor.submit( () -> launch( settings, game, timeout, unit, outputExecutor ) ) );
+			}
+
+			List<SmokeTestResult> results = new ArrayList<>( futures.size() );
+			for( Future<SmokeTestResult> future: futures )
+			{
+				try
+				{
+					results.add( future.get() );
+				}
+				catch( ExecutionException ee )
+				{
+					throw new IllegalStateException( ee.getCause() );
+				}
+			}
+
+			return new SmokeTestReport( results );
+		}
+		finally
+		{
+			launchExecutor.shutdownNow();
+			outputExecutor.shutdownNow();
+		}
+	}
+
+	private SmokeTestResult launch( Settings settings, Game game, long timeout, TimeUnit unit, ExecutorService outputExecutor )
+			throws InterruptedException
+	{
+		long startTime = System.nanoTime();
+
+		Process process;
+		try
+		{
+			synchronized( startLock )
+			{
+				process = emulatorStarter.start( settings, game );
+			}
+		}
+		catch( IOException ioe )
+		{
+			return new SmokeTestResult( game.getName(), Status.NOT_STARTED, null, getMillisSince( startTime ), String.valueOf( ioe.getMessage() ) );
+		}
+
+		//both outputs are read so that the emulator never blocks on a full pipe
+		Future<String> errorOutput = outputExecutor.submit( () -> readBeginning( process.getErrorStream() ) );
+		outputExecutor.submit( () -> readBeginning( process.getInputStream() ) );
+
+		Status status;
+		Integer exitCode = null;
+		try
+		{
+			if( process.waitFor( timeout, unit ) )
+			{
+				exitCode = process.exitValue();
+				status = exitCode == 0 ? Status.EXITED : Status.FAILED;
+			}
+			else
+			{
+				status = Status.RUNNING;
+			}
+		}
+		finally
+		{
+			if( process.isAlive() )
+			{
+				process.destroyForcibly();
+			}
+		}
+
+		long durationMillis = getMillisSince( startTime );
+
+		return new SmokeTestResult( game.getName(), status, exitCode, durationMillis, getOutput( errorOutput ) );
+	}
+
+	private static String readBeginning( InputStream stream )
+	{
+		ByteArrayOutputStream beginning = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+
+		try( InputStream input = stream )
+		{
+			int read;
+			while( (read = input.read( buffer )) != -1 )
+			{
+				beginning.write( buffer, 0, Math.max( 0, Math.min( read, MAX_ERROR_OUTPUT_BYTES - beginning.size() ) ) );
+			}
+		}
+		catch( IOException ioe )
+		{
+			//the stream is closed when the emulator is stopped - keep what was read until then
+		}
+
+		return new String( beginning.toByteArray(), Charset.defaultCharset() );
+	}
+
+	private static String getOutput( Future<String> output ) throws InterruptedException
+	{
+		try
+		{
+			return output.get( ERROR_OUTPUT_WAIT_MILLIS, TimeUnit.MILLISECONDS );
+		}
+		catch( ExecutionException | TimeoutException e )
+		{
+			//a child process of the emulator may keep the output open - what was read so far is not available either
+			output.cancel( true );
+			return "";
+		}
+	}
+
+	private static long getMillisSince( long startTime )
+	{
+		return TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime );
+	}
+
+	private static ThreadFactory getThreadFactory( String name )
+	{
+		return runnable -> {
+			Thread thread = new Thread( runnable, name );
+			thread.setDaemon( true );
+			return thread;
+		};
+	}
+}
@@ -27,7 +27,7 @@ public class StarterModule extends AbstractModule
 	@Override 
 	protected void configure()
 	{
-		bind( EmulatorStarter.class ).to( OpenMSXStarter.class );
+		bind( EmulatorStarter.class ).toProvider( EmulatorStarterProvider.class );
 		bind( StarterPlatformArguments.class ).toProvider( PlatformArgumentsProvider.class );
 	}
 }
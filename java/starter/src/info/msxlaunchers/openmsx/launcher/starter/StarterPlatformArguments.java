@@ -39,4 +39,25 @@ public interface StarterPlatformArguments
 	 * @throws IOException
 	 */
 	List<String> getArguments( Settings settings, Game game ) throws IOException;
+
+	/**
+	 * Returns openMSX command line arguments that work on the current OS and that also open the control channel of openMSX
+	 * on its standard input and output
+	 * 
+	 * @param settings Settings of the launcher, needed to get the path to openMSX
+	 * @param game Game object
+	 * @return Unmodifiable List of openMSX command line arguments
+	 * @throws IOException
+	 */
+	List<String> getControlArguments( Settings settings, Game game ) throws IOException;
+
+	/**
+	 * Returns the console commands that switch a running openMSX to the given game. They have the same effect as the arguments
+	 * returned by <code>getArguments</code>, ending with a reset
+	 * 
+	 * @param game Game object
+	 * @return Unmodifiable List of openMSX console commands
+	 * @throws IOException
+	 */
+	List<String> getCommands( Game game ) throws IOException;
 }
@@ -3,14 +3,20 @@ package info.msxlaunchers.openmsx.launcher.starter;
 import static org.mockito.Mockito.mock;
 
 import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
 
 import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
 import info.msxlaunchers.platform.ArgumentsBuilder;
 
 public abstract class AbstractStarterArgumentTest
 {
+	@Rule
+	public TemporaryFolder scriptCacheFolder = new TemporaryFolder();
+
 	protected Settings settings;
 	protected ArgumentsBuilder argsBuilder;
+	protected ScriptCache scriptCache;
 
 	@Before
 	public void setup()
@@ -24,5 +30,6 @@ public abstract class AbstractStarterArgumentTest
 				false );
 
 		argsBuilder = mock( ArgumentsBuilder.class );
+		scriptCache = new ScriptCache( scriptCacheFolder.getRoot().toPath() );
 	}
 }
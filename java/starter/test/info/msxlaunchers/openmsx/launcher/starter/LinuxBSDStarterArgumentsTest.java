@@ -2,11 +2,7 @@ package info.msxlaunchers.openmsx.launcher.starter;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
@@ -16,7 +12,7 @@ import info.msxlaunchers.openmsx.launcher.starter.LinuxBSDStarterArguments;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -42,7 +38,7 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 				.tclScriptOverride( true )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -68,7 +64,7 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 				.laserdisc( "laserdisc" )
 				.build();
 		
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -98,7 +94,7 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 				.inputDevice( InputDevice.JOYSTICK )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -114,7 +110,7 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 				.fddMode( FDDMode.DISABLE_SECOND )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -130,7 +126,7 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 				.connectGFX9000( true )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -139,51 +135,92 @@ public class LinuxBSDStarterArgumentsTest extends AbstractStarterArgumentTest
 	}
 
 	@Test
-	public void testHandlingOfTempScriptFiles() throws IOException
+	public void testCachingOfScriptFiles() throws IOException
 	{
-		Path tempDirectory = Paths.get( System.getProperty( "java.io.tmpdir" ) );
-		String fileMatch = "openmsx-launcher-script*.tmp";
+		Game game = Game.machine( "Boosted_MSX2_EN" )
+				.romA( "romA" )
+				.connectGFX9000( true )
+				.build();
 
-		List<Path> matches = new ArrayList<>();
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
-		try ( DirectoryStream<Path> newDirectoryStream = Files.newDirectoryStream( tempDirectory, fileMatch ) )
-		{
-			for( Path newDirectoryStreamItem : newDirectoryStream )
-			{
-				matches.add( newDirectoryStreamItem );
-			}
-		}
+		arguments.getArguments( settings,  game );
+		arguments.getArguments( settings,  game );
+
+		File[] scripts = scriptCacheFolder.getRoot().listFiles();
 
-		//there may or may not be a temporary file from a previous run but it should be no more than
-		assertTrue( matches.size() == 1 || matches.isEmpty() );
+		//the same script is used for both launches
+		assertEquals( 1, scripts.length );
+		verify( argsBuilder, times( 2 ) ).appendIfValueDefined( "-script", scripts[0].toPath().toString() );
+	}
 
-		String currentTempraryFile = null;
-		if( matches.size() == 1 )
-		{
-			currentTempraryFile = matches.get( 0 ).toString();
-		}
+	@Test
+	public void testGetControlArguments() throws IOException
+	{
+		Game game = Game.machine( "Boosted_MSX2_EN" )
+				.romA( "romA" )
+				.build();
+
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
+
+		arguments.getControlArguments( settings,  game );
+
+		verify( argsBuilder, times( 1 ) ).appendIfValueDefined( eq( "-carta" ), eq( "romA" ) );
+		verify( argsBuilder, times( 1 ) ).append( "-control" );
+		verify( argsBuilder, times( 1 ) ).append( "stdio" );
+	}
 
+	@Test
+	public void testGetCommands() throws IOException
+	{
 		Game game = Game.machine( "Boosted_MSX2_EN" )
+				.romA( "/games/Space Manbow [a].rom" )
+				.diskA( "C:\\MSX\\disk.dsk" )
+				.tape( "tape.cas" )
+				.machine( "Panasonic_FS-A1GT" )
+				.inputDevice( InputDevice.NONE )
+				.fddMode( FDDMode.ENABLE_BOTH )
+				.build();
+
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
+
+		assertEquals( Arrays.asList( "machine Panasonic_FS-A1GT",
+				"carta /games/Space\\ Manbow\\ \\[a\\].rom",
+				"diska C:\\\\MSX\\\\disk.dsk",
+				"cassetteplayer insert tape.cas",
+				"reset" ), arguments.getCommands( game ) );
+	}
+
+	@Test
+	public void testGetCommandsWithoutMachineAndWithGeneratedScript() throws IOException
+	{
+		Game game = Game.machine( null )
 				.romA( "romA" )
 				.connectGFX9000( true )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
-		arguments.getArguments( settings,  game );
+		List<String> commands = arguments.getCommands( game );
+
+		assertEquals( 4, commands.size() );
+		assertEquals( "machine [set default_machine]", commands.get( 0 ) );
+		assertEquals( "carta romA", commands.get( 1 ) );
+		assertEquals( "source " + scriptCacheFolder.getRoot().listFiles()[0].getPath(), commands.get( 2 ) );
+		assertEquals( "reset", commands.get( 3 ) );
+	}
 
-		matches.clear();
+	@Test
+	public void testGetCommandsWithScriptOverride() throws IOException
+	{
+		Game game = Game.machine( null )
+				.romA( "romA" )
+				.tclScript( "script.tcl" )
+				.tclScriptOverride( true )
+				.build();
 
-		try ( DirectoryStream<Path> newDirectoryStream = Files.newDirectoryStream( tempDirectory, fileMatch ) )
-		{
-			for( Path newDirectoryStreamItem : newDirectoryStream )
-			{
-				matches.add( newDirectoryStreamItem );
-			}
-		}
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
-		//there should be one temporary file now and it is different than the previous one if it existed
-		assertTrue( matches.size() == 1 );
-		assertTrue( !matches.get( 0 ).toString().equals( currentTempraryFile ) );
+		assertEquals( Arrays.asList( "machine [set default_machine]", "source script.tcl", "reset" ), arguments.getCommands( game ) );
 	}
 }
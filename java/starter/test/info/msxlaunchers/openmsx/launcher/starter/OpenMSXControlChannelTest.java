@@ -0,0 +1,115 @@
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class OpenMSXControlChannelTest
+{
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	@Test
+	public void givenRunningEmulator_whenSendCommand_thenReplyIsReturned() throws IOException
+	{
+		StubOpenMSXProcess process = new StubOpenMSXProcess();
+
+		try( OpenMSXControlChannel channel = new OpenMSXControlChannel( process, TIMEOUT_MILLIS ) )
+		{
+			assertEquals( "machine Boosted_MSX2_EN", channel.sendCommand( "machine Boosted_MSX2_EN" ) );
+			assertEquals( "carta /games/a&b <1>.rom", channel.sendCommand( "carta /games/a&b <1>.rom" ) );
+			assertEquals( "reset", channel.sendCommand( "reset" ) );
+
+			assertTrue( process.isControlStarted() );
+			assertEquals( Arrays.asList( "machine Boosted_MSX2_EN", "carta /games/a&b <1>.rom", "reset" ), process.getCommands() );
+		}
+	}
+
+	@Test
+	public void givenErrorReply_whenSendCommand_thenThrowEmulatorCommandExceptionAndKeepChannelOpen() throws IOException
+	{
+		StubOpenMSXProcess process = new StubOpenMSXProcess();
+
+		try( OpenMSXControlChannel channel = new OpenMSXControlChannel( process, TIMEOUT_MILLIS ) )
+		{
+			try
+			{
+				channel.sendCommand( "error" );
+				fail();
+			}
+			catch( EmulatorCommandException ece )
+			{
+				assertEquals( "error", ece.getCommand() );
+				assertEquals( "invalid command name \"error\"", ece.getMessage() );
+			}
+
+			assertTrue( channel.isOpen() );
+			assertEquals( "reset", channel.sendCommand( "reset" ) );
+		}
+	}
+
+	@Test
+	public void givenNoReply_whenSendCommand_thenThrowIOExceptionAndCloseChannel() throws IOException
+	{
+		StubOpenMSXProcess process = new StubOpenMSXProcess();
+
+		try( OpenMSXControlChannel channel = new OpenMSXControlChannel( process, 200 ) )
+		{
+			try
+			{
+				channel.sendCommand( "silent" );
+				fail();
+			}
+			catch( EmulatorCommandException ece )
+			{
+				fail();
+			}
+			catch( IOException ioe )
+			{
+				assertFalse( channel.isOpen() );
+			}
+		}
+	}
+
+	@Test
+	public void givenEmulatorExited_whenSendCommand_thenThrowIOExceptionAndCloseChannel() throws IOException
+	{
+		StubOpenMSXProcess process = new StubOpenMSXProcess();
+
+		try( OpenMSXControlChannel channel = new OpenMSXControlChannel( process, TIMEOUT_MILLIS ) )
+		{
+			try
+			{
+				channel.sendCommand( "exit" );
+				fail();
+			}
+			catch( IOException ioe )
+			{
+				assertFalse( channel.isOpen() );
+			}
+		}
+	}
+
+	@Test( expected = IOException.class )
+	public void givenClosedChannel_whenSendCommand_thenThrowIOException() throws IOException
+	{
+		OpenMSXControlChannel channel = new OpenMSXControlChannel( new StubOpenMSXProcess(), TIMEOUT_MILLIS );
+
+		channel.close();
+
+		channel.sendCommand( "reset" );
+	}
+
+	@Test
+	public void givenEntities_whenUnescape_thenCharactersAreReturned()
+	{
+		assertEquals( "<a & 'b'> \"c\" A\u00e9", OpenMSXControlChannel.unescape( "&lt;a &amp; &apos;b&apos;&gt; &quot;c&quot; &#65;&#xe9;" ) );
+		assertEquals( "no entities", OpenMSXControlChannel.unescape( "no entities" ) );
+		assertEquals( "&#zz; &#x; &#99999999; &unknown;", OpenMSXControlChannel.unescape( "&#zz; &#x; &#99999999; &unknown;" ) );
+	}
+}
@@ -0,0 +1,133 @@
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith( MockitoJUnitRunner.class )
+public class PersistentOpenMSXStarterTest
+{
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	@Mock StarterPlatformArguments starterPlatformArguments;
+
+	private final Settings settings = new Settings( "/openMSX dir/", null, null, null, null, false, false );
+	private final Game game1 = Game.machine( "Boosted_MSX2_EN" ).romA( "/games/game1.rom" ).build();
+	private final Game game2 = Game.machine( "Panasonic_FS-A1GT" ).diskA( "/games/game2.dsk" ).build();
+	private final List<StubOpenMSXProcess> startedProcesses = new ArrayList<>();
+	private PersistentOpenMSXStarter starter;
+
+	@Before
+	public void setup()
+	{
+		starter = new PersistentOpenMSXStarter( starterPlatformArguments, arguments -> {
+			StubOpenMSXProcess process = new StubOpenMSXProcess();
+			startedProcesses.add( process );
+			return process;
+		}, TIMEOUT_MILLIS );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void givenNullPlatformArguments_whenConstruct_thenThrowNullPointerException()
+	{
+		new PersistentOpenMSXStarter( null );
+	}
+
+	@Test
+	public void givenNoRunningEmulator_whenStart_thenEmulatorIsStartedWithControlArguments() throws IOException
+	{
+		when( starterPlatformArguments.getControlArguments( settings, game1 ) ).thenReturn( Arrays.asList( "openmsx", "-control", "stdio" ) );
+
+		Process process = starter.start( settings, game1 );
+
+		assertEquals( 1, startedProcesses.size() );
+		assertSame( startedProcesses.get( 0 ), process );
+		verify( starterPlatformArguments, never() ).getCommands( game1 );
+	}
+
+	@Test
+	public void givenRunningEmulator_whenStart_thenCommandsAreSentToRunningEmulator() throws IOException
+	{
+		when( starterPlatformArguments.getControlArguments( settings, game1 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+		when( starterPlatformArguments.getCommands( game2 ) ).thenReturn( Arrays.asList( "machine Panasonic_FS-A1GT", "diska /games/game2.dsk", "reset" ) );
+
+		Process process1 = starter.start( settings, game1 );
+		Process process2 = starter.start( settings, game2 );
+
+		assertSame( process1, process2 );
+		assertEquals( 1, startedProcesses.size() );
+		assertEquals( Arrays.asList( "machine Panasonic_FS-A1GT", "diska /games/game2.dsk", "reset" ), startedProcesses.get( 0 ).getCommands() );
+	}
+
+	@Test
+	public void givenEmulatorWasClosed_whenStart_thenNewEmulatorIsStarted() throws IOException
+	{
+		when( starterPlatformArguments.getControlArguments( settings, game1 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+		when( starterPlatformArguments.getControlArguments( settings, game2 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+
+		Process process1 = starter.start( settings, game1 );
+		process1.destroy();
+		Process process2 = starter.start( settings, game2 );
+
+		assertNotSame( process1, process2 );
+		assertEquals( 2, startedProcesses.size() );
+		verify( starterPlatformArguments, never() ).getCommands( game2 );
+	}
+
+	@Test
+	public void givenEmulatorStopsAnswering_whenStart_thenNewEmulatorIsStarted() throws IOException
+	{
+		when( starterPlatformArguments.getControlArguments( settings, game1 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+		when( starterPlatformArguments.getControlArguments( settings, game2 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+		when( starterPlatformArguments.getCommands( game2 ) ).thenReturn( Arrays.asList( "exit" ) );
+
+		starter.start( settings, game1 );
+		Process process = starter.start( settings, game2 );
+
+		assertEquals( 2, startedProcesses.size() );
+		assertSame( startedProcesses.get( 1 ), process );
+	}
+
+	@Test
+	public void givenEmulatorRejectsCommand_whenStart_thenThrowEmulatorCommandExceptionAndKeepEmulator() throws IOException
+	{
+		when( starterPlatformArguments.getControlArguments( settings, game1 ) ).thenReturn( Collections.singletonList( "openmsx" ) );
+		when( starterPlatformArguments.getCommands( game2 ) ).thenReturn( Arrays.asList( "error missing file" ) );
+		when( starterPlatformArguments.getCommands( game1 ) ).thenReturn( Arrays.asList( "reset" ) );
+
+		Process process = starter.start( settings, game1 );
+		try
+		{
+			starter.start( settings, game2 );
+			fail();
+		}
+		catch( EmulatorCommandException ece )
+		{
+			assertEquals( "error missing file", ece.getCommand() );
+		}
+
+		assertSame( process, starter.start( settings, game1 ) );
+		assertEquals( 1, startedProcesses.size() );
+		verify( starterPlatformArguments, times( 1 ) ).getControlArguments( settings, game1 );
+	}
+}
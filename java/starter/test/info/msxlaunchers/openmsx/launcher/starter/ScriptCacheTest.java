@@ -0,0 +1,89 @@
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScriptCacheTest
+{
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenSameContent_whenGetScript_thenSameFileIsReturned() throws IOException
+	{
+		ScriptCache scriptCache = new ScriptCache( tmpFolder.getRoot().toPath() );
+
+		Path script1 = scriptCache.getScript( "plug joyporta joystick1" );
+		Path script2 = scriptCache.getScript( "plug joyporta joystick1" );
+
+		assertEquals( script1, script2 );
+		assertEquals( "plug joyporta joystick1", new String( Files.readAllBytes( script1 ), StandardCharsets.UTF_8 ) );
+		assertEquals( 1, tmpFolder.getRoot().list().length );
+	}
+
+	@Test
+	public void givenDifferentContent_whenGetScript_thenDifferentFilesAreReturned() throws IOException
+	{
+		ScriptCache scriptCache = new ScriptCache( tmpFolder.getRoot().toPath() );
+
+		Path script1 = scriptCache.getScript( "plug joyporta joystick1" );
+		Path script2 = scriptCache.getScript( "plug joyporta mouse" );
+
+		assertNotEquals( script1, script2 );
+		assertEquals( "plug joyporta mouse", new String( Files.readAllBytes( script2 ), StandardCharsets.UTF_8 ) );
+	}
+
+	@Test
+	public void givenMissingDirectory_whenGetScript_thenDirectoryIsCreated() throws IOException
+	{
+		Path directory = tmpFolder.getRoot().toPath().resolve( "scripts" );
+		ScriptCache scriptCache = new ScriptCache( directory );
+
+		Path script = scriptCache.getScript( "ext gfx9000" );
+
+		assertEquals( directory, script.getParent() );
+		assertTrue( Files.exists( script ) );
+	}
+
+	@Test
+	public void givenUnusedScript_whenCleanUp_thenOnlyUnusedScriptIsDeleted() throws IOException
+	{
+		ScriptCache scriptCache = new ScriptCache( tmpFolder.getRoot().toPath() );
+
+		Path unusedScript = scriptCache.getScript( "plug joyporta joystick1" );
+		Path usedScript = scriptCache.getScript( "plug joyporta mouse" );
+		Files.setLastModifiedTime( unusedScript, FileTime.fromMillis( System.currentTimeMillis() - TimeUnit.DAYS.toMillis( 31 ) ) );
+
+		scriptCache.cleanUp();
+
+		assertFalse( Files.exists( unusedScript ) );
+		assertTrue( Files.exists( usedScript ) );
+	}
+
+	@Test
+	public void givenOldScript_whenGetScriptAgain_thenScriptIsKeptByCleanUp() throws IOException
+	{
+		ScriptCache scriptCache = new ScriptCache( tmpFolder.getRoot().toPath() );
+
+		Path script = scriptCache.getScript( "plug joyporta joystick1" );
+		Files.setLastModifiedTime( script, FileTime.fromMillis( System.currentTimeMillis() - TimeUnit.DAYS.toMillis( 31 ) ) );
+
+		scriptCache.getScript( "plug joyporta joystick1" );
+		scriptCache.cleanUp();
+
+		assertTrue( Files.exists( script ) );
+	}
+}
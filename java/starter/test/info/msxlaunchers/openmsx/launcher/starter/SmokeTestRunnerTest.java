@@ -0,0 +1,143 @@
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import info.msxlaunchers.openmsx.common.OSUtils;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestResult.Status;
+
+public class SmokeTestRunnerTest
+{
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private final Settings settings = new Settings( null, null, null, null, null, false, false );
+	private File fakeEmulator;
+	private final AtomicInteger startedEmulators = new AtomicInteger();
+
+	@Before
+	public void setup() throws IOException
+	{
+		//the fake emulator is a shell script that behaves according to the ROM it is given
+		assumeFalse( OSUtils.isWindows() );
+
+		fakeEmulator = tmpFolder.newFile( "openmsx" );
+		Files.write( fakeEmulator.toPath(), ("#!/bin/sh\n" +
+				"case \"$1\" in\n" +
+				"  crash) echo \"Fatal error: cannot open $1\" >&2; exit 1;;\n" +
+				"  quit) exit 0;;\n" +
+				"  *) exec sleep 30;;\n" +
+				"esac\n").getBytes( StandardCharsets.US_ASCII ) );
+		assertTrue( fakeEmulator.setExecutable( true ) );
+	}
+
+	@Test
+	public void givenGames_whenRun_thenReportHasResultOfEachGameInOrder() throws InterruptedException
+	{
+		SmokeTestRunner runner = new SmokeTestRunner( this::startFakeEmulator );
+
+		SmokeTestReport report = runner.run( settings, Arrays.asList( getGame( "game1", "crash" ), getGame( "game2", "quit" ),
+				getGame( "game3", "hang" ), getGame( "game4", "missing" ) ), 2, 300, TimeUnit.MILLISECONDS );
+
+		List<SmokeTestResult> results = report.getResults();
+		assertEquals( 4, results.size() );
+
+		assertEquals( "game1", results.get( 0 ).getGameName() );
+		assertEquals( Status.FAILED, results.get( 0 ).getStatus() );
+		assertEquals( Integer.valueOf( 1 ), results.get( 0 ).getExitCode() );
+		assertTrue( results.get( 0 ).getErrorOutput().contains( "Fatal error: cannot open crash" ) );
+		assertFalse( results.get( 0 ).isPassed() );
+
+		assertEquals( Status.EXITED, results.get( 1 ).getStatus() );
+		assertEquals( Integer.valueOf( 0 ), results.get( 1 ).getExitCode() );
+		assertTrue( results.get( 1 ).isPassed() );
+
+		assertEquals( Status.RUNNING, results.get( 2 ).getStatus() );
+		assertNull( results.get( 2 ).getExitCode() );
+		assertTrue( results.get( 2 ).getDurationMillis() >= 300 );
+		assertTrue( results.get( 2 ).isPassed() );
+
+		assertEquals( Status.NOT_STARTED, results.get( 3 ).getStatus() );
+		assertEquals( "ROM not found", results.get( 3 ).getErrorOutput() );
+
+		assertEquals( 2, report.getPassedCount() );
+		assertEquals( 2, report.getFailedCount() );
+		assertEquals( 3, startedEmulators.get() );
+	}
+
+	@Test
+	public void givenConcurrency_whenRun_thenEmulatorsRunInParallel() throws InterruptedException
+	{
+		SmokeTestRunner runner = new SmokeTestRunner( this::startFakeEmulator );
+
+		long startTime = System.nanoTime();
+		SmokeTestReport report = runner.run( settings, Arrays.asList( getGame( "game1", "hang" ), getGame( "game2", "hang" ),
+				getGame( "game3", "hang" ), getGame( "game4", "hang" ) ), 4, 1, TimeUnit.SECONDS );
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime );
+
+		assertEquals( 4, report.getPassedCount() );
+		assertTrue( "took " + durationMillis + " ms", durationMillis < 3000 );
+	}
+
+	@Test
+	public void givenReport_whenWrite_thenOneLinePerGameAndSummaryAreWritten() throws IOException
+	{
+		SmokeTestReport report = new SmokeTestReport( Arrays.asList(
+				new SmokeTestResult( "game1", Status.FAILED, 1, 20, "Fatal error:\ncannot open\tcrash\n" ),
+				new SmokeTestResult( "game2", Status.RUNNING, null, 300, "" ) ) );
+
+		StringWriter writer = new StringWriter();
+		report.write( writer );
+
+		String[] lines = writer.toString().split( System.lineSeparator() );
+		assertEquals( 4, lines.length );
+		assertEquals( "Game\tStatus\tExit code\tDuration (ms)\tError output", lines[0] );
+		assertEquals( "game1\tFAILED\t1\t20\tFatal error: cannot open crash", lines[1] );
+		assertEquals( "game2\tRUNNING\t\t300\t", lines[2] );
+		assertEquals( "2 games, 1 passed, 1 failed", lines[3] );
+	}
+
+	@Test( expected = IllegalArgumentException.class )
+	public void givenZeroConcurrency_whenRun_thenThrowIllegalArgumentException() throws InterruptedException
+	{
+		new SmokeTestRunner( this::startFakeEmulator ).run( settings, Collections.emptyList(), 0, 1, TimeUnit.SECONDS );
+	}
+
+	private Process startFakeEmulator( Settings settings, Game game ) throws IOException
+	{
+		if( game.getRomA().equals( "missing" ) )
+		{
+			throw new IOException( "ROM not found" );
+		}
+
+		startedEmulators.incrementAndGet();
+
+		return new ProcessBuilder( fakeEmulator.getAbsolutePath(), game.getRomA() ).start();
+	}
+
+	private static Game getGame( String name, String rom )
+	{
+		return Game.name( name ).romA( rom ).build();
+	}
+}
@@ -0,0 +1,157 @@
+package info.msxlaunchers.openmsx.launcher.starter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process that answers on its standard input and output like openMSX started with <code>-control stdio</code>. Commands are echoed
+ * back as the result, except <code>error</code> commands that fail, <code>silent</code> that is never answered and <code>exit</code>
+ * that ends the process
+ */
+final class StubOpenMSXProcess extends Process
+{
+	private final PipedOutputStream launcherInput = new PipedOutputStream();
+	private final PipedInputStream emulatorInput;
+	private final PipedOutputStream emulatorOutput = new PipedOutputStream();
+	private final PipedInputStream launcherOutput;
+	private final List<String> commands = new CopyOnWriteArrayList<>();
+	private volatile boolean alive = true;
+	private volatile boolean controlStarted;
+
+	StubOpenMSXProcess() throws IOException
+	{
+		emulatorInput = new PipedInputStream( launcherInput );
+		launcherOutput = new PipedInputStream( emulatorOutput );
+
+		Thread emulatorThread = new Thread( this::answerCommands, "StubOpenMSX" );
+		emulatorThread.setDaemon( true );
+		emulatorThread.start();
+	}
+
+	List<String> getCommands()
+	{
+		return commands;
+	}
+
+	boolean isControlStarted()
+	{
+		return controlStarted;
+	}
+
+	private void answerCommands()
+	{
+		try( BufferedReader reader = new BufferedReader( new InputStreamReader( emulatorInput, StandardCharsets.UTF_8 ) );
+				Writer writer = new OutputStreamWriter( emulatorOutput, StandardCharsets.UTF_8 ) )
+		{
+			writer.write( "<openmsx-output>\n" );
+			writer.flush();
+
+			String line;
+			while( alive && (line = reader.readLine()) != null )
+			{
+				if( line.equals( "<openmsx-control>" ) )
+				{
+					controlStarted = true;
+				}
+				else if( line.startsWith( "<command>" ) )
+				{
+					String command = OpenMSXControlChannel.unescape( line.substring( "<command>".length(), line.length() - "</command>".length() ) );
+					commands.add( command );
+
+					if( command.equals( "exit" ) )
+					{
+						break;
+					}
+					else if( command.startsWith( "error" ) )
+					{
+						writer.write( "<reply result=\"nok\">invalid command name \"error\"</reply>\n" );
+					}
+					else if( !command.equals( "silent" ) )
+					{
+						//replies are split between writes, and mixed with the other output of openMSX
+						writer.write( "<log level=\"info\">running &lt;" + OpenMSXControlChannel.escape( command ) + "&gt;</log>\n<update type=\"led\" name=\"power\">on</update>\n<reply res" );
+						writer.flush();
+						writer.write( "ult=\"ok\">" + OpenMSXControlChannel.escape( command ) + "</reply>\n" );
+					}
+					writer.flush();
+				}
+			}
+		}
+		catch( IOException ioe )
+		{
+			//the launcher side was closed
+		}
+		finally
+		{
+			alive = false;
+		}
+	}
+
+	@Override
+	public OutputStream getOutputStream()
+	{
+		return launcherInput;
+	}
+
+	@Override
+	public InputStream getInputStream()
+	{
+		return launcherOutput;
+	}
+
+	@Override
+	public InputStream getErrorStream()
+	{
+		return null;
+	}
+
+	@Override
+	public int waitFor() throws InterruptedException
+	{
+		while( alive )
+		{
+			Thread.sleep( 10 );
+		}
+		return 0;
+	}
+
+	@Override
+	public int exitValue()
+	{
+		if( alive )
+		{
+			throw new IllegalThreadStateException();
+		}
+		return 0;
+	}
+
+	@Override
+	public boolean isAlive()
+	{
+		return alive;
+	}
+
+	@Override
+	public void destroy()
+	{
+		alive = false;
+		try
+		{
+			emulatorOutput.close();
+		}
+		catch( IOException ioe )
+		{
+			//nothing to do
+		}
+	}
+}
@@ -2,12 +2,6 @@ package info.msxlaunchers.openmsx.launcher.starter;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
 
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.FDDMode;
@@ -16,7 +10,7 @@ import info.msxlaunchers.openmsx.launcher.starter.WindowsStarterArguments;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -42,7 +36,7 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 				.tclScriptOverride( true )
 				.build();
 		
-		WindowsStarterArguments windowsArguments = new WindowsStarterArguments( argsBuilder );
+		WindowsStarterArguments windowsArguments = new WindowsStarterArguments( argsBuilder, scriptCache );
 
 		windowsArguments.getArguments( settings,  game );
 
@@ -68,7 +62,7 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 				.laserdisc( "laserdisc" )
 				.build();
 
-		WindowsStarterArguments windowsArguments = new WindowsStarterArguments( argsBuilder );
+		WindowsStarterArguments windowsArguments = new WindowsStarterArguments( argsBuilder, scriptCache );
 
 		windowsArguments.getArguments( settings,  game );
 
@@ -98,7 +92,7 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 				.inputDevice( InputDevice.JOYSTICK )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -114,7 +108,7 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 				.fddMode( FDDMode.DISABLE_SECOND )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -130,7 +124,7 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 				.connectGFX9000( true )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
 		arguments.getArguments( settings,  game );
 
@@ -139,51 +133,22 @@ public class WindowsArgumentsTest extends AbstractStarterArgumentTest
 	}
 
 	@Test
-	public void testHandlingOfTempScriptFiles() throws IOException
+	public void testCachingOfScriptFiles() throws IOException
 	{
-		Path tempDirectory = Paths.get( System.getProperty( "java.io.tmpdir" ) );
-		String fileMatch = "openmsx-launcher-script*.tmp";
-
-		List<Path> matches = new ArrayList<>();
-
-		try ( DirectoryStream<Path> newDirectoryStream = Files.newDirectoryStream( tempDirectory, fileMatch ) )
-		{
-			for( Path newDirectoryStreamItem : newDirectoryStream )
-			{
-				matches.add( newDirectoryStreamItem );
-			}
-		}
-
-		//there may or may not be a temporary file from a previous run but it should be no more than
-		assertTrue( matches.size() == 1 || matches.isEmpty() );
-
-		String currentTempraryFile = null;
-		if( matches.size() == 1 )
-		{
-			currentTempraryFile = matches.get( 0 ).toString();
-		}
-
 		Game game = Game.machine( "Boosted_MSX2_EN" )
 				.romA( "romA" )
 				.inputDevice( InputDevice.TOUCHPAD )
 				.build();
 
-		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder );
+		LinuxBSDStarterArguments arguments = new LinuxBSDStarterArguments( argsBuilder, scriptCache );
 
+		arguments.getArguments( settings,  game );
 		arguments.getArguments( settings,  game );
 
-		matches.clear();
-
-		try ( DirectoryStream<Path> newDirectoryStream = Files.newDirectoryStream( tempDirectory, fileMatch ) )
-		{
-			for( Path newDirectoryStreamItem : newDirectoryStream )
-			{
-				matches.add( newDirectoryStreamItem );
-			}
-		}
+		File[] scripts = scriptCacheFolder.getRoot().listFiles();
 
-		//there should be one temporary file now and it is different than the previous one if it existed
-		assertTrue( matches.size() == 1 );
-		assertTrue( !matches.get( 0 ).toString().equals( currentTempraryFile ) );
+		//the same script is used for both launches
+		assertEquals( 1, scripts.length );
+		verify( argsBuilder, times( 2 ) ).appendIfValueDefined( "-script", scripts[0].toPath().toString() );
 	}
 }
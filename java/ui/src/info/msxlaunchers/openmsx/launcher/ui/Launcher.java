@@ -26,6 +26,7 @@ import info.msxlaunchers.openmsx.launcher.extra.ExtraDataModule;
 import info.msxlaunchers.openmsx.launcher.extractor.ExtractorModule;
 import info.msxlaunchers.openmsx.launcher.feed.FeedServiceModule;
 import info.msxlaunchers.openmsx.launcher.importer.DatabaseImporterModule;
+import info.msxlaunchers.openmsx.launcher.log.StartupProfiler;
 import info.msxlaunchers.openmsx.launcher.log.analyser.LoggerModule;
 import info.msxlaunchers.openmsx.launcher.patch.PatcherModule;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceModule;
@@ -49,30 +50,41 @@ public class Launcher
 {
 	public static void main( String args[] )
 	{
-		Injector injector = Guice.createInjector(
-				new AppModule(),
-				new LauncherPersistenceModule(),
-				new StarterModule(),
-				new PlatformModule(),
-				new ViewModule(),
-				new PresenterModule(),
-				new ScannerModule(),
-				new RepositoryDataModule(),
-				new MachineListerModule(),
-				new ExtensionListerModule(),
-				new ExtraDataModule(),
-				new DatabaseImporterModule(),
-				new GameBuilderModule(),
-				new UpdateCheckerModule(),
-				new LoggerModule(),
-				new PatcherModule(),
-				new FeedServiceModule(),
-				new RelatedGamesModule(),
-				new ExtractorModule()
-				);
+		StartupProfiler profiler = StartupProfiler.getInstance();
+		Injector injector;
 
-		MainPresenter launcher = injector.getInstance( MainPresenter.class );
+		try( StartupProfiler.Phase phase = profiler.startPhase( "modules" ) )
+		{
+			injector = Guice.createInjector(
+					new AppModule(),
+					new LauncherPersistenceModule(),
+					new StarterModule(),
+					new PlatformModule(),
+					new ViewModule(),
+					new PresenterModule(),
+					new ScannerModule(),
+					new RepositoryDataModule(),
+					new MachineListerModule(),
+					new ExtensionListerModule(),
+					new ExtraDataModule(),
+					new DatabaseImporterModule(),
+					new GameBuilderModule(),
+					new UpdateCheckerModule(),
+					new LoggerModule(),
+					new PatcherModule(),
+					new FeedServiceModule(),
+					new RelatedGamesModule(),
+					new ExtractorModule()
+					);
+		}
 
+		MainPresenter launcher;
+		try( StartupProfiler.Phase phase = profiler.startPhase( "presenter" ) )
+		{
+			launcher = injector.getInstance( MainPresenter.class );
+		}
+
+		//the startup report is written once the main window is displayed
 		launcher.start();
 	}
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parsed arguments of a single command-line command. Options are given as <code>--name value</code>,
+ * flags as <code>--name</code> and anything else is a positional argument.
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class CommandLineArguments
+{
+	private final String command;
+	private final Map<String,String> options;
+	private final Set<String> flags;
+	private final List<String> positional;
+
+	private CommandLineArguments( String command, Map<String,String> options, Set<String> flags, List<String> positional )
+	{
+		this.command = command;
+		this.options = Collections.unmodifiableMap( options );
+		this.flags = Collections.unmodifiableSet( flags );
+		this.positional = Collections.unmodifiableList( positional );
+	}
+
+	/**
+	 * Parses the arguments that follow the command name
+	 * 
+	 * @param command Command name
+	 * @param args Arguments following the command name
+	 * @param allowedOptions Names of options that take a value, without the leading dashes
+	 * @param allowedFlags Names of flags, without the leading dashes
+	 * @return Parsed arguments
+	 * @throws IllegalArgumentException If an unknown option is given or an option has no value
+	 */
+	static CommandLineArguments parse( String command, List<String> args, Set<String> allowedOptions, Set<String> allowedFlags )
+	{
+		Map<String,String> options = new HashMap<>();
+		Set<String> flags = new HashSet<>();
+		List<String> positional = new ArrayList<>();
+		boolean endOfOptions = false;
+
+		for( int ix = 0; ix < args.size(); ix++ )
+		{
+			String arg = args.get( ix );
+
+			if( endOfOptions || !arg.startsWith( "--" ) )
+			{
+				positional.add( arg );
+			}
+			else if( arg.equals( "--" ) )
+			{
+				endOfOptions = true;
+			}
+			else
+			{
+				String name = arg.substring( 2 );
+
+				if( allowedOptions.contains( name ) )
+				{
+					if( ix + 1 == args.size() )
+					{
+						throw new IllegalArgumentException( "missing value for --" + name );
+					}
+					options.put( name, args.get( ++ix ) );
+				}
+				else if( allowedFlags.contains( name ) )
+				{
+					flags.add( name );
+				}
+				else
+				{
+					throw new IllegalArgumentException( "unknown option --" + name + " for " + command );
+				}
+			}
+		}
+
+		return new CommandLineArguments( command, options, flags, positional );
+	}
+
+	String getCommand()
+	{
+		return command;
+	}
+
+	String getOption( String name )
+	{
+		return options.get( name );
+	}
+
+	String getRequiredOption( String name )
+	{
+		String value = options.get( name );
+
+		if( value == null )
+		{
+			throw new IllegalArgumentException( "--" + name + " is required for " + command );
+		}
+
+		return value;
+	}
+
+	boolean hasFlag( String name )
+	{
+		return flags.contains( name );
+	}
+
+	List<String> getPositional()
+	{
+		return positional;
+	}
+}
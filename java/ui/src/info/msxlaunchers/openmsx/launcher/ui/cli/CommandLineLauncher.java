@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import info.msxlaunchers.openmsx.game.repository.RepositoryDataModule;
+import info.msxlaunchers.openmsx.game.scan.ScannerModule;
+import info.msxlaunchers.openmsx.launcher.builder.GameBuilderModule;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataModule;
+import info.msxlaunchers.openmsx.launcher.importer.DatabaseImporterModule;
+import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceModule;
+import info.msxlaunchers.openmsx.launcher.starter.StarterModule;
+import info.msxlaunchers.openmsx.launcher.ui.AppModule;
+import info.msxlaunchers.platform.PlatformModule;
+
+/**
+ * Main class of the headless command-line mode. It uses the same modules as the main application except the view
+ * and presenter modules and those only needed by them, so no display is required
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public class CommandLineLauncher
+{
+	public static void main( String args[] )
+	{
+		Injector injector = Guice.createInjector(
+				new AppModule(),
+				new LauncherPersistenceModule(),
+				new StarterModule(),
+				new PlatformModule(),
+				new ScannerModule(),
+				new RepositoryDataModule(),
+				new ExtraDataModule(),
+				new DatabaseImporterModule(),
+				new GameBuilderModule()
+				);
+
+		int exitCode = injector.getInstance( CommandLineRunner.class ).run( args, System.out );
+
+		LauncherLogger.flush();
+		System.exit( exitCode );
+	}
+}
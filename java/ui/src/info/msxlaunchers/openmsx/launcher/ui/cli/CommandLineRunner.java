@@ -0,0 +1,578 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.inject.Inject;
+
+import info.msxlaunchers.openmsx.common.metrics.Counter;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
+import info.msxlaunchers.openmsx.game.repository.RepositoryData;
+import info.msxlaunchers.openmsx.game.scan.Scanner;
+import info.msxlaunchers.openmsx.launcher.data.backup.DatabaseBackup;
+import info.msxlaunchers.openmsx.launcher.data.filter.CompiledFilter;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+import info.msxlaunchers.openmsx.launcher.importer.DatabaseImporterFactory;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistence;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
+import info.msxlaunchers.openmsx.launcher.persistence.filter.FilterSetNotFoundException;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceException;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceExceptionIssue;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestReport;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestResult;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestRunner;
+
+/**
+ * Runs a single headless command against the launcher's persistence and scanning services.
+ * Every step is reported through a <code>ProgressPrinter</code> and the outcome is returned as a process exit code.
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class CommandLineRunner
+{
+	static final int EXIT_OK = 0;
+	static final int EXIT_FAILED = 1;
+	static final int EXIT_USAGE = 2;
+
+	private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+	private static final int DEFAULT_SMOKE_TEST_CONCURRENCY = 2;
+	private static final int DEFAULT_SMOKE_TEST_TIMEOUT_SECONDS = 10;
+	private static final String DEFAULT_SMOKE_TEST_REPORT = "smoke-test-report.txt";
+
+	static final String USAGE =
+			"Usage: openmsx-launcher-cli <command> [options]\n" +
+			"\n" +
+			"Commands:\n" +
+			"  scan --database DB --machine M [--new | --append] [--recursive]\n" +
+			"       [--rom] [--disk] [--tape] [--laserdisc] [--openmsx-names] [--backup] PATH...\n" +
+			"      Scans the given paths into a database. Without media flags all media types are searched\n" +
+			"  import-bluemsx --machine M [--on-conflict overwrite|skip|cancel] FILE...\n" +
+			"      Imports blueMSX Launcher databases. Existing databases are skipped by default\n" +
+			"  update-extra-data\n" +
+			"      Updates the extra data of all games in all databases\n" +
+			"  update-machine --to M [--from M] [--database DB] [--backup]\n" +
+			"      Changes the machine of games. Without --from or --database all games or databases are updated\n" +
+			"  backup (--all | DB...)\n" +
+			"      Backs up the given databases\n" +
+			"  restore --database DB [--timestamp \"yyyy-mm-dd hh:mm:ss.fffffffff\"]\n" +
+			"      Restores a backup of a database, the most recent one unless a timestamp is given\n" +
+			"  stats\n" +
+			"      Prints the number of games and backups of every database\n" +
+			"  smoke-test --database DB [--filter NAME] [--concurrency N] [--timeout SECONDS] [--report FILE]\n" +
+			"      Launches the games of a database, or those that pass a saved filter, and reports whether openMSX\n" +
+			"      was still running after the timeout (default 10) with N emulators at a time (default 2).\n" +
+			"      The report is written to FILE (default smoke-test-report.txt). Fails if any game fails\n" +
+			"  help\n" +
+			"      Prints this text\n" +
+			"\n" +
+			"Each event is printed on its own line as: event key=value ...\n" +
+			"Exit codes: 0 success, 1 failure, 2 invalid arguments\n";
+
+	private enum Command
+	{
+		SCAN( "scan", names( "database", "machine" ),
+				names( "new", "append", "recursive", "rom", "disk", "tape", "laserdisc", "openmsx-names", "backup" ) ),
+		IMPORT_BLUEMSX( "import-bluemsx", names( "machine", "on-conflict" ), names() ),
+		UPDATE_EXTRA_DATA( "update-extra-data", names(), names() ),
+		UPDATE_MACHINE( "update-machine", names( "to", "from", "database" ), names( "backup" ) ),
+		BACKUP( "backup", names(), names( "all" ) ),
+		RESTORE( "restore", names( "database", "timestamp" ), names() ),
+		STATS( "stats", names(), names() ),
+		SMOKE_TEST( "smoke-test", names( "database", "filter", "concurrency", "timeout", "report" ), names() );
+
+		private final String commandName;
+		private final Set<String> options;
+		private final Set<String> flags;
+
+		Command( String name, Set<String> options, Set<String> flags )
+		{
+			this.commandName = name;
+			this.options = options;
+			this.flags = flags;
+		}
+
+		static Optional<Command> fromName( String name )
+		{
+			return Arrays.stream( values() ).filter( c -> c.commandName.equals( name ) ).findFirst();
+		}
+	}
+
+	private final LauncherPersistence launcherPersistence;
+	private final Scanner scanner;
+	private final DatabaseImporterFactory databaseImporterFactory;
+	private final ExtraDataGetter extraDataGetter;
+	private final RepositoryData repositoryData;
+	private final SmokeTestRunner smokeTestRunner;
+
+	@Inject
+	CommandLineRunner( LauncherPersistence launcherPersistence,
+			Scanner scanner,
+			DatabaseImporterFactory databaseImporterFactory,
+			ExtraDataGetter extraDataGetter,
+			RepositoryData repositoryData,
+			SmokeTestRunner smokeTestRunner )
+	{
+		this.launcherPersistence = Objects.requireNonNull( launcherPersistence );
+		this.scanner = Objects.requireNonNull( scanner );
+		this.databaseImporterFactory = Objects.requireNonNull( databaseImporterFactory );
+		this.extraDataGetter = Objects.requireNonNull( extraDataGetter );
+		this.repositoryData = Objects.requireNonNull( repositoryData );
+		this.smokeTestRunner = Objects.requireNonNull( smokeTestRunner );
+	}
+
+	/**
+	 * Runs the command given in the arguments
+	 * 
+	 * @param args Command-line arguments, starting with the command name
+	 * @param out Stream that receives the usage text and the progress events
+	 * @return Exit code: <code>EXIT_OK</code>, <code>EXIT_FAILED</code> or <code>EXIT_USAGE</code>
+	 */
+	int run( String[] args, PrintStream out )
+	{
+		if( args.length == 0 || args[0].equals( "help" ) || args[0].equals( "--help" ) )
+		{
+			out.print( USAGE );
+			return args.length == 0 ? EXIT_USAGE : EXIT_OK;
+		}
+
+		ProgressPrinter printer = new ProgressPrinter( out );
+		Optional<Command> command = Command.fromName( args[0] );
+		if( !command.isPresent() )
+		{
+			printer.print( "error", "command", args[0], "issue", "USAGE", "message", "unknown command, run help for the list of commands" );
+			return EXIT_USAGE;
+		}
+
+		CommandLineArguments arguments;
+		try
+		{
+			arguments = CommandLineArguments.parse( command.get().commandName, Arrays.asList( args ).subList( 1, args.length ),
+					command.get().options, command.get().flags );
+			validate( command.get(), arguments );
+		}
+		catch( IllegalArgumentException iae )
+		{
+			printer.print( "error", "command", command.get().commandName, "issue", "USAGE", "message", iae.getMessage() );
+			return EXIT_USAGE;
+		}
+
+		long start = System.nanoTime();
+		printer.print( "start", "command", command.get().commandName );
+
+		try
+		{
+			launcherPersistence.initialize();
+		}
+		catch( LauncherPersistenceException lpe )
+		{
+			printer.print( "error", "command", command.get().commandName, "issue", "PERSISTENCE", "message", getMessage( lpe.getException() ) );
+			return EXIT_FAILED;
+		}
+
+		try
+		{
+			return execute( command.get(), arguments, printer, start );
+		}
+		catch( GamePersistenceException gpe )
+		{
+			printer.print( "error", "command", command.get().commandName, "issue", gpe.getIssue(), "object", gpe.getaffectedObject() );
+			return EXIT_FAILED;
+		}
+		catch( FilterSetNotFoundException fsnfe )
+		{
+			printer.print( "error", "command", command.get().commandName, "issue", "FILTER_NOT_FOUND", "object", fsnfe.getName() );
+			return EXIT_FAILED;
+		}
+		catch( InterruptedException ie )
+		{
+			Thread.currentThread().interrupt();
+			printer.print( "error", "command", command.get().commandName, "issue", "INTERRUPTED" );
+			return EXIT_FAILED;
+		}
+		catch( IOException ioe )
+		{
+			printer.print( "error", "command", command.get().commandName, "issue", "IO", "message", getMessage( ioe ) );
+			return EXIT_FAILED;
+		}
+		finally
+		{
+			try
+			{
+				launcherPersistence.shutdown();
+			}
+			catch( LauncherPersistenceException lpe )
+			{
+				//the command has already finished, nothing to report back
+			}
+
+			extraDataGetter.shutdown();
+		}
+	}
+
+	private static void validate( Command command, CommandLineArguments arguments )
+	{
+		switch( command )
+		{
+			case SCAN:
+				arguments.getRequiredOption( "database" );
+				//games without a machine cannot be saved
+				arguments.getRequiredOption( "machine" );
+				if( arguments.hasFlag( "new" ) && arguments.hasFlag( "append" ) )
+				{
+					throw new IllegalArgumentException( "--new and --append cannot be combined" );
+				}
+				requirePositional( arguments, "at least one path" );
+				break;
+			case IMPORT_BLUEMSX:
+				arguments.getRequiredOption( "machine" );
+				String onConflict = arguments.getOption( "on-conflict" );
+				if( onConflict != null && !names( FixedActionDecider.OVERWRITE, FixedActionDecider.SKIP, FixedActionDecider.CANCEL ).contains( onConflict ) )
+				{
+					throw new IllegalArgumentException( "--on-conflict must be one of overwrite, skip or cancel" );
+				}
+				requirePositional( arguments, "at least one database file" );
+				break;
+			case UPDATE_MACHINE:
+				arguments.getRequiredOption( "to" );
+				break;
+			case BACKUP:
+				if( arguments.hasFlag( "all" ) == !arguments.getPositional().isEmpty() )
+				{
+					throw new IllegalArgumentException( "either --all or database names are required for backup" );
+				}
+				break;
+			case RESTORE:
+				arguments.getRequiredOption( "database" );
+				String timestamp = arguments.getOption( "timestamp" );
+				if( timestamp != null )
+				{
+					Timestamp.valueOf( timestamp );
+				}
+				break;
+			case SMOKE_TEST:
+				arguments.getRequiredOption( "database" );
+				getPositiveNumber( arguments, "concurrency", DEFAULT_SMOKE_TEST_CONCURRENCY );
+				getPositiveNumber( arguments, "timeout", DEFAULT_SMOKE_TEST_TIMEOUT_SECONDS );
+				break;
+			default:
+				//no arguments to check
+		}
+
+		if( command != Command.SCAN && command != Command.IMPORT_BLUEMSX && command != Command.BACKUP && !arguments.getPositional().isEmpty() )
+		{
+			throw new IllegalArgumentException( "unexpected argument " + arguments.getPositional().get( 0 ) );
+		}
+	}
+
+	private static void requirePositional( CommandLineArguments arguments, String description )
+	{
+		if( arguments.getPositional().isEmpty() )
+		{
+			throw new IllegalArgumentException( description + " is required for " + arguments.getCommand() );
+		}
+	}
+
+	private static int getPositiveNumber( CommandLineArguments arguments, String option, int defaultValue )
+	{
+		String value = arguments.getOption( option );
+		if( value == null )
+		{
+			return defaultValue;
+		}
+
+		try
+		{
+			int number = Integer.parseInt( value );
+			if( number > 0 )
+			{
+				return number;
+			}
+		}
+		catch( NumberFormatException nfe )
+		{
+			//reported below
+		}
+
+		throw new IllegalArgumentException( "--" + option + " must be a positive number" );
+	}
+
+	private int execute( Command command, CommandLineArguments arguments, ProgressPrinter printer, long start )
+			throws GamePersistenceException, FilterSetNotFoundException, IOException, InterruptedException
+	{
+		if( command == Command.SMOKE_TEST )
+		{
+			return smokeTest( arguments, printer, start );
+		}
+
+		switch( command )
+		{
+			case SCAN:
+				scan( arguments, printer, start );
+				break;
+			case IMPORT_BLUEMSX:
+				importBlueMSXDatabases( arguments, printer, start );
+				break;
+			case UPDATE_EXTRA_DATA:
+				updateExtraData( printer, start );
+				break;
+			case UPDATE_MACHINE:
+				updateMachine( arguments, printer, start );
+				break;
+			case BACKUP:
+				backup( arguments, printer, start );
+				break;
+			case RESTORE:
+				restore( arguments, printer, start );
+				break;
+			case STATS:
+				stats( printer, start );
+				break;
+			default:
+				throw new IllegalStateException( command.commandName );
+		}
+
+		return EXIT_OK;
+	}
+
+	private void scan( CommandLineArguments arguments, ProgressPrinter printer, long start ) throws GamePersistenceException, IOException
+	{
+		String database = arguments.getRequiredOption( "database" );
+		boolean anyMedia = arguments.hasFlag( "rom" ) || arguments.hasFlag( "disk" ) || arguments.hasFlag( "tape" ) || arguments.hasFlag( "laserdisc" );
+
+		//the scanner does not report progress itself, so sample the files counter it maintains
+		Counter files = MetricsRegistry.getInstance().counter( "scan.files" );
+		long filesBefore = files.getCount();
+		ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "cli-scan-progress" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		ticker.scheduleAtFixedRate( () -> printer.print( "progress", "command", "scan", "files", files.getCount() - filesBefore,
+				"elapsedMillis", elapsedMillis( start ) ), PROGRESS_INTERVAL_MILLIS, PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS );
+
+		int games;
+		try
+		{
+			games = scanner.scan( arguments.getPositional().toArray( new String[0] ),
+					arguments.hasFlag( "recursive" ),
+					database,
+					arguments.hasFlag( "new" ),
+					arguments.hasFlag( "append" ),
+					arguments.getRequiredOption( "machine" ),
+					!anyMedia || arguments.hasFlag( "rom" ),
+					!anyMedia || arguments.hasFlag( "disk" ),
+					!anyMedia || arguments.hasFlag( "tape" ),
+					!anyMedia || arguments.hasFlag( "laserdisc" ),
+					arguments.hasFlag( "openmsx-names" ),
+					arguments.hasFlag( "backup" ) );
+		}
+		finally
+		{
+			ticker.shutdownNow();
+		}
+
+		printer.print( "done", "command", "scan", "database", database, "games", games, "files", files.getCount() - filesBefore,
+				"elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void importBlueMSXDatabases( CommandLineArguments arguments, ProgressPrinter printer, long start ) throws IOException
+	{
+		String onConflict = arguments.getOption( "on-conflict" );
+		File[] databases = arguments.getPositional().stream().map( File::new ).toArray( File[]::new );
+
+		Set<String> imported = databaseImporterFactory.create( arguments.getRequiredOption( "machine" ) )
+				.importDatabases( databases, new FixedActionDecider( onConflict == null ? FixedActionDecider.SKIP : onConflict, printer ) );
+
+		for( String database: new TreeSet<>( imported ) )
+		{
+			printer.print( "imported", "command", "import-bluemsx", "database", database );
+		}
+		printer.print( "done", "command", "import-bluemsx", "databases", imported.size(), "elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void updateExtraData( ProgressPrinter printer, long start ) throws GamePersistenceException, IOException
+	{
+		int games = launcherPersistence.getGamePersister().updateGameExtraDataInDatabases( extraDataGetter.getExtraData() );
+
+		printer.print( "done", "command", "update-extra-data", "games", games, "elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void updateMachine( CommandLineArguments arguments, ProgressPrinter printer, long start ) throws GamePersistenceException
+	{
+		int games = launcherPersistence.getGamePersister().updateMachine( arguments.getRequiredOption( "to" ),
+				arguments.getOption( "from" ), arguments.getOption( "database" ), arguments.hasFlag( "backup" ) );
+
+		printer.print( "done", "command", "update-machine", "games", games, "elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void backup( CommandLineArguments arguments, ProgressPrinter printer, long start ) throws GamePersistenceException
+	{
+		GamePersister gamePersister = launcherPersistence.getGamePersister();
+		List<String> databases = arguments.hasFlag( "all" ) ? sorted( gamePersister.getDatabases() ) : arguments.getPositional();
+
+		for( String database: databases )
+		{
+			DatabaseBackup backup = gamePersister.backupDatabase( database );
+			printer.print( "backup", "command", "backup", "database", backup.getDatabase(), "timestamp", backup.getTimestamp() );
+		}
+		printer.print( "done", "command", "backup", "databases", databases.size(), "elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void restore( CommandLineArguments arguments, ProgressPrinter printer, long start ) throws GamePersistenceException
+	{
+		GamePersister gamePersister = launcherPersistence.getGamePersister();
+		String database = arguments.getRequiredOption( "database" );
+		String timestamp = arguments.getOption( "timestamp" );
+
+		Optional<DatabaseBackup> backup;
+		if( timestamp == null )
+		{
+			backup = gamePersister.getBackups( database ).stream().max( Comparator.comparing( DatabaseBackup::getTimestamp ) );
+		}
+		else
+		{
+			Timestamp wanted = Timestamp.valueOf( timestamp );
+			backup = gamePersister.getBackups( database ).stream().filter( b -> b.getTimestamp().equals( wanted ) ).findFirst();
+		}
+
+		if( !backup.isPresent() )
+		{
+			throw new GamePersistenceException( GamePersistenceExceptionIssue.BACKUP_NOT_FOUND, database );
+		}
+
+		gamePersister.restoreBackup( backup.get() );
+
+		printer.print( "done", "command", "restore", "database", database, "timestamp", backup.get().getTimestamp(),
+				"elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private void stats( ProgressPrinter printer, long start ) throws GamePersistenceException
+	{
+		GamePersister gamePersister = launcherPersistence.getGamePersister();
+		List<String> databases = sorted( gamePersister.getDatabases() );
+		int totalGames = 0;
+
+		for( String database: databases )
+		{
+			int games = gamePersister.getGames( database ).size();
+			totalGames += games;
+			printer.print( "database", "command", "stats", "name", database, "games", games,
+					"backups", gamePersister.getBackups( database ).size() );
+		}
+		printer.print( "done", "command", "stats", "databases", databases.size(), "games", totalGames, "elapsedMillis", elapsedMillis( start ) );
+	}
+
+	private int smokeTest( CommandLineArguments arguments, ProgressPrinter printer, long start )
+			throws GamePersistenceException, FilterSetNotFoundException, IOException, InterruptedException
+	{
+		String database = arguments.getRequiredOption( "database" );
+		String filterName = arguments.getOption( "filter" );
+		String reportFile = Optional.ofNullable( arguments.getOption( "report" ) ).orElse( DEFAULT_SMOKE_TEST_REPORT );
+		int concurrency = getPositiveNumber( arguments, "concurrency", DEFAULT_SMOKE_TEST_CONCURRENCY );
+		int timeout = getPositiveNumber( arguments, "timeout", DEFAULT_SMOKE_TEST_TIMEOUT_SECONDS );
+
+		Set<Filter> filters = filterName == null ? Collections.emptySet() : launcherPersistence.getFiltersPersister().getFilter( filterName );
+		Collection<Game> games = launcherPersistence.getGamePersister().getGames( database, filters );
+
+		//the database doesn't evaluate the filters that need the repository info, so apply the full set here
+		CompiledFilter compiledFilter = CompiledFilter.compile( filters );
+		if( !compiledFilter.isEmpty() )
+		{
+			Map<String,RepositoryGame> repositoryInfo = repositoryData.getRepositoryInfo();
+			games = games.stream().filter( game -> !compiledFilter.isFiltered( game, repositoryInfo ) ).collect( Collectors.toList() );
+		}
+
+		//launch in name order so that the report and the events are stable between runs
+		List<Game> sortedGames = games.stream().sorted( Comparator.comparing( Game::getName ) ).collect( Collectors.toList() );
+		printer.print( "progress", "command", "smoke-test", "database", database, "games", sortedGames.size(),
+				"elapsedMillis", elapsedMillis( start ) );
+
+		SmokeTestReport report = smokeTestRunner.run( launcherPersistence.getSettingsPersister().getSettings(), sortedGames, concurrency,
+				timeout, TimeUnit.SECONDS );
+
+		for( SmokeTestResult result: report.getResults() )
+		{
+			printer.print( "game", "command", "smoke-test", "name", result.getGameName(), "status", result.getStatus(),
+					"exitCode", result.getExitCode(), "durationMillis", result.getDurationMillis() );
+		}
+
+		try( Writer writer = Files.newBufferedWriter( Paths.get( reportFile ), StandardCharsets.UTF_8 ) )
+		{
+			report.write( writer );
+		}
+
+		printer.print( "done", "command", "smoke-test", "database", database, "games", report.getResults().size(),
+				"passed", report.getPassedCount(), "failed", report.getFailedCount(), "report", reportFile, "elapsedMillis", elapsedMillis( start ) );
+
+		return report.getFailedCount() == 0 ? EXIT_OK : EXIT_FAILED;
+	}
+
+	private static List<String> sorted( Set<String> names )
+	{
+		return Collections.unmodifiableList( Arrays.asList( new TreeSet<>( names ).toArray( new String[0] ) ) );
+	}
+
+	private static long elapsedMillis( long start )
+	{
+		return TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+	}
+
+	private static String getMessage( Exception exception )
+	{
+		if( exception == null )
+		{
+			return null;
+		}
+
+		//some exceptions, e.g. a FileNotFoundException for a missing data file, carry no message
+		String message = exception.getMessage();
+		return message == null || message.isEmpty() ? exception.getClass().getSimpleName() : message;
+	}
+
+	private static Set<String> names( String... names )
+	{
+		return Collections.unmodifiableSet( new HashSet<>( Arrays.asList( names ) ) );
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import info.msxlaunchers.openmsx.common.ActionDecider;
+
+/**
+ * Implementation of the <code>ActionDecider</code> that answers every prompt with the same choice given on the command line,
+ * since there is nobody to ask when running unattended. Each decision is reported as a <code>conflict</code> event.
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class FixedActionDecider extends ActionDecider
+{
+	static final String OVERWRITE = "overwrite";
+	static final String SKIP = "skip";
+	static final String CANCEL = "cancel";
+
+	private static final int CHOICE_YES = 0;
+	private static final int CHOICE_NO = 2;
+	private static final int CHOICE_CANCEL = 4;
+
+	private final String action;
+	private final int choice;
+	private final ProgressPrinter printer;
+
+	FixedActionDecider( String action, ProgressPrinter printer )
+	{
+		switch( action )
+		{
+			case OVERWRITE:
+				choice = CHOICE_YES;
+				break;
+			case SKIP:
+				choice = CHOICE_NO;
+				break;
+			case CANCEL:
+				choice = CHOICE_CANCEL;
+				break;
+			default:
+				throw new IllegalArgumentException( "unknown conflict action: " + action );
+		}
+
+		this.action = action;
+		this.printer = printer;
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.common.ActionDecider#promptForAction(java.lang.String)
+	 */
+	@Override
+	public void promptForAction( String nameOfDuplicate )
+	{
+		printer.print( "conflict", "name", nameOfDuplicate, "action", action );
+
+		processChoice( choice );
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import java.io.PrintStream;
+
+/**
+ * Writes one event per line in <code>event key=value ...</code> form so that batch scripts can parse the output.
+ * Values that contain spaces, quotes, equal signs or line breaks are double-quoted and escaped.
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class ProgressPrinter
+{
+	private final PrintStream out;
+
+	ProgressPrinter( PrintStream out )
+	{
+		this.out = out;
+	}
+
+	/**
+	 * Prints an event line
+	 * 
+	 * @param event Event name
+	 * @param keyValues Alternating keys and values. A null value is printed as an empty quoted string
+	 */
+	void print( String event, Object... keyValues )
+	{
+		StringBuilder line = new StringBuilder( event );
+
+		for( int ix = 0; ix + 1 < keyValues.length; ix += 2 )
+		{
+			line.append( ' ' ).append( keyValues[ix] ).append( '=' ).append( format( keyValues[ix + 1] ) );
+		}
+
+		//several threads may report at once, e.g. the scan progress ticker
+		synchronized( out )
+		{
+			out.println( line );
+			out.flush();
+		}
+	}
+
+	static String format( Object value )
+	{
+		String text = value == null ? "" : value.toString();
+
+		if( !text.isEmpty() && !needsQuotes( text ) )
+		{
+			return text;
+		}
+
+		StringBuilder quoted = new StringBuilder( text.length() + 2 ).append( '"' );
+		for( char c: text.toCharArray() )
+		{
+			switch( c )
+			{
+				case '"':
+				case '\\':
+					quoted.append( '\\' ).append( c );
+					break;
+				case '\n':
+					quoted.append( "\\n" );
+					break;
+				case '\r':
+					quoted.append( "\\r" );
+					break;
+				case '\t':
+					quoted.append( "\\t" );
+					break;
+				default:
+					quoted.append( c );
+			}
+		}
+
+		return quoted.append( '"' ).toString();
+	}
+
+	private static boolean needsQuotes( String text )
+	{
+		for( char c: text.toCharArray() )
+		{
+			if( c <= ' ' || c == '"' || c == '=' || c == '\\' )
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -15,10 +15,12 @@
  */
 package info.msxlaunchers.openmsx.launcher.ui.presenter;
 
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
 import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.log.analyser.LogAnalyser;
 import info.msxlaunchers.openmsx.launcher.ui.view.ActivityViewerView;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -50,7 +52,8 @@ final class ActivityViewerPresenterImpl implements ActivityViewerPresenter
 	@Override
 	public void onRequestActivityViewerScreen( Language currentLanguage, boolean currentRightToLeft )
 	{
-		Map<String,List<String[]>> logData = logAnalyser.getProcessedData();
+		Map<String,List<String[]>> logData = new HashMap<>( logAnalyser.getProcessedData() );
+		logData.put( "METRICS", MetricsRegistry.getInstance().getSummaries() );
 
 		view.displayActivityViewerScreen( logData, currentLanguage, currentRightToLeft );
 	}
@@ -40,7 +40,8 @@ public final class GameLabel implements Comparable<GameLabel>
 		this.company = company;
 		this.year = year;
 		this.size = size;
-		this.medium = Objects.requireNonNull( medium );
+		//null for a game that has none of the known media, e.g. one that only has an extension
+		this.medium = medium;
 	}
 
 	public String getName() { return name; }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+/**
+ * Orders the game list can be sorted in. Games that are equal in an order are sorted by name
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+public enum GameListOrder
+{
+	NAME,
+	COMPANY,
+	YEAR,
+	SIZE,
+	MEDIUM
+}
@@ -21,6 +21,9 @@ import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -65,18 +68,48 @@ public interface MainPresenter
 	 */
 	void onSelectGames( Set<String> gameNames );
 
+	/**
+	 * Called when the view expects that the screenshots of the given games will be shown next (e.g. games next to the selected one)
+	 * 
+	 * @param gameNames List of game names whose screenshots can be loaded ahead of time
+	 */
+	void onRequestPrefetchScreenshots( List<String> gameNames );
+
+	/**
+	 * Called when the view needs a screenshot to represent a game (e.g. as a thumbnail)
+	 * 
+	 * @param gameName Game name
+	 * @return Full path to the game's first screenshot or null if it doesn't have one
+	 */
+	String onRequestGameScreenshot( String gameName );
+
+	/**
+	 * Called when the user selects the order to sort the game list in
+	 * 
+	 * @param order Sort order
+	 * @param selectedGame Name of the selected game, to keep it selected after sorting. Can be null
+	 */
+	void onSelectGameListOrder( GameListOrder order, String selectedGame );
+
+	/**
+	 * Called each time the user changes the text of the type-ahead filter, to show only the games that match it
+	 * 
+	 * @param text Text of the filter. An empty text shows all games
+	 */
+	void onRequestTypeAheadFilter( String text );
+
 	/**
 	 * Resets all buttons to initial state
 	 */
 	void resetAll();
 
 	/**
-	 * Called when user launches openMSX with selected game
+	 * Called when user launches openMSX with selected game. openMSX is started in the background and the view is only told
+	 * if it could not be
 	 * 
 	 * @param gameName Name of game to launch
-	 * @throws LauncherException
 	 */
-	void onLaunchGame( String gameName ) throws LauncherException;
+	void onLaunchGame( String gameName );
 
 	/**
 	 * Called when user requests the add game screen (e.g. by clicking on the Add Game button)
@@ -209,6 +242,18 @@ public interface MainPresenter
 	 */
 	void onRequestFindRelated( String gameName ) throws LauncherException;
 
+	/**
+	 * Called when user requests to apply the current filter to all databases. The databases are searched in the background
+	 * and the view is given the results when done
+	 */
+	void onRequestFilterAllDatabasesScreen();
+
+	/**
+	 * Called when user requests to precompute related games for all games in the current database. The games are precomputed in
+	 * the background and the view is told the outcome when done
+	 */
+	void onRequestPrecomputeRelatedGames();
+
 	/**
 	 * Called when user requests the current list of favorites
 	 */
@@ -256,6 +301,15 @@ public interface MainPresenter
 	 */
 	void onSelectQuickFilter( Filter filter ) throws LauncherException;
 
+	/**
+	 * Returns how many games of the current database pass each of the given filters on its own
+	 * 
+	 * @param filters Filters to count games for, e.g. the quick filters
+	 * @return Unmodifiable map of the given filters to their game counts. Empty if no database is selected, its games cannot be read
+	 * or they are still being indexed in the background
+	 */
+	Map<Filter,Integer> onRequestFacetCounts( Collection<Filter> filters );
+
 	/**
 	 * Called when user requests to delete selected a filter by name
 	 * 
@@ -19,17 +19,24 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.inject.Inject;
@@ -39,12 +46,16 @@ import com.google.inject.name.Named;
 
 import info.msxlaunchers.openmsx.common.ExternalLinksUtils;
 import info.msxlaunchers.openmsx.common.FileTypeUtils;
+import info.msxlaunchers.openmsx.common.OSUtils;
 import info.msxlaunchers.openmsx.common.Utils;
+import info.msxlaunchers.openmsx.common.metrics.MetricsRegistry;
 import info.msxlaunchers.openmsx.common.version.VersionUtils;
 import info.msxlaunchers.openmsx.game.repository.RepositoryData;
 import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.filter.CompiledFilter;
 import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
 import info.msxlaunchers.openmsx.launcher.data.filter.FilterFactory;
+import info.msxlaunchers.openmsx.launcher.data.filter.GameAttributeIndex;
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
 import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
@@ -54,6 +65,9 @@ import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
 import info.msxlaunchers.openmsx.launcher.log.LauncherLogger;
 import info.msxlaunchers.openmsx.launcher.log.LogEvent;
+import info.msxlaunchers.openmsx.launcher.log.StartupProfiler;
+import info.msxlaunchers.openmsx.launcher.log.analyser.LaunchHistory;
+import info.msxlaunchers.openmsx.launcher.log.analyser.PlaySessionTracker;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistence;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
 import info.msxlaunchers.openmsx.launcher.persistence.favorite.FavoritePersistenceException;
@@ -97,13 +111,17 @@ final class MainPresenterImpl implements MainPresenter
 	private final FeedServicePresenter feedServicePresenter;
 	private final Provider<RelatedGamesPresenter> relatedGamesPresenterFactory;
 	private final Provider<LHAExtractorPresenter> lhaExtractorPresenterFactory;
+	private final LaunchHistory launchHistory;
+	private final PlaySessionTracker playSessionTracker;
+	private final Executor backgroundExecutor;
+	private final Executor viewExecutor;
 
-	private static final String SCREENSHOT_EXT = ".png";
 	private static final String SCREENSHOT1_SUFFIX = "a";
 	private static final String SCREENSHOT2_SUFFIX = "b";
 
 	private static final String DEFAULT_SYSTEM_LANGUAGE = "SYSTEM_DEFAULT";
 	private static final int MAX_SEARCH_MATCHES = 10;
+	private static final String METRICS_FILENAME = "metrics.json";
 
 	//the following fields represent the model
 	private Settings settings;
@@ -116,8 +134,25 @@ final class MainPresenterImpl implements MainPresenter
 	private Set<String> databases = null;
 	private String currentDatabase = null;;
 	private Map<String,Game> gamesMap = null;
+	private GameAttributeIndex gameAttributeIndex = null;
+	//incremented each time the games of the current database change - an index built in the background for an older value is dropped
+	private long gameAttributeIndexVersion = 0;
+	private long pendingGameAttributeIndexVersion = -1;
+	private SortedGameList sortedGameList = null;
+	private GameListOrder gameListOrder = GameListOrder.NAME;
+	private TypeAheadFilter typeAheadFilter = TypeAheadFilter.NONE;
 	private String openMSXMachinesFullPath = null;
 	private Map<String,RepositoryGame> repositoryInfoMap;
+	private ScreenshotIndex screenshotIndex = null;
+	//screenshots path of the index that is being built or was last built
+	private String screenshotIndexPath = null;
+	//selected game that was shown without screenshots because the index wasn't ready yet
+	private String gameAwaitingScreenshots = null;
+
+	//incremented with each request to reload the game list - loads started for an older value are dropped
+	private final AtomicLong gameListGeneration = new AtomicLong();
+	private String requestedDatabase = null;
+	private boolean gameListLoading = false;
 
 	private Set<Filter> currentFilter = null;
 	private String currentFilterName = null;
@@ -146,7 +181,11 @@ final class MainPresenterImpl implements MainPresenter
 			MachineUpdatePresenterFactory machineUpdatePresenterFactory,
 			FeedServicePresenter feedServicePresenter,
 			Provider<RelatedGamesPresenter> relatedGamesPresenterFactory,
-			Provider<LHAExtractorPresenter> lhaExtractorPresenterFactory ) throws IOException
+			Provider<LHAExtractorPresenter> lhaExtractorPresenterFactory,
+			LaunchHistory launchHistory,
+			PlaySessionTracker playSessionTracker,
+			@Named("BackgroundExecutor") Executor backgroundExecutor,
+			@Named("ViewExecutor") Executor viewExecutor ) throws IOException
 	{
 		this.view = Objects.requireNonNull( view );
 		this.settingsPresenterFactory = Objects.requireNonNull( settingsPresenterFactory );
@@ -170,8 +209,14 @@ final class MainPresenterImpl implements MainPresenter
 		this.feedServicePresenter = Objects.requireNonNull( feedServicePresenter );
 		this.relatedGamesPresenterFactory = Objects.requireNonNull( relatedGamesPresenterFactory );
 		this.lhaExtractorPresenterFactory = Objects.requireNonNull( lhaExtractorPresenterFactory );
+		this.launchHistory = Objects.requireNonNull( launchHistory );
+		this.playSessionTracker = Objects.requireNonNull( playSessionTracker );
+		this.backgroundExecutor = Objects.requireNonNull( backgroundExecutor );
+		this.viewExecutor = Objects.requireNonNull( viewExecutor );
 
-		try
+		StartupProfiler profiler = StartupProfiler.getInstance();
+
+		try( StartupProfiler.Phase phase = profiler.startPhase( "derby" ) )
 		{
 			launcherPersistence.initialize();
 		}
@@ -183,7 +228,7 @@ final class MainPresenterImpl implements MainPresenter
 			throw new IOException();
 		}
 
-		try
+		try( StartupProfiler.Phase phase = profiler.startPhase( "settings" ) )
 		{
 			this.settings = launcherPersistence.getSettingsPersister().getSettings();
 		}
@@ -195,6 +240,27 @@ final class MainPresenterImpl implements MainPresenter
 			throw ioe;
 		}
 
+		//the repository XML files are parsed and the extra data is loaded while the databases are read. The ROM repository
+		//location comes from the settings, so this cannot start before they are read
+		FutureTask<Map<String,RepositoryGame>> repositoryInfo = new FutureTask<>( () -> {
+			try( StartupProfiler.Phase phase = profiler.startPhase( "repository" ) )
+			{
+				return readRepositoryInfo();
+			}
+		} );
+		backgroundExecutor.execute( repositoryInfo );
+		backgroundExecutor.execute( () -> {
+			try( StartupProfiler.Phase phase = profiler.startPhase( "extra-data" ) )
+			{
+				//only loads and caches the extra data so that the first scan or game addition does not have to
+				extraDataGetter.getExtraData();
+			}
+			catch( IOException ioe )
+			{
+				//it will be read again when needed
+			}
+		} );
+
 		setLanguageParameters( settings.getLanguage() );
 
 		databases = launcherPersistence.getGamePersister().getDatabases().stream()
@@ -220,11 +286,12 @@ final class MainPresenterImpl implements MainPresenter
 			//then the current database will remain null
 		}
 
+		Set<Game> games = null;
 		if( currentDatabase != null )
 		{
-			try
+			try( StartupProfiler.Phase phase = profiler.startPhase( "games" ) )
 			{
-				retrieveDatabaseGames();
+				games = launcherPersistence.getGamePersister().getGames( currentDatabase );
 			}
 			catch ( GamePersistenceException gpe )
 			{
@@ -241,7 +308,19 @@ final class MainPresenterImpl implements MainPresenter
 		}
 
 		openMSXMachinesFullPath = settings.getOpenMSXMachinesFullPath();
-		initializeRepositoryInfoMap();
+		//if the background executor has not got to it yet then it is read here. Running a task that already ran does nothing
+		repositoryInfo.run();
+		repositoryInfoMap = getStartupResult( repositoryInfo );
+
+		//the index is built once the repository info is available so that it is not built twice
+		if( games != null )
+		{
+			try( StartupProfiler.Phase phase = profiler.startPhase( "index" ) )
+			{
+				gameAttributeIndex = GameAttributeIndex.build( games, repositoryInfoMap );
+				applyCurrentFilter();
+			}
+		}
 	}
 
 	/* (non-Javadoc)
@@ -250,7 +329,9 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void start()
 	{
-		view.displayMain( currentLanguage, getSortedGameList(), databases, currentDatabase, currentRightToLeft, showUpdateAllDatabases,
+		refreshScreenshotIndex();
+
+		view.displayMain( currentLanguage, getDisplayedGames(), databases, currentDatabase, currentRightToLeft, showUpdateAllDatabases,
 				settings.isEnableFeedService() );
 	}
 
@@ -273,6 +354,11 @@ final class MainPresenterImpl implements MainPresenter
 		Settings oldSettings = this.settings;
 		this.settings = newSettings;
 
+		if( !Utils.equalStrings( oldSettings.getScreenshotsFullPath(), settings.getScreenshotsFullPath() ) )
+		{
+			refreshScreenshotIndex();
+		}
+
 		//check if the openMSX path changed so we reload the Repository Info Map
 		if( !Utils.equalStrings( this.openMSXMachinesFullPath, settings.getOpenMSXMachinesFullPath() ) )
 		{
@@ -326,11 +412,10 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onSelectDatabase( String database ) throws LauncherException
 	{
-		if( database != null && !database.equals( currentDatabase ) )
+		if( database != null && !database.equals( getRequestedDatabase() ) )
 		{
-			currentDatabase = database;
-
-			populateGameList();
+			reloadGameListInBackground( database, null, null );
+			refreshScreenshotIndex();
 		}
 	}
 
@@ -338,20 +423,39 @@ final class MainPresenterImpl implements MainPresenter
 	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onLaunchGame(java.lang.String)
 	 */
 	@Override
-	public void onLaunchGame( String gameName ) throws LauncherException
+	public void onLaunchGame( String gameName )
 	{
-		try
-		{
-			emulatorStarter.start( settings, gamesMap.get( gameName ) );
+		Settings launchSettings = settings;
+		Game game = gamesMap.get( gameName );
+		String database = currentDatabase;
 
-			LauncherLogger.logMessage( LogEvent.LAUNCH, gameName + "[" + currentDatabase + "]" );
-		}
-		catch ( IOException ioe )
-		{
-			LauncherLogger.logException( this, ioe );
+		//starting openMSX, or switching the running one to the game, can wait for openMSX to reply, so it is not done on the view's thread
+		backgroundExecutor.execute( () -> {
+			Process process;
+			try
+			{
+				process = emulatorStarter.start( launchSettings, game );
+			}
+			catch ( IOException ioe )
+			{
+				LauncherLogger.logException( this, ioe );
 
-			throw new LauncherException( LauncherExceptionCode.ERR_CANNOT_START_OPENMSX );
-		}
+				viewExecutor.execute( () -> view.displayLaunchError( new LauncherException( LauncherExceptionCode.ERR_CANNOT_START_OPENMSX ) ) );
+				return;
+			}
+
+			LauncherLogger.logMessage( LogEvent.LAUNCH, gameName + "[" + database + "]" );
+			playSessionTracker.track( process, gameName, database );
+
+			try
+			{
+				launchHistory.recordLaunch( gameName, database );
+			}
+			catch( IOException ioe )
+			{
+				LauncherLogger.logException( this, ioe );
+			}
+		} );
 	}
 
 	/* (non-Javadoc)
@@ -387,8 +491,10 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onAcceptAddGameSaveAction( Game game ) throws LauncherException
 	{
-		gamesMap.put( game.getName(), game );
-		view.fillGameList( currentDatabase, getSortedGameList(), game.getName() );
+		SortedGameList sortedGames = getSortedGameList();
+		Game replacedGame = gamesMap.put( game.getName(), game );
+		invalidateGameAttributeIndex();
+		updateGameInList( sortedGames, replacedGame, game );
 	}
 
 	/* (non-Javadoc)
@@ -397,9 +503,41 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onAcceptEditGameSaveAction( String oldName, Game game ) throws LauncherException
 	{
-		gamesMap.remove( oldName );
+		SortedGameList sortedGames = getSortedGameList();
+		Game oldGame = gamesMap.remove( oldName );
 		gamesMap.put( game.getName(),  game );
-		view.fillGameList( currentDatabase, getSortedGameList(), game.getName() );
+		invalidateGameAttributeIndex();
+		updateGameInList( sortedGames, oldGame, game );
+	}
+
+	/*
+	 * Updates only the row of the changed game instead of sorting and refilling the whole game list
+	 */
+	private void updateGameInList( SortedGameList sortedGames, Game oldGame, Game newGame )
+	{
+		GameLabel gameLabel = getGameLabel( newGame, repositoryInfoMap );
+
+		if( !typeAheadFilter.isEmpty() )
+		{
+			//the list only shows the games that match the type-ahead filter, so the positions in the sorted list don't apply
+			if( oldGame != null )
+			{
+				sortedGames.remove( oldGame.getName(), gameListOrder );
+			}
+			sortedGames.add( gameLabel, gameListOrder );
+			view.fillGameList( currentDatabase, getDisplayedGames(), newGame.getName() );
+		}
+		else if( oldGame == null )
+		{
+			view.addGameToList( gameLabel, sortedGames.add( gameLabel, gameListOrder ) );
+			view.updateGameCount( gamesMap.size() );
+		}
+		else
+		{
+			int oldIndex = sortedGames.remove( oldGame.getName(), gameListOrder );
+			view.replaceGameInList( oldIndex, gameLabel, sortedGames.add( gameLabel, gameListOrder ) );
+			view.updateGameCount( gamesMap.size() );
+		}
 	}
 
 	/* (non-Javadoc)
@@ -414,7 +552,9 @@ final class MainPresenterImpl implements MainPresenter
 		gameNames.forEach( gameName -> {
 			games.add( gamesMap.get( gameName ) );
 			gamesMap.remove( gameName );
+			removeFromSortedGameList( gameName );
 			} );
+		invalidateGameAttributeIndex();
 
 		try
 		{
@@ -436,7 +576,7 @@ final class MainPresenterImpl implements MainPresenter
 			}
 		}
 
-		view.updateGameCount( gamesMap.size() );
+		view.updateGameCount( getDisplayedGameCount() );
 	}
 
 	/* (non-Javadoc)
@@ -445,6 +585,8 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onSelectGames( Set<String> gameNames )
 	{
+		gameAwaitingScreenshots = null;
+
 		if( currentDatabase == null )
 		{
 			//this happens when the last database is deleted
@@ -463,53 +605,16 @@ final class MainPresenterImpl implements MainPresenter
 			//this is the single selection case
 			Game game = gamesMap.get( gameNames.iterator().next() );
 
-			String screenshot1 = null;
-			String screenshot2 = null;
-
 			if( game != null )
 			{
-				String screenshotsPath = settings.getScreenshotsFullPath();
-				if( screenshotsPath != null )
+				String[] screenshots = getScreenshots( game );
+				if( !isScreenshotIndexReady() )
 				{
-					int msxGenID = game.getMsxGenID();
-					if( msxGenID > 0 )
-					{
-						StringBuilder screenshot1Filename = new StringBuilder( Utils.getString( msxGenID ) )
-															.append( SCREENSHOT1_SUFFIX );
-						String screenshotSuffix = game.getScreenshotSuffix();
-						if( screenshotSuffix != null )
-						{
-							screenshot1Filename.append( screenshotSuffix );
-						}
-						screenshot1Filename.append( SCREENSHOT_EXT );
-
-						File screenshot1File = new File( screenshotsPath, screenshot1Filename.toString() );
-						if( screenshot1File.isFile() )
-						{
-							screenshot1 = screenshot1File.toString();
-	
-							StringBuilder screenshot2Filename = new StringBuilder( Utils.getString( msxGenID ) )
-																.append( SCREENSHOT2_SUFFIX );
-							if( screenshotSuffix != null )
-							{
-								screenshot2Filename.append( screenshotSuffix );
-							}
-							screenshot2Filename.append( SCREENSHOT_EXT );
-	
-							File screenshot2File = new File( screenshotsPath, screenshot2Filename.toString() );
-							if( screenshot2File.isFile() )
-							{
-								screenshot2 = screenshot2File.toString();
-							}
-						}
-					}
-	
-					view.showGameScreenshots( screenshot1, screenshot2  );
-				}
-				else
-				{
-					view.showGameScreenshots( null, null  );
+					//they're shown once the index is built
+					gameAwaitingScreenshots = game.getName();
 				}
+
+				view.showGameScreenshots( screenshots[0], screenshots[1] );
 				
 				//enable buttons and indicators according to the selection
 				view.enableButtons( true,  true, true, true, game.getInfo() != null );
@@ -520,6 +625,67 @@ final class MainPresenterImpl implements MainPresenter
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestPrefetchScreenshots(java.util.List)
+	 */
+	@Override
+	public void onRequestPrefetchScreenshots( List<String> gameNames )
+	{
+		if( gamesMap == null )
+		{
+			return;
+		}
+
+		List<String> screenshots = new ArrayList<>();
+		for( String gameName: gameNames )
+		{
+			Game game = gamesMap.get( gameName );
+			if( game != null )
+			{
+				Arrays.stream( getScreenshots( game ) ).filter( Objects::nonNull ).forEach( screenshots::add );
+			}
+		}
+
+		if( !screenshots.isEmpty() )
+		{
+			view.prefetchGameScreenshots( screenshots );
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestGameScreenshot(java.lang.String)
+	 */
+	@Override
+	public String onRequestGameScreenshot( String gameName )
+	{
+		Game game = gamesMap == null ? null : gamesMap.get( gameName );
+
+		return game == null ? null : getScreenshots( game )[0];
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onSelectGameListOrder(info.msxlaunchers.openmsx.launcher.ui.presenter.GameListOrder, java.lang.String)
+	 */
+	@Override
+	public void onSelectGameListOrder( GameListOrder order, String selectedGame )
+	{
+		gameListOrder = Objects.requireNonNull( order );
+
+		//orders that were sorted before aren't sorted again
+		view.fillGameList( currentDatabase, getDisplayedGames(), selectedGame );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestTypeAheadFilter(java.lang.String)
+	 */
+	@Override
+	public void onRequestTypeAheadFilter( String text )
+	{
+		typeAheadFilter = TypeAheadFilter.parse( text );
+
+		view.fillGameList( currentDatabase, getDisplayedGames(), null );
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#resetAll()
 	 */
@@ -538,18 +704,15 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onViewUpdatedDatabase( String database ) throws LauncherException
 	{
-		if( database != null )
-		{
-			currentDatabase = database;
-		}
+		String updatedDatabase = database == null ? getRequestedDatabase() : database;
 
-		if( !databases.contains( currentDatabase ) )
+		if( !databases.contains( updatedDatabase ) )
 		{
 			//then this is a new database
-			databases.add( currentDatabase );
+			databases.add( updatedDatabase );
 		}
 
-		populateGameList();
+		reloadGameListInBackground( updatedDatabase, null, null );
 	}
 
 	/* (non-Javadoc)
@@ -647,7 +810,9 @@ final class MainPresenterImpl implements MainPresenter
 			movedGames.forEach( movedGame -> {
 				movedGameNames.add( movedGame.getName() );
 				gamesMap.remove( movedGame.getName() );
+				removeFromSortedGameList( movedGame.getName() );
 			});
+			invalidateGameAttributeIndex();
 		}
 		catch( GamePersistenceException gpe )
 		{
@@ -672,7 +837,7 @@ final class MainPresenterImpl implements MainPresenter
 			}
 		}
 
-		view.updateGameCount( gamesMap.size() );
+		view.updateGameCount( getDisplayedGameCount() );
 
 		return movedGameNames;
 	}
@@ -784,6 +949,94 @@ final class MainPresenterImpl implements MainPresenter
 		relatedGamesPresenterFactory.get().onRequestRelatedGamesScreen( gamesMap.get( gameName ), repositoryInfoMap, currentLanguage, currentRightToLeft );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestFilterAllDatabasesScreen()
+	 */
+	@Override
+	public void onRequestFilterAllDatabasesScreen()
+	{
+		Set<Filter> filter = currentFilter;
+		CompiledFilter compiledFilter = CompiledFilter.compile( filter );
+		Map<String,RepositoryGame> repositoryInfo = repositoryInfoMap;
+
+		//every database is read, so it is not done on the view's thread
+		backgroundExecutor.execute( () -> {
+			Set<DatabaseItem> matches = new TreeSet<>( new DatabaseItemComparator() );
+
+			try
+			{
+				//the games are streamed from a single query - only the matching items are kept
+				launcherPersistence.getGamePersister().findGames( filter, (databaseItem, game) -> {
+					if( !compiledFilter.isFiltered( game, repositoryInfo ) )
+					{
+						matches.add( databaseItem );
+					}
+				} );
+
+				viewExecutor.execute( () -> view.displayFilterResults( matches, currentLanguage, Language.isRightToLeft( currentLanguage ) ) );
+			}
+			catch( GamePersistenceException gpe )
+			{
+				viewExecutor.execute( () -> view.displayFilterResultsError( new LauncherException( LauncherExceptionCode.ERR_IO ) ) );
+			}
+		} );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestPrecomputeRelatedGames()
+	 */
+	@Override
+	public void onRequestPrecomputeRelatedGames()
+	{
+		String database = currentDatabase;
+		if( database == null )
+		{
+			view.displayPrecomputedRelatedGames( 0 );
+			return;
+		}
+
+		Map<String,RepositoryGame> repositoryInfo = repositoryInfoMap;
+		RelatedGamesPresenter relatedGamesPresenter = relatedGamesPresenterFactory.get();
+		view.showPrecomputingRelatedGames( true );
+
+		//reading the whole database and scoring every game takes a while, so it is not done on the view's thread
+		backgroundExecutor.execute( () -> {
+			try
+			{
+				//use all the games in the database, not only the ones that the current filter shows
+				Set<Game> games = launcherPersistence.getGamePersister().getGames( database );
+				int total = relatedGamesPresenter.onRequestPrecomputeRelatedGames( games, repositoryInfo );
+
+				viewExecutor.execute( () -> {
+					view.showPrecomputingRelatedGames( false );
+					view.displayPrecomputedRelatedGames( total );
+				} );
+			}
+			catch( GamePersistenceException gpe )
+			{
+				displayPrecomputeRelatedGamesError( getGameListException( gpe, database ) );
+			}
+			catch( LauncherException le )
+			{
+				displayPrecomputeRelatedGamesError( le );
+			}
+			catch( RuntimeException re )
+			{
+				LauncherLogger.logException( this, re );
+
+				displayPrecomputeRelatedGamesError( new LauncherException( LauncherExceptionCode.ERR_IO ) );
+			}
+		} );
+	}
+
+	private void displayPrecomputeRelatedGamesError( LauncherException exception )
+	{
+		viewExecutor.execute( () -> {
+			view.showPrecomputingRelatedGames( false );
+			view.displayPrecomputeRelatedGamesError( exception );
+		} );
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestListOfFavorites()
 	 */
@@ -812,9 +1065,21 @@ final class MainPresenterImpl implements MainPresenter
 	@Override
 	public void onSelectDatabaseItem( DatabaseItem databaseItem ) throws LauncherException
 	{
-		onSelectDatabase( databaseItem.getDatabase() );
+		String database = databaseItem.getDatabase();
 
-		view.highlightGame( databaseItem.getGameName() );
+		if( database != null && (!database.equals( currentDatabase ) || gameListLoading) )
+		{
+			//the list is loaded in the background, so the game can only be selected once the new list is handed to the view
+			if( !database.equals( getRequestedDatabase() ) )
+			{
+				refreshScreenshotIndex();
+			}
+			reloadGameListInBackground( database, null, databaseItem.getGameName() );
+		}
+		else
+		{
+			view.highlightGame( databaseItem.getGameName() );
+		}
 	}
 
 	/* (non-Javadoc)
@@ -860,12 +1125,34 @@ final class MainPresenterImpl implements MainPresenter
 	public void onSelectQuickFilter( Filter filter ) throws LauncherException
 	{
 		currentFilter = Collections.singleton( filter );
-		populateGameList();
+		refilterGameList();
 		untitledFilter = true;
 		view.setFilterNameLabelUntitled();
 		view.displayFilterDetails( FilterFactory.getFilterMonikers( currentFilter ) );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestFacetCounts(java.util.Collection)
+	 */
+	@Override
+	public Map<Filter,Integer> onRequestFacetCounts( Collection<Filter> filters )
+	{
+		if( Utils.isEmpty( currentDatabase ) )
+		{
+			return Collections.emptyMap();
+		}
+
+		GameAttributeIndex index = gameAttributeIndex;
+		if( index == null )
+		{
+			//counts are only informative - they're shown once the index is built
+			buildGameAttributeIndexInBackground();
+			return Collections.emptyMap();
+		}
+
+		return Collections.unmodifiableMap( filters.stream().collect( Collectors.toMap( Function.identity(), index::getFacetCount, (c1, c2) -> c1 ) ) );
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter#onRequestDeleteFilterAction(java.lang.String)
 	 */
@@ -936,7 +1223,7 @@ final class MainPresenterImpl implements MainPresenter
 	{
 		currentFilter = filter;
 
-		populateGameList();
+		refilterGameList();
 
 		if( !filterEditMode )
 		{
@@ -1058,6 +1345,8 @@ final class MainPresenterImpl implements MainPresenter
 		if( currentDatabase != null && currentDatabase.equals( database ) )
 		{
 			gamesMap.clear();
+			invalidateGameAttributeIndex();
+			sortedGameList = null;
 			currentDatabase = null;
 		}
 		view.removeDatabase( database );
@@ -1139,6 +1428,20 @@ final class MainPresenterImpl implements MainPresenter
 		{
 			//ignore
 		}
+
+		extraDataGetter.shutdown();
+
+		try
+		{
+			MetricsRegistry.getInstance().writeJson( Paths.get( OSUtils.getUserDataDirectory(), METRICS_FILENAME ) );
+		}
+		catch( IOException ioe )
+		{
+			LauncherLogger.logException( this, ioe );
+		}
+
+		//messages are written in the background - make sure nothing queued is lost
+		LauncherLogger.flush();
 	}
 
 	/* (non-Javadoc)
@@ -1255,21 +1558,46 @@ final class MainPresenterImpl implements MainPresenter
 		currentRightToLeft = Language.isRightToLeft( currentLanguage );		
 	}
 
-	private Set<GameLabel> getSortedGameList()
+	private SortedGameList getSortedGameList()
 	{
-		Set<GameLabel> sortedList = new LinkedHashSet<>();
-		if( gamesMap != null )
+		if( sortedGameList == null )
 		{
-			gamesMap.entrySet().stream()
-					.map( Entry::getValue )
-					.sorted( (game1, game2) -> game1.getName().compareToIgnoreCase( game2.getName() ) )
-					.forEach( game -> sortedList.add( getGameLabel( game ) ) );
+			sortedGameList = getSortedGameList( gamesMap, repositoryInfoMap );
 		}
-		
-		return sortedList;
+
+		return sortedGameList;
 	}
 
-	private GameLabel getGameLabel( Game game )
+	private static SortedGameList getSortedGameList( Map<String,Game> games, Map<String,RepositoryGame> repositoryInfoMap )
+	{
+		List<GameLabel> gameLabels = new ArrayList<>();
+		if( games != null )
+		{
+			games.values().forEach( game -> gameLabels.add( getGameLabel( game, repositoryInfoMap ) ) );
+		}
+
+		return new SortedGameList( gameLabels );
+	}
+
+	private Set<GameLabel> getDisplayedGames()
+	{
+		return getSortedGameList().getGames( gameListOrder, typeAheadFilter );
+	}
+
+	private int getDisplayedGameCount()
+	{
+		return typeAheadFilter.isEmpty() ? gamesMap.size() : getDisplayedGames().size();
+	}
+
+	private void removeFromSortedGameList( String gameName )
+	{
+		if( sortedGameList != null )
+		{
+			sortedGameList.remove( gameName, gameListOrder );
+		}
+	}
+
+	private static GameLabel getGameLabel( Game game, Map<String,RepositoryGame> repositoryInfoMap )
 	{
 		String company = null;
 		String year = null;
@@ -1318,85 +1646,313 @@ final class MainPresenterImpl implements MainPresenter
 		return medium;
 	}
 
-	private void populateGameList() throws LauncherException
+	private void refilterGameList()
 	{
-		try
+		//if another database is being loaded then the filter is applied to it instead - the index is only of the displayed one
+		String database = getRequestedDatabase();
+		reloadGameListInBackground( database, Objects.equals( database, currentDatabase ) ? gameAttributeIndex : null, null );
+	}
+
+	private void reloadGameListInBackground( String database, GameAttributeIndex index, String selectedGame )
+	{
+		long generation = gameListGeneration.incrementAndGet();
+		Set<Filter> filter = currentFilter;
+		Map<String,RepositoryGame> repositoryInfo = repositoryInfoMap;
+		GameListOrder order = gameListOrder;
+		TypeAheadFilter typeAhead = typeAheadFilter;
+
+		requestedDatabase = database;
+		if( !gameListLoading )
 		{
-			retrieveDatabaseGames();
+			gameListLoading = true;
+			view.showBusyIndicator( true );
 		}
-		catch( GamePersistenceException gpe )
-		{
-			if( gpe.getIssue().equals( GamePersistenceExceptionIssue.DATABASE_NOT_FOUND ) )
+
+		backgroundExecutor.execute( () -> {
+			if( generation != gameListGeneration.get() )
 			{
-				throw new LauncherException( LauncherExceptionCode.ERR_DATABASE_NOT_FOUND, currentDatabase );
+				//a newer request came in while this one was waiting, so there's no point in reading the database for it
+				return;
 			}
-			else
+
+			try
 			{
-				throw new LauncherException( LauncherExceptionCode.ERR_IO );
+				GameList gameList = loadGameList( database, filter, index, repositoryInfo );
+				Set<GameLabel> sortedList = gameList.sortedGames.getGames( order, typeAhead );
+
+				viewExecutor.execute( () -> {
+					if( generation == gameListGeneration.get() )
+					{
+						//the order or the type-ahead filter may have been changed while loading - if so, they need to be applied again
+						publishGameList( gameList, order == gameListOrder && typeAhead == typeAheadFilter ? sortedList :
+							gameList.sortedGames.getGames( gameListOrder, typeAheadFilter ), selectedGame );
+					}
+				} );
 			}
-		}
+			catch( GamePersistenceException gpe )
+			{
+				LauncherException launcherException = getGameListException( gpe, database );
 
-		view.fillGameList( currentDatabase, getSortedGameList(), null );
+				viewExecutor.execute( () -> {
+					if( generation == gameListGeneration.get() )
+					{
+						//stay on the database that is currently displayed
+						endGameListLoad();
+						view.displayGameListError( launcherException, currentDatabase );
+					}
+				} );
+			}
+		} );
 	}
 
-	private void retrieveDatabaseGames() throws GamePersistenceException
+	private GameList loadGameList( String database, Set<Filter> filter, GameAttributeIndex index, Map<String,RepositoryGame> repositoryInfo )
+			throws GamePersistenceException
 	{
-		Set<Game> games =  launcherPersistence.getGamePersister().getGames( currentDatabase );
+		Collection<Game> games;
 
-		if( currentFilter == null )
+		if( index != null )
+		{
+			//the games of the database haven't changed since they were indexed, so only the filter needs to be applied again
+			games = index.getGames( index.getMatches( filter ) );
+		}
+		else if( filter == null || filter.isEmpty() )
 		{
-			setGameMap( games );
+			index = GameAttributeIndex.build( launcherPersistence.getGamePersister().getGames( database ), repositoryInfo );
+			games = index.getGames( index.getMatches( filter ) );
 		}
 		else
 		{
-			Set<Game> filteredGames = new HashSet<>();
+			//the database only evaluates the filters on the game's own data - the rest are applied here on the reduced set.
+			//Only part of the games were read, so there's nothing to index. The index is built when the filter is cleared
+			CompiledFilter compiledFilter = CompiledFilter.compile( filter );
+			games = launcherPersistence.getGamePersister().getGames( database, filter ).stream()
+					.filter( game -> !compiledFilter.isFiltered( game, repositoryInfo ) )
+					.collect( Collectors.toList() );
+		}
+
+		Map<String,Game> gamesByName = games.stream().collect( Collectors.toMap( Game::getName, game -> game ) );
+
+		return new GameList( database, index, gamesByName, getSortedGameList( gamesByName, repositoryInfo ) );
+	}
+
+	private void publishGameList( GameList gameList, Set<GameLabel> sortedList, String selectedGame )
+	{
+		currentDatabase = gameList.database;
+		gameAttributeIndex = gameList.index;
+		gameAttributeIndexVersion++;
+		gamesMap = gameList.games;
+		sortedGameList = gameList.sortedGames;
+
+		endGameListLoad();
+		view.fillGameList( currentDatabase, sortedList, selectedGame );
+	}
 
-			games.stream().filter( game -> !isFiltered( game ) ).forEach( filteredGames::add );
+	private String getRequestedDatabase()
+	{
+		//while the game list is being loaded, the database being read is the one the user expects to see
+		return gameListLoading ? requestedDatabase : currentDatabase;
+	}
 
-			setGameMap( filteredGames );
+	private void endGameListLoad()
+	{
+		if( gameListLoading )
+		{
+			gameListLoading = false;
+			view.showBusyIndicator( false );
 		}
 	}
 
-	private boolean isFiltered( Game game )
+	private static LauncherException getGameListException( GamePersistenceException gpe, String database )
 	{
-		Map<String,Boolean> filtersByType = new HashMap<>();
+		if( gpe.getIssue().equals( GamePersistenceExceptionIssue.DATABASE_NOT_FOUND ) )
+		{
+			return new LauncherException( LauncherExceptionCode.ERR_DATABASE_NOT_FOUND, database );
+		}
+		else
+		{
+			return new LauncherException( LauncherExceptionCode.ERR_IO );
+		}
+	}
 
-		for( Filter filter: currentFilter )
+	/*
+	 * Builds the index of the games of the current database without changing the displayed games. When no filter is set the
+	 * displayed games are all the games of the database, otherwise the database is read again
+	 */
+	private void buildGameAttributeIndexInBackground()
+	{
+		long version = gameAttributeIndexVersion;
+		if( version == pendingGameAttributeIndexVersion )
 		{
-			String type = filter.getClass().getSimpleName();
-			Boolean existingFilterValue = filtersByType.get( type );
-			if( existingFilterValue == null )
+			//already being built
+			return;
+		}
+		pendingGameAttributeIndexVersion = version;
+
+		String database = currentDatabase;
+		Collection<Game> loadedGames = gamesMap != null && (currentFilter == null || currentFilter.isEmpty()) ? new ArrayList<>( gamesMap.values() ) : null;
+		Map<String,RepositoryGame> repositoryInfo = repositoryInfoMap;
+
+		backgroundExecutor.execute( () -> {
+			GameAttributeIndex index = null;
+			try
 			{
-				filtersByType.put( type, true );
-				existingFilterValue = true;
+				index = GameAttributeIndex.build( loadedGames == null ? launcherPersistence.getGamePersister().getGames( database ) : loadedGames,
+						repositoryInfo );
+			}
+			catch( GamePersistenceException gpe )
+			{
+				LauncherLogger.logException( this, gpe );
 			}
 
-			filtersByType.put( type, existingFilterValue && filter.isFiltered( game, repositoryInfoMap == null ? null:repositoryInfoMap.get( game.getSha1Code() ) ) );
-		}
+			GameAttributeIndex builtIndex = index;
+			viewExecutor.execute( () -> {
+				if( version == gameAttributeIndexVersion )
+				{
+					//the games haven't changed since the build started. If it failed, it's tried again on the next request
+					pendingGameAttributeIndexVersion = -1;
+					gameAttributeIndex = builtIndex;
+				}
+			} );
+		} );
+	}
+
+	private void invalidateGameAttributeIndex()
+	{
+		gameAttributeIndex = null;
+		gameAttributeIndexVersion++;
+	}
 
-		//check which filter types have true
-		return filtersByType.entrySet().stream().map( Entry::getValue ).anyMatch( v -> v );
+	private void applyCurrentFilter()
+	{
+		setGameMap( gameAttributeIndex.getGames( gameAttributeIndex.getMatches( currentFilter ) ) );
 	}
 
-	private void setGameMap( Set<Game> games )
+	private void setGameMap( Collection<Game> games )
 	{
 		gamesMap = games.stream().collect( Collectors.toMap( Game::getName, game -> game ) );
+		sortedGameList = null;
 	}
 
 	private void initializeRepositoryInfoMap()
+	{
+		repositoryInfoMap = readRepositoryInfo();
+
+		//the index and the sort keys hold the repository info of each game, so they have to be rebuilt
+		invalidateGameAttributeIndex();
+		sortedGameList = null;
+	}
+
+	private static <T> T getStartupResult( FutureTask<T> task ) throws IOException
 	{
 		try
 		{
-			repositoryInfoMap = repositoryData.getRepositoryInfo();
+			return task.get();
+		}
+		catch( InterruptedException ie )
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException( ie );
+		}
+		catch( ExecutionException ee )
+		{
+			//the startup tasks do not throw checked exceptions
+			Throwable cause = ee.getCause();
+			if( cause instanceof Error )
+			{
+				throw (Error)cause;
+			}
+			throw (RuntimeException)cause;
+		}
+	}
+
+	private Map<String,RepositoryGame> readRepositoryInfo()
+	{
+		try
+		{
+			return repositoryData.getRepositoryInfo();
 		}
 		catch( IOException ioe )
 		{
 			//in this case reset it
-			repositoryInfoMap = null;
+			return null;
 		}
 	}
 
-	private void selectFilter( String filterName ) throws LauncherException
+	private String[] getScreenshots( Game game )
+	{
+		String[] screenshots = new String[2];
+
+		String screenshotsPath = settings.getScreenshotsFullPath();
+		int msxGenID = game.getMsxGenID();
+		if( screenshotsPath != null && msxGenID > 0 )
+		{
+			if( !isScreenshotIndexReady() )
+			{
+				//the index hasn't been built yet by the background executor or the screenshots path has just been changed.
+				//The directory is not listed here - no screenshots are shown until the index is built
+				if( !screenshotsPath.equals( screenshotIndexPath ) )
+				{
+					refreshScreenshotIndex();
+				}
+
+				if( !isScreenshotIndexReady() )
+				{
+					return screenshots;
+				}
+			}
+
+			ScreenshotIndex index = screenshotIndex;
+			screenshots[0] = index.getScreenshot( msxGenID, SCREENSHOT1_SUFFIX, game.getScreenshotSuffix() );
+			if( screenshots[0] != null )
+			{
+				screenshots[1] = index.getScreenshot( msxGenID, SCREENSHOT2_SUFFIX, game.getScreenshotSuffix() );
+			}
+		}
+
+		return screenshots;
+	}
+
+	private void refreshScreenshotIndex()
+	{
+		String screenshotsPath = settings.getScreenshotsFullPath();
+
+		if( screenshotsPath != null )
+		{
+			screenshotIndexPath = screenshotsPath;
+
+			//the directory is listed again so that screenshots copied to it while the launcher is running are picked up
+			backgroundExecutor.execute( () -> {
+				ScreenshotIndex index = ScreenshotIndex.build( screenshotsPath );
+
+				viewExecutor.execute( () -> {
+					screenshotIndex = index;
+					showAwaitedScreenshots();
+				} );
+			} );
+		}
+	}
+
+	private boolean isScreenshotIndexReady()
+	{
+		String screenshotsPath = settings.getScreenshotsFullPath();
+
+		return screenshotsPath == null || (screenshotIndex != null && screenshotIndex.isOf( screenshotsPath ));
+	}
+
+	private void showAwaitedScreenshots()
+	{
+		Game game = gameAwaitingScreenshots == null || gamesMap == null ? null : gamesMap.get( gameAwaitingScreenshots );
+
+		if( game != null && isScreenshotIndexReady() )
+		{
+			gameAwaitingScreenshots = null;
+
+			String[] screenshots = getScreenshots( game );
+			view.showGameScreenshots( screenshots[0], screenshots[1] );
+		}
+	}
+
+	private void selectFilter( String filterName )
 	{
 		if( filterName == null )
 		{
@@ -1414,9 +1970,9 @@ final class MainPresenterImpl implements MainPresenter
 			}
 		}
 
-		if( !Utils.isEmpty( currentDatabase ) )
+		if( !Utils.isEmpty( getRequestedDatabase() ) )
 		{
-			populateGameList();
+			refilterGameList();
 
 			updateFilterName( filterName );
 		}
@@ -1451,4 +2007,23 @@ final class MainPresenterImpl implements MainPresenter
 			}
 		}
 	}
+
+	/*
+	 * Result of reading the games of a database, off the event thread, before it's made the model of the presenter
+	 */
+	private static final class GameList
+	{
+		private final String database;
+		private final GameAttributeIndex index;
+		private final Map<String,Game> games;
+		private final SortedGameList sortedGames;
+
+		GameList( String database, GameAttributeIndex index, Map<String,Game> games, SortedGameList sortedGames )
+		{
+			this.database = database;
+			this.index = index;
+			this.games = games;
+			this.sortedGames = sortedGames;
+		}
+	}
 }
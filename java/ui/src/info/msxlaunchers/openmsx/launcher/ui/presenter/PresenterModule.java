@@ -15,9 +15,13 @@
  */
 package info.msxlaunchers.openmsx.launcher.ui.presenter;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.name.Names;
 
 /**
  * @since v1.2
@@ -46,5 +50,11 @@ public class PresenterModule extends AbstractModule
 		bind( FeedServicePresenter.class ).to( FeedServicePresenterImpl.class );
 		bind( RelatedGamesPresenter.class ).to( RelatedGamesPresenterImpl.class );
 		bind( LHAExtractorPresenter.class ).to( LHAExtractorPresenterImpl.class );
+
+		bind( Executor.class ).annotatedWith( Names.named( "BackgroundExecutor" ) ).toInstance( Executors.newSingleThreadExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "Launcher background worker" );
+			thread.setDaemon( true );
+			return thread;
+		} ) );
 	}
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 package info.msxlaunchers.openmsx.launcher.ui.presenter;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Map;
 
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
@@ -45,6 +46,17 @@ public interface RelatedGamesPresenter
 	void onRequestRelatedGamesScreen( Game game, Map<String,RepositoryGame> repositoryInfoMap, Language currentLanguage, boolean currentRightToLeft )
 			throws LauncherException;
 
+	/**
+	 * Called when user requests to precompute related games for the given games. The results are persisted and used by
+	 * the 'Related Games' screen for as long as the extra data is not updated
+	 * 
+	 * @param games Games to find related games for
+	 * @param repositoryInfoMap Repository Info Map
+	 * @return Number of games that related games were precomputed for
+	 * @throws LauncherException
+	 */
+	int onRequestPrecomputeRelatedGames( Collection<Game> games, Map<String,RepositoryGame> repositoryInfoMap ) throws LauncherException;
+
 	/**
 	 * Called when user clicks on icon to find related game in the launcher
 	 * 
@@ -18,8 +18,10 @@ package info.msxlaunchers.openmsx.launcher.ui.presenter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.inject.Inject;
 
@@ -32,6 +34,7 @@ import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceException;
 import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister;
 import info.msxlaunchers.openmsx.launcher.persistence.settings.SettingsPersister;
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesCache;
 import info.msxlaunchers.openmsx.launcher.related.RelatedGamesFactory;
 import info.msxlaunchers.openmsx.launcher.ui.view.RelatedGamesView;
 
@@ -45,17 +48,19 @@ import info.msxlaunchers.openmsx.launcher.ui.view.RelatedGamesView;
 final class RelatedGamesPresenterImpl implements RelatedGamesPresenter
 {
 	private final RelatedGamesFactory relatedGamesFactory;
+	private final RelatedGamesCache relatedGamesCache;
 	private final RelatedGamesView view;
 	private final String scrrenshotsPath;
 	private final GamePersister gamePersister;
 	private final MainPresenter mainPresenter;
 
 	@Inject
-	RelatedGamesPresenterImpl( RelatedGamesFactory relatedGamesFactory, RelatedGamesView view, SettingsPersister settingsPersister,
-			GamePersister gamePersister, MainPresenter mainPresenter )
+	RelatedGamesPresenterImpl( RelatedGamesFactory relatedGamesFactory, RelatedGamesCache relatedGamesCache, RelatedGamesView view,
+			SettingsPersister settingsPersister, GamePersister gamePersister, MainPresenter mainPresenter )
 			throws IOException
 	{
 		this.relatedGamesFactory = relatedGamesFactory;
+		this.relatedGamesCache = relatedGamesCache;
 		this.view = view;
 		this.scrrenshotsPath = settingsPersister.getSettings().getScreenshotsFullPath();
 		this.gamePersister = gamePersister;
@@ -70,13 +75,21 @@ final class RelatedGamesPresenterImpl implements RelatedGamesPresenter
 			throws LauncherException
 	{
 		List<RelatedGame> relatedGames;
-		try
+		Optional<List<RelatedGame>> precomputedRelatedGames = game.getMsxGenID() > 0 ? relatedGamesCache.get( game.getMsxGenID(), repositoryInfoMap ) : Optional.empty();
+		if( precomputedRelatedGames.isPresent() )
 		{
-			relatedGames = relatedGamesFactory.create( repositoryInfoMap ).findRelated( game );
+			relatedGames = precomputedRelatedGames.get();
 		}
-		catch( IOException ioe )
+		else
 		{
-			throw new LauncherException( LauncherExceptionCode.ERR_IO );
+			try
+			{
+				relatedGames = relatedGamesFactory.create( repositoryInfoMap ).findRelated( game );
+			}
+			catch( IOException ioe )
+			{
+				throw new LauncherException( LauncherExceptionCode.ERR_IO );
+			}
 		}
 
 		try
@@ -91,6 +104,26 @@ final class RelatedGamesPresenterImpl implements RelatedGamesPresenter
 		view.displayRelatedGamesScreen( game.getName(), relatedGames, currentLanguage, currentRightToLeft );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.RelatedGamesPresenter#onRequestPrecomputeRelatedGames(java.util.Collection, java.util.Map)
+	 */
+	@Override
+	public int onRequestPrecomputeRelatedGames( Collection<Game> games, Map<String,RepositoryGame> repositoryInfoMap ) throws LauncherException
+	{
+		try
+		{
+			Map<Integer,List<RelatedGame>> relatedGames = relatedGamesFactory.create( repositoryInfoMap ).findRelatedForAll( games );
+
+			relatedGamesCache.putAll( relatedGames, repositoryInfoMap );
+
+			return relatedGames.size();
+		}
+		catch( IOException ioe )
+		{
+			throw new LauncherException( LauncherExceptionCode.ERR_IO );
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.presenter.RelatedGamesPresenter#onRequestHiglightGameInLauncher(info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem)
 	 */
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import info.msxlaunchers.openmsx.common.Utils;
+
+/**
+ * Index of the screenshots directory built from a single listing of it, so that finding the screenshots of a game
+ * doesn't require checking the file system each time
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class ScreenshotIndex
+{
+	private static final String SCREENSHOT_EXT = ".png";
+
+	private final String screenshotsPath;
+
+	//lowercase file name -> actual file name, so that lookups match regardless of the case sensitivity of the file system
+	private final Map<String,String> fileNames;
+
+	private ScreenshotIndex( String screenshotsPath, Map<String,String> fileNames )
+	{
+		this.screenshotsPath = screenshotsPath;
+		this.fileNames = fileNames;
+	}
+
+	/**
+	 * Lists the given screenshots directory and returns the index of its files
+	 * 
+	 * @param screenshotsPath Full path to the screenshots directory
+	 * @return Index of the screenshots directory. If the directory cannot be listed then the index will be empty
+	 */
+	static ScreenshotIndex build( String screenshotsPath )
+	{
+		String[] files = new File( screenshotsPath ).list();
+
+		if( files == null )
+		{
+			return new ScreenshotIndex( screenshotsPath, Collections.emptyMap() );
+		}
+
+		Map<String,String> fileNames = new HashMap<>( files.length * 2 );
+		for( String file: files )
+		{
+			fileNames.put( file.toLowerCase( Locale.ENGLISH ), file );
+		}
+
+		return new ScreenshotIndex( screenshotsPath, fileNames );
+	}
+
+	/**
+	 * Returns whether this index was built from the given screenshots directory
+	 * 
+	 * @param screenshotsPath Full path to the screenshots directory
+	 * @return true if the index is of the given directory, false otherwise
+	 */
+	boolean isOf( String screenshotsPath )
+	{
+		return this.screenshotsPath.equals( screenshotsPath );
+	}
+
+	/**
+	 * Returns the full path of a game's screenshot
+	 * 
+	 * @param msxGenID MSX-Generations ID of the game
+	 * @param number Screenshot number suffix (e.g. "a" for the first screenshot)
+	 * @param screenshotSuffix Game's screenshot suffix. Can be null
+	 * @return Full path to the screenshot or null if it's not in the screenshots directory
+	 */
+	String getScreenshot( int msxGenID, String number, String screenshotSuffix )
+	{
+		StringBuilder screenshotFilename = new StringBuilder( Utils.getString( msxGenID ) ).append( number );
+		if( screenshotSuffix != null )
+		{
+			screenshotFilename.append( screenshotSuffix );
+		}
+		screenshotFilename.append( SCREENSHOT_EXT );
+
+		String fileName = fileNames.get( screenshotFilename.toString().toLowerCase( Locale.ENGLISH ) );
+
+		return fileName == null ? null : new File( screenshotsPath, fileName ).toString();
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+
+/**
+ * Labels of the games in the game list, sorted in any of the <code>GameListOrder</code> orders. The case folded sort keys of each game
+ * are computed once when it's added, so comparisons don't fold case again. Each order is only sorted the first time it's requested,
+ * and is kept so that switching back to it doesn't sort again. Games that are added or removed after that are located in each
+ * sorted order with a binary search. The games can also be narrowed by a <code>TypeAheadFilter</code>, using search keys
+ * that are normalized once when the game is added.
+ * 
+ * This class is not thread-safe
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class SortedGameList
+{
+	private static final int UNKNOWN_YEAR = Integer.MAX_VALUE;
+
+	private static final Comparator<SortEntry> NAME_ORDER = Comparator.<SortEntry,String>comparing( entry -> entry.nameKey )
+			//names that only differ in case have the same key
+			.thenComparing( entry -> entry.gameLabel.getName() );
+	private static final Map<GameListOrder,Comparator<SortEntry>> ORDERS = new EnumMap<>( GameListOrder.class );
+
+	static
+	{
+		ORDERS.put( GameListOrder.NAME, NAME_ORDER );
+		ORDERS.put( GameListOrder.COMPANY, Comparator.<SortEntry,String>comparing( entry -> entry.companyKey,
+				Comparator.nullsLast( Comparator.naturalOrder() ) ).thenComparing( NAME_ORDER ) );
+		ORDERS.put( GameListOrder.YEAR, Comparator.<SortEntry>comparingInt( entry -> entry.year ).thenComparing( NAME_ORDER ) );
+		ORDERS.put( GameListOrder.SIZE, Comparator.<SortEntry>comparingLong( entry -> entry.gameLabel.getSize() ).thenComparing( NAME_ORDER ) );
+		ORDERS.put( GameListOrder.MEDIUM, Comparator.<SortEntry,Medium>comparing( entry -> entry.gameLabel.getMedium(),
+				Comparator.nullsLast( Comparator.naturalOrder() ) ).thenComparing( NAME_ORDER ) );
+	}
+
+	private final Map<String,SortEntry> entries;
+	private final Map<GameListOrder,List<SortEntry>> sortedEntries = new EnumMap<>( GameListOrder.class );
+
+	//matches of the last filter, so that the next one can only look at them if the user typed more characters
+	private TypeAheadFilter lastFilter = null;
+	private GameListOrder lastFilterOrder = null;
+	private List<SortEntry> lastFilterMatches = null;
+
+	SortedGameList( Collection<GameLabel> gameLabels )
+	{
+		entries = new HashMap<>( gameLabels.size() * 2 );
+		gameLabels.forEach( gameLabel -> entries.put( gameLabel.getName(), new SortEntry( gameLabel ) ) );
+	}
+
+	/**
+	 * Returns the games sorted in the given order
+	 * 
+	 * @param order Sort order
+	 * @return Set of the game labels, iterated in the given order
+	 */
+	Set<GameLabel> getGames( GameListOrder order )
+	{
+		List<SortEntry> sorted = getSortedEntries( order );
+		Set<GameLabel> games = new LinkedHashSet<>( sorted.size() * 2 );
+
+		sorted.forEach( entry -> games.add( entry.gameLabel ) );
+
+		return games;
+	}
+
+	/**
+	 * Returns the games that match a filter, sorted in the given order
+	 * 
+	 * @param order Sort order
+	 * @param filter Filter to match the games against
+	 * @return Set of the matching game labels, iterated in the given order
+	 */
+	Set<GameLabel> getGames( GameListOrder order, TypeAheadFilter filter )
+	{
+		if( filter.isEmpty() )
+		{
+			return getGames( order );
+		}
+
+		List<SortEntry> candidates;
+		if( lastFilterMatches != null && lastFilterOrder == order && filter.isNarrowerThan( lastFilter ) )
+		{
+			candidates = lastFilterMatches;
+		}
+		else
+		{
+			candidates = getSortedEntries( order );
+		}
+
+		List<SortEntry> matches = new ArrayList<>();
+		for( SortEntry entry: candidates )
+		{
+			if( filter.matches( entry.searchName, entry.searchCompany, entry.gameLabel.getYear(), entry.gameLabel.getMedium() ) )
+			{
+				matches.add( entry );
+			}
+		}
+
+		lastFilter = filter;
+		lastFilterOrder = order;
+		lastFilterMatches = matches;
+
+		Set<GameLabel> games = new LinkedHashSet<>( matches.size() * 2 );
+		matches.forEach( entry -> games.add( entry.gameLabel ) );
+
+		return games;
+	}
+
+	/**
+	 * Adds a game to all sorted orders
+	 * 
+	 * @param gameLabel Label of the game to add
+	 * @param order Order to return the position of the game in
+	 * @return Index of the game in the given order
+	 */
+	int add( GameLabel gameLabel, GameListOrder order )
+	{
+		SortEntry entry = new SortEntry( gameLabel );
+		entries.put( gameLabel.getName(), entry );
+		lastFilterMatches = null;
+
+		int index = -1;
+		for( Map.Entry<GameListOrder,List<SortEntry>> sorted: sortedEntries.entrySet() )
+		{
+			int position = Collections.binarySearch( sorted.getValue(), entry, ORDERS.get( sorted.getKey() ) );
+			if( position < 0 )
+			{
+				position = -position - 1;
+			}
+			sorted.getValue().add( position, entry );
+
+			if( sorted.getKey() == order )
+			{
+				index = position;
+			}
+		}
+
+		//the requested order may not have been sorted yet
+		return index == -1 ? Collections.binarySearch( getSortedEntries( order ), entry, ORDERS.get( order ) ) : index;
+	}
+
+	/**
+	 * Removes a game from all sorted orders
+	 * 
+	 * @param gameName Name of the game to remove
+	 * @param order Order to return the former position of the game in
+	 * @return Index the game had in the given order, or -1 if the game wasn't in the list
+	 */
+	int remove( String gameName, GameListOrder order )
+	{
+		SortEntry entry = entries.get( gameName );
+		if( entry == null )
+		{
+			return -1;
+		}
+
+		int index = Collections.binarySearch( getSortedEntries( order ), entry, ORDERS.get( order ) );
+
+		entries.remove( gameName );
+		lastFilterMatches = null;
+		for( Map.Entry<GameListOrder,List<SortEntry>> sorted: sortedEntries.entrySet() )
+		{
+			sorted.getValue().remove( Collections.binarySearch( sorted.getValue(), entry, ORDERS.get( sorted.getKey() ) ) );
+		}
+
+		return index;
+	}
+
+	int size()
+	{
+		return entries.size();
+	}
+
+	private List<SortEntry> getSortedEntries( GameListOrder order )
+	{
+		List<SortEntry> sorted = sortedEntries.get( order );
+
+		if( sorted == null )
+		{
+			sorted = new ArrayList<>( entries.values() );
+			sorted.sort( ORDERS.get( order ) );
+			sortedEntries.put( order, sorted );
+		}
+
+		return sorted;
+	}
+
+	/*
+	 * Folds each character the way String.compareToIgnoreCase does, so comparing the folded strings gives the same order
+	 */
+	private static String foldCase( String value )
+	{
+		char[] folded = new char[value.length()];
+		for( int index = 0; index < folded.length; index++ )
+		{
+			folded[index] = Character.toLowerCase( Character.toUpperCase( value.charAt( index ) ) );
+		}
+
+		return new String( folded );
+	}
+
+	private static int getYear( String year )
+	{
+		//repository years can have extra characters, such as "1985?"
+		int value = 0;
+		int digits = 0;
+		while( digits < year.length() && Character.isDigit( year.charAt( digits ) ) )
+		{
+			value = value * 10 + Character.digit( year.charAt( digits ), 10 );
+			digits++;
+		}
+
+		return digits == 0 || digits > 4 ? UNKNOWN_YEAR : value;
+	}
+
+	private static final class SortEntry
+	{
+		private final GameLabel gameLabel;
+		private final String nameKey;
+		private final String companyKey;
+		private final int year;
+		private final String searchName;
+		private final String searchCompany;
+
+		SortEntry( GameLabel gameLabel )
+		{
+			this.gameLabel = gameLabel;
+			this.nameKey = foldCase( gameLabel.getName() );
+			this.companyKey = gameLabel.getCommany() == null || gameLabel.getCommany().isEmpty() ? null : foldCase( gameLabel.getCommany() );
+			this.year = gameLabel.getYear() == null ? UNKNOWN_YEAR : getYear( gameLabel.getYear() );
+			this.searchName = TypeAheadFilter.normalize( gameLabel.getName() );
+			this.searchCompany = TypeAheadFilter.normalize( gameLabel.getCommany() );
+		}
+	}
+}
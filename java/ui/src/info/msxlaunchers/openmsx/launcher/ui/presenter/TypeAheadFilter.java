@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+
+/**
+ * Live filter typed by the user to narrow the game list. The text is split into tokens, and a game matches if all tokens are found
+ * in it, ignoring case and accents. Plain tokens are looked up in the game name. Tokens that start with one of the prefixes
+ * <code>company:</code>, <code>year:</code> or <code>medium:</code> are looked up in that attribute instead
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class TypeAheadFilter
+{
+	static final TypeAheadFilter NONE = new TypeAheadFilter( Collections.emptyList() );
+
+	private static final Pattern WHITESPACE = Pattern.compile( "\\s+" );
+	private static final Pattern COMBINING_MARKS = Pattern.compile( "\\p{M}+" );
+	private static final char PREFIX_SEPARATOR = ':';
+
+	private enum Field
+	{
+		NAME, COMPANY, YEAR, MEDIUM;
+
+		private final String prefix = name().toLowerCase( Locale.ROOT ) + PREFIX_SEPARATOR;
+	}
+
+	private final List<Token> tokens;
+
+	private TypeAheadFilter( List<Token> tokens )
+	{
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Parses the text typed by the user
+	 * 
+	 * @param text Typed text. Can be null
+	 * @return TypeAheadFilter for the text. If the text has no tokens, the filter matches all games
+	 */
+	static TypeAheadFilter parse( String text )
+	{
+		if( text == null || text.trim().isEmpty() )
+		{
+			return NONE;
+		}
+
+		List<Token> tokens = new ArrayList<>();
+		for( String word: WHITESPACE.split( normalize( text.trim() ) ) )
+		{
+			Token token = Token.parse( word );
+
+			//a prefix on its own matches everything, so it's the same as not having it
+			if( !token.value.isEmpty() )
+			{
+				tokens.add( token );
+			}
+		}
+
+		return tokens.isEmpty() ? NONE : new TypeAheadFilter( tokens );
+	}
+
+	/**
+	 * Returns the form of a value that tokens are matched against: accents are removed and case is folded
+	 * 
+	 * @param value Value to normalize. Can be null
+	 * @return Normalized value, or null if the value was null
+	 */
+	static String normalize( String value )
+	{
+		if( value == null )
+		{
+			return null;
+		}
+
+		String decomposed = value;
+		for( int index = 0; index < value.length(); index++ )
+		{
+			if( value.charAt( index ) > 0x7f )
+			{
+				//only names that aren't plain ASCII can have accents
+				decomposed = COMBINING_MARKS.matcher( Normalizer.normalize( value, Normalizer.Form.NFD ) ).replaceAll( "" );
+				break;
+			}
+		}
+
+		char[] folded = new char[decomposed.length()];
+		for( int index = 0; index < folded.length; index++ )
+		{
+			folded[index] = Character.toLowerCase( Character.toUpperCase( decomposed.charAt( index ) ) );
+		}
+
+		return new String( folded );
+	}
+
+	boolean isEmpty()
+	{
+		return tokens.isEmpty();
+	}
+
+	/**
+	 * Returns whether every game that this filter matches is also matched by another filter, which is the case when
+	 * the user typed more characters. The games to match can then be taken from the matches of the other filter
+	 * 
+	 * @param filter The other filter
+	 * @return true if this filter doesn't match any game that the other filter doesn't match
+	 */
+	boolean isNarrowerThan( TypeAheadFilter filter )
+	{
+		return filter.tokens.stream().allMatch( otherToken ->
+				tokens.stream().anyMatch( token -> token.field == otherToken.field && token.value.contains( otherToken.value ) ) );
+	}
+
+	/**
+	 * Returns whether a game matches all tokens of the filter
+	 * 
+	 * @param name Normalized game name
+	 * @param company Normalized company name. Can be null
+	 * @param year Year. Can be null
+	 * @param medium Game medium. Can be null
+	 * @return true if the game matches
+	 */
+	boolean matches( String name, String company, String year, Medium medium )
+	{
+		for( Token token: tokens )
+		{
+			String value;
+			switch( token.field )
+			{
+				case COMPANY:
+					value = company;
+					break;
+				case YEAR:
+					value = year;
+					break;
+				case MEDIUM:
+					//a game without a medium has nothing the token can match
+					value = medium == null ? null : medium.toString().toLowerCase( Locale.ROOT );
+					break;
+				default:
+					value = name;
+			}
+
+			if( value == null || !value.contains( token.value ) )
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static final class Token
+	{
+		private final Field field;
+		private final String value;
+
+		private Token( Field field, String value )
+		{
+			this.field = field;
+			this.value = value;
+		}
+
+		private static Token parse( String word )
+		{
+			for( Field field: Field.values() )
+			{
+				if( word.startsWith( field.prefix ) )
+				{
+					return new Token( field, word.substring( field.prefix.length() ) );
+				}
+			}
+
+			return new Token( Field.NAME, word );
+		}
+	}
+}
@@ -18,12 +18,15 @@ package info.msxlaunchers.openmsx.launcher.ui.view;
 import info.msxlaunchers.openmsx.launcher.data.feed.FeedMessage;
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
+import info.msxlaunchers.openmsx.launcher.log.StartupProfiler;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.GameLabel;
+import info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter;
 import info.msxlaunchers.openmsx.launcher.ui.view.platform.PlatformViewProperties;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.CreateEmptyDatabaseWindow;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.HelpWindow;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.MainWindow;
+import info.msxlaunchers.openmsx.launcher.ui.view.swing.FilterResultsWindow;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.MoveGamesWindow;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.MessageBoxUtil;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.language.LanguageDisplayFactory;
@@ -36,6 +39,7 @@ import javax.swing.SwingUtilities;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * Swing-based implementation of <code>MainView</code>. This class is a Singleton, meaning there's only one instance
@@ -52,10 +56,10 @@ class MainSwingView implements MainView
 	private final MainWindow mainWindow;
 
 	@Inject
-	MainSwingView( MainPresenter mainPresenter, PlatformViewProperties platformViewProperties )
+	MainSwingView( MainPresenter mainPresenter, PlatformViewProperties platformViewProperties, @Named("UserDataDirectory") String userDataDirectory )
 	{
 		this.mainPresenter = mainPresenter;
-		this.mainWindow = new MainWindow( mainPresenter, platformViewProperties );
+		this.mainWindow = new MainWindow( mainPresenter, platformViewProperties, userDataDirectory );
 	}
 
 	/* (non-Javadoc)
@@ -111,6 +115,24 @@ class MainSwingView implements MainView
 		mainWindow.updateGameCount( games.size() );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#addGameToList(info.msxlaunchers.openmsx.launcher.ui.presenter.GameLabel, int)
+	 */
+	@Override
+	public void addGameToList( GameLabel game, int index )
+	{
+		mainWindow.addGame( game, index );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#replaceGameInList(int, info.msxlaunchers.openmsx.launcher.ui.presenter.GameLabel, int)
+	 */
+	@Override
+	public void replaceGameInList( int oldIndex, GameLabel newGame, int newIndex )
+	{
+		mainWindow.replaceGame( oldIndex, newGame, newIndex );
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#updateGameCount(int)
 	 */
@@ -140,6 +162,15 @@ class MainSwingView implements MainView
 		mainWindow.showGameScreenshot( screenshot1, screenshot2 );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#prefetchGameScreenshots(java.util.List)
+	 */
+	@Override
+	public void prefetchGameScreenshots( List<String> screenshots )
+	{
+		mainWindow.prefetchGameScreenshots( screenshots );
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#enableButtons(boolean, boolean, boolean, boolean, boolean)
 	 */
@@ -168,6 +199,15 @@ class MainSwingView implements MainView
 		mainWindow.enableGenerationIndicators( msxFlag, msx2Flag, msx2pFlag, turboRFlag );
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayFilterResults(java.util.Set, info.msxlaunchers.openmsx.launcher.data.settings.constants.Language, boolean)
+	 */
+	@Override
+	public void displayFilterResults( Set<DatabaseItem> results, Language language, boolean rightToLeft )
+	{
+		new FilterResultsWindow( mainPresenter, results, language, rightToLeft ).display();
+	}
+
 	/* (non-Javadoc)
 	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayAndGetMoveGames(info.msxlaunchers.openmsx.launcher.data.settings.constants.Language, java.util.Set, java.lang.String, java.util.Set, boolean)
 	 */
@@ -322,6 +362,69 @@ class MainSwingView implements MainView
 		mainWindow.showFeedProcessingMessage();
 	}
 
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#showBusyIndicator(boolean)
+	 */
+	@Override
+	public void showBusyIndicator( boolean busy )
+	{
+		mainWindow.showBusyIndicator( busy );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayGameListError(info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException, java.lang.String)
+	 */
+	@Override
+	public void displayGameListError( LauncherException exception, String currentDatabase )
+	{
+		mainWindow.displayGameListError( exception, currentDatabase );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#showPrecomputingRelatedGames(boolean)
+	 */
+	@Override
+	public void showPrecomputingRelatedGames( boolean precomputing )
+	{
+		mainWindow.showPrecomputingRelatedGames( precomputing );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayPrecomputedRelatedGames(int)
+	 */
+	@Override
+	public void displayPrecomputedRelatedGames( int total )
+	{
+		mainWindow.displayPrecomputedRelatedGames( total );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayPrecomputeRelatedGamesError(info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException)
+	 */
+	@Override
+	public void displayPrecomputeRelatedGamesError( LauncherException exception )
+	{
+		mainWindow.displayPrecomputeRelatedGamesError( exception );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayFilterResultsError(info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException)
+	 */
+	@Override
+	public void displayFilterResultsError( LauncherException exception )
+	{
+		mainWindow.displayFilterResultsError( exception );
+	}
+
+	/* (non-Javadoc)
+	 * @see info.msxlaunchers.openmsx.launcher.ui.view.MainView#displayLaunchError(info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException)
+	 */
+	@Override
+	public void displayLaunchError( LauncherException exception )
+	{
+		mainWindow.displayLaunchError( exception );
+	}
+
 	private class MainWindowStarter implements Runnable
 	{
 		private final Language language;
@@ -352,7 +455,14 @@ class MainSwingView implements MainView
 		@Override
 		public void run()
 		{
-			mainWindow.display( language, games, databases, defaultDatabase, rightToLeft, showUpdateAllDatabases, enableFeedAccess );
-		}		
+			StartupProfiler profiler = StartupProfiler.getInstance();
+
+			try( StartupProfiler.Phase phase = profiler.startPhase( "window" ) )
+			{
+				mainWindow.display( language, games, databases, defaultDatabase, rightToLeft, showUpdateAllDatabases, enableFeedAccess );
+			}
+
+			profiler.finish();
+		}
 	}
 }
@@ -19,6 +19,7 @@ import info.msxlaunchers.openmsx.launcher.data.feed.FeedMessage;
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.GameLabel;
+import info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException;
 
 import java.util.List;
 import java.util.Set;
@@ -77,6 +78,23 @@ public interface MainView
 	 */
 	void fillGameList( String currentDatabase, Set<GameLabel> games, String selectedGame );
 
+	/**
+	 * Inserts a game in the game list and selects it, without refilling the list
+	 * 
+	 * @param game GameLabel of the new game
+	 * @param index Position of the game in the sorted list
+	 */
+	void addGameToList( GameLabel game, int index );
+
+	/**
+	 * Replaces a game in the game list with another and selects it, without refilling the list
+	 * 
+	 * @param oldIndex Position of the game to replace, or -1 if it isn't in the list
+	 * @param newGame GameLabel of the game that replaces it
+	 * @param newIndex Position of the new game in the sorted list, after the old one is removed
+	 */
+	void replaceGameInList( int oldIndex, GameLabel newGame, int newIndex );
+
 	/**
 	 * Updates the total game count on the main screen
 	 * 
@@ -117,6 +135,13 @@ public interface MainView
 	 */
 	void showGameScreenshots( String screenshot1, String screenshot2 );
 
+	/**
+	 * Loads the given image files ahead of time so that they can be shown without delay if they are requested
+	 * 
+	 * @param screenshots List of full paths to screenshot image files
+	 */
+	void prefetchGameScreenshots( List<String> screenshots );
+
 	/**
 	 * Enables or disables the four buttons: Launch, Remove, Edit and Info based on the given flags
 	 * 
@@ -153,6 +178,15 @@ public interface MainView
 	 */
 	void enableGenerationIndicators( boolean msxFlag, boolean msx2Flag, boolean msx2pFlag, boolean turboRFlag );
 
+	/**
+	 * Displays the games in all databases that pass the current filter
+	 * 
+	 * @param results Set of matching games and their databases
+	 * @param language Language
+	 * @param rightToLeft Flag to determine screen orientation based on language
+	 */
+	void displayFilterResults( Set<DatabaseItem> results, Language language, boolean rightToLeft );
+
 	/**
 	 * Displays screen to ask user for the target database and return a set of the moved game names
 	 * 
@@ -260,4 +294,54 @@ public interface MainView
 	 */
 	void showFeedProcessingMessage();
 
+	/**
+	 * Indicates that the game list is being loaded. The indicator should only be shown if loading takes noticeable time
+	 * 
+	 * @param busy If true loading has started, otherwise it has finished
+	 */
+	void showBusyIndicator( boolean busy );
+
+	/**
+	 * Displays the error of a game list that couldn't be loaded and goes back to the database that is still displayed
+	 * 
+	 * @param exception Exception thrown when loading the game list
+	 * @param currentDatabase Name of the database whose games are displayed
+	 */
+	void displayGameListError( LauncherException exception, String currentDatabase );
+
+	/**
+	 * Indicates that related games are being precomputed in the background
+	 * 
+	 * @param precomputing If true precomputing has started, otherwise it has finished
+	 */
+	void showPrecomputingRelatedGames( boolean precomputing );
+
+	/**
+	 * Displays the number of games that related games were precomputed for
+	 * 
+	 * @param total Number of games
+	 */
+	void displayPrecomputedRelatedGames( int total );
+
+	/**
+	 * Displays the error of a related games precomputation that failed
+	 * 
+	 * @param exception Exception thrown when precomputing
+	 */
+	void displayPrecomputeRelatedGamesError( LauncherException exception );
+
+	/**
+	 * Displays the error of a search of all databases that failed
+	 * 
+	 * @param exception Exception thrown when searching
+	 */
+	void displayFilterResultsError( LauncherException exception );
+
+	/**
+	 * Displays the error of a game launch that failed
+	 * 
+	 * @param exception Exception thrown when launching
+	 */
+	void displayLaunchError( LauncherException exception );
+
 }
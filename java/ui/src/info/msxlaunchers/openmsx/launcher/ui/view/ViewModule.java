@@ -17,8 +17,13 @@ package info.msxlaunchers.openmsx.launcher.ui.view;
 
 import info.msxlaunchers.openmsx.launcher.ui.view.platform.ViewPlatformModule;
 
+import java.util.concurrent.Executor;
+
+import javax.swing.SwingUtilities;
+
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
+import com.google.inject.name.Names;
 
 /**
  * @since v1.2
@@ -47,6 +52,9 @@ public class ViewModule extends AbstractModule
 		bind( RelatedGamesView.class ).to( RelatedGamesSwingView.class );
 		bind( LHAExtractorView.class ).to( LHAExtractorSwingView.class );
 
+		//results computed off the event dispatch thread are handed back to the view through this
+		bind( Executor.class ).annotatedWith( Names.named( "ViewExecutor" ) ).toInstance( SwingUtilities::invokeLater );
+
 		install( new ViewPlatformModule() );
 	}
 }
\ No newline at end of file
@@ -58,6 +58,9 @@ public class ActivityViewerWindow extends JDialog implements ActionListener
 	private static final int DATABASE_COL_WIDTH = 220;
 	private static final int TIME_COL_WIDTH = 420;
 	private static final int COUNT_COL_WIDTH = 60;
+	private static final int DURATION_COL_WIDTH = 90;
+	private static final int METRIC_COL_WIDTH = 220;
+	private static final int METRIC_VALUE_COL_WIDTH = 70;
 
 	private JButton okButton;
 
@@ -85,41 +88,25 @@ public class ActivityViewerWindow extends JDialog implements ActionListener
 		JTabbedPane tabbedPane = new JTabbedPane();
 		tablesPane.add(tabbedPane);
 
-		JPanel launchHistoryPanel = new JPanel();
-		List<String[]> launchHistoryData = logData.get("ALL_PLAY_HISTORY");
-
 		Object[] launchHistoryColumnNames = {messages.get("TIME"), messages.get("GAME"), messages.get("DATABASE")};
-		Object[][] launchHistoryRowData = launchHistoryData.<String[]>toArray(new String[0][]);
-		JTable launchHistoryTable = new JTable(launchHistoryRowData, launchHistoryColumnNames);
-		launchHistoryTable.setRowSelectionAllowed(false);
-		launchHistoryTable.setPreferredScrollableViewportSize(new Dimension(450, 180));
-		launchHistoryTable.getColumnModel().getColumn(0).setPreferredWidth(TIME_COL_WIDTH);
-		launchHistoryTable.getColumnModel().getColumn(1).setPreferredWidth(GAME_COL_WIDTH);
-		launchHistoryTable.getColumnModel().getColumn(2).setPreferredWidth(DATABASE_COL_WIDTH);
-
-		JScrollPane launchHistoryScrollPane = new JScrollPane(launchHistoryTable);
-		launchHistoryScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
-
-		launchHistoryPanel.add(launchHistoryScrollPane);
-		tabbedPane.addTab(messages.get("HISTORY"), launchHistoryPanel);
-
-		JPanel mostPlayedPanel = new JPanel();
-		List<String[]> mostPlayedData = logData.get("MOST_PLAYED");
+		JTable launchHistoryTable = addTableTab(tabbedPane, messages.get("HISTORY"), logData.get("ALL_PLAY_HISTORY"), launchHistoryColumnNames,
+				TIME_COL_WIDTH, GAME_COL_WIDTH, DATABASE_COL_WIDTH);
 
 		Object[] mostPlayedColumnNames = {messages.get("GAME"), messages.get("DATABASE"), messages.get("COUNT")};
-		Object[][] mostPlayedRowData = mostPlayedData.<String[]>toArray(new String[0][]);
-		JTable mostPlayedTable = new JTable(mostPlayedRowData, mostPlayedColumnNames);
-		mostPlayedTable.setRowSelectionAllowed(false);
-		mostPlayedTable.setPreferredScrollableViewportSize(new Dimension(450, 180));
-		mostPlayedTable.getColumnModel().getColumn(0).setPreferredWidth(GAME_COL_WIDTH);
-		mostPlayedTable.getColumnModel().getColumn(1).setPreferredWidth(DATABASE_COL_WIDTH);
-		mostPlayedTable.getColumnModel().getColumn(2).setPreferredWidth(COUNT_COL_WIDTH);
+		JTable mostPlayedTable = addTableTab(tabbedPane, messages.get("MOST_PLAYED"), logData.get("MOST_PLAYED"), mostPlayedColumnNames,
+				GAME_COL_WIDTH, DATABASE_COL_WIDTH, COUNT_COL_WIDTH);
 
-		JScrollPane mostPlayedScrollPane = new JScrollPane(mostPlayedTable);
-		mostPlayedScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+		Object[] playTimeColumnNames = {messages.get("GAME"), messages.get("DATABASE"), messages.get("SESSIONS"), messages.get("TOTAL_TIME")};
+		JTable playTimeTable = addTableTab(tabbedPane, messages.get("PLAY_TIME"), logData.get("PLAY_TIME"), playTimeColumnNames,
+				GAME_COL_WIDTH, DATABASE_COL_WIDTH, COUNT_COL_WIDTH, DURATION_COL_WIDTH);
 
-		mostPlayedPanel.add(mostPlayedScrollPane);
-		tabbedPane.addTab(messages.get("MOST_PLAYED"), mostPlayedPanel);
+		Object[] recentSessionsColumnNames = {messages.get("TIME"), messages.get("GAME"), messages.get("DATABASE"), messages.get("DURATION")};
+		JTable recentSessionsTable = addTableTab(tabbedPane, messages.get("RECENT_SESSIONS"), logData.get("RECENT_SESSIONS"), recentSessionsColumnNames,
+				TIME_COL_WIDTH, GAME_COL_WIDTH, DATABASE_COL_WIDTH, DURATION_COL_WIDTH);
+
+		Object[] diagnosticsColumnNames = {messages.get("OPERATION"), messages.get("TYPE"), messages.get("COUNT"), "p50", "p95", "p99", messages.get("MAX")};
+		JTable diagnosticsTable = addTableTab(tabbedPane, messages.get("DIAGNOSTICS"), logData.get("METRICS"), diagnosticsColumnNames,
+				METRIC_COL_WIDTH, COUNT_COL_WIDTH, COUNT_COL_WIDTH, METRIC_VALUE_COL_WIDTH, METRIC_VALUE_COL_WIDTH, METRIC_VALUE_COL_WIDTH, METRIC_VALUE_COL_WIDTH);
 
 		JPanel buttonsPane = new JPanel();
 		buttonsPane.setLayout(new FlowLayout(FlowLayout.CENTER, 5, 5));
@@ -138,17 +125,15 @@ public class ActivityViewerWindow extends JDialog implements ActionListener
 			DefaultTableCellRenderer tableRenderer = new DefaultTableCellRenderer();
 			tableRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
 
-			launchHistoryTable.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
-			launchHistoryTable.getColumnModel().getColumn(0).setCellRenderer(tableRenderer);
-			launchHistoryTable.getColumnModel().getColumn(1).setCellRenderer(tableRenderer);
-			launchHistoryTable.getColumnModel().getColumn(2).setCellRenderer(tableRenderer);
-			((DefaultTableCellRenderer)launchHistoryTable.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(JLabel.RIGHT);
-
-			mostPlayedTable.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
-			mostPlayedTable.getColumnModel().getColumn(0).setCellRenderer(tableRenderer);
-			mostPlayedTable.getColumnModel().getColumn(1).setCellRenderer(tableRenderer);
-			mostPlayedTable.getColumnModel().getColumn(2).setCellRenderer(tableRenderer);
-			((DefaultTableCellRenderer)mostPlayedTable.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(JLabel.RIGHT);
+			for(JTable table: new JTable[] {launchHistoryTable, mostPlayedTable, playTimeTable, recentSessionsTable, diagnosticsTable})
+			{
+				table.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
+				for(int column = 0; column < table.getColumnCount(); column++)
+				{
+					table.getColumnModel().getColumn(column).setCellRenderer(tableRenderer);
+				}
+				((DefaultTableCellRenderer)table.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(JLabel.RIGHT);
+			}
 		}
 
 		pack();
@@ -156,6 +141,28 @@ public class ActivityViewerWindow extends JDialog implements ActionListener
 		setVisible(true);
 	}
 
+	private JTable addTableTab(JTabbedPane tabbedPane, String title, List<String[]> data, Object[] columnNames, int... columnWidths)
+	{
+		JPanel panel = new JPanel();
+
+		Object[][] rowData = data == null ? new Object[0][] : data.<String[]>toArray(new String[0][]);
+		JTable table = new JTable(rowData, columnNames);
+		table.setRowSelectionAllowed(false);
+		table.setPreferredScrollableViewportSize(new Dimension(450, 180));
+		for(int column = 0; column < columnWidths.length; column++)
+		{
+			table.getColumnModel().getColumn(column).setPreferredWidth(columnWidths[column]);
+		}
+
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+
+		panel.add(scrollPane);
+		tabbedPane.addTab(title, panel);
+
+		return table;
+	}
+
 	@Override
 	public void actionPerformed(ActionEvent e)
 	{
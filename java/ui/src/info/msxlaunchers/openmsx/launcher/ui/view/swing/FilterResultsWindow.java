@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
+import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
+import info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException;
+import info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter;
+import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.MessageBoxUtil;
+import info.msxlaunchers.openmsx.launcher.ui.view.swing.language.LanguageDisplayFactory;
+
+import java.awt.Component;
+import java.awt.ComponentOrientation;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingConstants;
+import javax.swing.WindowConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * Window that lists the games in all databases that pass the current filter
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+@SuppressWarnings("serial")
+public class FilterResultsWindow extends JDialog implements ActionListener
+{
+	private final MainPresenter presenter;
+	private final List<DatabaseItem> results;
+	private final boolean rightToLeft;
+	private final Component mainWindow;
+	private final Map<String,String> messages;
+
+	private static final int GAME_COL_WIDTH = 300;
+	private static final int DATABASE_COL_WIDTH = 220;
+
+	private JTable resultsTable;
+	private JButton locateButton;
+	private JButton okButton;
+
+	public FilterResultsWindow(MainPresenter presenter, Set<DatabaseItem> results, Language language, boolean rightToLeft)
+	{
+		this.presenter = presenter;
+		this.results = new ArrayList<>(results);
+		this.rightToLeft = rightToLeft;
+		this.messages = LanguageDisplayFactory.getDisplayMessages(getClass(), language);
+		this.mainWindow = GlobalSwingContext.getIntance().getMainWindow();
+	}
+
+	public void display()
+	{
+		setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+		setTitle(messages.get("FILTER_RESULTS") + " (" + results.size() + ")");
+		setModalityType(ModalityType.APPLICATION_MODAL);
+		setResizable(false);
+
+		JPanel contentPane = new JPanel();
+		setContentPane(contentPane);
+
+		contentPane.setLayout(new BoxLayout(contentPane, BoxLayout.Y_AXIS));
+
+		JPanel resultsPane = new JPanel();
+
+		if(results.isEmpty())
+		{
+			resultsPane.add(new JLabel(messages.get("NO_RESULTS")));
+		}
+		else
+		{
+			Object[] columnNames = {messages.get("GAME"), messages.get("DATABASE")};
+			DefaultTableModel tableModel = new DefaultTableModel(columnNames, 0)
+			{
+				@Override
+				public boolean isCellEditable(int row, int column)
+				{
+					return false;
+				}
+			};
+			results.forEach(result -> tableModel.addRow(new Object[] {result.getGameName(), result.getDatabase()}));
+
+			resultsTable = new JTable(tableModel);
+			resultsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+			resultsTable.setPreferredScrollableViewportSize(new Dimension(450, 240));
+			resultsTable.getColumnModel().getColumn(0).setPreferredWidth(GAME_COL_WIDTH);
+			resultsTable.getColumnModel().getColumn(1).setPreferredWidth(DATABASE_COL_WIDTH);
+			resultsTable.getSelectionModel().addListSelectionListener(e -> locateButton.setEnabled(resultsTable.getSelectedRow() > -1));
+			resultsTable.addMouseListener(new MouseAdapter()
+			{
+				@Override
+				public void mouseClicked(MouseEvent e)
+				{
+					if(e.getClickCount() == 2 && resultsTable.getSelectedRow() > -1)
+					{
+						locateSelectedResult();
+					}
+				}
+			});
+
+			JScrollPane resultsScrollPane = new JScrollPane(resultsTable);
+			resultsScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+
+			resultsPane.add(resultsScrollPane);
+		}
+
+		JPanel buttonsPane = new JPanel();
+		buttonsPane.setLayout(new FlowLayout(FlowLayout.CENTER, 5, 5));
+
+		locateButton = new JButton(messages.get("LOCATE_IN_LAUNCHER"));
+		locateButton.addActionListener(this);
+		locateButton.setEnabled(false);
+		buttonsPane.add(locateButton);
+
+		okButton = new JButton(messages.get("OK"));
+		okButton.addActionListener(this);
+		okButton.setPreferredSize(MainWindow.BUTTON_DIMENSION);
+		buttonsPane.add(okButton);
+
+		contentPane.add(resultsPane);
+		contentPane.add(buttonsPane);
+
+		if(rightToLeft)
+		{
+			buttonsPane.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
+
+			if(resultsTable != null)
+			{
+				DefaultTableCellRenderer tableRenderer = new DefaultTableCellRenderer();
+				tableRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
+
+				resultsTable.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
+				resultsTable.getColumnModel().getColumn(0).setCellRenderer(tableRenderer);
+				resultsTable.getColumnModel().getColumn(1).setCellRenderer(tableRenderer);
+				((DefaultTableCellRenderer)resultsTable.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(JLabel.RIGHT);
+			}
+		}
+
+		pack();
+		setLocationRelativeTo(mainWindow);
+		setVisible(true);
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent e)
+	{
+		if(e.getSource() == okButton)
+		{
+			dispose();
+		}
+		else if(e.getSource() == locateButton)
+		{
+			locateSelectedResult();
+		}
+	}
+
+	private void locateSelectedResult()
+	{
+		try
+		{
+			presenter.onSelectDatabaseItem(results.get(resultsTable.convertRowIndexToModel(resultsTable.getSelectedRow())));
+			dispose();
+		}
+		catch(LauncherException le)
+		{
+			MessageBoxUtil.showErrorMessageBox(this, le, messages, rightToLeft);
+		}
+	}
+}
@@ -17,10 +17,12 @@ package info.msxlaunchers.openmsx.launcher.ui.view.swing;
 
 import java.awt.Color;
 import java.awt.ComponentOrientation;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.GridLayout;
 import java.awt.Insets;
 import java.awt.LayoutManager;
@@ -34,8 +36,11 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -47,12 +52,13 @@ import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.ButtonGroup;
 import javax.swing.ButtonModel;
-import javax.swing.DefaultListModel;
 import javax.swing.GroupLayout;
 import javax.swing.GroupLayout.Alignment;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -61,15 +67,20 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JScrollPane;
+import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.LayoutStyle.ComponentPlacement;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.ToolTipManager;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 
@@ -87,6 +98,7 @@ import info.msxlaunchers.openmsx.launcher.data.repository.constants.Company;
 import info.msxlaunchers.openmsx.launcher.data.repository.constants.Country;
 import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.GameLabel;
+import info.msxlaunchers.openmsx.launcher.ui.presenter.GameListOrder;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.LauncherException;
 import info.msxlaunchers.openmsx.launcher.ui.presenter.MainPresenter;
 import info.msxlaunchers.openmsx.launcher.ui.view.platform.PlatformViewProperties;
@@ -96,6 +108,7 @@ import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JCompositeLabe
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JLabelTransitionedEnabledDisabledImage;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JLabelTransitionedNewImage;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JListWithImagesAndActions;
+import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JListWithImagesAndActions.TextIcon;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JMenuItemWithIcon;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.JSearchTextField;
 import info.msxlaunchers.openmsx.launcher.ui.view.swing.component.MessageBoxUtil;
@@ -124,6 +137,9 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 	private JMenuBar topMenuBar;
 	private JMenu optionsMenu;
 	private JMenuItem optionsSettings;
+	private JCheckBoxMenuItem optionsThumbnailView;
+	private JMenu optionsSortBy;
+	private final Map<GameListOrder,JRadioButtonMenuItem> optionsSortByOrders = new EnumMap<>(GameListOrder.class);
 	private JMenu actionsMenu;
 	private JMenuItem actionsCreateEmptyDatabase;
 	private JMenuItem actionsFillDatabase;
@@ -133,6 +149,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 	private JMenu toolsMenu;
 	private JMenuItem databaseManager;
 	private JMenuItem activityViewer;
+	private JMenuItem precomputeRelatedGames;
 	private JMenuItem patcher;
 	private JMenuItem lhaExtractor;
 	private JMenu helpMenu;
@@ -140,6 +157,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 	private JMenuItem helpFile;
 	private JMenuItem helpCheckForUpdates;
 	private JListWithImagesAndActions gameList;
+	private JTextField typeAheadField;
 	private JComponent databaseSelectButton;
 	private JCompositeLabel databaseLabel;
 	private JCompositeLabel totalLabel;
@@ -176,9 +194,12 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 	private JMenu mediumQuickFilterMenuItemList;
 	private JMenu generationQuickFilterMenuItemList;
 	private JMenu soundQuickFilterMenuItemList;
+	private Map<Filter,JMenuItem> quickFilterMenuItems = new HashMap<>();
+	private Map<Filter,String> quickFilterMenuItemTexts = new HashMap<>();
 	private JMenuItem newFilterMenuItem;
 	private JMenuItem editCurrentUntitledFilterMenuItem;
 	private JMenuItem resetFilterMenuItem;
+	private JMenuItem filterAllDatabasesMenuItem;
 
 	private JLabel soundIndicatorPSG;
 	private JLabel soundIndicatorSCC;
@@ -203,6 +224,20 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 	private Map<Medium, ImageIcon> mediaIconsMap = new HashMap<>();
 
+	private static final int SCREENSHOT_WIDTH = 272;
+	private static final int SCREENSHOT_HEIGHT = 240;
+	private final ScreenshotLoader screenshotLoader = new ScreenshotLoader(SCREENSHOT_WIDTH, SCREENSHOT_HEIGHT);
+	private int screenshotsRequest = 0;
+
+	private static final int THUMBNAIL_WIDTH = 96;
+	private static final int THUMBNAIL_HEIGHT = 85;
+	private static final String THUMBNAIL_CACHE_FILENAME = "thumbnails.dat";
+	private final File thumbnailCacheFile;
+	private ThumbnailLoader thumbnailLoader = null;
+
+	private static final int BUSY_INDICATOR_DELAY = 150;
+	private final Timer busyIndicatorTimer = new Timer(BUSY_INDICATOR_DELAY, e -> setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR)));
+
 	public static final Dimension BUTTON_DIMENSION = new Dimension(109, 28);
 
 	private static final Font gameFont = new Font(null, Font.PLAIN, 14);
@@ -227,12 +262,15 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 	private final MainWindow ref = this;
 
-	public MainWindow(MainPresenter presenter, PlatformViewProperties platformViewProperties)
+	public MainWindow(MainPresenter presenter, PlatformViewProperties platformViewProperties, String userDataDirectory)
 	{
 		this.presenter = presenter;
+		this.thumbnailCacheFile = new File(userDataDirectory, THUMBNAIL_CACHE_FILENAME);
 
 		platformViewProperties.setDisplayProperties(this);
 
+		busyIndicatorTimer.setRepeats(false);
+
 		//Initialize media icons map
 		mediaIconsMap.put(Medium.ROM, Icons.MEDIA_ROM.getImageIcon());
 		mediaIconsMap.put(Medium.DISK, Icons.MEDIA_DISK.getImageIcon());
@@ -328,6 +366,23 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		optionsSettings.addActionListener(event -> presenter.onRequestSettingsScreen());
 		optionsMenu.add(optionsSettings);
 
+		optionsThumbnailView = new JCheckBoxMenuItem();
+		optionsThumbnailView.addActionListener(event -> toggleThumbnailView());
+		optionsMenu.add(optionsThumbnailView);
+
+		optionsSortBy = new JMenu();
+		optionsMenu.add(optionsSortBy);
+		ButtonGroup sortByGroup = new ButtonGroup();
+		for(GameListOrder order: GameListOrder.values())
+		{
+			JRadioButtonMenuItem sortByOrder = new JRadioButtonMenuItem();
+			sortByOrder.setSelected(order == GameListOrder.NAME);
+			sortByOrder.addActionListener(event -> presenter.onSelectGameListOrder(order, getSelectedGame()));
+			sortByGroup.add(sortByOrder);
+			optionsSortBy.add(sortByOrder);
+			optionsSortByOrders.put(order, sortByOrder);
+		}
+
 		//actions menu
 		actionsMenu = new JMenu();
 		topMenuBar.add(actionsMenu);
@@ -373,6 +428,10 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		activityViewer = new JMenuItemWithIcon();
 		activityViewer.addActionListener(event -> onRequestActivityViewerScreen());
 		toolsMenu.add(activityViewer);
+
+		precomputeRelatedGames = new JMenuItemWithIcon();
+		precomputeRelatedGames.addActionListener(event -> onRequestPrecomputeRelatedGames());
+		toolsMenu.add(precomputeRelatedGames);
 		toolsMenu.addSeparator();
 
 		patcher = new JMenuItemWithIcon();
@@ -442,7 +501,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		//disable the database selector button if there were no databases left
 		databaseSelectButton.setEnabled(!databases.isEmpty());
 
-		gameList = new JListWithImagesAndActions(new DefaultListModel<Object>());
+		gameList = new JListWithImagesAndActions();
 		//need to unregister the gameList component from the ToolTipManager to allow the Ctrl+F1 to work
 		ToolTipManager.sharedInstance().unregisterComponent(gameList);
 		gameList.registerKeyboardAction(event -> moveSelectedGames(), getCtrlXKeyStroke(), JComponent.WHEN_FOCUSED);
@@ -460,6 +519,30 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
         JScrollPane gameListScrollBar = new JScrollPane(gameList);
 
+		typeAheadField = new JTextField();
+		typeAheadField.getDocument().addDocumentListener(new DocumentListener()
+		{
+			@Override
+			public void removeUpdate(DocumentEvent e)
+			{
+				applyTypeAheadFilter();
+			}
+
+			@Override
+			public void insertUpdate(DocumentEvent e)
+			{
+				applyTypeAheadFilter();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e)
+			{
+				applyTypeAheadFilter();
+			}
+		});
+		typeAheadField.registerKeyboardAction(event -> focusGameList(), KeyStroke.getKeyStroke(KeyEvent.VK_DOWN, 0), JComponent.WHEN_FOCUSED);
+		typeAheadField.registerKeyboardAction(event -> typeAheadField.setText(""), KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), JComponent.WHEN_FOCUSED);
+
 		filtersLabel = new JCompositeLabel(118, 90, false);
 		filtersSelectButton = new ExpandMenuButton(this);
 
@@ -533,6 +616,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 				.addGroup(groupLayout.createSequentialGroup()
 					.addGap(15)
 					.addGroup(groupLayout.createParallelGroup(Alignment.LEADING)
+						.addComponent(typeAheadField, GroupLayout.PREFERRED_SIZE, 370, GroupLayout.PREFERRED_SIZE)
 						.addComponent(gameListScrollBar, GroupLayout.PREFERRED_SIZE, 370, GroupLayout.PREFERRED_SIZE)
 						.addGroup(groupLayout.createSequentialGroup()
 							.addGap(2)
@@ -560,8 +644,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 						.addComponent(editButtonPanel, GroupLayout.PREFERRED_SIZE, 60, GroupLayout.PREFERRED_SIZE))
 					.addGap(13)
 					.addGroup(groupLayout.createParallelGroup(Alignment.LEADING)
-						.addComponent(screenshot1Label, GroupLayout.PREFERRED_SIZE, 272, GroupLayout.PREFERRED_SIZE)
-						.addComponent(screenshot2Label, GroupLayout.PREFERRED_SIZE, 272, GroupLayout.PREFERRED_SIZE))
+						.addComponent(screenshot1Label, GroupLayout.PREFERRED_SIZE, SCREENSHOT_WIDTH, GroupLayout.PREFERRED_SIZE)
+						.addComponent(screenshot2Label, GroupLayout.PREFERRED_SIZE, SCREENSHOT_WIDTH, GroupLayout.PREFERRED_SIZE))
 					.addGap(20))
 		);
 		groupLayout.setVerticalGroup(
@@ -581,7 +665,9 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 									.addComponent(soundIndicatorsPanel, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE)
 									.addComponent(generationIndicatorsPanel, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE))
 							.addGap(2)
-							.addComponent(gameListScrollBar, GroupLayout.PREFERRED_SIZE, 474, GroupLayout.PREFERRED_SIZE))
+							.addComponent(typeAheadField, GroupLayout.PREFERRED_SIZE, 24, GroupLayout.PREFERRED_SIZE)
+							.addGap(2)
+							.addComponent(gameListScrollBar, GroupLayout.PREFERRED_SIZE, 448, GroupLayout.PREFERRED_SIZE))
 							.addGroup(groupLayout.createParallelGroup(Alignment.LEADING)
 								.addGroup(groupLayout.createSequentialGroup()
 									.addGap(35)
@@ -599,9 +685,9 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 									.addComponent(editButtonPanel, GroupLayout.PREFERRED_SIZE, 30, GroupLayout.PREFERRED_SIZE))
 								.addGroup(groupLayout.createSequentialGroup()
 									.addGap(18)
-									.addComponent(screenshot1Label, GroupLayout.PREFERRED_SIZE, 240, GroupLayout.PREFERRED_SIZE)
+									.addComponent(screenshot1Label, GroupLayout.PREFERRED_SIZE, SCREENSHOT_HEIGHT, GroupLayout.PREFERRED_SIZE)
 									.addGap(16)
-									.addComponent(screenshot2Label, GroupLayout.PREFERRED_SIZE, 240, GroupLayout.PREFERRED_SIZE))))
+									.addComponent(screenshot2Label, GroupLayout.PREFERRED_SIZE, SCREENSHOT_HEIGHT, GroupLayout.PREFERRED_SIZE))))
 						.addGap(20))
 		);
 
@@ -626,6 +712,11 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 				else if(!listSelectionEvent.getValueIsAdjusting() )
 				{
 					presenter.onSelectGames(getSelectedGames());
+
+					if(gameList.getSelectedIndices().length == 1)
+					{
+						presenter.onRequestPrefetchScreenshots(getNeighbourGames(gameList.getSelectedIndex()));
+					}
 				}
 	    	}
 	    };
@@ -707,6 +798,10 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		optionsMenu.setMnemonic(KeyStroke.getKeyStroke(messages.get("OPTIONS_MNEMONIC")).getKeyCode());
 		optionsSettings.setText(messages.get("SETTINGS") + "...");
 		optionsSettings.setMnemonic(KeyStroke.getKeyStroke(messages.get("SETTINGS_MNEMONIC")).getKeyCode());
+		optionsThumbnailView.setText(messages.get("THUMBNAIL_VIEW"));
+		optionsSortBy.setText(messages.get("SORT_BY"));
+		//the orders have the same names as the common messages for the game attributes
+		optionsSortByOrders.forEach((order, sortByOrder) -> sortByOrder.setText(messages.get(order.toString())));
 		actionsMenu.setText(messages.get("ACTIONS"));
 		actionsMenu.setMnemonic(KeyStroke.getKeyStroke(messages.get("ACTIONS_MNEMONIC")).getKeyCode());
 		actionsCreateEmptyDatabase.setText(messages.get("CREATE_EMPTY_DATABASE") + "...");
@@ -725,6 +820,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		databaseManager.setMnemonic(KeyStroke.getKeyStroke(messages.get("DATABASE_MANAGER_MNEMONIC")).getKeyCode());
 		activityViewer.setText(messages.get("ACTIVITY_VIEWER"));
 		activityViewer.setMnemonic(KeyStroke.getKeyStroke(messages.get("ACTIVITY_VIEWER_MNEMONIC")).getKeyCode());
+		precomputeRelatedGames.setText(messages.get("PRECOMPUTE_RELATED_GAMES"));
 		patcher.setText(messages.get("PATCH_CENTER") + "...");
 		patcher.setMnemonic(KeyStroke.getKeyStroke(messages.get("PATCH_CENTER_MNEMONIC")).getKeyCode());
 		lhaExtractor.setText(messages.get("LHA_EXTRACTOR") + "...");
@@ -739,6 +835,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		helpAbout.setMnemonic(KeyStroke.getKeyStroke(messages.get("ABOUT_MNEMONIC")).getKeyCode());
 		databaseLabel.setTitle(messages.get("DATABASE"));
 		totalLabel.setTitle(messages.get("COUNT"));
+		typeAheadField.setToolTipText(messages.get("TYPE_AHEAD_FILTER"));
 		favoritesButton.setToolTipText(messages.get("FAVORITES"));
 		searchButton.setToolTipText(messages.get("SEARCH"));
 		feedButton.setToolTipText(messages.get("FEED"));
@@ -765,6 +862,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		newFilterMenuItem.setText(messages.get("NEW") + "...");
 		editCurrentUntitledFilterMenuItem.setText(messages.get("EDIT_UNTITLED_FILTER") + "...");
 		resetFilterMenuItem.setText(messages.get("RESET"));
+		filterAllDatabasesMenuItem.setText(messages.get("FILTER_ALL_DATABASES") + "...");
 
 		removeConfirmationMessage = messages.get("REMOVE_CONFIRMATION_MESSAGE");
 		updateAllDatabasesConfirmationMessage = messages.get("UPDATE_ALL_DATABASES_CONFIRMATION_MESSAGE");
@@ -777,12 +875,14 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		this.currentDatabase = currentDatabase;
 		databaseLabel.setValue(currentDatabase);
 		filtersSelectButton.setEnabled(currentDatabase != null);
-		gameList.clear();
 
+		TextIcon[] elements = new TextIcon[games.size()];
+		int index = 0;
 		for(GameLabel gameLabel: games)
 		{
-			gameList.addElement(gameLabel.getName(), gameLabel.getCommany(), gameLabel.getYear(), gameLabel.getSize(), mediaIconsMap.get(gameLabel.getMedium()));
+			elements[index++] = getTextIcon(gameLabel);
 		}
+		gameList.setElements(elements);
 
 		if(selectedGame != null)
 		{
@@ -797,17 +897,85 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		databaseSelectButton.setEnabled(!databases.isEmpty());
 	}
 
+	public void addGame(GameLabel game, int index)
+	{
+		gameList.insertElement(index, getTextIcon(game));
+	}
+
+	public void replaceGame(int oldIndex, GameLabel newGame, int newIndex)
+	{
+		gameList.replaceElement(oldIndex, getTextIcon(newGame), newIndex);
+	}
+
+	private TextIcon getTextIcon(GameLabel gameLabel)
+	{
+		return new TextIcon(gameLabel.getName(), gameLabel.getCommany(), gameLabel.getYear(), gameLabel.getSize(), mediaIconsMap.get(gameLabel.getMedium()));
+	}
+
 	public void updateGameCount(int total)
 	{
 		totalLabel.setValue(String.valueOf(total));
 	}
 
+	public void showBusyIndicator(boolean busy)
+	{
+		if(busy)
+		{
+			//only show the wait cursor if loading takes long enough to be noticed
+			busyIndicatorTimer.restart();
+		}
+		else
+		{
+			busyIndicatorTimer.stop();
+			setCursor(Cursor.getDefaultCursor());
+		}
+	}
+
+	public void showPrecomputingRelatedGames(boolean precomputing)
+	{
+		//only one precomputation at a time
+		precomputeRelatedGames.setEnabled(!precomputing);
+	}
+
+	public void displayPrecomputedRelatedGames(int total)
+	{
+		MessageBoxUtil.showInformationMessageBox(this, messages.get("TOTAL_PRECOMPUTED_RELATED_GAMES") + ": " + total,
+				messages, orientation);
+	}
+
+	public void displayPrecomputeRelatedGamesError(LauncherException le)
+	{
+		MessageBoxUtil.showErrorMessageBox(this, le, messages, orientation);
+	}
+
+	public void displayFilterResultsError(LauncherException le)
+	{
+		MessageBoxUtil.showErrorMessageBox(this, le, messages, orientation);
+	}
+
+	public void displayLaunchError(LauncherException le)
+	{
+		MessageBoxUtil.showErrorMessageBox(this, le, messages, orientation);
+	}
+
+	public void displayGameListError(LauncherException le, String currentDatabase)
+	{
+		//the selected database couldn't be loaded, so go back to the one that is still displayed
+		this.currentDatabase = currentDatabase;
+		databaseLabel.setValue(currentDatabase);
+
+		MessageBoxUtil.showErrorMessageBox(this, le, messages, orientation);
+	}
+
 	/*
 	 * screenshot1: string pointing to Screenshot1 - if null both screenshots will show noscreenshot
 	 * screenshot2: string pointing to Screenshot2 - if null screenshot2 will show noscreenshot
 	 */
 	public void showGameScreenshot(String screenshot1, String screenshot2)
 	{
+		//screenshots decoded in the background are only shown if no other game was selected in the meantime
+		int request = ++screenshotsRequest;
+
 		if(screenshot1 == null)
 		{
 			screenshot1Label.setIcon(Icons.NO_SCREENSHOT.getImageIcon());
@@ -815,16 +983,30 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		}
 		else
 		{
-			screenshot1Label.setIcon(new ImageIcon(screenshot1));
+			showScreenshot(screenshot1Label, screenshot1, request);
+			showScreenshot(screenshot2Label, screenshot2, request);
+		}
+	}
 
-			if(screenshot2 == null)
-			{
-				screenshot2Label.setIcon(Icons.NO_SCREENSHOT.getImageIcon());
-			}
-			else
-			{
-				screenshot2Label.setIcon(new ImageIcon(screenshot2));
-			}
+	public void prefetchGameScreenshots(List<String> screenshots)
+	{
+		screenshots.forEach(screenshotLoader::prefetch);
+	}
+
+	private void showScreenshot(JLabel screenshotLabel, String screenshot, int request)
+	{
+		if(screenshot == null)
+		{
+			screenshotLabel.setIcon(Icons.NO_SCREENSHOT.getImageIcon());
+		}
+		else
+		{
+			screenshotLoader.load(screenshot, icon -> {
+				if(request == screenshotsRequest)
+				{
+					screenshotLabel.setIcon(icon == null ? Icons.NO_SCREENSHOT.getImageIcon() : icon);
+				}
+			});
 		}
 	}
 
@@ -915,6 +1097,10 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		{
 			applyFilter(null);
 		}
+		else if(source == filterAllDatabasesMenuItem)
+		{
+			presenter.onRequestFilterAllDatabasesScreen();
+		}
 		else if(source instanceof JMenuItem)
 		{
 			Action action = ((JMenuItem)source).getAction();
@@ -1094,6 +1280,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		if(isFilterSelected || isEditCurrentUntitledFilter)
 		{
 			filtersContextMenu.add(resetFilterMenuItem);
+			filtersContextMenu.add(filterAllDatabasesMenuItem);
 			filtersContextMenu.addSeparator();
 		}
 
@@ -1111,9 +1298,22 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 		filtersContextMenu.add(newFilterMenuItem);
 
+		updateQuickFilterCounts();
+
 		showButtonMenu(filtersSelectButton, filtersContextMenu, 0);
 	}
 
+	private void updateQuickFilterCounts()
+	{
+		Map<Filter,Integer> facetCounts = presenter.onRequestFacetCounts(quickFilterMenuItems.keySet());
+
+		quickFilterMenuItems.forEach((filter, quickFilterMenuItem) -> {
+			Integer count = facetCounts.get(filter);
+			String text = quickFilterMenuItemTexts.get(filter);
+			quickFilterMenuItem.setText(count == null ? text : text + " (" + count + ")");
+		});
+	}
+
 	public void updateFilterNameLabel(String filterName)
 	{
 		filtersLabel.setValue(filterName);
@@ -1264,6 +1464,9 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 	private void completeQuickFilterMenu()
 	{
+		quickFilterMenuItems.clear();
+		quickFilterMenuItemTexts.clear();
+
 		companyQuickFilterMenuItemList.removeAll();
 		List<Company> companies = Arrays.asList(Company.values());
 		Collections.sort(companies, (c1, c2) -> c1.getDisplayName().compareToIgnoreCase(c2.getDisplayName()));
@@ -1274,6 +1477,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			companyQuickFilterMenuItem.addActionListener(this);
 			companyQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			companyQuickFilterMenuItem.setText(company.getDisplayName());
+			quickFilterMenuItems.put(filter, companyQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, company.getDisplayName());
 			companyQuickFilterMenuItemList.add(companyQuickFilterMenuItem);
 		}
 
@@ -1285,6 +1490,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			yearQuickFilterMenuItem.addActionListener(this);
 			yearQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			yearQuickFilterMenuItem.setText(year + "");
+			quickFilterMenuItems.put(filter, yearQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, year + "");
 			yearQuickFilterMenuItemList.add(yearQuickFilterMenuItem);
 		}
 
@@ -1299,6 +1506,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			countryQuickFilterMenuItem.addActionListener(this);
 			countryQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			countryQuickFilterMenuItem.setText(messages.get(country));
+			quickFilterMenuItems.put(filter, countryQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, messages.get(country));
 			countryQuickFilterMenuItemList.add(countryQuickFilterMenuItem);
 		}
 
@@ -1311,6 +1520,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			mediumQuickFilterMenuItem.addActionListener(this);
 			mediumQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			mediumQuickFilterMenuItem.setText(messages.get(medium.toString()));
+			quickFilterMenuItems.put(filter, mediumQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, messages.get(medium.toString()));
 			mediumQuickFilterMenuItemList.add(mediumQuickFilterMenuItem);
 		}
 
@@ -1322,6 +1533,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			generationQuickFilterMenuItem.addActionListener(this);
 			generationQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			generationQuickFilterMenuItem.setText(generation.getDisplayName());
+			quickFilterMenuItems.put(filter, generationQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, generation.getDisplayName());
 			generationQuickFilterMenuItemList.add(generationQuickFilterMenuItem);
 		}
 
@@ -1333,6 +1546,8 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			soundQuickFilterMenuItem.addActionListener(this);
 			soundQuickFilterMenuItem.setAction(new QuickFilterMenuItemName(filter));
 			soundQuickFilterMenuItem.setText(sound.getDisplayName());
+			quickFilterMenuItems.put(filter, soundQuickFilterMenuItem);
+			quickFilterMenuItemTexts.put(filter, sound.getDisplayName());
 			soundQuickFilterMenuItemList.add(soundQuickFilterMenuItem);
 		}
 }
@@ -1426,6 +1641,11 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		}
 	}
 
+	private void onRequestPrecomputeRelatedGames()
+	{
+		presenter.onRequestPrecomputeRelatedGames();
+	}
+
 	private void onRequestActivityViewerScreen()
 	{
 		presenter.onRequestActivityViewerScreen();
@@ -1500,14 +1720,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 	private void launchGame()
 	{
-		try
-		{
-			presenter.onLaunchGame(getSelectedGame());
-		}
-		catch(LauncherException le)
-		{
-			MessageBoxUtil.showErrorMessageBox(this, le, messages, orientation);
-		}
+		presenter.onLaunchGame(getSelectedGame());
 	}
 
 	private void addGame()
@@ -1548,13 +1761,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			{
 				presenter.onRequestRemoveGamesAction(getSelectedGames());
 
-				//delete from the Jlist - start with higher indices then go down
-				//the reason for this is that deleting lower indices first will shift elements up so indices of later items will be different
-		        int[] selections = gameList.getSelectedIndices();
-		        for(int index=selections.length-1; index >= 0; index--)
-		        {
-		        	gameList.remove(selections[index]);
-		        }
+				gameList.removeElements(gameList.getSelectedIndices());
 			}
 			catch(LauncherException le)
 			{
@@ -1591,13 +1798,16 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 			Set<String> movedGames = presenter.onRequestMoveGamesScreen(games, currentDatabase);
 	
 			int gamesTotal = gameList.getListSize();
-			for(int index = gamesTotal - 1; index > -1; index--)
+			int[] movedIndices = new int[movedGames.size()];
+			int movedTotal = 0;
+			for(int index = 0; index < gamesTotal && movedTotal < movedIndices.length; index++)
 			{
 				if(movedGames.contains(gameList.getElementAt(index)))
 				{
-					gameList.remove(index);
+					movedIndices[movedTotal++] = index;
 				}
 			}
+			gameList.removeElements(Arrays.copyOf(movedIndices, movedTotal));
 		}
 	}
 
@@ -1805,6 +2015,7 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		newFilterMenuItem.setComponentOrientation(orientation);
 		editCurrentUntitledFilterMenuItem.setComponentOrientation(orientation);
 		resetFilterMenuItem.setComponentOrientation(orientation);
+		filterAllDatabasesMenuItem.setComponentOrientation(orientation);
 		moveMenuItem.setComponentOrientation(orientation);
 		locateFileMenuItem.setComponentOrientation(orientation);
 		addFavoriteMenuItem.setComponentOrientation(orientation);
@@ -1832,6 +2043,81 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		return gameName;
 	}
 
+	private void applyTypeAheadFilter()
+	{
+		String selectedGame = getSelectedGame();
+
+		//the list is narrowed on each keystroke, as the games are matched in memory
+		presenter.onRequestTypeAheadFilter(typeAheadField.getText());
+
+		if(selectedGame != null)
+		{
+			gameList.selectValueIfPresent(selectedGame);
+		}
+	}
+
+	private void focusGameList()
+	{
+		if(gameList.getListSize() > 0)
+		{
+			if(gameList.getSelectedIndex() < 0)
+			{
+				gameList.setSelectedIndex(0);
+			}
+			gameList.requestFocusInWindow();
+		}
+	}
+
+	private void toggleThumbnailView()
+	{
+		if(optionsThumbnailView.isSelected())
+		{
+			if(thumbnailLoader == null)
+			{
+				thumbnailLoader = new ThumbnailLoader(openThumbnailCache(), THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, gameList::repaint);
+			}
+			gameList.showThumbnails(this::getThumbnail, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+		}
+		else
+		{
+			gameList.showList();
+		}
+	}
+
+	private ThumbnailCache openThumbnailCache()
+	{
+		try
+		{
+			return ThumbnailCache.open(thumbnailCacheFile);
+		}
+		catch(IOException ioe)
+		{
+			//thumbnails can still be shown, they just won't be kept for the next time
+			return null;
+		}
+	}
+
+	private Image getThumbnail(String gameName)
+	{
+		String screenshot = presenter.onRequestGameScreenshot(gameName);
+
+		return screenshot == null ? null : thumbnailLoader.getThumbnail(screenshot);
+	}
+
+	private List<String> getNeighbourGames(int index)
+	{
+		List<String> gameNames = new ArrayList<>();
+		if(index + 1 < gameList.getListSize())
+		{
+			gameNames.add(gameList.getElementAt(index + 1));
+		}
+		if(index > 0)
+		{
+			gameNames.add(gameList.getElementAt(index - 1));
+		}
+		return gameNames;
+	}
+
 	private Set<String> getSelectedGames()
 	{
 		Set<String> gameNames = null;
@@ -1899,6 +2185,9 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 
 		resetFilterMenuItem = new JMenuItem();
 		resetFilterMenuItem.addActionListener(this);
+
+		filterAllDatabasesMenuItem = new JMenuItem();
+		filterAllDatabasesMenuItem.addActionListener(this);
 	}
 
 	private void selectGame(DatabaseItem databaseItem)
@@ -2124,6 +2413,18 @@ public class MainWindow extends JFrame implements ActionListener, WindowFocusLis
 		@Override
 		public void windowClosing(WindowEvent we)
 		{
+			if(thumbnailLoader != null)
+			{
+				try
+				{
+					thumbnailLoader.close();
+				}
+				catch(IOException ioe)
+				{
+					//the cache is only a copy of the screenshots, nothing is lost
+				}
+			}
+
 			presenter.onRequestExit();
 		}
 	}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+/**
+ * Decodes screenshots on a background thread and keeps the most recently used ones in memory, scaled to the size
+ * they are displayed at. All methods must be called from the event dispatch thread
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class ScreenshotLoader
+{
+	private static final int CACHE_SIZE = 32;
+
+	//requests that wait longer than this are dropped - the user has scrolled past them anyway
+	private static final int MAX_PENDING_REQUESTS = 16;
+
+	private final int width;
+	private final int height;
+
+	private final Map<String,ImageIcon> cache = new LinkedHashMap<String,ImageIcon>(CACHE_SIZE, 0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,ImageIcon> eldest)
+		{
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	//screenshots that are queued or being decoded -> consumers waiting for them (empty for prefetches)
+	private final Map<String,List<Consumer<ImageIcon>>> pending = new HashMap<>();
+	private final BlockingDeque<String> queue = new LinkedBlockingDeque<>();
+
+	ScreenshotLoader(int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+
+		Thread decoder = new Thread(this::decode, "Screenshot decoder");
+		decoder.setDaemon(true);
+		decoder.start();
+	}
+
+	/**
+	 * Passes the given screenshot to the consumer. If it is already in memory the consumer is called right away,
+	 * otherwise it is called later on the event dispatch thread once the screenshot is decoded
+	 * 
+	 * @param screenshot Full path to the screenshot image file
+	 * @param consumer Consumer of the screenshot. It receives null if the file could not be read
+	 */
+	void load(String screenshot, Consumer<ImageIcon> consumer)
+	{
+		ImageIcon icon = cache.get(screenshot);
+		if(icon != null)
+		{
+			consumer.accept(icon);
+			return;
+		}
+
+		List<Consumer<ImageIcon>> consumers = pending.get(screenshot);
+		if(consumers == null)
+		{
+			consumers = new ArrayList<>();
+			pending.put(screenshot, consumers);
+			queue.offerFirst(screenshot);
+		}
+		else if(queue.remove(screenshot))
+		{
+			//it's still queued, possibly behind prefetches - move it to the front
+			queue.offerFirst(screenshot);
+		}
+		else
+		{
+			//the decoder has already taken it, so the consumer gets it when it's decoded
+		}
+		consumers.add(consumer);
+
+		dropOldestRequests();
+	}
+
+	/**
+	 * Decodes the given screenshot in the background if it is not already in memory
+	 * 
+	 * @param screenshot Full path to the screenshot image file
+	 */
+	void prefetch(String screenshot)
+	{
+		if(!cache.containsKey(screenshot) && !pending.containsKey(screenshot))
+		{
+			pending.put(screenshot, new ArrayList<>());
+			queue.offerLast(screenshot);
+
+			dropOldestRequests();
+		}
+	}
+
+	private void dropOldestRequests()
+	{
+		while(queue.size() > MAX_PENDING_REQUESTS)
+		{
+			String screenshot = queue.pollLast();
+			if(screenshot != null)
+			{
+				pending.remove(screenshot);
+			}
+		}
+	}
+
+	private void decode()
+	{
+		while(true)
+		{
+			String screenshot;
+			try
+			{
+				screenshot = queue.takeFirst();
+			}
+			catch(InterruptedException ie)
+			{
+				return;
+			}
+
+			ImageIcon icon = read(screenshot);
+
+			SwingUtilities.invokeLater(() -> onDecoded(screenshot, icon));
+		}
+	}
+
+	private void onDecoded(String screenshot, ImageIcon icon)
+	{
+		if(icon != null)
+		{
+			cache.put(screenshot, icon);
+		}
+
+		List<Consumer<ImageIcon>> consumers = pending.remove(screenshot);
+		if(consumers != null)
+		{
+			consumers.forEach(consumer -> consumer.accept(icon));
+		}
+	}
+
+	private ImageIcon read(String screenshot)
+	{
+		BufferedImage image;
+		try
+		{
+			image = ImageIO.read(new File(screenshot));
+		}
+		catch(IOException ioe)
+		{
+			return null;
+		}
+
+		if(image == null)
+		{
+			//not an image format that can be read
+			return null;
+		}
+
+		if(image.getWidth() > width || image.getHeight() > height)
+		{
+			//only shrink images that don't fit, keeping their aspect ratio. Smaller ones are shown as they are
+			double scale = Math.min((double)width / image.getWidth(), (double)height / image.getHeight());
+			int scaledWidth = Math.max(1, (int)(image.getWidth() * scale));
+			int scaledHeight = Math.max(1, (int)(image.getHeight() * scale));
+
+			BufferedImage scaledImage = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2 = scaledImage.createGraphics();
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g2.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+			g2.dispose();
+			image = scaledImage;
+		}
+
+		return new ImageIcon(image);
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistent store of encoded thumbnails packed into a single file, which is memory mapped for reading.
+ * Thumbnails are keyed by the path of the original image and its last modification time, so a thumbnail
+ * is generated again only when its image changes.
+ * <p>
+ * The file starts with a header followed by records that are only ever appended:
+ * key length (int), key (UTF-8), modification time (long), data length (int), data.
+ * When an image changes its new record supersedes the old one, which is dropped when the file is opened
+ * next time if it holds more superseded data than live data.
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class ThumbnailCache implements Closeable
+{
+	private static final int HEADER = 0x544E4331;
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int MAX_KEY_LENGTH = 4096;
+	private static final int MAX_DATA_LENGTH = 1 << 20;
+
+	private final FileChannel channel;
+	private final Map<String,Record> records;
+	private long size;
+	private MappedByteBuffer mappedBuffer;
+
+	private ThumbnailCache(FileChannel channel, Map<String,Record> records, long size) throws IOException
+	{
+		this.channel = channel;
+		this.records = records;
+		this.size = size;
+		this.mappedBuffer = channel.map(MapMode.READ_ONLY, 0, size);
+	}
+
+	/**
+	 * Opens the thumbnail cache stored in the given file, creating the file if it doesn't exist.
+	 * A file with an unknown format is started over, and a partially written last record is discarded
+	 * 
+	 * @param file Thumbnail cache file
+	 * @return Opened thumbnail cache
+	 * @throws IOException
+	 */
+	static ThumbnailCache open(File file) throws IOException
+	{
+		Map<String,Record> records = new LinkedHashMap<>();
+		long validSize;
+		long liveSize = 0;
+
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			validSize = readRecords(channel, records);
+			if(validSize < channel.size())
+			{
+				channel.truncate(validSize);
+			}
+		}
+
+		for(Record record: records.values())
+		{
+			liveSize += record.getSize();
+		}
+
+		if(validSize - HEADER_SIZE > 2 * liveSize)
+		{
+			//more than half the file is superseded thumbnails
+			compact(file, records);
+			validSize = HEADER_SIZE + liveSize;
+		}
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		if(validSize == 0)
+		{
+			channel.write((ByteBuffer)ByteBuffer.allocate(HEADER_SIZE).putInt(HEADER).flip(), 0);
+			validSize = HEADER_SIZE;
+		}
+
+		return new ThumbnailCache(channel, new HashMap<>(records), validSize);
+	}
+
+	/**
+	 * Returns the stored thumbnail of an image
+	 * 
+	 * @param key Key of the image (e.g. its path)
+	 * @param lastModified Last modification time of the image
+	 * @return Encoded thumbnail or null if there isn't one for the given image or if the image changed since it was stored
+	 * @throws IOException
+	 */
+	synchronized byte[] get(String key, long lastModified) throws IOException
+	{
+		Record record = records.get(key);
+
+		if(record == null || record.lastModified != lastModified)
+		{
+			return null;
+		}
+
+		if(record.getDataOffset() + record.dataLength > mappedBuffer.capacity())
+		{
+			//the record was appended after the file was mapped
+			mappedBuffer = channel.map(MapMode.READ_ONLY, 0, size);
+		}
+
+		byte[] data = new byte[record.dataLength];
+		ByteBuffer buffer = mappedBuffer.duplicate();
+		buffer.position((int)record.getDataOffset());
+		buffer.get(data);
+
+		return data;
+	}
+
+	/**
+	 * Stores the thumbnail of an image, superseding any thumbnail previously stored for it
+	 * 
+	 * @param key Key of the image (e.g. its path)
+	 * @param lastModified Last modification time of the image
+	 * @param data Encoded thumbnail
+	 * @throws IOException
+	 */
+	synchronized void put(String key, long lastModified, byte[] data) throws IOException
+	{
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		if(keyBytes.length > MAX_KEY_LENGTH || data.length > MAX_DATA_LENGTH)
+		{
+			throw new IllegalArgumentException("Thumbnail key or data too long");
+		}
+
+		Record record = new Record(lastModified, size, keyBytes.length, data.length);
+
+		ByteBuffer buffer = ByteBuffer.allocate((int)record.getSize());
+		buffer.putInt(keyBytes.length).put(keyBytes).putLong(lastModified).putInt(data.length).put(data).flip();
+
+		long position = size;
+		while(buffer.hasRemaining())
+		{
+			position += channel.write(buffer, position);
+		}
+
+		size = position;
+		records.put(key, record);
+	}
+
+	/**
+	 * @return Number of thumbnails in the cache
+	 */
+	synchronized int size()
+	{
+		return records.size();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		channel.close();
+	}
+
+	private static long readRecords(FileChannel channel, Map<String,Record> records) throws IOException
+	{
+		//the file is read with plain reads rather than mapped, since a mapped file cannot be truncated on some platforms
+		long fileSize = channel.size();
+		ByteBuffer intBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+		if(fileSize < HEADER_SIZE || !readFully(channel, intBuffer, 0) || intBuffer.getInt(0) != HEADER)
+		{
+			return 0;
+		}
+
+		long position = HEADER_SIZE;
+		while(readFully(channel, intBuffer, position))
+		{
+			int keyLength = intBuffer.getInt(0);
+			if(keyLength <= 0 || keyLength > MAX_KEY_LENGTH)
+			{
+				return position;
+			}
+
+			ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength + Long.BYTES + Integer.BYTES);
+			if(!readFully(channel, keyBuffer, position + Integer.BYTES))
+			{
+				return position;
+			}
+			long lastModified = keyBuffer.getLong(keyLength);
+			int dataLength = keyBuffer.getInt(keyLength + Long.BYTES);
+			if(dataLength < 0 || dataLength > MAX_DATA_LENGTH || position + Record.getSize(keyLength, dataLength) > fileSize)
+			{
+				return position;
+			}
+
+			String key = new String(keyBuffer.array(), 0, keyLength, StandardCharsets.UTF_8);
+			//remove first so that the order of the map stays the order of the live records in the file
+			records.remove(key);
+			records.put(key, new Record(lastModified, position, keyLength, dataLength));
+			position += Record.getSize(keyLength, dataLength);
+		}
+
+		return position;
+	}
+
+	private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		buffer.clear();
+		while(buffer.hasRemaining())
+		{
+			if(channel.read(buffer, position + buffer.position()) < 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static void compact(File file, Map<String,Record> records) throws IOException
+	{
+		File compactedFile = new File(file.getPath() + ".tmp");
+		Map<String,Record> compactedRecords = new LinkedHashMap<>();
+
+		try(FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+				FileChannel target = FileChannel.open(compactedFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.WRITE))
+		{
+			target.write((ByteBuffer)ByteBuffer.allocate(HEADER_SIZE).putInt(HEADER).flip());
+
+			for(Map.Entry<String,Record> entry: records.entrySet())
+			{
+				Record record = entry.getValue();
+				long recordSize = record.getSize();
+				long targetStart = target.position();
+
+				long transferred = 0;
+				while(transferred < recordSize)
+				{
+					transferred += source.transferTo(record.offset + transferred, recordSize - transferred, target);
+				}
+
+				compactedRecords.put(entry.getKey(), new Record(record.lastModified, targetStart, record.keyLength, record.dataLength));
+			}
+		}
+
+		Files.move(compactedFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+		records.clear();
+		records.putAll(compactedRecords);
+	}
+
+	private static final class Record
+	{
+		private final long lastModified;
+		private final long offset;
+		private final int keyLength;
+		private final int dataLength;
+
+		Record(long lastModified, long offset, int keyLength, int dataLength)
+		{
+			this.lastModified = lastModified;
+			this.offset = offset;
+			this.keyLength = keyLength;
+			this.dataLength = dataLength;
+		}
+
+		long getDataOffset()
+		{
+			return offset + getSize(keyLength, 0);
+		}
+
+		long getSize()
+		{
+			return getSize(keyLength, dataLength);
+		}
+
+		static long getSize(int keyLength, int dataLength)
+		{
+			return Integer.BYTES + keyLength + Long.BYTES + Integer.BYTES + dataLength;
+		}
+	}
+}
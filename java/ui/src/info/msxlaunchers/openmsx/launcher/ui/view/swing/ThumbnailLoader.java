@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+/**
+ * Loads screenshot thumbnails on a small pool of background threads. Thumbnails are generated once and
+ * stored in a <code>ThumbnailCache</code>; the most recently used ones are also kept decoded in memory.
+ * All methods must be called from the event dispatch thread, and <code>close</code> when the application exits
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+final class ThumbnailLoader implements Closeable
+{
+	private static final int DECODE_THREADS = 2;
+	private static final int MEMORY_CACHE_SIZE = 512;
+
+	//tiles that were scrolled past before their thumbnail was loaded are dropped beyond this number
+	private static final int MAX_PENDING_REQUESTS = 64;
+
+	//thumbnails still being generated at exit are given this long to be stored before the cache is closed
+	private static final long CLOSE_WAIT_MILLIS = 500;
+
+	//stands for screenshots that couldn't be read, so that they're not requested again
+	private static final Image UNREADABLE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+	private final ThumbnailCache thumbnailCache;
+	private final int width;
+	private final int height;
+	private final Runnable onLoaded;
+
+	private final Map<String,Image> memoryCache = new LinkedHashMap<String,Image>(MEMORY_CACHE_SIZE, 0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,Image> eldest)
+		{
+			return size() > MEMORY_CACHE_SIZE;
+		}
+	};
+	private final Set<String> pending = new HashSet<>();
+	private final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<Runnable>()
+	{
+		private static final long serialVersionUID = 1L;
+
+		//the most recently requested thumbnails are the ones in view, so they're loaded first
+		@Override
+		public boolean offer(Runnable task)
+		{
+			return offerFirst(task);
+		}
+	};
+	private final ThreadPoolExecutor decodePool;
+
+	/**
+	 * @param thumbnailCache Persistent store of generated thumbnails. Can be null, in which case thumbnails are generated each time
+	 * @param width Maximum width of the thumbnails
+	 * @param height Maximum height of the thumbnails
+	 * @param onLoaded Called on the event dispatch thread when a requested thumbnail becomes available
+	 */
+	ThumbnailLoader(ThumbnailCache thumbnailCache, int width, int height, Runnable onLoaded)
+	{
+		this.thumbnailCache = thumbnailCache;
+		this.width = width;
+		this.height = height;
+		this.onLoaded = onLoaded;
+
+		this.decodePool = new ThreadPoolExecutor(DECODE_THREADS, DECODE_THREADS, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+			Thread thread = new Thread(runnable, "Thumbnail loader");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the thumbnail of the given screenshot if it is in memory, otherwise starts loading it
+	 * 
+	 * @param screenshot Full path to the screenshot image file
+	 * @return Thumbnail or null if it is not loaded yet or the screenshot cannot be read
+	 */
+	Image getThumbnail(String screenshot)
+	{
+		Image thumbnail = memoryCache.get(screenshot);
+
+		if(thumbnail == null && pending.add(screenshot))
+		{
+			decodePool.execute(new ThumbnailTask(screenshot));
+
+			while(queue.size() > MAX_PENDING_REQUESTS)
+			{
+				Runnable task = queue.pollLast();
+				if(task != null)
+				{
+					pending.remove(((ThumbnailTask)task).screenshot);
+				}
+			}
+		}
+
+		return thumbnail == UNREADABLE ? null : thumbnail;
+	}
+
+	private Image loadThumbnail(String screenshot)
+	{
+		File screenshotFile = new File(screenshot);
+		long lastModified = screenshotFile.lastModified();
+
+		try
+		{
+			byte[] data = thumbnailCache == null ? null : thumbnailCache.get(screenshot, lastModified);
+			if(data != null)
+			{
+				Image thumbnail = ImageIO.read(new ByteArrayInputStream(data));
+				if(thumbnail != null)
+				{
+					return thumbnail;
+				}
+			}
+
+			BufferedImage image = ImageIO.read(screenshotFile);
+			if(image == null)
+			{
+				return UNREADABLE;
+			}
+
+			BufferedImage thumbnail = scale(image);
+			if(thumbnailCache != null)
+			{
+				store(screenshot, lastModified, thumbnail);
+			}
+
+			return thumbnail;
+		}
+		catch(IOException | RuntimeException e)
+		{
+			//image readers can also throw unchecked exceptions on corrupt files
+			return UNREADABLE;
+		}
+	}
+
+	private void store(String screenshot, long lastModified, BufferedImage thumbnail)
+	{
+		try
+		{
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			ImageIO.write(thumbnail, "png", output);
+			thumbnailCache.put(screenshot, lastModified, output.toByteArray());
+		}
+		catch(IOException | IllegalArgumentException e)
+		{
+			//the thumbnail can still be shown - it is generated again the next time, e.g. when it is too large to be cached
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		decodePool.shutdownNow();
+
+		try
+		{
+			decodePool.awaitTermination(CLOSE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		catch(InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		if(thumbnailCache != null)
+		{
+			thumbnailCache.close();
+		}
+	}
+
+	private BufferedImage scale(BufferedImage image)
+	{
+		double scale = Math.min(1.0, Math.min((double)width / image.getWidth(), (double)height / image.getHeight()));
+		int scaledWidth = Math.max(1, (int)(image.getWidth() * scale));
+		int scaledHeight = Math.max(1, (int)(image.getHeight() * scale));
+
+		BufferedImage thumbnail = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = thumbnail.createGraphics();
+		g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g2.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+		g2.dispose();
+
+		return thumbnail;
+	}
+
+	private final class ThumbnailTask implements Runnable
+	{
+		private final String screenshot;
+
+		ThumbnailTask(String screenshot)
+		{
+			this.screenshot = screenshot;
+		}
+
+		@Override
+		public void run()
+		{
+			Image thumbnail = UNREADABLE;
+
+			try
+			{
+				thumbnail = loadThumbnail(screenshot);
+			}
+			finally
+			{
+				//whatever happened, the screenshot must leave the pending state or it would never be requested again
+				Image loadedThumbnail = thumbnail;
+				SwingUtilities.invokeLater(() -> {
+					pending.remove(screenshot);
+					memoryCache.put(screenshot, loadedThumbnail);
+					onLoaded.run();
+				});
+			}
+		}
+	}
+}
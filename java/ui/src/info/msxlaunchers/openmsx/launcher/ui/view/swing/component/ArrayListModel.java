@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Sam Elsharif
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.msxlaunchers.openmsx.launcher.ui.view.swing.component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * List model backed by an array. Replacing all elements fires a single event instead of one per element,
+ * and elements can be located by their key without a linear search. Inserting or removing elements fires events for the changed
+ * rows only
+ * 
+ * @since v1.15
+ * @author Sam Elsharif
+ *
+ */
+@SuppressWarnings("serial")
+final class ArrayListModel<E> extends AbstractListModel<E>
+{
+	private final Function<E,String> keyFunction;
+
+	private E[] elements;
+	private int size;
+
+	//built on first lookup after a change
+	private Map<String,Integer> indexByKey;
+
+	@SuppressWarnings("unchecked")
+	ArrayListModel(Function<E,String> keyFunction)
+	{
+		this.keyFunction = Objects.requireNonNull(keyFunction);
+		this.elements = (E[])new Object[0];
+		this.size = 0;
+	}
+
+	@Override
+	public int getSize()
+	{
+		return size;
+	}
+
+	@Override
+	public E getElementAt(int index)
+	{
+		return elements[index];
+	}
+
+	/**
+	 * Replaces all elements of the model. The array is owned by the model after this call
+	 * 
+	 * @param newElements Array of new elements
+	 */
+	void setElements(E[] newElements)
+	{
+		int oldSize = size;
+
+		elements = newElements;
+		size = newElements.length;
+		indexByKey = null;
+
+		int maxSize = Math.max(oldSize, size);
+		if(maxSize > 0)
+		{
+			fireContentsChanged(this, 0, maxSize - 1);
+		}
+	}
+
+	void clear()
+	{
+		setElements(Arrays.copyOf(elements, 0));
+	}
+
+	void remove(int index)
+	{
+		if(index < 0 || index >= size)
+		{
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		elements[--size] = null;
+		indexByKey = null;
+
+		fireIntervalRemoved(this, index, index);
+	}
+
+	/**
+	 * Removes the elements at the given indices in one pass over the array. One event is fired for each run of
+	 * consecutive indices, starting with the last run so that the indices of the earlier runs are still valid
+	 * 
+	 * @param indices Indices of the elements to remove, without duplicates
+	 */
+	void remove(int[] indices)
+	{
+		if(indices.length == 0)
+		{
+			return;
+		}
+
+		int[] sortedIndices = indices.clone();
+		Arrays.sort(sortedIndices);
+		if(sortedIndices[0] < 0)
+		{
+			throw new ArrayIndexOutOfBoundsException(sortedIndices[0]);
+		}
+		if(sortedIndices[sortedIndices.length - 1] >= size)
+		{
+			throw new ArrayIndexOutOfBoundsException(sortedIndices[sortedIndices.length - 1]);
+		}
+
+		int newSize = sortedIndices[0];
+		int next = 0;
+		for(int index = sortedIndices[0]; index < size; index++)
+		{
+			if(next < sortedIndices.length && sortedIndices[next] == index)
+			{
+				next++;
+			}
+			else
+			{
+				elements[newSize++] = elements[index];
+			}
+		}
+		Arrays.fill(elements, newSize, size, null);
+		size = newSize;
+		indexByKey = null;
+
+		int runEnd = sortedIndices.length - 1;
+		for(int index = runEnd; index >= 0; index--)
+		{
+			if(index == 0 || sortedIndices[index - 1] != sortedIndices[index] - 1)
+			{
+				fireIntervalRemoved(this, sortedIndices[index], sortedIndices[runEnd]);
+				runEnd = index - 1;
+			}
+		}
+	}
+
+	/**
+	 * Inserts an element, firing a single event for its row
+	 * 
+	 * @param index Position of the element
+	 * @param element Element to insert
+	 */
+	void insert(int index, E element)
+	{
+		if(index < 0 || index > size)
+		{
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+
+		if(size == elements.length)
+		{
+			elements = Arrays.copyOf(elements, size + (size >> 1) + 1);
+		}
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = element;
+		size++;
+		indexByKey = null;
+
+		fireIntervalAdded(this, index, index);
+	}
+
+	/**
+	 * Returns index of the element with the given key
+	 * 
+	 * @param key Key of the element
+	 * @return Index of the element, or -1 if no element has the given key
+	 */
+	int indexOfKey(String key)
+	{
+		if(indexByKey == null)
+		{
+			indexByKey = new HashMap<>(size * 2);
+			for(int index = 0; index < size; index++)
+			{
+				indexByKey.put(keyFunction.apply(elements[index]), index);
+			}
+		}
+
+		return indexByKey.getOrDefault(key, -1);
+	}
+}
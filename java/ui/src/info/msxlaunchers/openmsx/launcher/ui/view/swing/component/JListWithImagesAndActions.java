@@ -20,6 +20,9 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
@@ -27,8 +30,9 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
+import java.util.function.Function;
 
-import javax.swing.DefaultListModel;
+import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JList;
@@ -59,17 +63,30 @@ public class JListWithImagesAndActions extends JList<Object>
 	private StringBuilder pressedKeysBuffer = new StringBuilder();
 	private long pressTimeValue;
 
-	private final DefaultListModel<Object> listModel;
+	//extra width for the cell insets and the label margins
+	private static final int CELL_WIDTH_PADDING = 8;
+	private static final int THUMBNAIL_PADDING = 6;
+	private static final int LIST_VISIBLE_ROW_COUNT = 8;
+
+	private final ArrayListModel<Object> listModel;
+	private final JListCellRenderer cellRenderer;
+	private JListThumbnailRenderer thumbnailRenderer = null;
 
 	ActionListener actionListener;
  
-	public JListWithImagesAndActions(DefaultListModel<Object> listModel)
+	public JListWithImagesAndActions()
+	{
+		this(new ArrayListModel<Object>(element -> ((TextIcon)element).name));
+	}
+
+	private JListWithImagesAndActions(ArrayListModel<Object> listModel)
 	{
 		super(listModel);
 
 		this.listModel = listModel;
+		this.cellRenderer = new JListCellRenderer();
 
-		setCellRenderer(new JListCellRenderer());
+		setCellRenderer(cellRenderer);
 		setBackground(BACKGROUND_COLOR);
 
 		addMouseListener(new MouseAdapter()
@@ -176,13 +193,120 @@ public class JListWithImagesAndActions extends JList<Object>
 		});
 	}
 
-	public void addElement(String name, String company, String year, long size, ImageIcon icon)
+	/**
+	 * Replaces all elements in the list. The list is notified once, and since all cells have a fixed size
+	 * only the visible ones are rendered
+	 * 
+	 * @param elements Array of elements, in the order they are to be displayed. The array is owned by the list after this call
+	 */
+	public void setElements(TextIcon[] elements)
+	{
+		clearSelection();
+		if(thumbnailRenderer == null)
+		{
+			updateFixedCellSize(elements);
+		}
+		listModel.setElements(elements);
+	}
+
+	/**
+	 * Inserts an element and selects it. Only the new row is laid out and repainted
+	 * 
+	 * @param index Position of the new element
+	 * @param element New element
+	 */
+	public void insertElement(int index, TextIcon element)
+	{
+		listModel.insert(index, element);
+		if(thumbnailRenderer == null)
+		{
+			widenFixedCellSize(element);
+		}
+		selectIndex(index);
+	}
+
+	/**
+	 * Replaces an element with another, which is inserted at its own position and selected
+	 * 
+	 * @param oldIndex Position of the element to replace, or -1 to only insert the new element
+	 * @param newElement New element
+	 * @param newIndex Position of the new element, after the old one is removed
+	 */
+	public void replaceElement(int oldIndex, TextIcon newElement, int newIndex)
+	{
+		if(oldIndex >= 0)
+		{
+			listModel.remove(oldIndex);
+		}
+		insertElement(newIndex, newElement);
+	}
+
+	/**
+	 * Removes the elements at the given indices
+	 * 
+	 * @param indices Indices of the elements to remove
+	 */
+	public void removeElements(int[] indices)
+	{
+		listModel.remove(indices);
+	}
+
+	/**
+	 * Shows the elements as a grid of thumbnails. Only the tiles in view are rendered, so thumbnails are only requested for them
+	 * 
+	 * @param thumbnailSource Returns the thumbnail of the element with the given name, or null if there isn't one (yet)
+	 * @param thumbnailWidth Maximum width of the thumbnails
+	 * @param thumbnailHeight Maximum height of the thumbnails
+	 */
+	public void showThumbnails(Function<String,Image> thumbnailSource, int thumbnailWidth, int thumbnailHeight)
+	{
+		thumbnailRenderer = new JListThumbnailRenderer(thumbnailSource, thumbnailWidth, thumbnailHeight);
+
+		setCellRenderer(thumbnailRenderer);
+		setLayoutOrientation(HORIZONTAL_WRAP);
+		setVisibleRowCount(-1);
+		setFixedCellWidth(thumbnailWidth + 2 * THUMBNAIL_PADDING);
+		setFixedCellHeight(thumbnailRenderer.getPreferredSize().height);
+		ensureSelectionIsVisible();
+	}
+
+	/**
+	 * Shows the elements as a list of names with their details
+	 */
+	public void showList()
+	{
+		thumbnailRenderer = null;
+
+		setCellRenderer(cellRenderer);
+		setLayoutOrientation(VERTICAL);
+		setVisibleRowCount(LIST_VISIBLE_ROW_COUNT);
+
+		TextIcon[] elements = new TextIcon[listModel.getSize()];
+		for(int index = 0; index < elements.length; index++)
+		{
+			elements[index] = (TextIcon)listModel.getElementAt(index);
+		}
+		updateFixedCellSize(elements);
+		ensureSelectionIsVisible();
+	}
+
+	public boolean isShowingThumbnails()
+	{
+		return thumbnailRenderer != null;
+	}
+
+	private void ensureSelectionIsVisible()
 	{
-		listModel.addElement(new TextIcon(name, company, year, size, icon));
+		int index = getSelectedIndex();
+		if(index >= 0)
+		{
+			SwingUtilities.invokeLater(() -> ensureIndexIsVisible(index));
+		}
 	}
 
 	public void clear()
 	{
+		clearSelection();
 		listModel.clear();
 	}
 
@@ -194,7 +318,26 @@ public class JListWithImagesAndActions extends JList<Object>
 
 	public void setSelectedValue(String name)
 	{
-		int index = listModel.indexOf(new TextIcon(name, null, null, 0, null));
+		selectIndex(listModel.indexOfKey(name));
+	}
+
+	/**
+	 * Selects the element with the given name if it's in the list, without moving the focus to the list
+	 * 
+	 * @param name Name of the element
+	 */
+	public void selectValueIfPresent(String name)
+	{
+		int index = listModel.indexOfKey(name);
+		if(index >= 0)
+		{
+			setSelectedIndex(index);
+			SwingUtilities.invokeLater(() -> ensureIndexIsVisible(index));
+		}
+	}
+
+	private void selectIndex(int index)
+	{
 		setSelectedIndex(index);
 		SwingUtilities.invokeLater(() -> ensureIndexIsVisible(index));
 		requestFocusInWindow();
@@ -223,7 +366,7 @@ public class JListWithImagesAndActions extends JList<Object>
 		}
 		else
 		{
-			element = ((TextIcon)listModel.elementAt(index)).name;
+			element = ((TextIcon)listModel.getElementAt(index)).name;
 		}
 
 		return element;
@@ -239,6 +382,53 @@ public class JListWithImagesAndActions extends JList<Object>
 		this.actionListener = actionListener;
 	}
 
+	private void updateFixedCellSize(TextIcon[] elements)
+	{
+		if(elements.length == 0)
+		{
+			return;
+		}
+
+		//measuring the text is much cheaper than laying out the renderer for every element, which JList does otherwise
+		FontMetrics nameFontMetrics = getFontMetrics(JListCellRenderer.nameLabel.getFont());
+		FontMetrics infoFontMetrics = getFontMetrics(JListCellRenderer.infoLabel.getFont());
+
+		int maxWidth = 0;
+		for(TextIcon element: elements)
+		{
+			maxWidth = Math.max(maxWidth, getCellWidth(element, nameFontMetrics, infoFontMetrics));
+		}
+
+		setFixedCellHeight(cellRenderer.getListCellRendererComponent(this, elements[0], 0, false, false).getPreferredSize().height);
+		setFixedCellWidth(maxWidth);
+	}
+
+	private void widenFixedCellSize(TextIcon element)
+	{
+		if(getFixedCellHeight() < 0)
+		{
+			//the list was empty so there isn't a cell size yet
+			updateFixedCellSize(new TextIcon[] {element});
+		}
+		else
+		{
+			int cellWidth = getCellWidth(element, getFontMetrics(JListCellRenderer.nameLabel.getFont()), getFontMetrics(JListCellRenderer.infoLabel.getFont()));
+			if(cellWidth > getFixedCellWidth())
+			{
+				setFixedCellWidth(cellWidth);
+			}
+		}
+	}
+
+	private static int getCellWidth(TextIcon element, FontMetrics nameFontMetrics, FontMetrics infoFontMetrics)
+	{
+		int textWidth = Math.max(nameFontMetrics.stringWidth(element.name),
+				infoFontMetrics.stringWidth(JListCellRenderer.getFormattedString(element)));
+		int iconWidth = element.icon == null ? 0 : element.icon.getIconWidth();
+
+		return iconWidth + textWidth + CELL_WIDTH_PADDING;
+	}
+
 	private static boolean isPrintableChar(char c)
 	{
 	    Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
@@ -310,7 +500,7 @@ public class JListWithImagesAndActions extends JList<Object>
 			return this;
 		}
 
-		private String getFormattedString(TextIcon textIcon)
+		private static String getFormattedString(TextIcon textIcon)
 		{
 			StringBuilder builder = new StringBuilder();
 
@@ -331,15 +521,105 @@ public class JListWithImagesAndActions extends JList<Object>
 		}
 	}
 
-	private class TextIcon
+	private static class JListThumbnailRenderer extends JPanel implements ListCellRenderer<Object>
+	{
+		private static final Color backgroundColor = new Color(190, 220, 230);
+		private static final Color placeholderColor = new Color(225, 225, 225);
+		private static final Font nameFont = new Font(null, Font.PLAIN, 11);
+
+		private final Function<String,Image> thumbnailSource;
+		private final ThumbnailIcon thumbnailIcon;
+		private final JLabel thumbnailLabel;
+		private final JLabel nameLabel = new JLabel();
+
+		JListThumbnailRenderer(Function<String,Image> thumbnailSource, int thumbnailWidth, int thumbnailHeight)
+		{
+			this.thumbnailSource = thumbnailSource;
+			this.thumbnailIcon = new ThumbnailIcon(thumbnailWidth, thumbnailHeight);
+			this.thumbnailLabel = new JLabel(thumbnailIcon);
+
+			setLayout(new BorderLayout());
+			setBorder(new EmptyBorder(THUMBNAIL_PADDING, THUMBNAIL_PADDING, THUMBNAIL_PADDING, THUMBNAIL_PADDING));
+
+			thumbnailLabel.setHorizontalAlignment(JLabel.CENTER);
+			nameLabel.setFont(nameFont);
+			nameLabel.setHorizontalAlignment(JLabel.CENTER);
+
+			add(thumbnailLabel, BorderLayout.CENTER);
+			add(nameLabel, BorderLayout.SOUTH);
+		}
+
+		public Component getListCellRendererComponent(
+                    JList<? extends Object> list,
+                    Object value,
+                    int index,
+                    boolean isSelected,
+                    boolean cellHasFocus)
+		{
+			TextIcon textIcon = (TextIcon)value;
+
+			setBackground(isSelected ? backgroundColor : BACKGROUND_COLOR);
+
+			thumbnailIcon.image = thumbnailSource.apply(textIcon.name);
+			nameLabel.setText(textIcon.name);
+			setToolTipText(textIcon.name);
+
+			return this;
+		}
+
+		/*
+		 * Reused for all tiles instead of creating an ImageIcon per tile each time the grid is painted
+		 */
+		private static class ThumbnailIcon implements Icon
+		{
+			private final int width;
+			private final int height;
+			private Image image;
+
+			ThumbnailIcon(int width, int height)
+			{
+				this.width = width;
+				this.height = height;
+			}
+
+			@Override
+			public void paintIcon(Component c, Graphics g, int x, int y)
+			{
+				if(image == null)
+				{
+					g.setColor(placeholderColor);
+					g.fillRect(x, y, width, height);
+				}
+				else
+				{
+					//center thumbnails that are smaller than the tile
+					g.drawImage(image, x + (width - image.getWidth(null)) / 2, y + (height - image.getHeight(null)) / 2, null);
+				}
+			}
+
+			@Override
+			public int getIconWidth()
+			{
+				return width;
+			}
+
+			@Override
+			public int getIconHeight()
+			{
+				return height;
+			}
+		}
+	}
+
+	public static final class TextIcon
 	{
 		private final String name;
 		private final String company;
 		private final String year;
-		private long size;
+		private final long size;
 		private final ImageIcon icon;
 
-		TextIcon(String name, String company, String year, long size, ImageIcon icon)
+		public TextIcon(String name, String company, String year, long size, ImageIcon icon)
 		{
 			this.name = name;
 			this.company = company;
@@ -347,13 +627,5 @@ public class JListWithImagesAndActions extends JList<Object>
 			this.size = size;
 			this.icon = icon;
 		}
-
-		@Override
-		public boolean equals(Object obj)
-		{
-			//this is a simplified equals() method for a very specific case and that is setSelectedValue()
-			//to locate an element in the list
-			return ((TextIcon)obj).name.equals(name);
-		}
 	}
 }
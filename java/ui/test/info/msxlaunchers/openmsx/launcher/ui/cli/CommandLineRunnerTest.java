@@ -0,0 +1,450 @@
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import info.msxlaunchers.openmsx.common.ActionDecider;
+import info.msxlaunchers.openmsx.common.OSUtils;
+import info.msxlaunchers.openmsx.game.repository.RepositoryData;
+import info.msxlaunchers.openmsx.game.scan.Scanner;
+import info.msxlaunchers.openmsx.launcher.data.backup.DatabaseBackup;
+import info.msxlaunchers.openmsx.launcher.data.extra.ExtraData;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterFactory;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterType;
+import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.repository.RepositoryGame;
+import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
+import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+import info.msxlaunchers.openmsx.launcher.importer.DatabaseImporter;
+import info.msxlaunchers.openmsx.launcher.importer.DatabaseImporterFactory;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistence;
+import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
+import info.msxlaunchers.openmsx.launcher.persistence.filter.FilterPersister;
+import info.msxlaunchers.openmsx.launcher.persistence.filter.FilterSetNotFoundException;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceException;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceExceptionIssue;
+import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister;
+import info.msxlaunchers.openmsx.launcher.persistence.settings.SettingsPersister;
+import info.msxlaunchers.openmsx.launcher.starter.SmokeTestRunner;
+import info.msxlaunchers.openmsx.launcher.starter.StarterPlatformArguments;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.inject.Guice;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith( MockitoJUnitRunner.class )
+public class CommandLineRunnerTest
+{
+	@Mock LauncherPersistence launcherPersistence;
+	@Mock GamePersister gamePersister;
+	@Mock Scanner scanner;
+	@Mock DatabaseImporterFactory databaseImporterFactory;
+	@Mock DatabaseImporter databaseImporter;
+	@Mock ExtraDataGetter extraDataGetter;
+	@Mock RepositoryData repositoryData;
+	@Mock FilterPersister filterPersister;
+	@Mock SettingsPersister settingsPersister;
+	@Mock StarterPlatformArguments platformArguments;
+
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	private CommandLineRunner runner;
+	private SmokeTestRunner smokeTestRunner;
+	private ByteArrayOutputStream output;
+	private PrintStream out;
+
+	@Before
+	public void setUp()
+	{
+		//the smoke test runner is final, so a real one is used with the emulator's arguments replaced
+		smokeTestRunner = Guice.createInjector( binder -> binder.bind( StarterPlatformArguments.class ).toInstance( platformArguments ) )
+				.getInstance( SmokeTestRunner.class );
+		runner = new CommandLineRunner( launcherPersistence, scanner, databaseImporterFactory, extraDataGetter, repositoryData, smokeTestRunner );
+		output = new ByteArrayOutputStream();
+		out = new PrintStream( output, true );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void testConstructorArg1Null()
+	{
+		new CommandLineRunner( null, scanner, databaseImporterFactory, extraDataGetter, repositoryData, smokeTestRunner );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void testConstructorArg4Null()
+	{
+		new CommandLineRunner( launcherPersistence, scanner, databaseImporterFactory, null, repositoryData, smokeTestRunner );
+	}
+
+	@Test
+	public void givenNoArguments_whenRun_thenPrintUsageAndReturnUsageExitCode()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[0], out ) );
+
+		assertEquals( CommandLineRunner.USAGE, output.toString() );
+		verifyZeroInteractions( launcherPersistence );
+	}
+
+	@Test
+	public void givenHelp_whenRun_thenPrintUsageAndReturnOk()
+	{
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"help"}, out ) );
+
+		assertEquals( CommandLineRunner.USAGE, output.toString() );
+	}
+
+	@Test
+	public void givenUnknownCommand_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"export"}, out ) );
+
+		assertTrue( lines()[0].startsWith( "error command=export issue=USAGE " ) );
+		verifyZeroInteractions( launcherPersistence );
+	}
+
+	@Test
+	public void givenUnknownOption_whenRun_thenReportUsageErrorWithoutInitializingPersistence()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"stats", "--verbose"}, out ) );
+
+		assertEquals( "error command=stats issue=USAGE message=\"unknown option --verbose for stats\"", lines()[0] );
+		verifyZeroInteractions( launcherPersistence );
+	}
+
+	@Test
+	public void givenScanWithoutPaths_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"scan", "--database", "db", "--machine", "m"}, out ) );
+
+		verifyZeroInteractions( scanner );
+	}
+
+	@Test
+	public void givenScanWithNewAndAppend_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE,
+				runner.run( new String[] {"scan", "--database", "db", "--machine", "m", "--new", "--append", "path"}, out ) );
+
+		verifyZeroInteractions( scanner );
+	}
+
+	@Test
+	public void givenScanWithoutMediaFlags_whenRun_thenAllMediaAreSearched() throws GamePersistenceException, IOException, LauncherPersistenceException
+	{
+		when( scanner.scan( any(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), anyString(),
+				anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean() ) ).thenReturn( 7 );
+
+		assertEquals( CommandLineRunner.EXIT_OK,
+				runner.run( new String[] {"scan", "--database", "db", "--machine", "m", "--new", "path1", "path2"}, out ) );
+
+		verify( launcherPersistence ).initialize();
+		verify( scanner ).scan( aryEq( new String[] {"path1", "path2"} ), eq( false ), eq( "db" ), eq( true ), eq( false ), eq( "m" ),
+				eq( true ), eq( true ), eq( true ), eq( true ), eq( false ), eq( false ) );
+		verify( launcherPersistence ).shutdown();
+
+		String[] lines = lines();
+		assertEquals( "start command=scan", lines[0] );
+		assertTrue( lines[lines.length - 1].startsWith( "done command=scan database=db games=7 " ) );
+	}
+
+	@Test
+	public void givenScanWithMediaFlags_whenRun_thenOnlyGivenMediaAreSearched() throws GamePersistenceException, IOException
+	{
+		runner.run( new String[] {"scan", "--database", "db", "--machine", "m", "--recursive", "--append", "--disk", "--tape",
+				"--openmsx-names", "--backup", "path"}, out );
+
+		verify( scanner ).scan( aryEq( new String[] {"path"} ), eq( true ), eq( "db" ), eq( false ), eq( true ), eq( "m" ),
+				eq( false ), eq( true ), eq( true ), eq( false ), eq( true ), eq( true ) );
+	}
+
+	@Test
+	public void givenScanThrowsGamePersistenceException_whenRun_thenReportIssueAndReturnFailure() throws GamePersistenceException, IOException, LauncherPersistenceException
+	{
+		when( scanner.scan( any(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), anyString(),
+				anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean() ) )
+			.thenThrow( new GamePersistenceException( GamePersistenceExceptionIssue.DATABASE_ALREADY_EXISTS, "db" ) );
+
+		assertEquals( CommandLineRunner.EXIT_FAILED,
+				runner.run( new String[] {"scan", "--database", "db", "--machine", "m", "--new", "path"}, out ) );
+
+		assertEquals( "error command=scan issue=DATABASE_ALREADY_EXISTS object=db", lines()[1] );
+		verify( launcherPersistence ).shutdown();
+	}
+
+	@Test
+	public void givenPersistenceFailsToInitialize_whenRun_thenReportFailure() throws LauncherPersistenceException
+	{
+		doThrow( new LauncherPersistenceException( new IOException( "locked" ) ) ).when( launcherPersistence ).initialize();
+
+		assertEquals( CommandLineRunner.EXIT_FAILED, runner.run( new String[] {"stats"}, out ) );
+
+		assertEquals( "error command=stats issue=PERSISTENCE message=locked", lines()[1] );
+		verify( launcherPersistence, never() ).getGamePersister();
+	}
+
+	@Test
+	public void givenImportWithOverwrite_whenRun_thenConflictsAreOverwrittenAndImportedDatabasesReported() throws IOException
+	{
+		when( databaseImporterFactory.create( "m" ) ).thenReturn( databaseImporter );
+		doAnswer( invocation -> {
+			ActionDecider actionDecider = invocation.getArgument( 1 );
+			actionDecider.promptForAction( "db2" );
+			assertTrue( actionDecider.isYes() );
+			return new HashSet<>( Arrays.asList( "db2", "db1" ) );
+		} ).when( databaseImporter ).importDatabases( aryEq( new File[] {new File( "db1.db" ), new File( "db2.db" )} ), any() );
+
+		assertEquals( CommandLineRunner.EXIT_OK,
+				runner.run( new String[] {"import-bluemsx", "--machine", "m", "--on-conflict", "overwrite", "db1.db", "db2.db"}, out ) );
+
+		String[] lines = lines();
+		assertEquals( "conflict name=db2 action=overwrite", lines[1] );
+		assertEquals( "imported command=import-bluemsx database=db1", lines[2] );
+		assertEquals( "imported command=import-bluemsx database=db2", lines[3] );
+		assertTrue( lines[4].startsWith( "done command=import-bluemsx databases=2 " ) );
+	}
+
+	@Test
+	public void givenImportWithUnknownConflictAction_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE,
+				runner.run( new String[] {"import-bluemsx", "--machine", "m", "--on-conflict", "merge", "db1.db"}, out ) );
+
+		verifyZeroInteractions( databaseImporterFactory );
+	}
+
+	@Test
+	public void whenRunUpdateExtraData_thenExtraDataIsUpdatedInAllDatabases() throws GamePersistenceException, IOException
+	{
+		Map<String,ExtraData> extraData = new HashMap<>();
+		when( extraDataGetter.getExtraData() ).thenReturn( extraData );
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.updateGameExtraDataInDatabases( extraData ) ).thenReturn( 12 );
+
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"update-extra-data"}, out ) );
+
+		assertTrue( lines()[1].startsWith( "done command=update-extra-data games=12 " ) );
+	}
+
+	@Test
+	public void givenOptionalArgumentsAreMissing_whenRunUpdateMachine_thenAllGamesAndDatabasesAreUpdated() throws GamePersistenceException
+	{
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"update-machine", "--to", "m"}, out ) );
+
+		verify( gamePersister ).updateMachine( "m", null, null, false );
+	}
+
+	@Test
+	public void whenRunUpdateMachine_thenGivenArgumentsArePassed() throws GamePersistenceException
+	{
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+
+		runner.run( new String[] {"update-machine", "--to", "m2", "--from", "m1", "--database", "db", "--backup"}, out );
+
+		verify( gamePersister ).updateMachine( "m2", "m1", "db", true );
+	}
+
+	@Test
+	public void givenAllFlag_whenRunBackup_thenAllDatabasesAreBackedUp() throws GamePersistenceException
+	{
+		Timestamp timestamp = Timestamp.valueOf( "2026-01-02 03:04:05.6" );
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.getDatabases() ).thenReturn( new HashSet<>( Arrays.asList( "b", "a" ) ) );
+		when( gamePersister.backupDatabase( "a" ) ).thenReturn( new DatabaseBackup( "a", timestamp ) );
+		when( gamePersister.backupDatabase( "b" ) ).thenReturn( new DatabaseBackup( "b", timestamp ) );
+
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"backup", "--all"}, out ) );
+
+		String[] lines = lines();
+		assertEquals( "backup command=backup database=a timestamp=\"2026-01-02 03:04:05.6\"", lines[1] );
+		assertEquals( "backup command=backup database=b timestamp=\"2026-01-02 03:04:05.6\"", lines[2] );
+		assertTrue( lines[3].startsWith( "done command=backup databases=2 " ) );
+	}
+
+	@Test
+	public void givenNoDatabases_whenRunBackup_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"backup"}, out ) );
+	}
+
+	@Test
+	public void givenNoTimestamp_whenRunRestore_thenMostRecentBackupIsRestored() throws GamePersistenceException
+	{
+		DatabaseBackup older = new DatabaseBackup( "db", Timestamp.valueOf( "2026-01-01 00:00:00" ) );
+		DatabaseBackup newer = new DatabaseBackup( "db", Timestamp.valueOf( "2026-02-01 00:00:00" ) );
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.getBackups( "db" ) ).thenReturn( new HashSet<>( Arrays.asList( older, newer ) ) );
+
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"restore", "--database", "db"}, out ) );
+
+		verify( gamePersister ).restoreBackup( newer );
+	}
+
+	@Test
+	public void givenTimestamp_whenRunRestore_thenMatchingBackupIsRestored() throws GamePersistenceException
+	{
+		DatabaseBackup older = new DatabaseBackup( "db", Timestamp.valueOf( "2026-01-01 00:00:00" ) );
+		DatabaseBackup newer = new DatabaseBackup( "db", Timestamp.valueOf( "2026-02-01 00:00:00" ) );
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.getBackups( "db" ) ).thenReturn( new HashSet<>( Arrays.asList( older, newer ) ) );
+
+		runner.run( new String[] {"restore", "--database", "db", "--timestamp", "2026-01-01 00:00:00"}, out );
+
+		verify( gamePersister ).restoreBackup( older );
+	}
+
+	@Test
+	public void givenNoBackups_whenRunRestore_thenReportBackupNotFound() throws GamePersistenceException
+	{
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.getBackups( "db" ) ).thenReturn( Collections.emptySet() );
+
+		assertEquals( CommandLineRunner.EXIT_FAILED, runner.run( new String[] {"restore", "--database", "db"}, out ) );
+
+		assertEquals( "error command=restore issue=BACKUP_NOT_FOUND object=db", lines()[1] );
+		verify( gamePersister, never() ).restoreBackup( any() );
+	}
+
+	@Test
+	public void givenInvalidTimestamp_whenRunRestore_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"restore", "--database", "db", "--timestamp", "yesterday"}, out ) );
+	}
+
+	@Test
+	public void whenRunStats_thenGamesAndBackupsPerDatabaseAreReported() throws GamePersistenceException
+	{
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( gamePersister.getDatabases() ).thenReturn( new HashSet<>( Arrays.asList( "my games" ) ) );
+		when( gamePersister.getGames( "my games" ) ).thenReturn( Collections.emptySet() );
+		when( gamePersister.getBackups( "my games" ) ).thenReturn( Collections.singleton(
+				new DatabaseBackup( "my games", Timestamp.valueOf( "2026-01-01 00:00:00" ) ) ) );
+
+		assertEquals( CommandLineRunner.EXIT_OK, runner.run( new String[] {"stats"}, out ) );
+
+		String[] lines = lines();
+		assertEquals( "database command=stats name=\"my games\" games=0 backups=1", lines[1] );
+		assertTrue( lines[2].startsWith( "done command=stats databases=1 games=0 " ) );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void testConstructorArg6Null()
+	{
+		new CommandLineRunner( launcherPersistence, scanner, databaseImporterFactory, extraDataGetter, repositoryData, null );
+	}
+
+	@Test
+	public void givenSmokeTestWithoutDatabase_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"smoke-test"}, out ) );
+
+		verifyZeroInteractions( launcherPersistence );
+	}
+
+	@Test
+	public void givenSmokeTestWithInvalidConcurrency_whenRun_thenReportUsageError()
+	{
+		assertEquals( CommandLineRunner.EXIT_USAGE, runner.run( new String[] {"smoke-test", "--database", "db", "--concurrency", "0"}, out ) );
+
+		assertEquals( "error command=smoke-test issue=USAGE message=\"--concurrency must be a positive number\"", lines()[0] );
+		verifyZeroInteractions( launcherPersistence );
+	}
+
+	@Test
+	public void givenSmokeTestWithUnknownFilter_whenRun_thenReportFilterNotFound() throws FilterSetNotFoundException
+	{
+		when( launcherPersistence.getFiltersPersister() ).thenReturn( filterPersister );
+		when( filterPersister.getFilter( "missing" ) ).thenThrow( new FilterSetNotFoundException( "missing" ) );
+
+		assertEquals( CommandLineRunner.EXIT_FAILED, runner.run( new String[] {"smoke-test", "--database", "db", "--filter", "missing"}, out ) );
+
+		assertEquals( "error command=smoke-test issue=FILTER_NOT_FOUND object=missing", lines()[1] );
+	}
+
+	@Test
+	public void givenSmokeTestWithFilter_whenRun_thenLaunchFilteredGamesAndWriteReport()
+			throws FilterSetNotFoundException, GamePersistenceException, IOException
+	{
+		//the fake emulator is a shell command
+		assumeFalse( OSUtils.isWindows() );
+
+		Set<Filter> filters = Collections.singleton( FilterFactory.createFilter( FilterType.COMPANY, "Konami", null, null ) );
+		Game passing = Game.name( "passing" ).romA( "passing.rom" ).sha1Code( "sha1-passing" ).build();
+		Game failing = Game.name( "failing" ).romA( "failing.rom" ).sha1Code( "sha1-failing" ).build();
+		Game otherCompany = Game.name( "other" ).romA( "other.rom" ).sha1Code( "sha1-other" ).build();
+		Map<String,RepositoryGame> repositoryInfo = new HashMap<>();
+		repositoryInfo.put( "sha1-passing", getRepositoryGame( "Konami" ) );
+		repositoryInfo.put( "sha1-failing", getRepositoryGame( "Konami" ) );
+		repositoryInfo.put( "sha1-other", getRepositoryGame( "Other" ) );
+		File report = new File( tmpFolder.getRoot(), "report.txt" );
+
+		when( launcherPersistence.getFiltersPersister() ).thenReturn( filterPersister );
+		when( launcherPersistence.getGamePersister() ).thenReturn( gamePersister );
+		when( launcherPersistence.getSettingsPersister() ).thenReturn( settingsPersister );
+		when( filterPersister.getFilter( "konami" ) ).thenReturn( filters );
+		when( gamePersister.getGames( "db", filters ) ).thenReturn( new HashSet<>( Arrays.asList( passing, failing, otherCompany ) ) );
+		when( repositoryData.getRepositoryInfo() ).thenReturn( repositoryInfo );
+		when( settingsPersister.getSettings() ).thenReturn( new Settings( null, null, null, null, null, false, false ) );
+		when( platformArguments.getArguments( any( Settings.class ), eq( passing ) ) ).thenReturn( Arrays.asList( "sh", "-c", "exit 0" ) );
+		when( platformArguments.getArguments( any( Settings.class ), eq( failing ) ) ).thenReturn( Arrays.asList( "sh", "-c", "exit 3" ) );
+
+		assertEquals( CommandLineRunner.EXIT_FAILED, runner.run( new String[] {"smoke-test", "--database", "db", "--filter", "konami",
+				"--concurrency", "2", "--timeout", "5", "--report", report.toString()}, out ) );
+
+		String[] lines = lines();
+		assertEquals( "progress command=smoke-test database=db games=2", lines[1].substring( 0, lines[1].indexOf( " elapsedMillis=" ) ) );
+		assertTrue( lines[2].startsWith( "game command=smoke-test name=failing status=FAILED exitCode=3 " ) );
+		assertTrue( lines[3].startsWith( "game command=smoke-test name=passing status=EXITED exitCode=0 " ) );
+		assertTrue( lines[4].startsWith( "done command=smoke-test database=db games=2 passed=1 failed=1 report=" ) );
+
+		List<String> reportLines = Files.readAllLines( report.toPath(), StandardCharsets.UTF_8 );
+		assertEquals( 4, reportLines.size() );
+		assertEquals( "2 games, 1 passed, 1 failed", reportLines.get( 3 ) );
+	}
+
+	private static RepositoryGame getRepositoryGame( String company )
+	{
+		return RepositoryGame.title( "title" ).system( "MSX" ).company( company ).year( "1990" ).country( "JP" ).build();
+	}
+
+	private String[] lines()
+	{
+		return output.toString().split( System.lineSeparator() );
+	}
+}
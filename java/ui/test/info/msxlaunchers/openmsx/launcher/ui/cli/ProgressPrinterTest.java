@@ -0,0 +1,38 @@
+package info.msxlaunchers.openmsx.launcher.ui.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ProgressPrinterTest
+{
+	@Test
+	public void givenPlainValues_whenPrint_thenValuesAreNotQuoted()
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		new ProgressPrinter( new PrintStream( output ) ).print( "done", "command", "scan", "games", 3 );
+
+		assertEquals( "done command=scan games=3" + System.lineSeparator(), output.toString() );
+	}
+
+	@Test
+	public void givenValuesWithSpecialCharacters_whenFormat_thenValuesAreQuotedAndEscaped()
+	{
+		assertEquals( "\"my games\"", ProgressPrinter.format( "my games" ) );
+		assertEquals( "\"a=b\"", ProgressPrinter.format( "a=b" ) );
+		assertEquals( "\"say \\\"hi\\\"\"", ProgressPrinter.format( "say \"hi\"" ) );
+		assertEquals( "\"C:\\\\games\"", ProgressPrinter.format( "C:\\games" ) );
+		assertEquals( "\"line1\\nline2\"", ProgressPrinter.format( "line1\nline2" ) );
+	}
+
+	@Test
+	public void givenNullOrEmptyValue_whenFormat_thenEmptyQuotedStringIsReturned()
+	{
+		assertEquals( "\"\"", ProgressPrinter.format( null ) );
+		assertEquals( "\"\"", ProgressPrinter.format( "" ) );
+	}
+}
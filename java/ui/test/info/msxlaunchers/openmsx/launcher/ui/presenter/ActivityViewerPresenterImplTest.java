@@ -14,6 +14,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,12 +43,13 @@ public class ActivityViewerPresenterImplTest
 	{
 		ActivityViewerPresenterImpl presenter = new ActivityViewerPresenterImpl( view, analyser );
 
-		Map<String,List<String[]>> logData = Collections.emptyMap();
+		Map<String,List<String[]>> logData = Collections.singletonMap( "MOST_PLAYED", Collections.emptyList() );
 
 		when( analyser.getProcessedData() ).thenReturn( logData );
 
 		presenter.onRequestActivityViewerScreen( Language.CHINESE_TRADITIONAL, true );
 
-		verify( view, times( 1 ) ).displayActivityViewerScreen( logData, Language.CHINESE_TRADITIONAL, true );
+		verify( view, times( 1 ) ).displayActivityViewerScreen( argThat( data -> data.containsKey( "MOST_PLAYED" ) && data.containsKey( "METRICS" ) ),
+				eq( Language.CHINESE_TRADITIONAL ), eq( true ) );
 	}
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class GameLabelTest
@@ -35,10 +36,10 @@ public class GameLabelTest
 		new GameLabel( "name", "company", "year", 0, Medium.ROM );
 	}
 
-	@Test( expected = NullPointerException.class )
-	public void testNullArg5CannotBeNull()
+	@Test
+	public void testNullArg5CanBeNull()
 	{
-		new GameLabel( "name", "company", "year", 1, null );
+		assertNull( new GameLabel( "name", "company", "year", 1, null ).getMedium() );
 	}
 
 	@Test
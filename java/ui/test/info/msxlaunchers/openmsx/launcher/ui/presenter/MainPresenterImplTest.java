@@ -1,6 +1,7 @@
 package info.msxlaunchers.openmsx.launcher.ui.presenter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -8,6 +9,10 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -15,14 +20,23 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -32,11 +46,17 @@ import com.google.inject.Provider;
 
 import info.msxlaunchers.openmsx.common.ActionDecider;
 import info.msxlaunchers.openmsx.game.repository.RepositoryData;
+import info.msxlaunchers.openmsx.launcher.data.filter.Filter;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterFactory;
+import info.msxlaunchers.openmsx.launcher.data.filter.FilterType;
 import info.msxlaunchers.openmsx.launcher.data.game.DatabaseItem;
 import info.msxlaunchers.openmsx.launcher.data.game.Game;
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
 import info.msxlaunchers.openmsx.launcher.data.settings.Settings;
 import info.msxlaunchers.openmsx.launcher.data.settings.constants.Language;
 import info.msxlaunchers.openmsx.launcher.extra.ExtraDataGetter;
+import info.msxlaunchers.openmsx.launcher.log.analyser.LaunchHistory;
+import info.msxlaunchers.openmsx.launcher.log.analyser.PlaySessionTracker;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistence;
 import info.msxlaunchers.openmsx.launcher.persistence.LauncherPersistenceException;
 import info.msxlaunchers.openmsx.launcher.persistence.favorite.FavoritePersistenceException;
@@ -69,6 +89,9 @@ public class MainPresenterImplTest
 	@Mock FeedServicePresenter feedServicePresenter;
 	@Mock Provider<RelatedGamesPresenter> relatedGamesPresenterFactory;
 	@Mock Provider<LHAExtractorPresenter> lhaExtractorPresenter;
+	@Mock LaunchHistory launchHistory;
+	@Mock PlaySessionTracker playSessionTracker;
+	@Mock Process process;
 	@Mock Provider<UpdateCheckerPresenter> updateCheckerPresenterFactory;
 	@Mock SettingsPersister settingsPersister;
 	@Mock LauncherPersistence launcherPersistence;
@@ -82,6 +105,8 @@ public class MainPresenterImplTest
 	@Mock DraggedAndDroppedGamesPresenterFactory draggedAndDroppedGamesPresenterFactory;
 	@Mock GameFinder gameFinder;
 
+	@Rule public TemporaryFolder tmpFolder = new TemporaryFolder();
+
 
 	private final String extraDataDirectory = "extraDataDirectory";
 	private final String defaultDatabase = "defaultDatabase";
@@ -104,7 +129,7 @@ public class MainPresenterImplTest
 		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
 				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
 				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
-				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter );
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, Runnable::run, Runnable::run );
 	}
 
 	@Test( expected = IOException.class )
@@ -115,7 +140,7 @@ public class MainPresenterImplTest
 		new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
 				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
 				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
-				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter );
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, Runnable::run, Runnable::run );
 	}
 
 	@Test
@@ -127,7 +152,7 @@ public class MainPresenterImplTest
 		new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
 				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
 				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
-				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter );
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, Runnable::run, Runnable::run );
 	}
 
 	@Test
@@ -140,7 +165,7 @@ public class MainPresenterImplTest
 		new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
 				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
 				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
-				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter );
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, Runnable::run, Runnable::run );
 	}
 
 	@Test
@@ -153,7 +178,7 @@ public class MainPresenterImplTest
 		new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
 				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
 				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
-				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter );
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, Runnable::run, Runnable::run );
 	}
 
 	@Test
@@ -165,7 +190,7 @@ public class MainPresenterImplTest
 		presenter.onRequestSettingsScreen();
 	}
 
-	@Test( expected = LauncherException.class )
+	@Test
 	public void testOnSelectDatabaseIOExceptionWhenRetrieveGames() throws IOException, GamePersistenceException, LauncherException
 	{
 		String newDatabase = "newDatabase";
@@ -173,9 +198,12 @@ public class MainPresenterImplTest
 		when( gamePersister.getGames( newDatabase ) ).thenThrow( new GamePersistenceException( GamePersistenceExceptionIssue.IO ) );
 
 		presenter.onSelectDatabase( newDatabase );
+
+		verify( view, times( 1 ) ).displayGameListError( argThat( le -> le.getCode() == LauncherExceptionCode.ERR_IO ), eq( defaultDatabase ) );
+		verify( view, never() ).fillGameList( anyString(), anySet(), any() );
 	}
 
-	@Test( expected = LauncherException.class )
+	@Test
 	public void testOnSelectDatabaseDatabaseNotFoundExceptionWhenRetrieveGames() throws IOException, GamePersistenceException, LauncherException
 	{
 		String newDatabase = "newDatabase";
@@ -183,6 +211,38 @@ public class MainPresenterImplTest
 		when( gamePersister.getGames( newDatabase ) ).thenThrow( new GamePersistenceException( GamePersistenceExceptionIssue.DATABASE_NOT_FOUND, newDatabase ) );
 
 		presenter.onSelectDatabase( newDatabase );
+
+		verify( view, times( 1 ) ).displayGameListError( argThat( le -> le.getCode() == LauncherExceptionCode.ERR_DATABASE_NOT_FOUND ), eq( defaultDatabase ) );
+	}
+
+	@Test
+	public void testOnSelectDatabaseSupersedesPendingSelections() throws IOException, GamePersistenceException, LauncherException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+
+		//drop the startup tasks - the constructor already read the repository info itself
+		backgroundTasks.clear();
+
+		//the first selection is read but its result is only handed to the view after the next selection
+		presenter.onSelectDatabase( "database1" );
+		backgroundTasks.poll().run();
+		presenter.onSelectDatabase( "database2" );
+		presenter.onSelectDatabase( "database3" );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		verify( gamePersister, times( 1 ) ).getGames( "database1" );
+		verify( gamePersister, never() ).getGames( "database2" );
+		verify( view, never() ).fillGameList( eq( "database1" ), anySet(), any() );
+		verify( view, times( 1 ) ).fillGameList( "database3", new LinkedHashSet<GameLabel>(), null );
+		verify( view, times( 1 ) ).showBusyIndicator( true );
+		verify( view, times( 1 ) ).showBusyIndicator( false );
 	}
 
 	@Test
@@ -195,6 +255,139 @@ public class MainPresenterImplTest
 		verify( view, times( 1 ) ).fillGameList( newDatabase, new LinkedHashSet<GameLabel>(), null );
 	}
 
+	@Test
+	public void testOnSelectQuickFilterDoesNotReadDatabaseAgain() throws LauncherException, GamePersistenceException
+	{
+		String newDatabase = "newDatabase";
+		Set<Game> games = new HashSet<>( Arrays.asList( Game.name( "rom" ).romA( "file.rom" ).build(), Game.name( "disk" ).diskA( "file.dsk" ).build() ) );
+		when( gamePersister.getGames( newDatabase ) ).thenReturn( games );
+
+		presenter.onSelectDatabase( newDatabase );
+		presenter.onSelectQuickFilter( FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null ) );
+		presenter.onSelectQuickFilter( FilterFactory.createFilter( FilterType.MEDIUM, Medium.DISK.toString(), null, null ) );
+
+		verify( gamePersister, times( 1 ) ).getGames( newDatabase );
+		verify( view, times( 1 ) ).fillGameList( newDatabase, new LinkedHashSet<>( Arrays.asList( new GameLabel( "rom", null, null, 0, Medium.ROM ) ) ), null );
+		verify( view, times( 1 ) ).fillGameList( newDatabase, new LinkedHashSet<>( Arrays.asList( new GameLabel( "disk", null, null, 0, Medium.DISK ) ) ), null );
+	}
+
+	@Test
+	public void testOnSelectDatabaseWithActiveFilterReadsOnlyFilteredGames() throws LauncherException, GamePersistenceException
+	{
+		String database1 = "database1";
+		String database2 = "database2";
+		Filter romFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null );
+		when( gamePersister.getGames( database1 ) ).thenReturn( Collections.emptySet() );
+		when( gamePersister.getGames( database2, Collections.singleton( romFilter ) ) ).thenReturn( Collections.singleton( Game.name( "rom" ).romA( "file.rom" ).build() ) );
+
+		presenter.onSelectDatabase( database1 );
+		presenter.onSelectQuickFilter( romFilter );
+		presenter.onSelectDatabase( database2 );
+
+		verify( gamePersister, never() ).getGames( database2 );
+		verify( view, times( 1 ) ).fillGameList( database2, new LinkedHashSet<>( Arrays.asList( new GameLabel( "rom", null, null, 0, Medium.ROM ) ) ), null );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnRequestFilterAllDatabasesScreen() throws LauncherException, GamePersistenceException
+	{
+		Filter romFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null );
+		Set<Filter> filters = Collections.singleton( romFilter );
+		doAnswer( invocation -> {
+			BiConsumer<DatabaseItem,Game> consumer = invocation.getArgument( 1 );
+			consumer.accept( new DatabaseItem( "rom2", "database2" ), Game.name( "rom2" ).romA( "file.rom" ).build() );
+			consumer.accept( new DatabaseItem( "rom1", "database1" ), Game.name( "rom1" ).romA( "file.rom" ).build() );
+			return 2;
+		} ).when( gamePersister ).findGames( eq( filters ), any( BiConsumer.class ) );
+
+		presenter.onSelectQuickFilter( romFilter );
+		presenter.onRequestFilterAllDatabasesScreen();
+
+		verify( view, times( 1 ) ).displayFilterResults( new HashSet<>( Arrays.asList( new DatabaseItem( "rom1", "database1" ),
+				new DatabaseItem( "rom2", "database2" ) ) ), Language.ENGLISH, false );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void givenSearchFails_whenOnRequestFilterAllDatabasesScreen_thenErrorIsDisplayedFromBackground() throws IOException, GamePersistenceException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+		when( gamePersister.findGames( isNull(), any( BiConsumer.class ) ) ).thenThrow( new GamePersistenceException( GamePersistenceExceptionIssue.IO ) );
+
+		presenter.onRequestFilterAllDatabasesScreen();
+
+		//the databases are not searched on the calling thread
+		verify( gamePersister, never() ).findGames( any(), any( BiConsumer.class ) );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		verify( view, times( 1 ) ).displayFilterResultsError( argThat( le -> le.getCode() == LauncherExceptionCode.ERR_IO ) );
+		verify( view, never() ).displayFilterResults( anySet(), any(), anyBoolean() );
+	}
+
+	@Test
+	public void testOnRequestFacetCounts() throws LauncherException, GamePersistenceException
+	{
+		String newDatabase = "newDatabase";
+		Set<Game> games = new HashSet<>( Arrays.asList( Game.name( "rom1" ).romA( "file1.rom" ).build(), Game.name( "rom2" ).romA( "file2.rom" ).build(),
+				Game.name( "disk" ).diskA( "file.dsk" ).build() ) );
+		when( gamePersister.getGames( newDatabase ) ).thenReturn( games );
+		Filter romFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null );
+		Filter tapeFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.TAPE.toString(), null, null );
+
+		presenter.onSelectDatabase( newDatabase );
+		Map<Filter,Integer> facetCounts = presenter.onRequestFacetCounts( Arrays.asList( romFilter, tapeFilter ) );
+
+		assertEquals( Integer.valueOf( 2 ), facetCounts.get( romFilter ) );
+		assertEquals( Integer.valueOf( 0 ), facetCounts.get( tapeFilter ) );
+	}
+
+	@Test
+	public void givenFilteredGameList_whenOnRequestFacetCounts_thenIndexIsBuiltInBackgroundWithoutChangingGameList() throws LauncherException, GamePersistenceException, IOException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+		String newDatabase = "newDatabase";
+		Filter romFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null );
+		Filter diskFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.DISK.toString(), null, null );
+		Game rom = Game.name( "rom" ).romA( "file.rom" ).build();
+		when( gamePersister.getGames( newDatabase, Collections.singleton( romFilter ) ) ).thenReturn( Collections.singleton( rom ) );
+		when( gamePersister.getGames( newDatabase ) ).thenReturn( new HashSet<>( Arrays.asList( rom, Game.name( "disk" ).diskA( "file.dsk" ).build() ) ) );
+
+		presenter.onSelectQuickFilter( romFilter );
+		presenter.onSelectDatabase( newDatabase );
+		backgroundTasks.forEach( Runnable::run );
+		backgroundTasks.clear();
+		viewTasks.forEach( Runnable::run );
+		viewTasks.clear();
+		Mockito.clearInvocations( view );
+
+		//only the ROMs were read, so there is nothing to count yet
+		assertTrue( presenter.onRequestFacetCounts( Arrays.asList( romFilter, diskFilter ) ).isEmpty() );
+		verify( gamePersister, never() ).getGames( newDatabase );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		Map<Filter,Integer> facetCounts = presenter.onRequestFacetCounts( Arrays.asList( romFilter, diskFilter ) );
+		assertEquals( Integer.valueOf( 1 ), facetCounts.get( romFilter ) );
+		assertEquals( Integer.valueOf( 1 ), facetCounts.get( diskFilter ) );
+		verify( view, never() ).fillGameList( anyString(), anySet(), any() );
+	}
+
 	@Test
 	public void testOnSelectDatabaseDatabaseNullOrSameDatabase() throws IOException, LauncherException
 	{
@@ -215,16 +408,47 @@ public class MainPresenterImplTest
 	public void testOnLaunchGame()
 			throws IOException, LauncherException
 	{
+		when( emulatorStarter.start( (Settings)any(), (Game)any() ) ).thenReturn( process );
+
 		presenter.onLaunchGame( "gameName" );
+
+		verify( launchHistory, times( 1 ) ).recordLaunch( "gameName", defaultDatabase );
+		verify( playSessionTracker, times( 1 ) ).track( process, "gameName", defaultDatabase );
 	}
 
-	@Test( expected = LauncherException.class )
+	@Test
 	public void testOnLaunchGameExceptionWhenStartEmulator()
 			throws IOException, LauncherException
 	{
 		when( emulatorStarter.start( (Settings)any(), (Game)any() ) ).thenThrow( new IOException() );
 
 		presenter.onLaunchGame( "gameName" );
+
+		verify( view, times( 1 ) ).displayLaunchError( argThat( le -> le.getCode() == LauncherExceptionCode.ERR_CANNOT_START_OPENMSX ) );
+		verify( launchHistory, never() ).recordLaunch( anyString(), anyString() );
+	}
+
+	@Test
+	public void givenQueuedExecutors_whenOnLaunchGame_thenEmulatorIsStartedInBackground() throws IOException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, Runnable::run );
+		backgroundTasks.clear();
+		when( emulatorStarter.start( (Settings)any(), (Game)any() ) ).thenReturn( process );
+
+		presenter.onLaunchGame( "gameName" );
+
+		//openMSX may take a while to reply, so nothing is started on the calling thread
+		verify( emulatorStarter, never() ).start( any(), any() );
+
+		backgroundTasks.forEach( Runnable::run );
+
+		verify( emulatorStarter, times( 1 ) ).start( any(), any() );
+		verify( playSessionTracker, times( 1 ) ).track( process, "gameName", defaultDatabase );
+		verify( launchHistory, times( 1 ) ).recordLaunch( "gameName", defaultDatabase );
 	}
 
 	@Test( expected = LauncherException.class )
@@ -269,6 +493,61 @@ public class MainPresenterImplTest
 		verify( view, times( 1 ) ).updateGameCount( 0 );
 	}
 
+	@Test
+	public void testOnSelectGamesAndPrefetchScreenshots() throws IOException, GamePersistenceException, LauncherException
+	{
+		File screenshotsFolder = tmpFolder.newFolder();
+		String screenshot1a = new File( screenshotsFolder, "1a.png" ).toString();
+		String screenshot1b = new File( screenshotsFolder, "1b.png" ).toString();
+		String screenshot2a = new File( screenshotsFolder, "2a-x.png" ).toString();
+		for( String screenshot: Arrays.asList( screenshot1a, screenshot1b, screenshot2a ) )
+		{
+			new File( screenshot ).createNewFile();
+		}
+		String newDatabase = "newDatabase";
+		Set<Game> games = new HashSet<>( Arrays.asList( Game.name( "game1" ).romA( "file1.rom" ).msxGenID( 1 ).build(),
+				Game.name( "game2" ).romA( "file2.rom" ).msxGenID( 2 ).screenshotSuffix( "-x" ).build(),
+				Game.name( "game3" ).romA( "file3.rom" ).msxGenID( 3 ).build() ) );
+		when( gamePersister.getGames( newDatabase ) ).thenReturn( games );
+
+		presenter.onAcceptSettingsAction( new Settings( null, null, screenshotsFolder.toString(), defaultDatabase, null, false, false ) );
+		presenter.onSelectDatabase( newDatabase );
+		presenter.onSelectGames( Collections.singleton( "game1" ) );
+		presenter.onRequestPrefetchScreenshots( Arrays.asList( "game2", "game3" ) );
+
+		verify( view, times( 1 ) ).showGameScreenshots( screenshot1a, screenshot1b );
+		verify( view, times( 1 ) ).prefetchGameScreenshots( Arrays.asList( screenshot2a ) );
+		assertEquals( screenshot2a, presenter.onRequestGameScreenshot( "game2" ) );
+		assertNull( presenter.onRequestGameScreenshot( "game3" ) );
+	}
+
+	@Test
+	public void givenScreenshotIndexNotBuilt_whenOnSelectGames_thenScreenshotsAreShownOnceIndexIsBuilt() throws IOException, GamePersistenceException, LauncherException
+	{
+		File screenshotsFolder = tmpFolder.newFolder();
+		String screenshot1a = new File( screenshotsFolder, "1a.png" ).toString();
+		new File( screenshot1a ).createNewFile();
+		when( gamePersister.getGames( defaultDatabase ) ).thenReturn( Collections.singleton( Game.name( "game1" ).romA( "file1.rom" ).msxGenID( 1 ).build() ) );
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+
+		presenter.onAcceptSettingsAction( new Settings( null, null, screenshotsFolder.toString(), defaultDatabase, null, false, false ) );
+		presenter.onSelectGames( Collections.singleton( "game1" ) );
+
+		verify( view, times( 1 ) ).showGameScreenshots( null, null );
+		assertEquals( 1, backgroundTasks.size() );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		verify( view, times( 1 ) ).showGameScreenshots( screenshot1a, null );
+	}
+
 	@Test
 	public void testResetAllWhenDatabaseIsSelected()
 	{
@@ -519,11 +798,112 @@ public class MainPresenterImplTest
 	@Test
 	public void testOnSelectDatabaseItem() throws LauncherException, FavoritePersistenceException
 	{
-		presenter.onSelectDatabaseItem( new DatabaseItem( "game", "name") );
+		presenter.onSelectDatabaseItem( new DatabaseItem( "game", defaultDatabase ) );
 
 		verify( view, times( 1 ) ).highlightGame( "game" );
 	}
 
+	@Test
+	public void givenItemInOtherDatabase_whenOnSelectDatabaseItem_thenGameIsSelectedOnceNewListIsPublished() throws LauncherException, GamePersistenceException, IOException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+		when( gamePersister.getGames( "other" ) ).thenReturn( new HashSet<>( Arrays.asList( Game.name( "game" ).romA( "file.rom" ).build() ) ) );
+
+		presenter.onSelectDatabaseItem( new DatabaseItem( "game", "other" ) );
+
+		//nothing can be selected while the old list is still displayed
+		verify( view, never() ).highlightGame( anyString() );
+		verify( view, never() ).fillGameList( eq( "other" ), anySet(), any() );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		verify( view, times( 1 ) ).fillGameList( eq( "other" ), anySet(), eq( "game" ) );
+	}
+
+	@Test
+	public void givenDatabaseBeingLoaded_whenOnSelectQuickFilter_thenFilterIsAppliedToNewDatabase() throws LauncherException, GamePersistenceException, IOException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+		Mockito.clearInvocations( gamePersister );
+		Filter romFilter = FilterFactory.createFilter( FilterType.MEDIUM, Medium.ROM.toString(), null, null );
+		when( gamePersister.getGames( "other", Collections.singleton( romFilter ) ) ).thenReturn( Collections.singleton( Game.name( "rom" ).romA( "file.rom" ).build() ) );
+
+		presenter.onSelectDatabase( "other" );
+		presenter.onSelectQuickFilter( romFilter );
+
+		//the database is not read on the calling thread
+		verify( gamePersister, never() ).getGames( anyString(), anySet() );
+
+		backgroundTasks.forEach( Runnable::run );
+		viewTasks.forEach( Runnable::run );
+
+		verify( gamePersister, never() ).getGames( defaultDatabase );
+		verify( view, never() ).fillGameList( eq( defaultDatabase ), anySet(), any() );
+		verify( view, times( 1 ) ).fillGameList( "other", new LinkedHashSet<>( Arrays.asList( new GameLabel( "rom", null, null, 0, Medium.ROM ) ) ), null );
+	}
+
+	@Test
+	public void givenDatabase_whenOnRequestPrecomputeRelatedGames_thenPrecomputeInBackgroundAndDisplayTotal() throws LauncherException, GamePersistenceException, IOException
+	{
+		Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+		Queue<Runnable> viewTasks = new ArrayDeque<>();
+		presenter = new MainPresenterImpl( view, settingsPresenterFactory, profileEditingPresenterFactory, scannerPresenterFactor, filterEditingPresenterFactory, gamePropertiesPresenterFactory,
+				blueMSXLauncherImporterPresenterFactory, databaseManagerPresenterFactory, activityViewerPresenterFactory, updateCheckerPresenterFactory, launcherPersistence, emulatorStarter,
+				extraDataGetter, extraDataDirectory, repositoryData, fileLocator, draggedAndDroppedGamesPresenterFactory, patcherPresenterFactory, machineUpdatePresenterFactory,
+				feedServicePresenter, relatedGamesPresenterFactory, lhaExtractorPresenter, launchHistory, playSessionTracker, backgroundTasks::add, viewTasks::add );
+		backgroundTasks.clear();
+		viewTasks.clear();
+		Mockito.clearInvocations( gamePersister );
+		RelatedGamesPresenter relatedGamesPresenter = mock( RelatedGamesPresenter.class );
+		Set<Game> games = new HashSet<>( Arrays.asList( Game.name( "game" ).romA( "file.rom" ).build() ) );
+		when( relatedGamesPresenterFactory.get() ).thenReturn( relatedGamesPresenter );
+		when( gamePersister.getGames( defaultDatabase ) ).thenReturn( games );
+		when( relatedGamesPresenter.onRequestPrecomputeRelatedGames( eq( games ), any() ) ).thenReturn( 1 );
+
+		presenter.onRequestPrecomputeRelatedGames();
+
+		//nothing heavy runs on the calling thread
+		verify( view, times( 1 ) ).showPrecomputingRelatedGames( true );
+		verify( gamePersister, never() ).getGames( defaultDatabase );
+		verify( relatedGamesPresenter, never() ).onRequestPrecomputeRelatedGames( anySet(), any() );
+
+		backgroundTasks.forEach( Runnable::run );
+
+		verify( view, never() ).displayPrecomputedRelatedGames( anyInt() );
+
+		viewTasks.forEach( Runnable::run );
+
+		verify( view, times( 1 ) ).showPrecomputingRelatedGames( false );
+		verify( view, times( 1 ) ).displayPrecomputedRelatedGames( 1 );
+	}
+
+	@Test
+	public void givenGamesCannotBeRead_whenOnRequestPrecomputeRelatedGames_thenDisplayError() throws LauncherException, GamePersistenceException
+	{
+		RelatedGamesPresenter relatedGamesPresenter = mock( RelatedGamesPresenter.class );
+		when( relatedGamesPresenterFactory.get() ).thenReturn( relatedGamesPresenter );
+		when( gamePersister.getGames( defaultDatabase ) ).thenThrow( new GamePersistenceException( GamePersistenceExceptionIssue.IO ) );
+
+		presenter.onRequestPrecomputeRelatedGames();
+
+		verify( relatedGamesPresenter, never() ).onRequestPrecomputeRelatedGames( anySet(), any() );
+		verify( view, times( 1 ) ).showPrecomputingRelatedGames( false );
+		verify( view, times( 1 ) ).displayPrecomputeRelatedGamesError( argThat( le -> le.getCode() == LauncherExceptionCode.ERR_IO ) );
+	}
+
 	@Test
 	public void testOnRequestDeleteFavoriteAction() throws LauncherException, FavoritePersistenceException
 	{
@@ -705,7 +1085,8 @@ public class MainPresenterImplTest
 
 		presenter.onAcceptAddGameSaveAction( game );
 
-		verify( view, times(1) ).fillGameList( anyString(), anySet(), anyString() );
+		verify( view, times(1) ).addGameToList( argThat( label -> label.getName().equals( "name" ) ), eq( 0 ) );
+		verify( view, never() ).fillGameList( anyString(), anySet(), anyString() );
 	}
 
 	@Test
@@ -715,7 +1096,52 @@ public class MainPresenterImplTest
 
 		presenter.onAcceptEditGameSaveAction( "oldName", game );
 
-		verify( view, times(1) ).fillGameList( anyString(), anySet(), anyString() );
+		verify( view, times(1) ).addGameToList( argThat( label -> label.getName().equals( "name" ) ), eq( 0 ) );
+		verify( view, never() ).fillGameList( anyString(), anySet(), anyString() );
+	}
+
+	@Test
+	public void testOnAcceptEditGameSaveActionReplacesExistingGame() throws IOException, LauncherException
+	{
+		presenter.onAcceptAddGameSaveAction( Game.name( "oldName" ).machine( "machine" ).romA( "romA" ).build() );
+
+		presenter.onAcceptEditGameSaveAction( "oldName", Game.name( "newName" ).machine( "machine" ).romA( "romA" ).build() );
+
+		verify( view, times(1) ).replaceGameInList( eq( 0 ), argThat( label -> label.getName().equals( "newName" ) ), eq( 0 ) );
+		verify( view, times(2) ).updateGameCount( 1 );
+	}
+
+	@Test
+	public void testOnRequestTypeAheadFilter() throws IOException, LauncherException
+	{
+		presenter.onAcceptAddGameSaveAction( Game.name( "Metal Gear" ).machine( "machine" ).romA( "romA" ).build() );
+		presenter.onAcceptAddGameSaveAction( Game.name( "Nemesis" ).machine( "machine" ).romA( "romA" ).build() );
+
+		presenter.onRequestTypeAheadFilter( "gear" );
+
+		verify( view ).fillGameList( eq( defaultDatabase ), argThat( games -> games.size() == 1 &&
+				games.iterator().next().getName().equals( "Metal Gear" ) ), isNull() );
+
+		//while the list is narrowed, added games are shown by filling it again
+		presenter.onAcceptAddGameSaveAction( Game.name( "Metal Gear 2" ).machine( "machine" ).romA( "romA" ).build() );
+
+		verify( view ).fillGameList( eq( defaultDatabase ), argThat( games -> games.size() == 2 ), eq( "Metal Gear 2" ) );
+	}
+
+	@Test
+	public void testOnSelectGameListOrder() throws IOException, LauncherException
+	{
+		presenter.onAcceptAddGameSaveAction( Game.name( "b" ).machine( "machine" ).romA( "romA" ).size( 10 ).build() );
+		presenter.onAcceptAddGameSaveAction( Game.name( "a" ).machine( "machine" ).romA( "romA" ).size( 20 ).build() );
+
+		presenter.onSelectGameListOrder( GameListOrder.SIZE, "a" );
+
+		verify( view ).fillGameList( eq( defaultDatabase ), argThat( games -> games.stream().map( GameLabel::getName )
+				.collect( Collectors.toList() ).equals( Arrays.asList( "b", "a" ) ) ), eq( "a" ) );
+
+		presenter.onAcceptAddGameSaveAction( Game.name( "c" ).machine( "machine" ).romA( "romA" ).size( 15 ).build() );
+
+		verify( view ).addGameToList( argThat( label -> label.getName().equals( "c" ) ), eq( 1 ) );
 	}
 
 	@Test
@@ -734,6 +1160,7 @@ public class MainPresenterImplTest
 		presenter.onRequestExit();
 
 		verify( launcherPersistence, times( 1 ) ).shutdown();
+		verify( extraDataGetter, times( 1 ) ).shutdown();
 	}
 
 	@Test
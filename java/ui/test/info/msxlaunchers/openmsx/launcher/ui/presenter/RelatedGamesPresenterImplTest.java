@@ -7,9 +7,11 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -31,6 +33,7 @@ import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersistenceExcept
 import info.msxlaunchers.openmsx.launcher.persistence.game.GamePersister;
 import info.msxlaunchers.openmsx.launcher.persistence.settings.SettingsPersister;
 import info.msxlaunchers.openmsx.launcher.related.RelatedGames;
+import info.msxlaunchers.openmsx.launcher.related.RelatedGamesCache;
 import info.msxlaunchers.openmsx.launcher.related.RelatedGamesFactory;
 import info.msxlaunchers.openmsx.launcher.ui.view.RelatedGamesView;
 
@@ -38,6 +41,7 @@ import info.msxlaunchers.openmsx.launcher.ui.view.RelatedGamesView;
 public class RelatedGamesPresenterImplTest
 {
 	@Mock RelatedGamesFactory relatedGamesFactory;
+	@Mock RelatedGamesCache relatedGamesCache;
 	@Mock RelatedGamesView view;
 	@Mock SettingsPersister settingsPersister;
 	@Mock RelatedGames relatedGames;
@@ -55,7 +59,7 @@ public class RelatedGamesPresenterImplTest
 		settings = new Settings( "openMSXPath", "machinesPath", tmpFolder.getRoot().toString(), null, Language.CATALAN, false, false );
 		when( settingsPersister.getSettings() ).thenReturn( settings );
 
-		relatedGamesPresenterImpl = new RelatedGamesPresenterImpl( relatedGamesFactory, view, settingsPersister, gamePersister, mainPresenter );
+		relatedGamesPresenterImpl = new RelatedGamesPresenterImpl( relatedGamesFactory, relatedGamesCache, view, settingsPersister, gamePersister, mainPresenter );
 	}
 
 	@Test
@@ -125,6 +129,55 @@ public class RelatedGamesPresenterImplTest
 		}
 	}
 
+	@Test
+	public void givenPrecomputedRelatedGames_whenOnRequestRelatedGamesScreen_thenUsePrecomputedAndDisplayScreen()
+			throws LauncherException, IOException, GamePersistenceException
+	{
+		Map<String,RepositoryGame> repositoryInfoMap = Collections.emptyMap();
+		List<RelatedGame> relatedGamesList = Arrays.asList( new RelatedGame( "relatedGame", "company", "1990", 200 ) );
+		Game game = Game.name( "gameName" ).msxGenID( 100 ).build();
+		Language language = Language.FINNISH;
+		boolean rightToLeft = false;
+
+		when( relatedGamesCache.get( 100, repositoryInfoMap ) ).thenReturn( Optional.of( relatedGamesList ) );
+		when( gamePersister.getRelatedGamesWithLauncherLinks( relatedGamesList ) ).thenReturn( relatedGamesList );
+
+		relatedGamesPresenterImpl.onRequestRelatedGamesScreen( game, repositoryInfoMap, language, rightToLeft );
+
+		Mockito.verify( relatedGamesFactory, Mockito.never() ).create( repositoryInfoMap );
+		Mockito.verify( view, Mockito.times( 1) ).displayRelatedGamesScreen( game.getName(), relatedGamesList, language, rightToLeft );
+	}
+
+	@Test
+	public void givenGames_whenOnRequestPrecomputeRelatedGames_thenFindRelatedForAllAndCacheThem()
+			throws LauncherException, IOException
+	{
+		Map<String,RepositoryGame> repositoryInfoMap = Collections.emptyMap();
+		List<Game> games = Arrays.asList( Game.name( "game1" ).msxGenID( 100 ).build(), Game.name( "game2" ).msxGenID( 200 ).build() );
+		Map<Integer,List<RelatedGame>> relatedGamesMap = Collections.singletonMap( 100, Collections.emptyList() );
+
+		when( relatedGamesFactory.create( repositoryInfoMap ) ).thenReturn( relatedGames );
+		when( relatedGames.findRelatedForAll( games ) ).thenReturn( relatedGamesMap );
+
+		assertEquals( 1, relatedGamesPresenterImpl.onRequestPrecomputeRelatedGames( games, repositoryInfoMap ) );
+
+		Mockito.verify( relatedGamesCache, Mockito.times( 1) ).putAll( relatedGamesMap, repositoryInfoMap );
+	}
+
+	@Test(expected = LauncherException.class)
+	public void givenCacheThrowsException_whenOnRequestPrecomputeRelatedGames_thenThrowException()
+			throws LauncherException, IOException
+	{
+		Map<String,RepositoryGame> repositoryInfoMap = Collections.emptyMap();
+		List<Game> games = Collections.emptyList();
+
+		when( relatedGamesFactory.create( repositoryInfoMap ) ).thenReturn( relatedGames );
+		when( relatedGames.findRelatedForAll( games ) ).thenReturn( Collections.emptyMap() );
+		Mockito.doThrow( IOException.class ).when( relatedGamesCache ).putAll( Collections.emptyMap(), repositoryInfoMap );
+
+		relatedGamesPresenterImpl.onRequestPrecomputeRelatedGames( games, repositoryInfoMap );
+	}
+
 	@Test
 	public void givenDatabaseItem_whenOnRequestHiglightGameInLauncher_thenRelayToMainPresenter() throws LauncherException
 	{
@@ -0,0 +1,56 @@
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScreenshotIndexTest
+{
+	@Rule public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenScreenshotsDirectory_whenGetScreenshot_thenReturnFullPathOfExistingFilesOnly() throws IOException
+	{
+		File screenshotsFolder = tmpFolder.newFolder();
+		new File( screenshotsFolder, "123a.png" ).createNewFile();
+		new File( screenshotsFolder, "123b-en.png" ).createNewFile();
+
+		ScreenshotIndex index = ScreenshotIndex.build( screenshotsFolder.toString() );
+
+		assertEquals( new File( screenshotsFolder, "123a.png" ).toString(), index.getScreenshot( 123, "a", null ) );
+		assertEquals( new File( screenshotsFolder, "123b-en.png" ).toString(), index.getScreenshot( 123, "b", "-en" ) );
+		assertNull( index.getScreenshot( 123, "b", null ) );
+		assertNull( index.getScreenshot( 12, "a", null ) );
+	}
+
+	@Test
+	public void givenFileNameInDifferentCase_whenGetScreenshot_thenReturnActualFileName() throws IOException
+	{
+		File screenshotsFolder = tmpFolder.newFolder();
+		new File( screenshotsFolder, "77a-JP.PNG" ).createNewFile();
+
+		ScreenshotIndex index = ScreenshotIndex.build( screenshotsFolder.toString() );
+
+		assertEquals( new File( screenshotsFolder, "77a-JP.PNG" ).toString(), index.getScreenshot( 77, "a", "-jp" ) );
+	}
+
+	@Test
+	public void givenNonExistentDirectory_whenBuild_thenIndexIsEmpty() throws IOException
+	{
+		String screenshotsPath = new File( tmpFolder.getRoot(), "missing" ).toString();
+
+		ScreenshotIndex index = ScreenshotIndex.build( screenshotsPath );
+
+		assertNull( index.getScreenshot( 1, "a", null ) );
+		assertTrue( index.isOf( screenshotsPath ) );
+		assertFalse( index.isOf( tmpFolder.getRoot().toString() ) );
+	}
+}
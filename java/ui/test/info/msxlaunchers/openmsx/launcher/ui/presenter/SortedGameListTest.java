@@ -0,0 +1,106 @@
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+
+public class SortedGameListTest
+{
+	private final SortedGameList sortedGameList = new SortedGameList( Arrays.asList(
+			new GameLabel( "b game", "Konami", "1986", 32768, Medium.ROM ),
+			new GameLabel( "A game", null, null, 1024, Medium.DISK ),
+			new GameLabel( "c game", "Compile", "1985?", 16384, Medium.ROM ),
+			new GameLabel( "a Game", "ASCII", "1984", 65536, Medium.TAPE ) ) );
+
+	@Test
+	public void whenGetGames_thenGamesAreSortedInEachOrder()
+	{
+		assertEquals( Arrays.asList( "A game", "a Game", "b game", "c game" ), getNames( GameListOrder.NAME ) );
+		assertEquals( Arrays.asList( "a Game", "c game", "b game", "A game" ), getNames( GameListOrder.COMPANY ) );
+		assertEquals( Arrays.asList( "a Game", "c game", "b game", "A game" ), getNames( GameListOrder.YEAR ) );
+		assertEquals( Arrays.asList( "A game", "c game", "b game", "a Game" ), getNames( GameListOrder.SIZE ) );
+		assertEquals( Arrays.asList( "b game", "c game", "A game", "a Game" ), getNames( GameListOrder.MEDIUM ) );
+	}
+
+	@Test
+	public void givenSortedOrders_whenAdd_thenGameIsInsertedInAllOrders()
+	{
+		getNames( GameListOrder.NAME );
+		getNames( GameListOrder.SIZE );
+
+		assertEquals( 3, sortedGameList.add( new GameLabel( "bb game", null, null, 2048, Medium.ROM ), GameListOrder.NAME ) );
+
+		assertEquals( 5, sortedGameList.size() );
+		assertEquals( Arrays.asList( "A game", "a Game", "b game", "bb game", "c game" ), getNames( GameListOrder.NAME ) );
+		assertEquals( Arrays.asList( "A game", "bb game", "c game", "b game", "a Game" ), getNames( GameListOrder.SIZE ) );
+	}
+
+	@Test
+	public void givenOrderNotSortedYet_whenAdd_thenReturnIndexInThatOrder()
+	{
+		assertEquals( 1, sortedGameList.add( new GameLabel( "z game", null, null, 2048, Medium.ROM ), GameListOrder.SIZE ) );
+	}
+
+	@Test
+	public void whenRemove_thenReturnFormerIndexAndGameIsRemovedFromAllOrders()
+	{
+		getNames( GameListOrder.NAME );
+
+		assertEquals( 1, sortedGameList.remove( "c game", GameListOrder.SIZE ) );
+
+		assertEquals( Arrays.asList( "A game", "a Game", "b game" ), getNames( GameListOrder.NAME ) );
+		assertEquals( Arrays.asList( "A game", "b game", "a Game" ), getNames( GameListOrder.SIZE ) );
+	}
+
+	@Test
+	public void givenUnknownGame_whenRemove_thenReturnMinusOne()
+	{
+		assertEquals( -1, sortedGameList.remove( "unknown", GameListOrder.NAME ) );
+		assertEquals( 4, sortedGameList.size() );
+	}
+
+	@Test
+	public void givenTypeAheadFilter_whenGetGames_thenOnlyMatchingGamesAreReturnedInOrder()
+	{
+		assertEquals( Arrays.asList( "b game" ), getNames( GameListOrder.NAME, "B" ) );
+		assertEquals( Arrays.asList( "A game", "a Game", "b game", "c game" ), getNames( GameListOrder.NAME, "game company:" ) );
+		assertEquals( Arrays.asList( "c game", "a Game" ), getNames( GameListOrder.SIZE, "company:c" ) );
+		assertEquals( Arrays.asList( "c game", "b game", "a Game" ), getNames( GameListOrder.SIZE, "year:198" ) );
+		assertEquals( Arrays.asList( "c game" ), getNames( GameListOrder.SIZE, "year:198 medium:ro company:c" ) );
+	}
+
+	@Test
+	public void givenNarrowedFilter_whenGameIsAdded_thenItIsMatchedToo()
+	{
+		getNames( GameListOrder.NAME, "gam" );
+
+		sortedGameList.add( new GameLabel( "d game", null, null, 2048, Medium.ROM ), GameListOrder.NAME );
+
+		assertEquals( Arrays.asList( "d game" ), getNames( GameListOrder.NAME, "d gam" ) );
+	}
+
+	@Test
+	public void givenGameWithoutMedium_whenGetGamesInMediumOrder_thenGameIsLast()
+	{
+		sortedGameList.add( new GameLabel( "0 game", null, null, 2048, null ), GameListOrder.NAME );
+
+		assertEquals( Arrays.asList( "b game", "c game", "A game", "a Game", "0 game" ), getNames( GameListOrder.MEDIUM ) );
+	}
+
+	private List<String> getNames( GameListOrder order )
+	{
+		return sortedGameList.getGames( order ).stream().map( GameLabel::getName ).collect( Collectors.toList() );
+	}
+
+	private List<String> getNames( GameListOrder order, String typeAheadText )
+	{
+		return sortedGameList.getGames( order, TypeAheadFilter.parse( typeAheadText ) ).stream().map( GameLabel::getName )
+				.collect( Collectors.toList() );
+	}
+}
@@ -0,0 +1,74 @@
+package info.msxlaunchers.openmsx.launcher.ui.presenter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import info.msxlaunchers.openmsx.launcher.data.game.constants.Medium;
+
+public class TypeAheadFilterTest
+{
+	@Test
+	public void givenBlankText_whenParse_thenReturnEmptyFilter()
+	{
+		assertSame( TypeAheadFilter.NONE, TypeAheadFilter.parse( null ) );
+		assertSame( TypeAheadFilter.NONE, TypeAheadFilter.parse( "  " ) );
+		assertSame( TypeAheadFilter.NONE, TypeAheadFilter.parse( "company:" ) );
+		assertTrue( TypeAheadFilter.NONE.matches( "name", null, null, Medium.ROM ) );
+	}
+
+	@Test
+	public void whenNormalize_thenAccentsAreRemovedAndCaseIsFolded()
+	{
+		assertEquals( "pokemon", TypeAheadFilter.normalize( "Pok\u00e9mon" ) );
+		assertEquals( "metal gear", TypeAheadFilter.normalize( "METAL Gear" ) );
+	}
+
+	@Test
+	public void givenTokens_whenMatches_thenAllTokensMustBeSubstringsOfTheName()
+	{
+		TypeAheadFilter filter = TypeAheadFilter.parse( "GEAR  Met" );
+
+		assertTrue( filter.matches( TypeAheadFilter.normalize( "Metal Gear 2" ), null, null, Medium.ROM ) );
+		assertFalse( filter.matches( TypeAheadFilter.normalize( "Metal Slug" ), null, null, Medium.ROM ) );
+	}
+
+	@Test
+	public void givenAccentedText_whenMatches_thenAccentsAreIgnored()
+	{
+		assertTrue( TypeAheadFilter.parse( "pok\u00e9mon" ).matches( TypeAheadFilter.normalize( "Pokemon" ), null, null, Medium.ROM ) );
+	}
+
+	@Test
+	public void givenPrefixTokens_whenMatches_thenTokensAreMatchedAgainstTheirAttribute()
+	{
+		TypeAheadFilter filter = TypeAheadFilter.parse( "company:kon year:198 medium:ro" );
+
+		assertTrue( filter.matches( "nemesis", TypeAheadFilter.normalize( "Konami" ), "1986", Medium.ROM ) );
+		assertFalse( filter.matches( "nemesis", TypeAheadFilter.normalize( "Konami" ), "1986", Medium.DISK ) );
+		assertFalse( filter.matches( "nemesis", null, "1986", Medium.ROM ) );
+		assertFalse( TypeAheadFilter.parse( "konami" ).matches( "nemesis", TypeAheadFilter.normalize( "Konami" ), "1986", Medium.ROM ) );
+	}
+
+	@Test
+	public void givenMoreCharactersTyped_whenIsNarrowerThan_thenReturnTrue()
+	{
+		TypeAheadFilter filter = TypeAheadFilter.parse( "met" );
+
+		assertTrue( TypeAheadFilter.parse( "meta" ).isNarrowerThan( filter ) );
+		assertTrue( TypeAheadFilter.parse( "met gear" ).isNarrowerThan( filter ) );
+		assertTrue( filter.isNarrowerThan( TypeAheadFilter.NONE ) );
+		assertFalse( TypeAheadFilter.parse( "me" ).isNarrowerThan( filter ) );
+		assertFalse( TypeAheadFilter.parse( "company:met" ).isNarrowerThan( filter ) );
+	}
+
+	@Test
+	public void givenMediumToken_whenMatchesGameWithoutMedium_thenNoMatch()
+	{
+		assertFalse( TypeAheadFilter.parse( "medium:ro" ).matches( "nemesis", null, null, null ) );
+		assertTrue( TypeAheadFilter.parse( "nem" ).matches( "nemesis", null, null, null ) );
+	}
+}
@@ -0,0 +1,128 @@
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ThumbnailCacheTest
+{
+	@Rule public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenStoredThumbnails_whenReopen_thenThumbnailsAreReturned() throws IOException
+	{
+		File file = new File( tmpFolder.getRoot(), "thumbnails.dat" );
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			cache.put( "/screenshots/1a.png", 100, new byte[] { 1, 2, 3 } );
+			cache.put( "/screenshots/2a.png", 200, new byte[] { 4, 5 } );
+
+			assertArrayEquals( new byte[] { 1, 2, 3 }, cache.get( "/screenshots/1a.png", 100 ) );
+		}
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			assertEquals( 2, cache.size() );
+			assertArrayEquals( new byte[] { 1, 2, 3 }, cache.get( "/screenshots/1a.png", 100 ) );
+			assertArrayEquals( new byte[] { 4, 5 }, cache.get( "/screenshots/2a.png", 200 ) );
+			assertNull( cache.get( "/screenshots/3a.png", 300 ) );
+		}
+	}
+
+	@Test
+	public void givenModifiedImage_whenGet_thenReturnNullUntilThumbnailIsStoredAgain() throws IOException
+	{
+		try( ThumbnailCache cache = ThumbnailCache.open( tmpFolder.newFile() ) )
+		{
+			cache.put( "/screenshots/1a.png", 100, new byte[] { 1 } );
+
+			assertNull( cache.get( "/screenshots/1a.png", 101 ) );
+
+			cache.put( "/screenshots/1a.png", 101, new byte[] { 2 } );
+
+			assertArrayEquals( new byte[] { 2 }, cache.get( "/screenshots/1a.png", 101 ) );
+			assertEquals( 1, cache.size() );
+		}
+	}
+
+	@Test
+	public void givenPartiallyWrittenLastRecord_whenOpen_thenOnlyThatRecordIsDiscarded() throws IOException
+	{
+		File file = tmpFolder.newFile();
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			cache.put( "/screenshots/1a.png", 100, new byte[] { 1, 2, 3 } );
+			cache.put( "/screenshots/2a.png", 200, new byte[] { 4, 5, 6 } );
+		}
+		try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) )
+		{
+			randomAccessFile.setLength( randomAccessFile.length() - 1 );
+		}
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			assertArrayEquals( new byte[] { 1, 2, 3 }, cache.get( "/screenshots/1a.png", 100 ) );
+			assertNull( cache.get( "/screenshots/2a.png", 200 ) );
+
+			cache.put( "/screenshots/2a.png", 200, new byte[] { 7 } );
+		}
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			assertArrayEquals( new byte[] { 7 }, cache.get( "/screenshots/2a.png", 200 ) );
+		}
+	}
+
+	@Test
+	public void givenMostlySupersededThumbnails_whenOpen_thenFileIsCompacted() throws IOException
+	{
+		File file = tmpFolder.newFile();
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			for( int version = 0; version < 10; version++ )
+			{
+				cache.put( "/screenshots/1a.png", version, new byte[] { (byte)version } );
+			}
+			cache.put( "/screenshots/2a.png", 1, new byte[] { 42 } );
+		}
+		long uncompactedLength = file.length();
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			assertTrue( file.length() < uncompactedLength );
+			assertArrayEquals( new byte[] { 9 }, cache.get( "/screenshots/1a.png", 9 ) );
+			assertArrayEquals( new byte[] { 42 }, cache.get( "/screenshots/2a.png", 1 ) );
+
+			cache.put( "/screenshots/3a.png", 1, new byte[] { 3 } );
+			assertArrayEquals( new byte[] { 3 }, cache.get( "/screenshots/3a.png", 1 ) );
+		}
+	}
+
+	@Test
+	public void givenFileWithUnknownFormat_whenOpen_thenCacheStartsEmpty() throws IOException
+	{
+		File file = tmpFolder.newFile();
+		try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) )
+		{
+			randomAccessFile.write( new byte[] { 'n', 'o', 't', ' ', 'a', ' ', 'c', 'a', 'c', 'h', 'e' } );
+		}
+
+		try( ThumbnailCache cache = ThumbnailCache.open( file ) )
+		{
+			assertEquals( 0, cache.size() );
+
+			cache.put( "/screenshots/1a.png", 100, new byte[] { 1 } );
+			assertArrayEquals( new byte[] { 1 }, cache.get( "/screenshots/1a.png", 100 ) );
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package info.msxlaunchers.openmsx.launcher.ui.view.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ThumbnailLoaderTest
+{
+	@Rule public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	@Test
+	public void givenThumbnailTooLargeForCache_whenGetThumbnail_thenThumbnailIsStillLoaded() throws IOException, InterruptedException, InvocationTargetException
+	{
+		//noise doesn't compress, so the PNG of an 800x800 thumbnail is well above the cache's 1 MB limit
+		File screenshot = writeNoiseImage( 800, 800 );
+		CountDownLatch loaded = new CountDownLatch( 1 );
+
+		try( ThumbnailCache cache = ThumbnailCache.open( tmpFolder.newFile() );
+				ThumbnailLoader loader = new ThumbnailLoader( cache, 800, 800, loaded::countDown ) )
+		{
+			assertNull( getThumbnail( loader, screenshot ) );
+			assertTrue( loaded.await( 10, TimeUnit.SECONDS ) );
+
+			Image thumbnail = getThumbnail( loader, screenshot );
+			assertNotNull( thumbnail );
+			assertEquals( 800, thumbnail.getWidth( null ) );
+			assertEquals( 0, cache.size() );
+		}
+	}
+
+	@Test
+	public void givenThumbnail_whenGetThumbnail_thenThumbnailIsScaledAndCached() throws IOException, InterruptedException, InvocationTargetException
+	{
+		File screenshot = writeNoiseImage( 256, 192 );
+		CountDownLatch loaded = new CountDownLatch( 1 );
+
+		try( ThumbnailCache cache = ThumbnailCache.open( tmpFolder.newFile() );
+				ThumbnailLoader loader = new ThumbnailLoader( cache, 128, 128, loaded::countDown ) )
+		{
+			getThumbnail( loader, screenshot );
+			assertTrue( loaded.await( 10, TimeUnit.SECONDS ) );
+
+			assertEquals( 128, getThumbnail( loader, screenshot ).getWidth( null ) );
+			assertEquals( 1, cache.size() );
+		}
+	}
+
+	@Test( expected = ClosedChannelException.class )
+	public void whenClose_thenCacheIsClosed() throws IOException
+	{
+		ThumbnailCache cache = ThumbnailCache.open( tmpFolder.newFile() );
+
+		new ThumbnailLoader( cache, 128, 128, () -> {} ).close();
+
+		cache.put( "/screenshots/1a.png", 100, new byte[] { 1 } );
+	}
+
+	private File writeNoiseImage( int width, int height ) throws IOException
+	{
+		BufferedImage image = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+		Random random = new Random( 1 );
+		for( int y = 0; y < height; y++ )
+		{
+			for( int x = 0; x < width; x++ )
+			{
+				image.setRGB( x, y, random.nextInt() );
+			}
+		}
+
+		File file = tmpFolder.newFile( "screenshot" + width + "x" + height + ".png" );
+		ImageIO.write( image, "png", file );
+
+		return file;
+	}
+
+	private static Image getThumbnail( ThumbnailLoader loader, File screenshot ) throws InterruptedException, InvocationTargetException
+	{
+		AtomicReference<Image> thumbnail = new AtomicReference<>();
+		SwingUtilities.invokeAndWait( () -> thumbnail.set( loader.getThumbnail( screenshot.getPath() ) ) );
+
+		return thumbnail.get();
+	}
+}
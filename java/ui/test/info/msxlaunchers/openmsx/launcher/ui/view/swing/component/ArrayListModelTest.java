@@ -0,0 +1,157 @@
+package info.msxlaunchers.openmsx.launcher.ui.view.swing.component;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+public class ArrayListModelTest
+{
+	private ArrayListModel<String> model;
+	private List<ListDataEvent> events;
+
+	@Before
+	public void setup()
+	{
+		model = new ArrayListModel<>( Function.identity() );
+		events = new ArrayList<>();
+
+		model.addListDataListener( new ListDataListener()
+		{
+			@Override
+			public void intervalAdded( ListDataEvent e ) { events.add( e ); }
+
+			@Override
+			public void intervalRemoved( ListDataEvent e ) { events.add( e ); }
+
+			@Override
+			public void contentsChanged( ListDataEvent e ) { events.add( e ); }
+		} );
+	}
+
+	@Test
+	public void givenManyElements_whenSetElements_thenFireSingleEvent()
+	{
+		String[] elements = new String[30000];
+		for( int index = 0; index < elements.length; index++ )
+		{
+			elements[index] = "game" + index;
+		}
+
+		model.setElements( elements );
+
+		assertEquals( 30000, model.getSize() );
+		assertEquals( 1, events.size() );
+		assertEquals( ListDataEvent.CONTENTS_CHANGED, events.get( 0 ).getType() );
+		assertEquals( 29999, events.get( 0 ).getIndex1() );
+		assertEquals( 12345, model.indexOfKey( "game12345" ) );
+	}
+
+	@Test
+	public void givenSmallerReplacement_whenSetElements_thenEventCoversOldRange()
+	{
+		model.setElements( new String[] {"a", "b", "c"} );
+		model.setElements( new String[] {"d"} );
+
+		assertEquals( 1, model.getSize() );
+		assertEquals( 2, events.get( 1 ).getIndex1() );
+		assertEquals( -1, model.indexOfKey( "a" ) );
+		assertEquals( 0, model.indexOfKey( "d" ) );
+	}
+
+	@Test
+	public void whenRemove_thenIndicesAreUpdated()
+	{
+		model.setElements( new String[] {"a", "b", "c"} );
+		assertEquals( 2, model.indexOfKey( "c" ) );
+
+		model.remove( 1 );
+
+		assertEquals( 2, model.getSize() );
+		assertEquals( "c", model.getElementAt( 1 ) );
+		assertEquals( 1, model.indexOfKey( "c" ) );
+		assertEquals( -1, model.indexOfKey( "b" ) );
+		assertEquals( ListDataEvent.INTERVAL_REMOVED, events.get( 1 ).getType() );
+	}
+
+	@Test
+	public void whenClear_thenModelIsEmpty()
+	{
+		model.setElements( new String[] {"a", "b"} );
+
+		model.clear();
+
+		assertEquals( 0, model.getSize() );
+		assertEquals( -1, model.indexOfKey( "a" ) );
+	}
+
+	@Test
+	public void givenUnknownKey_whenIndexOfKey_thenReturnMinusOne()
+	{
+		assertEquals( -1, model.indexOfKey( "a" ) );
+	}
+
+	@Test
+	public void whenInsert_thenElementIsAtIndexAndSingleEventIsFired()
+	{
+		model.setElements( new String[] {"a", "c", "e"} );
+
+		model.insert( 2, "d" );
+
+		assertEquals( 4, model.getSize() );
+		assertEquals( "d", model.getElementAt( 2 ) );
+		assertEquals( "e", model.getElementAt( 3 ) );
+		assertEquals( 2, model.indexOfKey( "d" ) );
+		assertEquals( 2, events.size() );
+		assertEquals( ListDataEvent.INTERVAL_ADDED, events.get( 1 ).getType() );
+		assertEquals( 2, events.get( 1 ).getIndex0() );
+		assertEquals( 2, events.get( 1 ).getIndex1() );
+	}
+
+	@Test
+	public void givenEmptyModel_whenInsertSeveral_thenArrayGrows()
+	{
+		model.insert( 0, "b" );
+		model.insert( 1, "c" );
+		model.insert( 0, "a" );
+
+		assertEquals( 3, model.getSize() );
+		assertEquals( "a", model.getElementAt( 0 ) );
+		assertEquals( "b", model.getElementAt( 1 ) );
+		assertEquals( "c", model.getElementAt( 2 ) );
+	}
+
+	@Test( expected = ArrayIndexOutOfBoundsException.class )
+	public void givenIndexPastEnd_whenInsert_thenThrowException()
+	{
+		model.insert( 1, "a" );
+	}
+
+	@Test
+	public void whenRemoveSeveral_thenOneEventIsFiredPerRunStartingWithLast()
+	{
+		model.setElements( new String[] {"a", "b", "c", "d", "e", "f"} );
+
+		model.remove( new int[] {5, 1, 2} );
+
+		String[] remaining = new String[model.getSize()];
+		for( int index = 0; index < remaining.length; index++ )
+		{
+			remaining[index] = model.getElementAt( index );
+		}
+		assertArrayEquals( new String[] {"a", "d", "e"}, remaining );
+		assertEquals( 3, events.size() );
+		assertEquals( 5, events.get( 1 ).getIndex0() );
+		assertEquals( 1, events.get( 2 ).getIndex0() );
+		assertEquals( 2, events.get( 2 ).getIndex1() );
+		assertEquals( 2, model.indexOfKey( "e" ) );
+	}
+}